@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.input.*;
+import com.univocity.parsers.common.processor.core.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+
+/**
+ * A parser for inputs made of independent messages, each containing a single record (e.g. one CSV line per message read from a message queue).
+ *
+ * <p> Each message is parsed with the same rules used by the {@link AbstractParser} created by {@link #newParser(CommonParserSettings)}, and its values
+ * are copied into an array provided by the caller. Compared to {@link AbstractParser#parseLine(String)}, parsing a message does not create
+ * readers, does not use exceptions to detect the end of the message, and does not allocate anything other than the parsed values.
+ *
+ * <p> An instance of this class can be used by multiple threads simultaneously. Each thread gets its own parser, created from a copy of the settings
+ * given in the constructor, when it parses its first message. The following settings are not applicable and are ignored:
+ * header extraction, rows to skip, records to read, line separator detection, reading input on a separate thread and the {@link Processor}.
+ * Field selection is supported.
+ *
+ * @param <T> The specific parser settings configuration class, which can potentially provide additional configuration options supported by the parser implementation.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser
+ */
+public abstract class AbstractMessageParser<T extends CommonParserSettings<?>> {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	private final T settings;
+	private final Charset encoding;
+	private final boolean asciiCompatible;
+
+	private final ThreadLocal<MessageState> state = new ThreadLocal<MessageState>() {
+		@Override
+		protected MessageState initialValue() {
+			return new MessageState();
+		}
+	};
+
+	/**
+	 * Creates a message parser with the given settings. Messages provided as bytes must be encoded in UTF-8.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public AbstractMessageParser(T settings) {
+		this(settings, UTF_8);
+	}
+
+	/**
+	 * Creates a message parser with the given settings.
+	 *
+	 * @param settings the parser configuration
+	 * @param encoding the encoding of messages provided as bytes.
+	 */
+	public AbstractMessageParser(T settings, Charset encoding) {
+		if (settings == null) {
+			throw new IllegalArgumentException("Parser settings cannot be null");
+		}
+		if (encoding == null) {
+			throw new IllegalArgumentException("Encoding cannot be null");
+		}
+		this.settings = settings;
+		this.encoding = encoding;
+		this.asciiCompatible = RawByteReader.isSupported(encoding);
+	}
+
+	/**
+	 * Creates the parser used by a thread to parse its messages.
+	 *
+	 * @param settings a copy of the settings given in the constructor of this class, adjusted for message parsing.
+	 *
+	 * @return a new parser instance.
+	 */
+	protected abstract AbstractParser<T> newParser(T settings);
+
+	/**
+	 * Parses a message and copies its values into the given row.
+	 *
+	 * @param message the message to parse
+	 * @param row     the array that receives the parsed values.
+	 *
+	 * @return the number of values parsed from the message. If greater than the length of the given row, only the values that fit are copied.
+	 * Returns {@code 0} if the message is empty, blank or a comment.
+	 */
+	public final int parse(CharSequence message, String[] row) {
+		MessageState state = this.state.get();
+		int length = message.length();
+		char[] chars = state.input.reserve(length);
+		if (message instanceof String) {
+			((String) message).getChars(0, length, chars, 0);
+		} else {
+			for (int i = 0; i < length; i++) {
+				chars[i] = message.charAt(i);
+			}
+		}
+		return state.parse(length, row);
+	}
+
+	/**
+	 * Parses a message from a range of characters and copies its values into the given row.
+	 *
+	 * @param message the characters of the message
+	 * @param offset  the position of the first character of the message
+	 * @param length  the number of characters of the message
+	 * @param row     the array that receives the parsed values.
+	 *
+	 * @return the number of values parsed from the message. If greater than the length of the given row, only the values that fit are copied.
+	 * Returns {@code 0} if the message is empty, blank or a comment.
+	 */
+	public final int parse(char[] message, int offset, int length, String[] row) {
+		MessageState state = this.state.get();
+		System.arraycopy(message, offset, state.input.reserve(length), 0, length);
+		return state.parse(length, row);
+	}
+
+	/**
+	 * Parses a message from a range of bytes, encoded with the encoding given in the constructor of this class, and copies its values into the given row.
+	 *
+	 * @param message the bytes of the message
+	 * @param offset  the position of the first byte of the message
+	 * @param length  the number of bytes of the message
+	 * @param row     the array that receives the parsed values.
+	 *
+	 * @return the number of values parsed from the message. If greater than the length of the given row, only the values that fit are copied.
+	 * Returns {@code 0} if the message is empty, blank or a comment.
+	 */
+	public final int parse(byte[] message, int offset, int length, String[] row) {
+		MessageState state = this.state.get();
+		return state.parse(state.decode(message, offset, length), row);
+	}
+
+	/**
+	 * Removes the parser and buffers held for the current thread. They will be created again if the thread parses another message.
+	 */
+	public final void release() {
+		state.remove();
+	}
+
+	@SuppressWarnings("unchecked")
+	private T newMessageSettings() {
+		T out = (T) settings.clone();
+		out.setHeaderExtractionEnabled(false);
+		out.setProcessor(NoopProcessor.instance);
+		out.setNumberOfRowsToSkip(0);
+		out.setNumberOfRecordsToRead(-1);
+		out.setLineSeparatorDetectionEnabled(false);
+		out.setReadInputOnSeparateThread(false);
+		return out;
+	}
+
+	/**
+	 * The parser and buffers used by a thread to parse its messages.
+	 */
+	private final class MessageState {
+		final AbstractParser<T> parser;
+		final MessageInput input;
+		CharsetDecoder decoder;
+
+		MessageState() {
+			T settings = newMessageSettings();
+			parser = newParser(settings);
+			input = new MessageInput(settings.getFormat().getLineSeparator(), settings.getFormat().getNormalizedNewline());
+			parser.beginParsingMessages(input);
+		}
+
+		int parse(int length, String[] row) {
+			input.load(length, true);
+			int count = parser.parseMessage(row, false);
+			if (count == -1) {
+				// the line separator appended to the message was consumed as part of a value (e.g. in an unclosed quote).
+				input.load(length, false);
+				count = parser.parseMessage(row, true);
+			}
+			return count;
+		}
+
+		int decode(byte[] bytes, int offset, int length) {
+			char[] chars;
+			if (asciiCompatible) {
+				chars = input.reserve(length);
+				int i = 0;
+				while (i < length && bytes[offset + i] >= 0) {
+					chars[i] = (char) bytes[offset + i];
+					i++;
+				}
+				if (i == length) {
+					return length;
+				}
+				if (encoding.equals(ISO_8859_1)) {
+					for (; i < length; i++) {
+						chars[i] = (char) (bytes[offset + i] & 0xFF);
+					}
+					return length;
+				}
+			}
+
+			if (decoder == null) {
+				decoder = encoding.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+			}
+			chars = input.reserve((int) (length * (double) decoder.maxCharsPerByte()) + 1);
+			CharBuffer out = CharBuffer.wrap(chars, 0, chars.length - 2);
+			decoder.reset();
+			decoder.decode(ByteBuffer.wrap(bytes, offset, length), out, true);
+			decoder.flush(out);
+			return out.position();
+		}
+	}
+
+	/**
+	 * Provides the characters of the current message, followed by a line separator, to the parser.
+	 */
+	private static final class MessageInput extends AbstractCharInputReader {
+		private final char[] lineSeparator;
+		private char[] chars = new char[256];
+		private int messageLength;
+		private boolean loaded;
+
+		MessageInput(char[] lineSeparator, char normalizedLineSeparator) {
+			super(lineSeparator, normalizedLineSeparator);
+			this.lineSeparator = lineSeparator;
+		}
+
+		/**
+		 * Ensures the buffer can hold a message of the given length, followed by a line separator.
+		 */
+		char[] reserve(int length) {
+			if (chars.length < length + lineSeparator.length) {
+				chars = new char[length + lineSeparator.length + 64];
+			}
+			return chars;
+		}
+
+		void load(int length, boolean terminate) {
+			if (terminate) {
+				System.arraycopy(lineSeparator, 0, chars, length, lineSeparator.length);
+				length += lineSeparator.length;
+			}
+			messageLength = length;
+			loaded = false;
+			start(null);
+		}
+
+		@Override
+		protected void setReader(Reader reader) {
+		}
+
+		@Override
+		protected void reloadBuffer() {
+			if (loaded) {
+				length = -1;
+			} else {
+				loaded = true;
+				buffer = chars;
+				length = messageLength;
+			}
+		}
+
+		@Override
+		public void stop() {
+		}
+	}
+}
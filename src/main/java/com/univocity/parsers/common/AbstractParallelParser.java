@@ -0,0 +1,685 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.input.*;
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.common.processor.core.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A parser that splits a file into byte ranges and parses these ranges simultaneously using multiple threads. Parsed rows are sent
+ * to the {@link Processor} defined by {@link CommonParserSettings#getProcessor()}, as if the file had been parsed by a single
+ * {@link AbstractParser}.
+ *
+ * <p> The parsing process happens in two phases:
+ * <ol>
+ * <li>The file is divided into ranges of approximately {@link #getRangeSize()} bytes, and each range is scanned by a {@link RecordBoundaryScanner}
+ * to identify where the first record after the start of the range begins, for every possible state the input can be in at that point
+ * (e.g. inside or outside of a quoted value). Once all ranges are scanned, the actual state at the start of each range is determined
+ * from the end state of the previous range, which yields the exact position where each range must start to be parsed, and how many
+ * lines come before it.</li>
+ * <li>Each range is then parsed by its own {@link AbstractParser}. Line and character indexes, as well as the record count, are
+ * adjusted to reflect the position of each record in the entire file.</li>
+ * </ol>
+ *
+ * <p> By default rows are sent to the {@link Processor} in the same order they appear in the input (see {@link #setOrderedProcessingEnabled(boolean)}),
+ * always by the thread that invoked {@code parse}. When ordered processing is disabled, the processor receives rows as soon as they are parsed,
+ * from any of the worker threads, one row at a time.
+ *
+ * <p> Limitations:
+ * <ul>
+ * <li>The file must be encoded using US-ASCII, ISO-8859-1 or UTF-8, as ranges are identified by scanning raw bytes.</li>
+ * <li>Comments are skipped but not collected, i.e. {@link ParsingContext#comments()} is always empty.</li>
+ * <li>{@link ParsingContext#skipLines(long)} and {@link ParsingContext#currentParsedContent()} are not supported.</li>
+ * <li>Errors raised while parsing a range report line and character indexes relative to the start of the range.</li>
+ * <li>Row sampling ({@link CommonParserSettings#setRowSampling(RowSampling)}) is not supported.</li>
+ * <li>Batch processors ({@link CommonParserSettings#setBatchProcessor(com.univocity.parsers.common.processor.BatchProcessor)}) are not supported.</li>
+ * </ul>
+ *
+ * @param <T> The specific parser settings configuration class, which can potentially provide additional configuration options supported by the parser implementation.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see RecordBoundaryScanner
+ * @see AbstractParser
+ */
+public abstract class AbstractParallelParser<T extends CommonParserSettings<?>> {
+
+	/**
+	 * The default size of each range of bytes parsed by a thread (8MB)
+	 */
+	public static final int DEFAULT_RANGE_SIZE = 8 * 1024 * 1024;
+
+	private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+	protected final T settings;
+	private final Processor<ParsingContext> processor;
+	private final ProcessorErrorHandler<ParsingContext> errorHandler;
+	private final long recordsToRead;
+	private final int errorContentLength;
+
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+	private boolean orderedProcessingEnabled = true;
+	private int rangeSize = DEFAULT_RANGE_SIZE;
+
+	private ParallelParsingContext context;
+
+	/**
+	 * All parallel parsers must support, at the very least, the settings provided by {@link CommonParserSettings}. The AbstractParallelParser requires its configuration to be properly initialized.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public AbstractParallelParser(T settings) {
+		settings.autoConfigure();
+		if (settings.getRowSampling() != null) {
+			throw new IllegalArgumentException("Row sampling is not supported for parallel parsing");
+		}
+		if (settings.getBatchProcessor() != null) {
+			throw new IllegalArgumentException("Batch processors are not supported for parallel parsing");
+		}
+		this.settings = settings;
+		this.processor = settings.getProcessor();
+		this.errorHandler = settings.getProcessorErrorHandler();
+		this.recordsToRead = settings.getNumberOfRecordsToRead();
+		this.errorContentLength = settings.getErrorContentLength();
+	}
+
+	/**
+	 * Creates a sequential parser to process a single range of the input.
+	 *
+	 * @param settings the configuration of the parser, derived from the settings given to this parallel parser.
+	 *
+	 * @return a new parser instance.
+	 */
+	protected abstract AbstractParser<T> newParser(T settings);
+
+	/**
+	 * Applies any configuration detected by a parser from the beginning of the input (such as the format's line separator) to the
+	 * settings used by the parsers of each range, and disables the corresponding detection.
+	 *
+	 * @param parser   a parser that processed the first record of the input
+	 * @param settings the configuration to be used by the parsers of each range.
+	 */
+	protected abstract void applyDetectedFormat(AbstractParser<T> parser, T settings);
+
+	/**
+	 * Creates a {@link RecordBoundaryScanner} to identify where records start in the input, given the format used by the parsers of each range.
+	 *
+	 * @param settings the configuration to be used by the parsers of each range, with any detected format applied.
+	 *
+	 * @return a new scanner instance.
+	 */
+	protected abstract RecordBoundaryScanner newRecordBoundaryScanner(T settings);
+
+	/**
+	 * Returns the number of threads used to scan and parse the input. Defaults to the number of available processors.
+	 *
+	 * @return the number of threads used to parse the input.
+	 */
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Defines the number of threads used to scan and parse the input. Defaults to the number of available processors.
+	 *
+	 * @param threadCount the number of threads used to parse the input.
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount <= 0) {
+			throw new IllegalArgumentException("Thread count must be positive");
+		}
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Indicates whether parsed rows are sent to the {@link Processor} in the same order they appear in the input (enabled by default).
+	 *
+	 * @return {@code true} if rows are processed in order, otherwise {@code false}.
+	 */
+	public boolean isOrderedProcessingEnabled() {
+		return orderedProcessingEnabled;
+	}
+
+	/**
+	 * Defines whether parsed rows should be sent to the {@link Processor} in the same order they appear in the input (enabled by default).
+	 *
+	 * <p> When enabled, all rows of a range are held in memory until the ranges that precede it are processed. At most twice the number
+	 * of threads are parsed ahead of the range being processed.
+	 * When disabled, rows are processed as soon as they are parsed, and {@link ParsingContext#currentChar()} is only accurate for single-byte encodings.
+	 *
+	 * @param orderedProcessingEnabled flag indicating whether rows should be processed in order.
+	 */
+	public void setOrderedProcessingEnabled(boolean orderedProcessingEnabled) {
+		this.orderedProcessingEnabled = orderedProcessingEnabled;
+	}
+
+	/**
+	 * Returns the approximate number of bytes of each range parsed by a single thread. Defaults to {@link #DEFAULT_RANGE_SIZE}.
+	 *
+	 * @return the size of each range of the input.
+	 */
+	public int getRangeSize() {
+		return rangeSize;
+	}
+
+	/**
+	 * Defines the approximate number of bytes of each range parsed by a single thread. Defaults to {@link #DEFAULT_RANGE_SIZE}.
+	 *
+	 * @param rangeSize the size of each range of the input.
+	 */
+	public void setRangeSize(int rangeSize) {
+		if (rangeSize <= 0) {
+			throw new IllegalArgumentException("Range size must be positive");
+		}
+		this.rangeSize = rangeSize;
+	}
+
+	/**
+	 * Parses the entirety of a given file, encoded using the default encoding of the JVM, and delegates each parsed row to an instance of
+	 * {@link Processor}, defined by {@link CommonParserSettings#getProcessor()}.
+	 *
+	 * @param file The file to be parsed.
+	 */
+	public final void parse(File file) {
+		parse(file, Charset.defaultCharset());
+	}
+
+	/**
+	 * Parses the entirety of a given file and delegates each parsed row to an instance of {@link Processor}, defined by {@link CommonParserSettings#getProcessor()}.
+	 *
+	 * @param file     The file to be parsed.
+	 * @param encoding the encoding of the file. Must be US-ASCII, ISO-8859-1 or UTF-8.
+	 */
+	public final void parse(File file, String encoding) {
+		parse(file, Charset.forName(encoding));
+	}
+
+	/**
+	 * Parses the entirety of a given file and delegates each parsed row to an instance of {@link Processor}, defined by {@link CommonParserSettings#getProcessor()}.
+	 *
+	 * @param file     The file to be parsed.
+	 * @param encoding the encoding of the file. Must be US-ASCII, ISO-8859-1 or UTF-8.
+	 */
+	public final void parse(File file, Charset encoding) {
+		if (encoding == null) {
+			encoding = Charset.defaultCharset();
+		}
+		if (!RawByteReader.isSupported(encoding)) {
+			throw new IllegalArgumentException("Encoding '" + encoding.name() + "' is not supported for parallel parsing. Use US-ASCII, ISO-8859-1 or UTF-8");
+		}
+		if (!file.isFile()) {
+			throw new IllegalArgumentException("Unable to parse file '" + file.getAbsolutePath() + "': not a file");
+		}
+
+		T rangeSettings = newRangeSettings();
+
+		// the first record is parsed with every byte read as a single character, so the character count is the position of the end of the record in bytes.
+		AbstractParser<T> probe = newProbe();
+		long firstRecordEnd;
+		probe.beginParsing(new MappedFileReader(file, ISO_8859_1));
+		try {
+			String[] firstRecord = probe.parseNext();
+			firstRecordEnd = firstRecord == null ? Long.MAX_VALUE : probe.getContext().currentChar();
+			applyDetectedFormat(probe, rangeSettings);
+		} finally {
+			probe.stopParsing();
+		}
+
+		// headers are collected with the actual encoding of the input.
+		probe = newProbe();
+		probe.beginParsing(new MappedFileReader(file, encoding));
+		try {
+			probe.parseNext();
+		} finally {
+			probe.stopParsing();
+		}
+		ParsingContext probeContext = probe.getContext();
+
+		context = new ParallelParsingContext(probeContext, rangeSettings.getFormat().getLineSeparator());
+		if (processor instanceof DefaultConversionProcessor) {
+			DefaultConversionProcessor conversionProcessor = ((DefaultConversionProcessor) processor);
+			conversionProcessor.errorHandler = errorHandler;
+			conversionProcessor.context = context;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+			private int count;
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "unVocity-parsers parallel parsing thread " + (++count));
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		try {
+			processor.processStarted(context);
+
+			List<long[]> ranges = findRanges(executor, file, newRecordBoundaryScanner(rangeSettings), firstRecordEnd);
+			String[] headers = probeContext.headers();
+			if (orderedProcessingEnabled) {
+				parseInOrder(executor, file, encoding, ranges, rangeSettings, headers);
+			} else {
+				parseUnordered(executor, file, encoding, ranges, rangeSettings, headers);
+			}
+		} finally {
+			context.stop();
+			executor.shutdownNow();
+			processor.processEnded(context);
+		}
+	}
+
+	/**
+	 * Returns the context of the last parsing process, which reflects the position of the last record processed.
+	 *
+	 * @return the current parsing context
+	 */
+	public final ParsingContext getContext() {
+		return context;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T copySettings(T settings) {
+		return (T) settings.clone();
+	}
+
+	private AbstractParser<T> newProbe() {
+		T probeSettings = copySettings(settings);
+		probeSettings.setProcessor(NoopRowProcessor.instance);
+		probeSettings.setNumberOfRecordsToRead(-1);
+		probeSettings.setReadInputOnSeparateThread(false);
+		return newParser(probeSettings);
+	}
+
+	private T newRangeSettings() {
+		T out = copySettings(settings);
+		out.setNumberOfRecordsToRead(-1);
+		out.setReadInputOnSeparateThread(false);
+		return out;
+	}
+
+	/**
+	 * Scans the input in parallel and identifies the starting position of each range to be parsed.
+	 *
+	 * @return a list of {@code [start, end, lines before start]} entries.
+	 */
+	private List<long[]> findRanges(ExecutorService executor, final File file, final RecordBoundaryScanner scanner, long firstRecordEnd) {
+		final long fileLength = file.length();
+		final int chunkCount = (int) Math.max(1, (fileLength + rangeSize - 1) / rangeSize);
+		final int[] possibleStates = scanner.getPossibleStates();
+
+		List<Future<RecordBoundaryScanner.ScanResult>> scans = new ArrayList<Future<RecordBoundaryScanner.ScanResult>>(chunkCount);
+		for (int i = 0; i < chunkCount; i++) {
+			final int chunk = i;
+			scans.add(executor.submit(new Callable<RecordBoundaryScanner.ScanResult>() {
+				@Override
+				public RecordBoundaryScanner.ScanResult call() throws Exception {
+					return scanChunk(file, fileLength, scanner, chunk, chunk == 0 ? new int[]{scanner.getInitialState()} : possibleStates);
+				}
+			}));
+		}
+
+		List<long[]> ranges = new ArrayList<long[]>(chunkCount);
+		ranges.add(new long[]{0L, fileLength, 0L});
+
+		int state = scanner.getInitialState();
+		long lines = 0;
+		for (int i = 0; i < chunkCount; i++) {
+			RecordBoundaryScanner.ScanResult result = getResult(scans.get(i));
+			int hypothesis = result.indexOf(state);
+			if (hypothesis == -1) {
+				result = scanChunk(file, fileLength, scanner, i, new int[]{state});
+				hypothesis = 0;
+			}
+
+			long recordStart = result.recordStarts[hypothesis];
+			if (recordStart > 0 && recordStart >= firstRecordEnd && recordStart < fileLength) {
+				long[] previous = ranges.get(ranges.size() - 1);
+				if (recordStart > previous[0]) {
+					previous[1] = recordStart;
+					ranges.add(new long[]{recordStart, fileLength, lines + result.linesBeforeRecordStart[hypothesis]});
+				}
+			}
+			lines += result.lineCount;
+			state = result.endStates[hypothesis];
+		}
+		return ranges;
+	}
+
+	private RecordBoundaryScanner.ScanResult scanChunk(File file, long fileLength, RecordBoundaryScanner scanner, int chunk, int[] states) {
+		long start = (long) chunk * rangeSize;
+		long length = Math.min(rangeSize, fileLength - start);
+		FileInputStream input = null;
+		try {
+			input = new FileInputStream(file);
+			FileChannel channel = input.getChannel();
+			byte previous = 0;
+			if (start > 0) {
+				ByteBuffer buffer = ByteBuffer.allocate(1);
+				channel.read(buffer, start - 1);
+				previous = buffer.get(0);
+			}
+			ByteBuffer bytes = length <= 0 ? ByteBuffer.allocate(0) : channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+			return scanner.scan(bytes, start, previous, states);
+		} catch (IOException e) {
+			throw new IllegalStateException("Error scanning file '" + file.getAbsolutePath() + "'", e);
+		} finally {
+			if (input != null) {
+				try {
+					input.close();
+				} catch (IOException e) {
+					//ignore
+				}
+			}
+		}
+	}
+
+	private void parseInOrder(ExecutorService executor, File file, Charset encoding, List<long[]> ranges, T rangeSettings, String[] headers) {
+		int rangeCount = ranges.size();
+		List<Future<RangeProcessor>> results = new ArrayList<Future<RangeProcessor>>(rangeCount);
+		int submitted = 0;
+		long charOffset = 0;
+		for (int next = 0; next < rangeCount && !context.isStopped(); next++) {
+			while (submitted < rangeCount && submitted - next < threadCount * 2) {
+				results.add(executor.submit(new RangeTask(file, encoding, submitted, ranges.get(submitted), rangeSettings, headers, new RangeProcessor(null))));
+				submitted++;
+			}
+			RangeProcessor range = getResult(results.get(next));
+			results.set(next, null);
+
+			long lineOffset = ranges.get(next)[2];
+			for (int i = 0; i < range.rows.size() && !context.isStopped(); i++) {
+				deliver(range.rows.get(i), lineOffset + range.lines[i], charOffset + range.chars[i]);
+			}
+			charOffset += range.charCount;
+			context.filtered += range.filteredRecords;
+		}
+	}
+
+	private void parseUnordered(ExecutorService executor, File file, Charset encoding, List<long[]> ranges, T rangeSettings, String[] headers) {
+		int rangeCount = ranges.size();
+		List<Future<RangeProcessor>> results = new ArrayList<Future<RangeProcessor>>(rangeCount);
+		for (int i = 0; i < rangeCount; i++) {
+			long[] range = ranges.get(i);
+			results.add(executor.submit(new RangeTask(file, encoding, i, range, rangeSettings, headers, new RangeProcessor(range))));
+		}
+		for (int i = 0; i < rangeCount; i++) {
+			RangeProcessor range = getResult(results.get(i));
+			synchronized (this) {
+				context.filtered += range.filteredRecords;
+			}
+		}
+	}
+
+	private <R> R getResult(Future<R> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Parallel parsing interrupted", e);
+		} catch (ExecutionException e) {
+			context.stop();
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Sends a parsed row to the {@link Processor}, handling errors the same way as {@link AbstractParser} does.
+	 */
+	private void deliver(String[] row, long line, long charIndex) {
+		if (context.isStopped()) {
+			return;
+		}
+		if (recordsToRead >= 0 && context.record >= recordsToRead) {
+			context.stop();
+			return;
+		}
+		context.line = line;
+		context.charIndex = charIndex;
+		context.record++;
+
+		try {
+			processor.rowProcessed(row, context);
+		} catch (DataProcessingException ex) {
+			ex.setContext(context);
+
+			if (!ex.isFatal() && !ex.isHandled() && ex.getColumnIndex() > -1 && errorHandler instanceof RetryableErrorHandler) {
+				RetryableErrorHandler<ParsingContext> retry = ((RetryableErrorHandler<ParsingContext>) errorHandler);
+				ex.markAsHandled(errorHandler);
+				retry.handleError(ex, row, context);
+				if (!retry.isRecordSkipped()) {
+					try {
+						processor.rowProcessed(row, context);
+						return;
+					} catch (DataProcessingException e) {
+						ex = e;
+					} catch (Throwable t) {
+						throwDataProcessingException(t, row);
+					}
+				}
+			}
+
+			ex.setErrorContentLength(errorContentLength);
+			if (ex.isFatal()) {
+				throw ex;
+			}
+			ex.markAsHandled(errorHandler);
+			errorHandler.handleError(ex, row, context);
+		} catch (Throwable t) {
+			throwDataProcessingException(t, row);
+		}
+
+		if (recordsToRead >= 0 && context.record >= recordsToRead) {
+			context.stop();
+		}
+	}
+
+	private void throwDataProcessingException(Throwable t, String[] row) throws DataProcessingException {
+		DataProcessingException ex = new DataProcessingException("Unexpected error processing input row "
+				+ AbstractException.restrictContent(errorContentLength, Arrays.toString(row))
+				+ " using Processor " + processor.getClass().getName() + '.'
+				, AbstractException.restrictContent(errorContentLength, row)
+				, t);
+		ex.restrictContent(errorContentLength);
+		throw ex;
+	}
+
+	/**
+	 * Parses a single range of the input with its own parser.
+	 */
+	private final class RangeTask implements Callable<RangeProcessor> {
+		private final File file;
+		private final Charset encoding;
+		private final long[] range;
+		private final T rangeSettings;
+		private final RangeProcessor rangeProcessor;
+
+		RangeTask(File file, Charset encoding, int index, long[] range, T template, String[] headers, RangeProcessor rangeProcessor) {
+			this.file = file;
+			this.encoding = encoding;
+			this.range = range;
+			this.rangeProcessor = rangeProcessor;
+
+			rangeSettings = copySettings(template);
+			rangeSettings.setProcessor(rangeProcessor);
+			// rows are collected until the range can be sent to the user's processor in order.
+			rangeSettings.setRowRecyclingEnabled(false);
+			if (index > 0) {
+				// headers and skipped rows are part of the first range only
+				rangeSettings.setHeaderExtractionEnabled(false);
+				rangeSettings.setNumberOfRowsToSkip(0);
+				if (headers != null) {
+					rangeSettings.setHeaders(headers);
+				}
+			}
+		}
+
+		@Override
+		public RangeProcessor call() {
+			if (context.isStopped()) {
+				return rangeProcessor;
+			}
+			AbstractParser<T> parser = newParser(rangeSettings);
+			parser.parse(new MappedFileReader(file, encoding, range[0], range[1], MappedFileReader.DEFAULT_REGION_SIZE));
+			rangeProcessor.charCount = parser.getContext().currentChar();
+			rangeProcessor.filteredRecords = parser.getContext().filteredRecords();
+			return rangeProcessor;
+		}
+	}
+
+	/**
+	 * Collects the rows parsed from a range of the input, or sends them directly to the user's {@link Processor} if
+	 * ordered processing is disabled.
+	 */
+	private final class RangeProcessor implements Processor<ParsingContext> {
+		private final long[] unorderedRange;
+		final List<String[]> rows = new ArrayList<String[]>();
+		long[] lines = new long[16];
+		long[] chars = new long[16];
+		long charCount;
+		long filteredRecords;
+
+		RangeProcessor(long[] unorderedRange) {
+			this.unorderedRange = unorderedRange;
+		}
+
+		@Override
+		public void processStarted(ParsingContext rangeContext) {
+		}
+
+		@Override
+		public void rowProcessed(String[] row, ParsingContext rangeContext) {
+			if (context.isStopped()) {
+				rangeContext.stop();
+				return;
+			}
+			if (unorderedRange != null) {
+				synchronized (AbstractParallelParser.this) {
+					deliver(row, unorderedRange[2] + rangeContext.currentLine(), unorderedRange[0] + rangeContext.currentChar());
+				}
+				return;
+			}
+			int index = rows.size();
+			if (index == lines.length) {
+				lines = Arrays.copyOf(lines, index * 2);
+				chars = Arrays.copyOf(chars, index * 2);
+			}
+			lines[index] = rangeContext.currentLine();
+			chars[index] = rangeContext.currentChar();
+			rows.add(row);
+		}
+
+		@Override
+		public void processEnded(ParsingContext rangeContext) {
+		}
+	}
+
+	/**
+	 * The context shared by all rows processed, with line and character indexes relative to the entire input.
+	 */
+	private static final class ParallelParsingContext extends ParsingContextWrapper {
+		private final char[] lineSeparator;
+		private volatile boolean stopped;
+		long line;
+		long charIndex;
+		long record;
+		long filtered;
+
+		ParallelParsingContext(ParsingContext context, char[] lineSeparator) {
+			super(context);
+			this.lineSeparator = lineSeparator;
+		}
+
+		@Override
+		public long currentLine() {
+			return line;
+		}
+
+		@Override
+		public long currentChar() {
+			return charIndex;
+		}
+
+		@Override
+		public long currentRecord() {
+			return record;
+		}
+
+		@Override
+		public int currentColumn() {
+			return 0;
+		}
+
+		@Override
+		public void stop() {
+			stopped = true;
+		}
+
+		@Override
+		public boolean isStopped() {
+			return stopped;
+		}
+
+		@Override
+		public void skipLines(long lines) {
+			throw new UnsupportedOperationException("Lines can't be skipped when parsing in parallel");
+		}
+
+		@Override
+		public String currentParsedContent() {
+			return null;
+		}
+
+		@Override
+		public String fieldContentOnError() {
+			return null;
+		}
+
+		@Override
+		public Map<Long, String> comments() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public String lastComment() {
+			return null;
+		}
+
+		@Override
+		public char[] lineSeparator() {
+			return lineSeparator.clone();
+		}
+
+		@Override
+		public long filteredRecords() {
+			return filtered;
+		}
+	}
+}
@@ -54,7 +54,14 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	private final LineReader lineReader = new LineReader();
 	protected ParsingContext context;
 	protected Processor processor;
+	private final RowViewProcessor rowViewProcessor;
+	private final BatchProcessor batchProcessor;
+	private final String[][] batch;
+	private final long[] batchLines;
+	private int batchCount;
 	protected CharInputReader input;
+	private CharInputReader reusableInput;
+	private CharInputReader lineInput;
 	protected char ch;
 	private final ProcessorErrorHandler errorHandler;
 	protected RecordFactory recordFactory;
@@ -64,6 +71,10 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	private final boolean collectComments;
 	private Record firstRecord;
 	private final int errorContentLength;
+	private final RowSampling rowSampling;
+	private RowSampler sampler;
+	private final boolean skipEmptyLines;
+	private final char newLine;
 
 	/**
 	 * All parsers must support, at the very least, the settings provided by {@link CommonParserSettings}. The AbstractParser requires its configuration to be properly initialized.
@@ -76,18 +87,31 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		this.errorContentLength = settings.getErrorContentLength();
 		this.output = new ParserOutput(settings);
 		this.processor = settings.getProcessor();
+		this.rowViewProcessor = settings.getRowViewProcessor();
+		this.batchProcessor = settings.getBatchProcessor();
+		if (batchProcessor != null && rowViewProcessor != null) {
+			throw new IllegalArgumentException("A batch processor can't be used along with a row view processor");
+		}
+		this.batch = batchProcessor == null ? null : new String[settings.getBatchSize()][];
+		this.batchLines = batchProcessor instanceof RowProcessorBatchAdapter ? new long[batch.length] : null;
 		this.recordsToRead = settings.getNumberOfRecordsToRead();
 		this.comment = settings.getFormat().getComment();
 		this.errorHandler = settings.getProcessorErrorHandler();
 		this.rowsToSkip = settings.getNumberOfRowsToSkip();
 		this.collectComments = settings.isCommentCollectionEnabled();
 		this.comments = collectComments ? new TreeMap<Long, String>() : Collections.<Long, String>emptyMap();
+		this.rowSampling = settings.getRowSampling();
+		this.skipEmptyLines = settings.getSkipEmptyLines();
+		this.newLine = settings.getFormat().getNormalizedNewline();
 	}
 
 	protected void processComment() {
 		if (collectComments) {
 			long line = input.lineCount();
 			String comment = input.readComment();
+			if (output.decodeValues) {
+				comment = RawByteReader.decodeValue(comment);
+			}
 			if (comment != null) {
 				lastComment = comment;
 				comments.put(line, lastComment);
@@ -104,7 +128,17 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 */
 	public final void parse(Reader reader) {
 		beginParsing(reader);
+		output.recycleRows = settings.isRowRecyclingEnabled() && batchProcessor == null;
 		try {
+			if (sampler != null && sampler.isReservoir()) {
+				fillReservoir();
+				String[] row;
+				while (!context.isStopped() && (row = nextSampledRow()) != null) {
+					sampledRowProcessed(row);
+				}
+				stopParsing();
+				return;
+			}
 			while (!context.isStopped()) {
 				ch = input.nextChar();
 				if (inComment()) {
@@ -112,10 +146,19 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 					continue;
 				}
 				input.markRecordStart();
+				if (sampler != null && skipSampledOut()) {
+					continue;
+				}
 				parseRecord();
 
-				String[] row = output.rowParsed();
-				if (row != null) {
+				String[] row = null;
+				RowView view = null;
+				if (rowViewProcessor == null) {
+					row = output.rowParsed();
+				} else {
+					view = output.rowViewParsed();
+				}
+				if (row != null || view != null) {
 					if (recordsToRead >= 0 && context.currentRecord() >= recordsToRead) {
 						context.stop();
 						if (recordsToRead == 0) {
@@ -123,7 +166,11 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 							return;
 						}
 					}
-					rowProcessed(row);
+					if (view != null) {
+						rowViewProcessed(view);
+					} else {
+						rowProcessed(row);
+					}
 				}
 			}
 
@@ -176,19 +223,21 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return false;
 	}
 
+	/**
+	 * Indicates whether this parser can process inputs that have their line separators normalized in bulk when each buffer is loaded
+	 * (see {@link CommonParserSettings#isLineEndingNormalizationOnLoadEnabled()}). Parsers that must read line separators as-is in some
+	 * of their values should return {@code false}.
+	 *
+	 * @return a flag indicating whether line separators can be normalized when each buffer is loaded.
+	 */
+	protected boolean isLineEndingNormalizationOnLoadSupported() {
+		return true;
+	}
+
 	private String[] handleEOF() {
 		String[] row = null;
 		try {
-			boolean consumeValueOnEOF = consumeValueOnEOF();
-			if (output.column != 0 || consumeValueOnEOF) {
-				if (output.appender.length() > 0 || consumeValueOnEOF) {
-					output.valueParsed();
-				} else {
-					output.emptyParsed();
-				}
-				row = output.rowParsed();
-			} else if (output.appender.length() > 0) {
-				output.valueParsed();
+			if (completeRecordOnEOF()) {
 				row = output.rowParsed();
 			}
 		} catch (ArrayIndexOutOfBoundsException e) {
@@ -200,45 +249,254 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return row;
 	}
 
+	/**
+	 * Consumes any value that was being parsed when the end of the input was reached.
+	 *
+	 * @return {@code true} if there are values to be collected from the {@link ParserOutput}, otherwise {@code false}
+	 */
+	private boolean completeRecordOnEOF() {
+		boolean consumeValueOnEOF = consumeValueOnEOF();
+		if (output.column != 0 || consumeValueOnEOF) {
+			if (output.appender.length() > 0 || consumeValueOnEOF) {
+				output.valueParsed();
+			} else {
+				output.emptyParsed();
+			}
+			return true;
+		} else if (output.appender.length() > 0) {
+			output.valueParsed();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Skips records that are not part of the sample selected by the {@link RowSampling} of the settings, as soon as their first character is read.
+	 * Blank lines that will be skipped by the parser and the header row are never sampled out.
+	 *
+	 * @return {@code true} if the current record has been skipped, otherwise {@code false}.
+	 */
+	private boolean skipSampledOut() {
+		if ((ch == newLine && skipEmptyLines) || output.isHeaderRowPending() || sampler.sample()) {
+			return false;
+		}
+		try {
+			skipRecord();
+		} catch (EOFException ex) {
+			// nothing of the last record should be collected once the end of the input is reached.
+			output.discardValues();
+			output.appender.reset();
+			ch = newLine;
+			throw ex;
+		}
+		return true;
+	}
+
+	/**
+	 * Skips the current record, which is not part of the sample selected by the {@link RowSampling} of the settings. Its values must not be
+	 * collected into the {@link ParserOutput}. By default, the record is parsed and its values discarded. Parsers should override this method
+	 * to find the end of the record without collecting its values.
+	 */
+	protected void skipRecord() {
+		parseRecord();
+		output.discardValues();
+	}
+
+	/**
+	 * Parses the entire input, collecting the records sampled into the reservoir of the {@link RowSampler}.
+	 */
+	private void fillReservoir() {
+		try {
+			while (!context.isStopped()) {
+				ch = input.nextChar();
+				if (inComment()) {
+					processComment();
+					continue;
+				}
+				input.markRecordStart();
+				if (skipSampledOut()) {
+					continue;
+				}
+				parseRecord();
+				addToReservoir();
+			}
+		} catch (EOFException ex) {
+			if (completeRecordOnEOF()) {
+				addToReservoir();
+			}
+		}
+	}
+
+	private void addToReservoir() {
+		String[] row = output.rowParsed();
+		if (row != null) {
+			sampler.add(output.recycleRows ? row.clone() : row);
+		}
+	}
+
+	/**
+	 * Returns the next record of the reservoir, respecting the {@link CommonParserSettings#getNumberOfRecordsToRead() number of records to read}.
+	 *
+	 * @return the next sampled record, or {@code null} if there are no more records to produce.
+	 */
+	private String[] nextSampledRow() {
+		if (recordsToRead >= 0 && sampler.getDeliveredCount() >= recordsToRead) {
+			return null;
+		}
+		return sampler.next();
+	}
+
+	private void sampledRowProcessed(String[] row) {
+		if (rowViewProcessor == null) {
+			rowProcessed(row);
+			return;
+		}
+		DefaultRowView view = new DefaultRowView(row.length, null);
+		for (int i = 0; i < row.length; i++) {
+			view.valueParsed(i, row[i]);
+		}
+		view.rowParsed(row.length, null);
+		rowViewProcessed(view);
+	}
+
+	/**
+	 * Prepares this parser to parse individual messages with {@link #parseMessage(String[])}. Each message must be loaded into the given input
+	 * before it is parsed.
+	 *
+	 * @param messageInput the input that provides the characters of each message.
+	 */
+	final void beginParsingMessages(CharInputReader messageInput) {
+		output.reset();
+		input = messageInput;
+		input.enableNormalizeLineEndings(true);
+		context = createParsingContext();
+		output.context = context;
+		output.prepareValueStreaming();
+		sampler = null;
+		recordFactory = null;
+		initialize();
+	}
+
+	/**
+	 * Parses the message currently loaded in the input given to {@link #beginParsingMessages(CharInputReader)} and copies its values into
+	 * the given row. The {@link Processor} is not invoked.
+	 *
+	 * @param row           the array that receives the parsed values.
+	 * @param completeOnEOF flag indicating whether to collect the values parsed when the end of the message is reached before the end of the record.
+	 *                      If {@code false}, the values are discarded and {@code -1} is returned.
+	 *
+	 * @return the number of values parsed from the message, which may be greater than the length of the given row.
+	 * Returns {@code 0} if the message is a comment, has no values or is rejected by the {@link RowFilter}, and {@code -1} if the end of the message was reached and {@code completeOnEOF} is {@code false}.
+	 */
+	final int parseMessage(String[] row, boolean completeOnEOF) {
+		try {
+			ch = input.nextChar();
+			if (inComment()) {
+				return 0;
+			}
+			input.markRecordStart();
+			parseRecord();
+			return output.rowParsed(row);
+		} catch (EOFException ex) {
+			if (!completeOnEOF) {
+				output.discardValues();
+				output.appender.reset();
+				return -1;
+			}
+			return completeRecordOnEOF() ? output.rowParsed(row) : 0;
+		} catch (Throwable ex) {
+			TextParsingException error = handleException(ex);
+			output.discardValues();
+			output.appender.reset();
+			throw error;
+		}
+	}
+
 	/**
 	 * Starts an iterator-style parsing cycle. If a {@link RowProcessor} is provided in the configuration, it will be used to perform additional processing.
 	 * The parsed records must be read one by one with the invocation of {@link AbstractParser#parseNext()}.
 	 * The user may invoke @link {@link AbstractParser#stopParsing()} to stop reading from the input.
+	 * <p> A parser instance can process any number of inputs, one at a time. Its input buffer, value appenders and output arrays are retained
+	 * and reused for each new input, which makes reusing a parser much cheaper than creating a new one when processing many small inputs.
+	 * Any input being parsed when this method is invoked is closed.
 	 *
 	 * @param reader The input to be parsed.
 	 */
 	public final void beginParsing(Reader reader) {
 		output.reset();
 
+		// input readers and their buffers are created once and reused when this parser processes another input.
 		if (reader instanceof LineReader) {
-			input = new DefaultCharInputReader(settings.getFormat().getLineSeparator(), settings.getFormat().getNormalizedNewline(), settings.getInputBufferSize());
+			if (lineInput == null) {
+				lineInput = new DefaultCharInputReader(settings.getFormat().getLineSeparator(), settings.getFormat().getNormalizedNewline(), settings.getInputBufferSize());
+			}
+			input = lineInput;
 		} else {
-			input = settings.newCharInputReader();
+			if (reusableInput == null) {
+				reusableInput = settings.newCharInputReader();
+			}
+			input = reusableInput;
 		}
 		input.enableNormalizeLineEndings(true);
+		output.decodeValues = reader instanceof RawByteReader && ((RawByteReader) reader).isValueDecodingRequired();
+		output.enableRowView(rowViewProcessor != null);
+		output.recycleRows = settings.isRowRecyclingEnabled() && settings.isRowRecyclingOnParseNextEnabled() && batchProcessor == null;
 
 		context = createParsingContext();
-
-		if (processor instanceof DefaultConversionProcessor) {
-			DefaultConversionProcessor conversionProcessor = ((DefaultConversionProcessor) processor);
+		output.context = context;
+		output.prepareValueStreaming();
+		sampler = rowSampling == null || reader instanceof LineReader ? null : new RowSampler(rowSampling);
+
+		Object rowHandler = processor;
+		if (batchProcessor instanceof RowProcessorBatchAdapter) {
+			final RowProcessorBatchAdapter adapter = (RowProcessorBatchAdapter) batchProcessor;
+			rowHandler = adapter.getRowProcessor();
+			adapter.setLineIndexes(batchLines);
+			adapter.setErrorHandler(new ProcessorErrorHandler<ParsingContext>() {
+				@Override
+				public void handleError(DataProcessingException error, Object[] inputRow, ParsingContext rowContext) {
+					handleRowError(error, adapter.getRowProcessor(), (String[]) inputRow, rowContext);
+				}
+			});
+		}
+		if (rowHandler instanceof DefaultConversionProcessor) {
+			DefaultConversionProcessor conversionProcessor = ((DefaultConversionProcessor) rowHandler);
 			conversionProcessor.errorHandler = errorHandler;
 			conversionProcessor.context = context;
 		}
 
 		if (input instanceof AbstractCharInputReader) {
-			((AbstractCharInputReader) input).addInputAnalysisProcess(getInputAnalysisProcess());
+			AbstractCharInputReader inputReader = (AbstractCharInputReader) input;
+			inputReader.addInputAnalysisProcess(getInputAnalysisProcess());
+			inputReader.enableLineEndingNormalizationOnLoad(input != lineInput && settings.isLineEndingNormalizationOnLoadEnabled() && isLineEndingNormalizationOnLoadSupported());
 		}
 
 		input.start(reader);
 		input.skipLines(rowsToSkip);
 
-		recordFactory = new RecordFactory(context, errorContentLength);
-		processor.processStarted(context);
+		// created on demand, only if records are requested from this input.
+		recordFactory = null;
+		batchCount = 0;
+		if (rowViewProcessor != null) {
+			rowViewProcessor.processStarted(context);
+		} else if (batchProcessor != null) {
+			batchProcessor.processStarted(context);
+		} else {
+			processor.processStarted(context);
+		}
+		if (batchProcessor instanceof RowProcessorBatchAdapter && rowHandler instanceof DefaultConversionProcessor) {
+			// conversion errors must report the record of the batch that failed, not the last record parsed.
+			((DefaultConversionProcessor) rowHandler).context = ((RowProcessorBatchAdapter) batchProcessor).getContext();
+		}
 
 		initialize();
 	}
 
 	protected ParsingContext createParsingContext() {
+		// the context of a previous input is reused if it reads from the same input reader.
+		if (context instanceof DefaultParsingContext && ((DefaultParsingContext) context).restart(input)) {
+			return context;
+		}
 		DefaultParsingContext out = new DefaultParsingContext(this);
 		out.stopped = false;
 		return out;
@@ -311,7 +569,8 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 
 		if (ex instanceof ArrayIndexOutOfBoundsException) {
 			try {
-				int index = Integer.parseInt(ex.getMessage());
+				// the JVM may omit the message of exceptions thrown repeatedly. The column the parser stopped at is the best guess then.
+				int index = ex.getMessage() == null ? output.getCurrentColumn() : getOutOfBoundsIndex(ex.getMessage());
 				if (index == settings.getMaxCharsPerColumn()) {
 					message += "\nHint: Number of characters processed may have exceeded limit of " + index + " characters per column. Use settings.setMaxCharsPerColumn(int) to define the maximum number of characters a column can have";
 				}
@@ -341,6 +600,26 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return out;
 	}
 
+	/**
+	 * Extracts the offending index from the message of an {@link ArrayIndexOutOfBoundsException}. Older JVMs report
+	 * only the index (e.g. "10000"), while newer ones describe it (e.g. "Index 10000 out of bounds for length 10000").
+	 *
+	 * @param message the exception message
+	 *
+	 * @return the first number found in the message
+	 */
+	private static int getOutOfBoundsIndex(String message) {
+		int start = 0;
+		while (start < message.length() && !Character.isDigit(message.charAt(start))) {
+			start++;
+		}
+		int end = start;
+		while (end < message.length() && Character.isDigit(message.charAt(end))) {
+			end++;
+		}
+		return Integer.parseInt(message.substring(start, end));
+	}
+
 	private static String displayLineSeparators(String str, boolean addNewLine) {
 		if (addNewLine) {
 			if (str.contains("\r\n")) {
@@ -391,12 +670,25 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 			context.stop();
 		} finally {
 			try {
-				processor.processEnded(context);
+				if (rowViewProcessor != null) {
+					rowViewProcessor.processEnded(context);
+				} else if (batchProcessor != null) {
+					try {
+						if (batchCount > 0) {
+							batchProcessed();
+						}
+					} finally {
+						batchProcessor.processEnded(context);
+					}
+				} else {
+					processor.processEnded(context);
+				}
 			} finally {
 				output.appender.reset();
 				input.stop();
 			}
 		}
+		output.verifyRowRetention(rowViewProcessor != null ? rowViewProcessor : processor);
 	}
 
 	/**
@@ -409,6 +701,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	public final List<String[]> parseAll(Reader reader) {
 		List<String[]> out = new ArrayList<String[]>(10000);
 		beginParsing(reader);
+		output.recycleRows = false;
 		String[] row;
 		while ((row = parseNext()) != null) {
 			out.add(row);
@@ -434,6 +727,18 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 			return out;
 		}
 		try {
+			if (sampler != null && sampler.isReservoir()) {
+				if (!sampler.isComplete()) {
+					fillReservoir();
+				}
+				String[] row = nextSampledRow();
+				if (row == null) {
+					stopParsing();
+				} else {
+					sampledRowProcessed(row);
+				}
+				return row;
+			}
 			while (!context.isStopped()) {
 				ch = input.nextChar();
 				if (inComment()) {
@@ -441,6 +746,9 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 					continue;
 				}
 				input.markRecordStart();
+				if (sampler != null && skipSampledOut()) {
+					continue;
+				}
 				parseRecord();
 				String[] row = output.rowParsed();
 				if (row != null) {
@@ -485,7 +793,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 */
 	protected final void reloadHeaders() {
 		this.output.initializeHeaders();
-		this.recordFactory = new RecordFactory(context, errorContentLength);
+		this.recordFactory = null;
 		if (context instanceof DefaultParsingContext) {
 			((DefaultParsingContext) context).reset();
 		}
@@ -503,7 +811,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		if (values == null) {
 			return null;
 		}
-		return recordFactory.newRecord(values);
+		return recordFactory().newRecord(values);
 	}
 
 
@@ -557,56 +865,180 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return null;
 	}
 
+	@SuppressWarnings("unchecked")
 	private void rowProcessed(String[] row) {
+		if (rowViewProcessor != null) {
+			rowViewProcessed(output.getRowView());
+			return;
+		}
+		if (batchProcessor != null) {
+			if (batchLines != null) {
+				batchLines[batchCount] = context.currentLine();
+			}
+			batch[batchCount++] = row;
+			if (batchCount == batch.length) {
+				batchProcessed();
+			}
+			return;
+		}
 		try {
 			processor.rowProcessed(row, context);
 		} catch (DataProcessingException ex) {
-			ex.setContext(context);
+			if (output.recycleRows) {
+				// the row will be overwritten while the error handler may still refer to it.
+				row = row.clone();
+			}
+			handleRowError(ex, processor, row, context);
+		} catch (Throwable t) {
+			throwDataProcessingException(t, output.recycleRows ? row.clone() : row);
+		}
+	}
 
-			if (!ex.isFatal() && !ex.isHandled() && ex.getColumnIndex() > -1 && errorHandler instanceof RetryableErrorHandler) {
-				RetryableErrorHandler retry = ((RetryableErrorHandler) errorHandler);
-				ex.markAsHandled(errorHandler);
-				retry.handleError(ex, row, context);
-				if (!retry.isRecordSkipped()) {
-					try {
-						processor.rowProcessed(row, context);
-						return;
-					} catch (DataProcessingException e) {
-						ex = e;
-					} catch (Throwable t) {
-						throwDataProcessingException(t, row);
-					}
+	/**
+	 * Handles an error thrown by a {@link Processor} while processing an individual row. Non-fatal errors are sent to the
+	 * {@link ProcessorErrorHandler} of this parser, and the row is processed again if a {@link RetryableErrorHandler} keeps the record.
+	 *
+	 * @param ex         the error thrown by the processor
+	 * @param processor  the processor of the row
+	 * @param row        the row being processed
+	 * @param rowContext the context given to the processor along with the row
+	 */
+	@SuppressWarnings("unchecked")
+	private void handleRowError(DataProcessingException ex, Processor<ParsingContext> processor, String[] row, ParsingContext rowContext) {
+		ex.setContext(context);
+
+		if (!ex.isFatal() && !ex.isHandled() && ex.getColumnIndex() > -1 && errorHandler instanceof RetryableErrorHandler) {
+			RetryableErrorHandler retry = ((RetryableErrorHandler) errorHandler);
+			ex.markAsHandled(errorHandler);
+			retry.handleError(ex, row, rowContext);
+			if (!retry.isRecordSkipped()) {
+				try {
+					processor.rowProcessed(row, rowContext);
+					return;
+				} catch (DataProcessingException e) {
+					ex = e;
+				} catch (Throwable t) {
+					throwDataProcessingException(t, row);
 				}
 			}
+		}
 
+		ex.setErrorContentLength(errorContentLength);
+		if (ex.isFatal()) {
+			throw ex;
+		}
+		ex.markAsHandled(errorHandler);
+		errorHandler.handleError(ex, row, rowContext);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void rowViewProcessed(RowView view) {
+		try {
+			rowViewProcessor.rowProcessed(view, context);
+		} catch (DataProcessingException ex) {
+			ex.setContext(context);
 			ex.setErrorContentLength(errorContentLength);
 			if (ex.isFatal()) {
 				throw ex;
 			}
 			ex.markAsHandled(errorHandler);
-			errorHandler.handleError(ex, row, context);
+			errorHandler.handleError(ex, view.toArray(), context);
 		} catch (Throwable t) {
-			throwDataProcessingException(t, row);
+			throwDataProcessingException(t, view.toArray());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void batchProcessed() {
+		int rowCount = batchCount;
+		batchCount = 0;
+		try {
+			batchProcessor.batchProcessed(batch, rowCount, context);
+		} catch (DataProcessingException ex) {
+			ex.setContext(context);
+			ex.setErrorContentLength(errorContentLength);
+			if (ex.isFatal() || ex.isHandled()) {
+				throw ex;
+			}
+			ex.markAsHandled(errorHandler);
+			errorHandler.handleError(ex, ex.getRow(), context);
+		} catch (Throwable t) {
+			DataProcessingException ex = new DataProcessingException("Unexpected error processing batch of " + rowCount + " input rows"
+					+ " using BatchProcessor " + batchProcessor.getClass().getName() + '.', t);
+			ex.restrictContent(errorContentLength);
+			throw ex;
+		} finally {
+			Arrays.fill(batch, 0, rowCount, null);
 		}
 	}
 
 	private void throwDataProcessingException(Throwable t, String[] row) throws DataProcessingException {
+		Object rowHandler = rowViewProcessor != null ? rowViewProcessor : processor;
 		DataProcessingException ex = new DataProcessingException("Unexpected error processing input row "
 				+ AbstractException.restrictContent(errorContentLength, Arrays.toString(row))
-				+ " using RowProcessor " + processor.getClass().getName() + '.'
+				+ " using RowProcessor " + rowHandler.getClass().getName() + '.'
 				, AbstractException.restrictContent(errorContentLength, row)
 				, t);
 		ex.restrictContent(errorContentLength);
 		throw ex;
 	}
 
+	private Reader newReader(File file, String encoding) {
+		return newReader(file, Charset.forName(encoding));
+	}
+
+	/**
+	 * Creates a {@link Reader} for the given file, memory-mapping it if {@link CommonParserSettings#isMemoryMappedInputEnabled()} evaluates to {@code true}.
+	 *
+	 * @param file     the file to be read
+	 * @param encoding the encoding of the file. If {@code null}, the default charset of the JVM will be used.
+	 *
+	 * @return a {@link Reader} for the given file.
+	 */
+	private Reader newReader(File file, Charset encoding) {
+		if (settings.isMemoryMappedInputEnabled()) {
+			return new MappedFileReader(file, encoding);
+		}
+		FileInputStream input;
+		try {
+			input = new FileInputStream(file);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException(e);
+		}
+		return newReader(input, encoding);
+	}
+
+	private Reader newReader(InputStream input, String encoding) {
+		return newReader(input, Charset.forName(encoding));
+	}
+
+	/**
+	 * Creates a {@link Reader} for the given input stream. If {@link CommonParserSettings#isByteOrientedParsingEnabled()} evaluates to {@code true}
+	 * and the encoding is supported by {@link RawByteReader}, the input bytes will be parsed without a {@link CharsetDecoder}. UTF-8 inputs are
+	 * decoded as usual if the format uses any non-ASCII character, as its bytes could match parts of multi-byte characters.
+	 *
+	 * @param input    the input stream to be read
+	 * @param encoding the encoding of the input stream. If {@code null}, the default charset of the JVM will be used.
+	 *
+	 * @return a {@link Reader} for the given input stream.
+	 */
+	private Reader newReader(InputStream input, Charset encoding) {
+		if (settings.isByteOrientedParsingEnabled()) {
+			Charset charset = encoding == null ? Charset.defaultCharset() : encoding;
+			if (RawByteReader.isSupported(charset) && (!"UTF-8".equals(charset.name()) || settings.getFormat().isAscii())) {
+				return new RawByteReader(input, charset);
+			}
+		}
+		return ArgumentUtils.newReader(input, encoding);
+	}
+
 	/**
 	 * Parses the entirety of a given file and delegates each parsed row to an instance of {@link RowProcessor}, defined by {@link CommonParserSettings#getRowProcessor()}.
 	 *
 	 * @param file The file to be parsed.
 	 */
 	public final void parse(File file) {
-		parse(ArgumentUtils.newReader(file));
+		parse(newReader(file, (Charset) null));
 	}
 
 	/**
@@ -616,7 +1048,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the file
 	 */
 	public final void parse(File file, String encoding) {
-		parse(ArgumentUtils.newReader(file, encoding));
+		parse(newReader(file, encoding));
 	}
 
 	/**
@@ -626,7 +1058,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the file
 	 */
 	public final void parse(File file, Charset encoding) {
-		parse(ArgumentUtils.newReader(file, encoding));
+		parse(newReader(file, encoding));
 	}
 
 	/**
@@ -635,7 +1067,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param input The input to be parsed. The input stream will be closed automatically.
 	 */
 	public final void parse(InputStream input) {
-		parse(ArgumentUtils.newReader(input));
+		parse(newReader(input, (Charset) null));
 	}
 
 	/**
@@ -645,7 +1077,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void parse(InputStream input, String encoding) {
-		parse(ArgumentUtils.newReader(input, encoding));
+		parse(newReader(input, encoding));
 	}
 
 	/**
@@ -655,7 +1087,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void parse(InputStream input, Charset encoding) {
-		parse(ArgumentUtils.newReader(input, encoding));
+		parse(newReader(input, encoding));
 	}
 
 	/**
@@ -666,7 +1098,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param file The file to be parsed.
 	 */
 	public final void beginParsing(File file) {
-		beginParsing(ArgumentUtils.newReader(file));
+		beginParsing(newReader(file, (Charset) null));
 	}
 
 	/**
@@ -678,7 +1110,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the file
 	 */
 	public final void beginParsing(File file, String encoding) {
-		beginParsing(ArgumentUtils.newReader(file, encoding));
+		beginParsing(newReader(file, encoding));
 	}
 
 	/**
@@ -690,7 +1122,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the file
 	 */
 	public final void beginParsing(File file, Charset encoding) {
-		beginParsing(ArgumentUtils.newReader(file, encoding));
+		beginParsing(newReader(file, encoding));
 	}
 
 	/**
@@ -701,7 +1133,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param input The input to be parsed. The input stream will be closed automatically in case of errors.
 	 */
 	public final void beginParsing(InputStream input) {
-		beginParsing(ArgumentUtils.newReader(input));
+		beginParsing(newReader(input, (Charset) null));
 	}
 
 	/**
@@ -713,7 +1145,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void beginParsing(InputStream input, String encoding) {
-		beginParsing(ArgumentUtils.newReader(input, encoding));
+		beginParsing(newReader(input, encoding));
 	}
 
 	/**
@@ -725,7 +1157,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @param encoding the encoding of the input stream
 	 */
 	public final void beginParsing(InputStream input, Charset encoding) {
-		beginParsing(ArgumentUtils.newReader(input, encoding));
+		beginParsing(newReader(input, encoding));
 	}
 
 	/**
@@ -736,7 +1168,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<String[]> parseAll(File file) {
-		return parseAll(ArgumentUtils.newReader(file));
+		return parseAll(newReader(file, (Charset) null));
 	}
 
 	/**
@@ -748,7 +1180,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<String[]> parseAll(File file, String encoding) {
-		return parseAll(ArgumentUtils.newReader(file, encoding));
+		return parseAll(newReader(file, encoding));
 	}
 
 	/**
@@ -760,7 +1192,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<String[]> parseAll(File file, Charset encoding) {
-		return parseAll(ArgumentUtils.newReader(file, encoding));
+		return parseAll(newReader(file, encoding));
 	}
 
 	/**
@@ -771,7 +1203,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(InputStream input) {
-		return parseAll(ArgumentUtils.newReader(input));
+		return parseAll(newReader(input, (Charset) null));
 	}
 
 	/**
@@ -783,7 +1215,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(InputStream input, String encoding) {
-		return parseAll(ArgumentUtils.newReader(input, encoding));
+		return parseAll(newReader(input, encoding));
 	}
 
 	/**
@@ -795,7 +1227,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<String[]> parseAll(InputStream input, Charset encoding) {
-		return parseAll(ArgumentUtils.newReader(input, encoding));
+		return parseAll(newReader(input, encoding));
 	}
 
 	/**
@@ -806,7 +1238,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<Record> parseAllRecords(File file) {
-		return parseAllRecords(ArgumentUtils.newReader(file));
+		return parseAllRecords(newReader(file, (Charset) null));
 	}
 
 	/**
@@ -818,7 +1250,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<Record> parseAllRecords(File file, String encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(file, encoding));
+		return parseAllRecords(newReader(file, encoding));
 	}
 
 	/**
@@ -830,7 +1262,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the file.
 	 */
 	public final List<Record> parseAllRecords(File file, Charset encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(file, encoding));
+		return parseAllRecords(newReader(file, encoding));
 	}
 
 	/**
@@ -841,7 +1273,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(InputStream input) {
-		return parseAllRecords(ArgumentUtils.newReader(input));
+		return parseAllRecords(newReader(input, (Charset) null));
 	}
 
 	/**
@@ -853,7 +1285,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(InputStream input, String encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(input, encoding));
+		return parseAllRecords(newReader(input, encoding));
 	}
 
 	/**
@@ -865,7 +1297,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	 * @return the list of all records parsed from the input.
 	 */
 	public final List<Record> parseAllRecords(InputStream input, Charset encoding) {
-		return parseAllRecords(ArgumentUtils.newReader(input, encoding));
+		return parseAllRecords(newReader(input, encoding));
 	}
 
 	/**
@@ -878,6 +1310,7 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 	public final List<Record> parseAllRecords(Reader reader) {
 		List<Record> out = new ArrayList<Record>(10000);
 		beginParsing(reader);
+		output.recycleRows = false;
 		Record record;
 		while ((record = parseNextRecord()) != null) {
 			out.add(record);
@@ -899,11 +1332,18 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		}
 		String[] row = this.parseNext();
 		if (row != null) {
-			return recordFactory.newRecord(row);
+			return recordFactory().newRecord(row);
 		}
 		return null;
 	}
 
+	private RecordFactory recordFactory() {
+		if (recordFactory == null) {
+			recordFactory = new RecordFactory(context, errorContentLength);
+		}
+		return recordFactory;
+	}
+
 	/**
 	 * Returns all comments collected by the parser so far.
 	 * An empty map will be returned if {@link CommonParserSettings#isCommentCollectionEnabled()} evaluates to {@code false}.
@@ -943,17 +1383,28 @@ public abstract class AbstractParser<T extends CommonParserSettings<?>> {
 		return context;
 	}
 
+	/**
+	 * Returns the {@link StringCache} of each column whose values are deduplicated, as selected with {@link CommonParserSettings#deduplicateFields(String...)}
+	 * or {@link CommonParserSettings#deduplicateIndexes(Integer...)}. The caches are created once the headers of the input are known, and replaced
+	 * every time a new parsing process starts. Use their statistics to identify which columns benefit from deduplication.
+	 *
+	 * @return an unmodifiable map of caches, keyed by the position of each deduplicated column in the input. Empty if no values are deduplicated.
+	 */
+	public final Map<Integer, StringCache> getStringCaches() {
+		return output.getStringCaches();
+	}
+
 	/**
 	 * Returns the metadata associated with {@link Record}s parsed from the input using {@link AbstractParser#parseAllRecords(File)} or {@link AbstractParser#parseNextRecord()}.
 	 *
 	 * @return the metadata of {@link Record}s generated with the current input.
 	 */
 	public final RecordMetaData getRecordMetadata() {
-		if (recordFactory != null) {
+		if (context != null) {
 			if (context.currentRecord() == 0L && context.headers() == null && settings.isHeaderExtractionEnabled() && !context.isStopped()) {
 				firstRecord = parseNextRecord();
 			}
-			return recordFactory.getRecordMetaData();
+			return recordFactory().getRecordMetaData();
 		}
 		throw new IllegalStateException("No record metadata available. The parsing process has not been started yet.");
 	}
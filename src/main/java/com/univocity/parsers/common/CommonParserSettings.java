@@ -29,6 +29,7 @@ import com.univocity.parsers.common.processor.core.AbstractMasterDetailListProce
 import com.univocity.parsers.common.processor.core.AbstractMasterDetailProcessor;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * This is the parent class for all configuration classes used by parsers ({@link AbstractParser})
@@ -37,6 +38,23 @@ import java.util.*;
  *
  * <ul>
  * <li><b>rowProcessor:</b> a callback implementation of the interface {@link RowProcessor} which handles the life cycle of the parsing process and processes each record extracted from the input</li>
+ * <li><b>rowViewProcessor <i>(defaults to null)</i>:</b> a callback implementation of the interface {@link RowViewProcessor} which receives each record
+ * extracted from the input as a reusable {@link RowView}, without creating a String for each value. When defined, it replaces the rowProcessor.</li>
+ * <li><b>batchProcessor <i>(defaults to null)</i>:</b> a callback implementation of the interface {@link BatchProcessor} which receives the records
+ * extracted from the input in batches. When defined, it replaces the rowProcessor.</li>
+ * <li><b>batchSize <i>(defaults to 1000)</i>:</b> the number of records collected before they are sent to the batchProcessor.</li>
+ * <li><b>rowFilter <i>(defaults to null)</i>:</b> a {@link RowFilter} evaluated as soon as the leading values of each record are parsed.
+ * Rejected records are discarded without collecting their remaining values.</li>
+ * <li><b>rowSampling <i>(defaults to null)</i>:</b> a {@link RowSampling} that selects a sample of the records of the input. Records outside
+ * of the sample are skipped without collecting their values.</li>
+ * <li><b>deduplicated fields <i>(defaults to none)</i>:</b> columns whose values are deduplicated through a bounded {@link StringCache}, so that
+ * repeated values share the same {@code String} instance. Selected with {@link #deduplicateFields(String...)} and {@link #deduplicateIndexes(Integer...)}.</li>
+ * <li><b>stringCacheSize <i>(defaults to 256)</i>:</b> the maximum number of distinct values held in the cache of each deduplicated column.</li>
+ * <li><b>streamed fields <i>(defaults to none)</i>:</b> columns whose values, once longer than the {@code valueStreamingWindow}, are delivered
+ * in chunks to a {@link ValueStreamHandler} instead of being accumulated in memory. Selected with {@link #streamFields(ValueStreamHandler, String...)}
+ * and {@link #streamIndexes(ValueStreamHandler, Integer...)}.</li>
+ * <li><b>valueStreamingWindow <i>(defaults to 64*1024 characters)</i>:</b> the number of characters of a streamed value held in memory
+ * before they are delivered to the {@link ValueStreamHandler}.</li>
  * <li><b>headerExtractionEnabled <i>(defaults to false)</i>:</b> indicates whether or not the first valid record parsed from the input should be considered as the row containing the names of each column</li>
  * <li><b>columnReorderingEnabled <i>(defaults to true)</i>:</b> indicates whether fields selected using the field selection methods (defined by the parent class {@link CommonSettings}) should be reordered.
  * <p>When disabled, each parsed record will contain values for all columns, in the order they occur in the input. Fields which were not selected will not be parsed but and the record will contain empty values.
@@ -46,6 +64,23 @@ import java.util.*;
  * <p>When enabled, a reading thread (in {@code input.concurrent.ConcurrentCharInputReader}) will be started and load characters from the input, while the parser is processing its input buffer.
  * This yields better performance, especially when reading from big input (greater than 100 mb)
  * <p>When disabled, the parsing process will briefly pause so the buffer can be replenished every time it is exhausted (in {@link DefaultCharInputReader} it is not as bad or slow as it sounds, and can even be (slightly) more efficient if your input is small)
+ * <li><b>numberOfInputBuckets <i>(defaults to 10)</i>:</b> the number of buckets of {@code inputBufferSize} characters pre-allocated for the reading thread
+ * started when {@code readInputOnSeparateThread} is enabled.</li>
+ * <li><b>inputWaitStrategy <i>(defaults to {@link WaitStrategy#PARK})</i>:</b> how the reading thread and the parser wait for each other when
+ * all input buckets are full or empty.</li>
+ * <li><b>inputReadingExecutor / inputReadingThreadFactory <i>(defaults to null)</i>:</b> the {@link Executor} or {@link ThreadFactory} used to run the
+ * reading thread started when {@code readInputOnSeparateThread} is enabled. When neither is set, a new thread is started for every input.</li>
+ * <li><b>memoryMappedInputEnabled <i>(defaults to false)</i>:</b> indicates whether files given to the parser should be read through memory-mapped regions
+ * (using {@link MappedFileReader}) instead of a {@link java.io.InputStreamReader}.</li>
+ * <li><b>byteOrientedParsingEnabled <i>(defaults to false)</i>:</b> indicates whether byte inputs in US-ASCII, ISO-8859-1 or UTF-8 should be parsed
+ * without a {@link java.nio.charset.CharsetDecoder} (using {@link RawByteReader}), decoding only the values produced by the parser.</li>
+ * <li><b>lineEndingNormalizationOnLoadEnabled <i>(defaults to false)</i>:</b> indicates whether line separators should be normalized in bulk
+ * when each buffer is loaded from the input, instead of being checked for every character read by the parser.</li>
+ * <li><b>rowRecyclingEnabled <i>(defaults to false)</i>:</b> indicates whether the rows given to the {@link Processor} should reuse the same array
+ * for every record, instead of a new array being allocated for each record. Processors must then not retain the rows they receive.</li>
+ * <li><b>rowRecyclingOnParseNextEnabled <i>(defaults to false)</i>:</b> indicates whether rows returned by {@link AbstractParser#parseNext()} should
+ * also be recycled, when rowRecyclingEnabled is {@code true}.</li>
+ * <li><b>rowRetentionDetectionEnabled <i>(defaults to false)</i>:</b> a debugging aid that reports recycled rows still referenced once parsing ends.</li>
  * <li><b>numberOfRecordsToRead <i>(defaults to -1)</i>:</b> Defines how many (valid) records are to be parsed before the process is stopped. A negative value indicates there's no limit.</li>
  * <li><b>lineSeparatorDetectionEnabled <i>(defaults to false)</i>:</b> Attempts to identify what is the line separator being used in the input.
  * The first row of the input will be read until a sequence of '\r\n', or characters '\r' or '\n' is found. If a match is found, then it will be used as the line separator to use to parse the input</li>
@@ -62,13 +97,33 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 
 	private Boolean headerExtractionEnabled = null;
 	private Processor<? extends Context> processor;
+	private RowViewProcessor rowViewProcessor;
+	private BatchProcessor batchProcessor;
+	private int batchSize = 1000;
+	private RowFilter rowFilter;
+	private RowSampling rowSampling;
+	private FieldSelector deduplicatedFields;
+	private int stringCacheSize = 256;
+	private FieldSelector streamedFields;
+	private ValueStreamHandler valueStreamHandler;
+	private int valueStreamingWindow = 64 * 1024;
 	private boolean columnReorderingEnabled = true;
 	private int inputBufferSize = 1024 * 1024;
 	private boolean readInputOnSeparateThread = Runtime.getRuntime().availableProcessors() > 1;
+	private int numberOfInputBuckets = 10;
+	private WaitStrategy inputWaitStrategy = WaitStrategy.PARK;
+	private Executor inputReadingExecutor;
+	private ThreadFactory inputReadingThreadFactory;
 	private long numberOfRecordsToRead = -1L;
 	private boolean lineSeparatorDetectionEnabled = false;
 	private long numberOfRowsToSkip = 0L;
 	private boolean commentCollectionEnabled = false;
+	private boolean memoryMappedInputEnabled = false;
+	private boolean byteOrientedParsingEnabled = false;
+	private boolean lineEndingNormalizationOnLoadEnabled = false;
+	private boolean rowRecyclingEnabled = false;
+	private boolean rowRecyclingOnParseNextEnabled = false;
+	private boolean rowRetentionDetectionEnabled = false;
 
 	/**
 	 * Indicates whether or not a separate thread will be used to read characters from the input while parsing (defaults true if the number of available
@@ -100,6 +155,294 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 		this.readInputOnSeparateThread = readInputOnSeparateThread;
 	}
 
+	/**
+	 * Returns the number of buckets of characters loaded in advance by the input reading thread, if {@link #getReadInputOnSeparateThread()} is enabled (defaults to 10).
+	 * <p>Each bucket holds {@link #getInputBufferSize()} characters. All buckets are allocated when the parsing process starts and reused
+	 * until the end of the input. The reading thread waits when all buckets are full, and the parser waits when all buckets are empty.
+	 *
+	 * @return the number of buckets used to read the input on a separate thread.
+	 */
+	public int getNumberOfInputBuckets() {
+		return numberOfInputBuckets;
+	}
+
+	/**
+	 * Defines the number of buckets of characters loaded in advance by the input reading thread, if {@link #getReadInputOnSeparateThread()} is enabled (defaults to 10).
+	 * <p>Each bucket holds {@link #getInputBufferSize()} characters. All buckets are allocated when the parsing process starts and reused
+	 * until the end of the input. The reading thread waits when all buckets are full, and the parser waits when all buckets are empty.
+	 *
+	 * @param numberOfInputBuckets the number of buckets used to read the input on a separate thread.
+	 */
+	public void setNumberOfInputBuckets(int numberOfInputBuckets) {
+		if (numberOfInputBuckets <= 0) {
+			throw new IllegalArgumentException("Number of input buckets must be positive");
+		}
+		this.numberOfInputBuckets = numberOfInputBuckets;
+	}
+
+	/**
+	 * Returns how the input reading thread and the parser wait for each other when all input buckets are full or empty, if
+	 * {@link #getReadInputOnSeparateThread()} is enabled (defaults to {@link WaitStrategy#PARK}).
+	 * <p>{@link WaitStrategy#SPIN} and {@link WaitStrategy#YIELD} avoid context switches when the input is produced faster than it is parsed
+	 * (or vice versa) at the cost of keeping the waiting thread busy.
+	 *
+	 * @return the wait strategy used when reading the input on a separate thread.
+	 */
+	public WaitStrategy getInputWaitStrategy() {
+		return inputWaitStrategy;
+	}
+
+	/**
+	 * Defines how the input reading thread and the parser wait for each other when all input buckets are full or empty, if
+	 * {@link #getReadInputOnSeparateThread()} is enabled (defaults to {@link WaitStrategy#PARK}).
+	 * <p>{@link WaitStrategy#SPIN} and {@link WaitStrategy#YIELD} avoid context switches when the input is produced faster than it is parsed
+	 * (or vice versa) at the cost of keeping the waiting thread busy.
+	 *
+	 * @param inputWaitStrategy the wait strategy to use when reading the input on a separate thread.
+	 */
+	public void setInputWaitStrategy(WaitStrategy inputWaitStrategy) {
+		if (inputWaitStrategy == null) {
+			throw new IllegalArgumentException("Input wait strategy cannot be null");
+		}
+		this.inputWaitStrategy = inputWaitStrategy;
+	}
+
+	/**
+	 * Returns the {@link Executor} used to run the process that reads the input on a separate thread, if {@link #getReadInputOnSeparateThread()} is enabled
+	 * (defaults to {@code null}).
+	 * <p>When {@code null}, the {@link ThreadFactory} returned by {@link #getInputReadingThreadFactory()} is used, if any. Otherwise a new thread is started
+	 * for every input.
+	 *
+	 * @return the executor of the input reading process.
+	 */
+	public Executor getInputReadingExecutor() {
+		return inputReadingExecutor;
+	}
+
+	/**
+	 * Defines the {@link Executor} used to run the process that reads the input on a separate thread, if {@link #getReadInputOnSeparateThread()} is enabled.
+	 * Takes precedence over {@link #setInputReadingThreadFactory(ThreadFactory)}.
+	 * <p>Use a thread pool to avoid starting a new thread for every input when parsing many small inputs. The executor must start running
+	 * the process promptly as the parser waits for its input. Once the input is fully read, or parsing is stopped with {@link AbstractParser#stopParsing()},
+	 * the process ends and the thread is returned to the executor with its interrupted status cleared.
+	 *
+	 * @param inputReadingExecutor the executor of the input reading process. If {@code null}, a new thread will be started for every input.
+	 */
+	public void setInputReadingExecutor(Executor inputReadingExecutor) {
+		this.inputReadingExecutor = inputReadingExecutor;
+	}
+
+	/**
+	 * Returns the {@link ThreadFactory} used to create the thread that reads the input, if {@link #getReadInputOnSeparateThread()} is enabled
+	 * and no {@link Executor} is provided by {@link #getInputReadingExecutor()} (defaults to {@code null}).
+	 *
+	 * @return the factory of input reading threads.
+	 */
+	public ThreadFactory getInputReadingThreadFactory() {
+		return inputReadingThreadFactory;
+	}
+
+	/**
+	 * Defines the {@link ThreadFactory} used to create the thread that reads the input, if {@link #getReadInputOnSeparateThread()} is enabled
+	 * and no {@link Executor} is provided by {@link #getInputReadingExecutor()}. A new thread is requested from the factory for every input.
+	 *
+	 * @param inputReadingThreadFactory the factory of input reading threads. If {@code null}, threads will be created by the parser.
+	 */
+	public void setInputReadingThreadFactory(ThreadFactory inputReadingThreadFactory) {
+		this.inputReadingThreadFactory = inputReadingThreadFactory;
+	}
+
+	private Executor getInputReadingExecutorOrFactory() {
+		if (inputReadingExecutor != null) {
+			return inputReadingExecutor;
+		}
+		final ThreadFactory threadFactory = inputReadingThreadFactory;
+		if (threadFactory != null) {
+			return new Executor() {
+				@Override
+				public void execute(Runnable command) {
+					threadFactory.newThread(command).start();
+				}
+			};
+		}
+		return null;
+	}
+
+	/**
+	 * Indicates whether files given to the parser (e.g. in {@link AbstractParser#parse(java.io.File, String)}) should be read through memory-mapped regions
+	 * of the file instead of a {@link java.io.InputStreamReader} (defaults to false).
+	 * <p>When enabled, the file is read by a {@link MappedFileReader}, which decodes the mapped bytes straight into the parser buffer. Files in single-byte
+	 * encodings (ISO-8859-1 and US-ASCII) are scanned directly without a {@link java.nio.charset.CharsetDecoder}. This is generally faster for large files.
+	 * <p>Inputs provided as {@link java.io.Reader} or {@link java.io.InputStream} are not affected by this setting.
+	 *
+	 * @return true if files should be read through memory-mapped regions, false otherwise
+	 */
+	public boolean isMemoryMappedInputEnabled() {
+		return memoryMappedInputEnabled;
+	}
+
+	/**
+	 * Defines whether files given to the parser (e.g. in {@link AbstractParser#parse(java.io.File, String)}) should be read through memory-mapped regions
+	 * of the file instead of a {@link java.io.InputStreamReader} (defaults to false).
+	 * <p>When enabled, the file is read by a {@link MappedFileReader}, which decodes the mapped bytes straight into the parser buffer. Files in single-byte
+	 * encodings (ISO-8859-1 and US-ASCII) are scanned directly without a {@link java.nio.charset.CharsetDecoder}. This is generally faster for large files.
+	 * <p>Inputs provided as {@link java.io.Reader} or {@link java.io.InputStream} are not affected by this setting.
+	 *
+	 * @param memoryMappedInputEnabled the flag indicating whether files should be read through memory-mapped regions
+	 */
+	public void setMemoryMappedInputEnabled(boolean memoryMappedInputEnabled) {
+		this.memoryMappedInputEnabled = memoryMappedInputEnabled;
+	}
+
+	/**
+	 * Indicates whether byte inputs (e.g. in {@link AbstractParser#parse(java.io.InputStream, java.nio.charset.Charset)}) encoded in US-ASCII, ISO-8859-1 or
+	 * UTF-8 should be parsed without a {@link java.nio.charset.CharsetDecoder} (defaults to false).
+	 * <p>When enabled, the input is read by a {@link RawByteReader} and the parser scans the raw bytes for delimiters, quotes and line separators,
+	 * which are normally ASCII characters. With UTF-8, only the values of the fields produced by the parser are decoded, so the bytes of
+	 * unselected fields are never decoded.
+	 * <p>Inputs in other encodings, inputs provided as {@link java.io.Reader}, and files read with {@link #isMemoryMappedInputEnabled()} are not affected by this setting.
+	 * UTF-8 inputs are also decoded as usual if any character of the format (such as the delimiter, quote or comment character) is not an ASCII character.
+	 * <p><b>Note:</b> with UTF-8, the limit given by {@link #getMaxCharsPerColumn()} applies to the number of bytes of each value, and the empty value
+	 * of parsers that support it (such as {@link com.univocity.parsers.csv.CsvParserSettings#getEmptyValue()}) must contain ASCII characters only.
+	 *
+	 * @return true if byte inputs should be parsed without a {@link java.nio.charset.CharsetDecoder}, false otherwise
+	 */
+	public boolean isByteOrientedParsingEnabled() {
+		return byteOrientedParsingEnabled;
+	}
+
+	/**
+	 * Defines whether byte inputs (e.g. in {@link AbstractParser#parse(java.io.InputStream, java.nio.charset.Charset)}) encoded in US-ASCII, ISO-8859-1 or
+	 * UTF-8 should be parsed without a {@link java.nio.charset.CharsetDecoder} (defaults to false).
+	 * <p>When enabled, the input is read by a {@link RawByteReader} and the parser scans the raw bytes for delimiters, quotes and line separators,
+	 * which are normally ASCII characters. With UTF-8, only the values of the fields produced by the parser are decoded, so the bytes of
+	 * unselected fields are never decoded.
+	 * <p>Inputs in other encodings, inputs provided as {@link java.io.Reader}, and files read with {@link #isMemoryMappedInputEnabled()} are not affected by this setting.
+	 * UTF-8 inputs are also decoded as usual if any character of the format (such as the delimiter, quote or comment character) is not an ASCII character.
+	 * <p><b>Note:</b> with UTF-8, the limit given by {@link #getMaxCharsPerColumn()} applies to the number of bytes of each value, and the empty value
+	 * of parsers that support it (such as {@link com.univocity.parsers.csv.CsvParserSettings#getEmptyValue()}) must contain ASCII characters only.
+	 *
+	 * @param byteOrientedParsingEnabled the flag indicating whether byte inputs should be parsed without a {@link java.nio.charset.CharsetDecoder}
+	 */
+	public void setByteOrientedParsingEnabled(boolean byteOrientedParsingEnabled) {
+		this.byteOrientedParsingEnabled = byteOrientedParsingEnabled;
+	}
+
+	/**
+	 * Indicates whether line separators should be normalized in bulk when each buffer is loaded from the input (defaults to false).
+	 * <p>When enabled, every line separator in a buffer is replaced by the {@link Format#getNormalizedNewline()} character as soon as the buffer is
+	 * loaded, and the positions of the line separators are recorded. The parser then scans the buffer without checking each character
+	 * for line separators, and the current line number is only calculated when requested (e.g. in {@link ParsingContext#currentLine()}).
+	 * <p>Parsers that must read line separators as-is (such as the CSV parser when
+	 * {@link com.univocity.parsers.csv.CsvParserSettings#isNormalizeLineEndingsWithinQuotes()} is disabled) ignore this setting.
+	 * <p>If the line separator is not the normalized newline character itself (e.g. {@code \r\n} with the default normalized newline {@code \n}),
+	 * any normalized newline character found in the input can't be distinguished from a line separator once the buffer is loaded, and ends
+	 * the current record if it appears outside of a quoted value. With a line separator {@code \r\n}, the input {@code a,b\r\nc\nd,e\r\n} is
+	 * parsed into the records {@code [a, b]}, {@code [c]} and {@code [d, e]}. When this setting is disabled, that input may produce
+	 * {@code [a, b]} and {@code [c\nd, e]} instead, depending on where the input buffer ends.
+	 *
+	 * @return true if line separators should be normalized when each buffer is loaded, false otherwise
+	 */
+	public boolean isLineEndingNormalizationOnLoadEnabled() {
+		return lineEndingNormalizationOnLoadEnabled;
+	}
+
+	/**
+	 * Defines whether line separators should be normalized in bulk when each buffer is loaded from the input (defaults to false).
+	 * <p>When enabled, every line separator in a buffer is replaced by the {@link Format#getNormalizedNewline()} character as soon as the buffer is
+	 * loaded, and the positions of the line separators are recorded. The parser then scans the buffer without checking each character
+	 * for line separators, and the current line number is only calculated when requested (e.g. in {@link ParsingContext#currentLine()}).
+	 * <p>Parsers that must read line separators as-is (such as the CSV parser when
+	 * {@link com.univocity.parsers.csv.CsvParserSettings#isNormalizeLineEndingsWithinQuotes()} is disabled) ignore this setting.
+	 * <p>If the line separator is not the normalized newline character itself (e.g. {@code \r\n} with the default normalized newline {@code \n}),
+	 * any normalized newline character found in the input can't be distinguished from a line separator once the buffer is loaded, and ends
+	 * the current record if it appears outside of a quoted value. With a line separator {@code \r\n}, the input {@code a,b\r\nc\nd,e\r\n} is
+	 * parsed into the records {@code [a, b]}, {@code [c]} and {@code [d, e]}. When this setting is disabled, that input may produce
+	 * {@code [a, b]} and {@code [c\nd, e]} instead, depending on where the input buffer ends.
+	 *
+	 * @param lineEndingNormalizationOnLoadEnabled the flag indicating whether line separators should be normalized when each buffer is loaded
+	 */
+	public void setLineEndingNormalizationOnLoadEnabled(boolean lineEndingNormalizationOnLoadEnabled) {
+		this.lineEndingNormalizationOnLoadEnabled = lineEndingNormalizationOnLoadEnabled;
+	}
+
+	/**
+	 * Indicates whether the rows given to the {@link Processor} reuse the same array for every record with the same number of values (defaults to false).
+	 * <p>When enabled, no array is allocated for each record sent to {@link Processor#rowProcessed(String[], Context)} by {@link AbstractParser#parse(Reader)}.
+	 * A row is only valid until the processor returns: its contents are overwritten by the next record. Processors must copy any values they need
+	 * to keep, and must not store the row itself. Processors that collect rows, such as {@link RowListProcessor} or
+	 * {@link com.univocity.parsers.common.processor.ConcurrentRowProcessor}, can't be used with recycled rows.
+	 * <p>Rows returned by {@link AbstractParser#parseNext()} are still copies, unless {@link #isRowRecyclingOnParseNextEnabled()} evaluates to
+	 * {@code true}. Rows returned by {@link AbstractParser#parseAll(Reader)} are never recycled.
+	 *
+	 * @return true if row arrays are recycled, false otherwise
+	 */
+	public boolean isRowRecyclingEnabled() {
+		return rowRecyclingEnabled;
+	}
+
+	/**
+	 * Defines whether the rows given to the {@link Processor} reuse the same array for every record with the same number of values (defaults to false).
+	 * <p>When enabled, no array is allocated for each record sent to {@link Processor#rowProcessed(String[], Context)} by {@link AbstractParser#parse(Reader)}.
+	 * A row is only valid until the processor returns: its contents are overwritten by the next record. Processors must copy any values they need
+	 * to keep, and must not store the row itself. Use {@link #setRowRetentionDetectionEnabled(boolean)} to verify that rows are not retained.
+	 *
+	 * @param rowRecyclingEnabled the flag indicating whether row arrays should be recycled
+	 */
+	public void setRowRecyclingEnabled(boolean rowRecyclingEnabled) {
+		this.rowRecyclingEnabled = rowRecyclingEnabled;
+	}
+
+	/**
+	 * Indicates whether the rows returned by {@link AbstractParser#parseNext()} are recycled as well, when {@link #isRowRecyclingEnabled()}
+	 * evaluates to {@code true} (defaults to false).
+	 * <p>When enabled, each row returned by {@link AbstractParser#parseNext()}, {@link AbstractParser#parseNextRecord()} or
+	 * {@link AbstractParser#parseLine(String)} is only valid until the next call to any of these methods.
+	 *
+	 * @return true if the rows returned by {@link AbstractParser#parseNext()} are recycled, false otherwise
+	 */
+	public boolean isRowRecyclingOnParseNextEnabled() {
+		return rowRecyclingOnParseNextEnabled;
+	}
+
+	/**
+	 * Defines whether the rows returned by {@link AbstractParser#parseNext()} should be recycled as well, when {@link #isRowRecyclingEnabled()}
+	 * evaluates to {@code true} (defaults to false).
+	 * <p>When enabled, each row returned by {@link AbstractParser#parseNext()}, {@link AbstractParser#parseNextRecord()} or
+	 * {@link AbstractParser#parseLine(String)} is only valid until the next call to any of these methods.
+	 *
+	 * @param rowRecyclingOnParseNextEnabled the flag indicating whether the rows returned by {@link AbstractParser#parseNext()} should be recycled
+	 */
+	public void setRowRecyclingOnParseNextEnabled(boolean rowRecyclingOnParseNextEnabled) {
+		this.rowRecyclingOnParseNextEnabled = rowRecyclingOnParseNextEnabled;
+	}
+
+	/**
+	 * Indicates whether the parser verifies that recycled rows are not retained (defaults to false). This is a debugging aid to be used
+	 * when {@link #isRowRecyclingEnabled()} evaluates to {@code true}.
+	 * <p>When enabled, a new array is still given out for each record, but the contents of the previous row are cleared as if it had been recycled.
+	 * Once parsing ends, the garbage collector is invoked and an {@link IllegalStateException} is thrown if any of the most recent rows, other
+	 * than the last one, is still referenced.
+	 *
+	 * @return true if the retention of recycled rows is verified, false otherwise
+	 */
+	public boolean isRowRetentionDetectionEnabled() {
+		return rowRetentionDetectionEnabled;
+	}
+
+	/**
+	 * Defines whether the parser should verify that recycled rows are not retained (defaults to false). This is a debugging aid to be used
+	 * when {@link #isRowRecyclingEnabled()} evaluates to {@code true}.
+	 * <p>When enabled, a new array is still given out for each record, but the contents of the previous row are cleared as if it had been recycled.
+	 * Once parsing ends, the garbage collector is invoked and an {@link IllegalStateException} is thrown if any of the most recent rows, other
+	 * than the last one, is still referenced.
+	 *
+	 * @param rowRetentionDetectionEnabled the flag indicating whether the retention of recycled rows should be verified
+	 */
+	public void setRowRetentionDetectionEnabled(boolean rowRetentionDetectionEnabled) {
+		this.rowRetentionDetectionEnabled = rowRetentionDetectionEnabled;
+	}
+
 	/**
 	 * Indicates whether or not the first valid record parsed from the input should be considered as the row containing the names of each column
 	 *
@@ -200,6 +543,295 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 		this.processor = processor;
 	}
 
+	/**
+	 * Returns the callback implementation of the interface {@link RowViewProcessor} which receives each record extracted from the input as
+	 * a reusable {@link RowView}, instead of a {@code String[]} (defaults to null).
+	 *
+	 * @return the {@link RowViewProcessor} used by the parser to handle each record, or {@code null} if records are handled by {@link #getProcessor()}
+	 */
+	public RowViewProcessor getRowViewProcessor() {
+		return rowViewProcessor;
+	}
+
+	/**
+	 * Defines the callback implementation of the interface {@link RowViewProcessor} which receives each record extracted from the input as
+	 * a reusable {@link RowView}, instead of a {@code String[]} (defaults to null).
+	 * <p>When defined, the {@link Processor} given to {@link #setProcessor(Processor)} is not used. The characters of all values of each record are
+	 * collected into a single char array that is reused for every record, and no {@code String} is created unless a value is explicitly materialized.
+	 * Records returned by {@link AbstractParser#parseNext()} are still materialized into a {@code String[]}.
+	 *
+	 * @param rowViewProcessor the {@link RowViewProcessor} instance which should used by the parser to handle each record
+	 */
+	public void setRowViewProcessor(RowViewProcessor rowViewProcessor) {
+		this.rowViewProcessor = rowViewProcessor;
+	}
+
+	/**
+	 * Returns the callback implementation of the interface {@link BatchProcessor} which receives the records extracted from the input in batches
+	 * of up to {@link #getBatchSize()} records (defaults to null).
+	 *
+	 * @return the {@link BatchProcessor} used by the parser to handle records, or {@code null} if records are handled by {@link #getProcessor()}
+	 */
+	public BatchProcessor getBatchProcessor() {
+		return batchProcessor;
+	}
+
+	/**
+	 * Defines the callback implementation of the interface {@link BatchProcessor} which receives the records extracted from the input in batches
+	 * of up to {@link #getBatchSize()} records (defaults to null).
+	 * <p>When defined, the {@link Processor} given to {@link #setProcessor(Processor)} is not used, and row recycling is disabled as
+	 * records are retained until their batch is processed. Can't be used along with a {@link RowViewProcessor}.
+	 *
+	 * @param batchProcessor the {@link BatchProcessor} instance which should used by the parser to handle records
+	 */
+	public void setBatchProcessor(BatchProcessor batchProcessor) {
+		this.batchProcessor = batchProcessor;
+	}
+
+	/**
+	 * Returns the number of records collected by the parser before they are sent to the {@link BatchProcessor} (defaults to 1000).
+	 *
+	 * @return the maximum number of records in each batch.
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Defines the number of records collected by the parser before they are sent to the {@link BatchProcessor} (defaults to 1000).
+	 *
+	 * @param batchSize the maximum number of records in each batch.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive. Got " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Returns the {@link RowFilter} used to discard records as soon as their leading values are parsed (defaults to null).
+	 *
+	 * @return the filter applied to each record, or {@code null} if all records are processed.
+	 */
+	public RowFilter getRowFilter() {
+		return rowFilter;
+	}
+
+	/**
+	 * Defines a {@link RowFilter} used to discard records as soon as their leading values are parsed (defaults to null).
+	 * <p>The filter is evaluated once the number of values given by {@link RowFilter#getColumnCount()} has been parsed. The remaining values
+	 * of rejected records are skipped without being collected, and rejected records are not sent to the {@link Processor}, nor returned by
+	 * {@link AbstractParser#parseNext()}. The number of records rejected is available from {@link ParsingContext#filteredRecords()}.
+	 *
+	 * @param rowFilter the filter applied to each record, or {@code null} to process all records.
+	 */
+	public void setRowFilter(RowFilter rowFilter) {
+		this.rowFilter = rowFilter;
+	}
+
+	/**
+	 * Returns the {@link RowSampling} used to select a sample of the records of the input (defaults to null).
+	 *
+	 * @return the sampling applied to the records of the input, or {@code null} if all records are processed.
+	 */
+	public RowSampling getRowSampling() {
+		return rowSampling;
+	}
+
+	/**
+	 * Defines a {@link RowSampling} used to select a sample of the records of the input (defaults to null).
+	 * <p>Records outside of the sample are skipped as soon as they are found: their values are not collected, and their characters are only
+	 * inspected to find where each record ends (quoted values of CSV inputs and escape sequences of TSV inputs are still respected).
+	 * Records skipped are not sent to the {@link Processor}, nor returned by {@link AbstractParser#parseNext()}, and are not counted by
+	 * {@link ParsingContext#currentRecord()}. When sampling a reservoir ({@link RowSampling#reservoir(int, long)}), the
+	 * {@link #getNumberOfRecordsToRead() number of records to read} limits the number of sampled records produced.
+	 * <p>Sampling is not supported by parsers that split their input into ranges parsed in parallel.
+	 *
+	 * @param rowSampling the sampling applied to the records of the input, or {@code null} to process all records.
+	 */
+	public void setRowSampling(RowSampling rowSampling) {
+		this.rowSampling = rowSampling;
+	}
+
+	/**
+	 * Selects the columns whose values should be deduplicated, by their names. Each of these columns gets a {@link StringCache} that returns the
+	 * same {@code String} instance for values that repeat, instead of creating a new {@code String} for every occurrence. This is useful for
+	 * columns with a small number of distinct values, such as country codes, status flags or currencies.
+	 * <p>The cache of each column holds up to {@link #getStringCacheSize()} values, so columns with many distinct values won't retain more
+	 * memory than that. Statistics of each cache are available from {@link AbstractParser#getStringCaches()}.
+	 * <p>Values collected into a {@link RowView} are not deduplicated, as no {@code String} is created for them.
+	 *
+	 * @param fieldNames the names of the columns whose values should be deduplicated.
+	 *
+	 * @return the (modifiable) set of deduplicated fields
+	 */
+	public FieldSet<String> deduplicateFields(String... fieldNames) {
+		return setDeduplicatedFields(new FieldNameSelector(), fieldNames);
+	}
+
+	/**
+	 * Selects the columns whose values should be deduplicated, by their positions. Each of these columns gets a {@link StringCache} that returns
+	 * the same {@code String} instance for values that repeat, instead of creating a new {@code String} for every occurrence.
+	 * See {@link #deduplicateFields(String...)} for details.
+	 *
+	 * @param fieldIndexes the positions of the columns whose values should be deduplicated.
+	 *
+	 * @return the (modifiable) set of deduplicated fields
+	 */
+	public FieldSet<Integer> deduplicateIndexes(Integer... fieldIndexes) {
+		return setDeduplicatedFields(new FieldIndexSelector(), fieldIndexes);
+	}
+
+	/**
+	 * Selects the columns whose values should be deduplicated, by their names. Each of these columns gets a {@link StringCache} that returns the
+	 * same {@code String} instance for values that repeat, instead of creating a new {@code String} for every occurrence.
+	 * See {@link #deduplicateFields(String...)} for details.
+	 *
+	 * @param columns the columns whose values should be deduplicated.
+	 *
+	 * @return the (modifiable) set of deduplicated fields
+	 */
+	@SuppressWarnings("rawtypes")
+	public FieldSet<Enum> deduplicateFields(Enum... columns) {
+		return setDeduplicatedFields(new FieldEnumSelector(), columns);
+	}
+
+	private <T> FieldSet<T> setDeduplicatedFields(FieldSet<T> fieldSet, T... values) {
+		this.deduplicatedFields = (FieldSelector) fieldSet;
+		fieldSet.add(values);
+		return fieldSet;
+	}
+
+	/**
+	 * Returns the selection of columns whose values are deduplicated with a {@link StringCache}.
+	 *
+	 * @return the columns whose values are deduplicated, or {@code null} if no values are deduplicated.
+	 */
+	FieldSelector getDeduplicatedFields() {
+		return deduplicatedFields;
+	}
+
+	/**
+	 * Returns the maximum number of distinct values held by the {@link StringCache} of each column selected with
+	 * {@link #deduplicateFields(String...)} or {@link #deduplicateIndexes(Integer...)} (defaults to 256).
+	 *
+	 * @return the maximum number of values cached for each deduplicated column.
+	 */
+	public int getStringCacheSize() {
+		return stringCacheSize;
+	}
+
+	/**
+	 * Defines the maximum number of distinct values held by the {@link StringCache} of each column selected with
+	 * {@link #deduplicateFields(String...)} or {@link #deduplicateIndexes(Integer...)} (defaults to 256). Once full, the cache evicts
+	 * older values to make room for new ones.
+	 *
+	 * @param stringCacheSize the maximum number of values cached for each deduplicated column.
+	 */
+	public void setStringCacheSize(int stringCacheSize) {
+		if (stringCacheSize <= 0) {
+			throw new IllegalArgumentException("String cache size must be a positive number");
+		}
+		this.stringCacheSize = stringCacheSize;
+	}
+
+	/**
+	 * Selects the columns whose values should be streamed to a {@link ValueStreamHandler}, by their names. Values of these columns that
+	 * don't exceed {@link #getValueStreamingWindow()} characters are parsed as usual. Longer values are delivered to the handler in chunks
+	 * while they are parsed, so that huge values (such as embedded documents or encoded binary content) never have to be held in memory in full.
+	 * Such values are {@code null} in the records produced by the parser, and are not limited by {@link #getMaxCharsPerColumn()}.
+	 * <p>The header row is never streamed. Values are not streamed when the input is read as raw bytes that require decoding, as
+	 * enabled by {@link #setByteOrientedParsingEnabled(boolean)}.
+	 *
+	 * @param handler    the callback that receives the chunks of each streamed value.
+	 * @param fieldNames the names of the columns whose values should be streamed.
+	 *
+	 * @return the (modifiable) set of streamed fields
+	 */
+	public FieldSet<String> streamFields(ValueStreamHandler handler, String... fieldNames) {
+		return setStreamedFields(handler, new FieldNameSelector(), fieldNames);
+	}
+
+	/**
+	 * Selects the columns whose values should be streamed to a {@link ValueStreamHandler}, by their positions.
+	 * See {@link #streamFields(ValueStreamHandler, String...)} for details.
+	 *
+	 * @param handler      the callback that receives the chunks of each streamed value.
+	 * @param fieldIndexes the positions of the columns whose values should be streamed.
+	 *
+	 * @return the (modifiable) set of streamed fields
+	 */
+	public FieldSet<Integer> streamIndexes(ValueStreamHandler handler, Integer... fieldIndexes) {
+		return setStreamedFields(handler, new FieldIndexSelector(), fieldIndexes);
+	}
+
+	/**
+	 * Selects the columns whose values should be streamed to a {@link ValueStreamHandler}, by their names.
+	 * See {@link #streamFields(ValueStreamHandler, String...)} for details.
+	 *
+	 * @param handler the callback that receives the chunks of each streamed value.
+	 * @param columns the columns whose values should be streamed.
+	 *
+	 * @return the (modifiable) set of streamed fields
+	 */
+	@SuppressWarnings("rawtypes")
+	public FieldSet<Enum> streamFields(ValueStreamHandler handler, Enum... columns) {
+		return setStreamedFields(handler, new FieldEnumSelector(), columns);
+	}
+
+	private <T> FieldSet<T> setStreamedFields(ValueStreamHandler handler, FieldSet<T> fieldSet, T... values) {
+		if (handler == null) {
+			throw new IllegalArgumentException("Value stream handler cannot be null");
+		}
+		this.valueStreamHandler = handler;
+		this.streamedFields = (FieldSelector) fieldSet;
+		fieldSet.add(values);
+		return fieldSet;
+	}
+
+	/**
+	 * Returns the selection of columns whose values are streamed to the {@link #getValueStreamHandler()}.
+	 *
+	 * @return the columns whose values are streamed, or {@code null} if no values are streamed.
+	 */
+	FieldSelector getStreamedFields() {
+		return streamedFields;
+	}
+
+	/**
+	 * Returns the callback that receives the values of the columns selected with {@link #streamFields(ValueStreamHandler, String...)} or
+	 * {@link #streamIndexes(ValueStreamHandler, Integer...)} that exceed the {@link #getValueStreamingWindow()}.
+	 *
+	 * @return the handler of streamed values, or {@code null} if no values are streamed.
+	 */
+	public ValueStreamHandler getValueStreamHandler() {
+		return valueStreamHandler;
+	}
+
+	/**
+	 * Returns the number of characters of a streamed value held in memory before they are delivered to the {@link ValueStreamHandler}
+	 * (defaults to 64*1024). Values of streamed columns that don't exceed this length are parsed as usual.
+	 *
+	 * @return the length of the window used to stream values.
+	 */
+	public int getValueStreamingWindow() {
+		return valueStreamingWindow;
+	}
+
+	/**
+	 * Defines the number of characters of a streamed value held in memory before they are delivered to the {@link ValueStreamHandler}
+	 * (defaults to 64*1024). Values of streamed columns that don't exceed this length are parsed as usual.
+	 *
+	 * @param valueStreamingWindow the length of the window used to stream values.
+	 */
+	public void setValueStreamingWindow(int valueStreamingWindow) {
+		if (valueStreamingWindow <= 0) {
+			throw new IllegalArgumentException("Value streaming window must be a positive number");
+		}
+		this.valueStreamingWindow = valueStreamingWindow;
+	}
+
 	/**
 	 * An implementation of {@link CharInputReader} which loads the parser buffer in parallel or sequentially, as defined by the readInputOnSeparateThread property
 	 *
@@ -208,9 +840,9 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 	CharInputReader newCharInputReader() {
 		if (readInputOnSeparateThread) {
 			if (lineSeparatorDetectionEnabled) {
-				return new ConcurrentCharInputReader(getFormat().getNormalizedNewline(), this.getInputBufferSize(), 10);
+				return new ConcurrentCharInputReader(getFormat().getNormalizedNewline(), this.getInputBufferSize(), numberOfInputBuckets, inputWaitStrategy, getInputReadingExecutorOrFactory());
 			} else {
-				return new ConcurrentCharInputReader(getFormat().getLineSeparator(), getFormat().getNormalizedNewline(), this.getInputBufferSize(), 10);
+				return new ConcurrentCharInputReader(getFormat().getLineSeparator(), getFormat().getNormalizedNewline(), this.getInputBufferSize(), numberOfInputBuckets, inputWaitStrategy, getInputReadingExecutorOrFactory());
 			}
 		} else {
 			if (lineSeparatorDetectionEnabled) {
@@ -310,7 +942,7 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 	protected CharAppender newCharAppender() {
 		int chars = getMaxCharsPerColumn();
 		if (chars != -1) {
-			return new DefaultCharAppender(chars, getNullValue());
+			return new AdaptiveCharAppender(chars, getNullValue());
 		} else {
 			return new ExpandingCharAppender(getNullValue());
 		}
@@ -360,9 +992,29 @@ public abstract class CommonParserSettings<F extends Format> extends CommonSetti
 		super.addConfiguration(out);
 		out.put("Header extraction enabled", headerExtractionEnabled);
 		out.put("Processor", processor == null ? "none" : processor.getClass().getName());
+		out.put("Row view processor", rowViewProcessor == null ? "none" : rowViewProcessor.getClass().getName());
+		out.put("Batch processor", batchProcessor == null ? "none" : batchProcessor.getClass().getName());
+		out.put("Batch size", batchSize);
+		out.put("Row filter", rowFilter == null ? "none" : rowFilter.getClass().getName());
+		out.put("Row sampling", rowSampling == null ? "none" : rowSampling);
+		out.put("Deduplicated fields", deduplicatedFields == null ? "none" : deduplicatedFields.describe());
+		out.put("String cache size", stringCacheSize);
+		out.put("Streamed fields", streamedFields == null ? "none" : streamedFields.describe());
+		out.put("Value stream handler", valueStreamHandler == null ? "none" : valueStreamHandler.getClass().getName());
+		out.put("Value streaming window", valueStreamingWindow);
 		out.put("Column reordering enabled", columnReorderingEnabled);
 		out.put("Input buffer size", inputBufferSize);
 		out.put("Input reading on separate thread", readInputOnSeparateThread);
+		out.put("Number of input buckets", numberOfInputBuckets);
+		out.put("Input wait strategy", inputWaitStrategy);
+		out.put("Input reading executor", inputReadingExecutor == null ? "none" : inputReadingExecutor.getClass().getName());
+		out.put("Input reading thread factory", inputReadingThreadFactory == null ? "none" : inputReadingThreadFactory.getClass().getName());
+		out.put("Memory mapped input enabled", memoryMappedInputEnabled);
+		out.put("Byte oriented parsing enabled", byteOrientedParsingEnabled);
+		out.put("Line ending normalization on load enabled", lineEndingNormalizationOnLoadEnabled);
+		out.put("Row recycling enabled", rowRecyclingEnabled);
+		out.put("Row recycling on parseNext enabled", rowRecyclingOnParseNextEnabled);
+		out.put("Row retention detection enabled", rowRetentionDetectionEnabled);
 		out.put("Number of records to read", numberOfRecordsToRead == -1 ? "all" : numberOfRecordsToRead);
 		out.put("Line separator detection enabled", lineSeparatorDetectionEnabled);
 	}
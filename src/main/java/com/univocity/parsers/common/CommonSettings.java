@@ -61,7 +61,7 @@ import java.util.Map.*;
  * @see com.univocity.parsers.fixed.FixedWidthWriterSettings
  */
 
-public abstract class CommonSettings<F extends Format> {
+public abstract class CommonSettings<F extends Format> implements Cloneable {
 
 	private F format;
 	private String nullValue = null;
@@ -521,6 +521,29 @@ public abstract class CommonSettings<F extends Format> {
 		runAutomaticConfiguration();
 	}
 
+	/**
+	 * Creates a copy of this configuration object. The format and headers are copied as well, while other objects (such as
+	 * processors and field selections) are shared with the copy.
+	 *
+	 * @return a copy of this configuration object.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected CommonSettings<F> clone() {
+		try {
+			CommonSettings<F> out = (CommonSettings<F>) super.clone();
+			if (format != null) {
+				out.format = (F) format.clone();
+			}
+			if (headers != null) {
+				out.headers = headers.clone();
+			}
+			return out;
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException("Error cloning configuration object", e);
+		}
+	}
+
 	/**
 	 * Configures the parser/writer to trim or keep leading and trailing whitespaces around values
 	 * This has the same effect as invoking both {@link #setIgnoreLeadingWhitespaces(boolean)} and {@link #setIgnoreTrailingWhitespaces(boolean)}
@@ -88,4 +88,25 @@ public class DefaultParsingContext extends DefaultContext implements ParsingCont
 	public char[] lineSeparator() {
 		return input.getLineSeparator();
 	}
+
+	@Override
+	public long filteredRecords() {
+		return output.getFilteredRecords();
+	}
+
+	/**
+	 * Prepares this context to be used again by its parser to process another input.
+	 *
+	 * @param input the input reader the parser will use next.
+	 *
+	 * @return {@code true} if this context was reset and can be reused, or {@code false} if the parser requires a new context.
+	 */
+	boolean restart(CharInputReader input) {
+		if (this.input != input || getClass() != DefaultParsingContext.class) {
+			return false;
+		}
+		stopped = false;
+		columnMap.reset();
+		return true;
+	}
 }
@@ -0,0 +1,494 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.input.*;
+
+import java.util.*;
+
+/**
+ * The {@link RowView} used by {@link ParserOutput} to collect the values of each record into a reusable slab of characters.
+ *
+ * <p>Values are added by their position in the input. Once the record is complete, {@link #rowParsed(int, int[])} applies the
+ * column selection (if any) to produce the columns exposed by the view.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see RowView
+ */
+final class DefaultRowView implements RowView {
+
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+	private static final int MAX_FAST_DOUBLE_DIGITS = 15;
+
+	private final String nullValue;
+
+	private char[] slab = new char[1024];
+	private int slabLength;
+
+	private int[] parsedOffsets;
+	private int[] parsedLengths;
+
+	private int[] selectedOffsets;
+	private int[] selectedLengths;
+
+	private int[] offsets;
+	private int[] lengths;
+	private int columnCount;
+
+	private Value[] values;
+
+	DefaultRowView(int maxColumns, String nullValue) {
+		this.nullValue = nullValue;
+		this.parsedOffsets = new int[maxColumns];
+		this.parsedLengths = new int[maxColumns];
+		this.offsets = parsedOffsets;
+		this.lengths = parsedLengths;
+	}
+
+	/**
+	 * Expands the number of columns this view can hold, preserving the values collected so far.
+	 *
+	 * @param columns the new maximum number of values of a record.
+	 */
+	void setColumnCapacity(int columns) {
+		boolean parsedColumnsExposed = offsets == parsedOffsets;
+		parsedOffsets = Arrays.copyOf(parsedOffsets, columns);
+		parsedLengths = Arrays.copyOf(parsedLengths, columns);
+		if (parsedColumnsExposed) {
+			offsets = parsedOffsets;
+			lengths = parsedLengths;
+		}
+	}
+
+	/**
+	 * Copies the value accumulated in a {@link CharAppender} into the slab, and resets the appender.
+	 *
+	 * @param column   the position of the value in the input record.
+	 * @param appender the appender with the characters of the value.
+	 */
+	void valueParsed(int column, CharAppender appender) {
+		int length = appender.length();
+		if (length > 0) {
+			if (column == 0) {
+				slabLength = 0;
+			}
+			add(column, appender.getChars(), 0, length);
+			appender.reset();
+		} else {
+			valueParsed(column, appender.getAndReset());
+		}
+	}
+
+	/**
+	 * Copies a value produced externally into the slab.
+	 *
+	 * @param column the position of the value in the input record.
+	 * @param value  the value, possibly {@code null}.
+	 */
+	void valueParsed(int column, String value) {
+		if (column == 0) {
+			slabLength = 0;
+		}
+		if (value == null) {
+			parsedLengths[column] = -1;
+		} else {
+			int length = value.length();
+			ensureCapacity(length);
+			value.getChars(0, length, slab, slabLength);
+			parsedOffsets[column] = slabLength;
+			parsedLengths[column] = length;
+			slabLength += length;
+		}
+	}
+
+	/**
+	 * Copies a value read directly from the input buffer into the slab.
+	 *
+	 * @param column the position of the value in the input record.
+	 * @param chars  the characters of the input buffer.
+	 * @param from   the position of the first character of the value.
+	 * @param length the number of characters of the value.
+	 */
+	void valueParsed(int column, char[] chars, int from, int length) {
+		if (column == 0) {
+			slabLength = 0;
+		}
+		add(column, chars, from, length);
+	}
+
+	private void add(int column, char[] chars, int from, int length) {
+		ensureCapacity(length);
+		System.arraycopy(chars, from, slab, slabLength, length);
+		parsedOffsets[column] = slabLength;
+		parsedLengths[column] = length;
+		slabLength += length;
+	}
+
+	private void ensureCapacity(int length) {
+		if (slabLength + length > slab.length) {
+			slab = Arrays.copyOf(slab, Math.max(slab.length * 2, slabLength + length));
+		}
+	}
+
+	/**
+	 * Completes the current record, exposing its columns through this view.
+	 *
+	 * @param column          the number of values parsed from the input record.
+	 * @param selectedIndexes the positions of the selected columns in the input record, when the selected columns are reordered. {@code null} otherwise.
+	 */
+	void rowParsed(int column, int[] selectedIndexes) {
+		if (column == 0) {
+			slabLength = 0;
+		}
+		if (selectedIndexes == null) {
+			offsets = parsedOffsets;
+			lengths = parsedLengths;
+			columnCount = column;
+			return;
+		}
+
+		if (selectedOffsets == null || selectedOffsets.length < selectedIndexes.length) {
+			selectedOffsets = new int[selectedIndexes.length];
+			selectedLengths = new int[selectedIndexes.length];
+		}
+		int nullOffset = -1;
+		for (int i = 0; i < selectedIndexes.length; i++) {
+			int index = selectedIndexes[i];
+			if (index >= column || index == -1) {
+				if (nullValue == null) {
+					selectedLengths[i] = -1;
+					continue;
+				}
+				if (nullOffset == -1) {
+					nullOffset = slabLength;
+					ensureCapacity(nullValue.length());
+					nullValue.getChars(0, nullValue.length(), slab, slabLength);
+					slabLength += nullValue.length();
+				}
+				selectedOffsets[i] = nullOffset;
+				selectedLengths[i] = nullValue.length();
+			} else {
+				selectedOffsets[i] = parsedOffsets[index];
+				selectedLengths[i] = parsedLengths[index];
+			}
+		}
+		offsets = selectedOffsets;
+		lengths = selectedLengths;
+		columnCount = selectedIndexes.length;
+	}
+
+	/**
+	 * Discards the current record.
+	 */
+	void clear() {
+		slabLength = 0;
+		columnCount = 0;
+		offsets = parsedOffsets;
+		lengths = parsedLengths;
+	}
+
+	/**
+	 * Creates the strings of the values parsed from the input so far, in their original positions.
+	 *
+	 * @param column the number of values parsed from the input record.
+	 * @param out    the array that receives the values.
+	 */
+	void copyParsedValues(int column, String[] out) {
+		for (int i = 0; i < column; i++) {
+			int length = parsedLengths[i];
+			out[i] = length == -1 ? null : new String(slab, parsedOffsets[i], length);
+		}
+	}
+
+	/**
+	 * Replaces a value parsed from the input by {@code null}, unless it is the null value, as it happens with the values of columns that are not selected.
+	 *
+	 * @param column the position of the value in the input record.
+	 */
+	void discardParsedValue(int column) {
+		int length = parsedLengths[column];
+		if (length == -1) {
+			return;
+		}
+		if (nullValue != null && nullValue.length() == length) {
+			int offset = parsedOffsets[column];
+			int i = 0;
+			while (i < length && slab[offset + i] == nullValue.charAt(i)) {
+				i++;
+			}
+			if (i == length) {
+				return;
+			}
+		}
+		parsedLengths[column] = -1;
+	}
+
+	private int validate(int column) {
+		if (column < 0 || column >= columnCount) {
+			throw new IndexOutOfBoundsException("Column index " + column + " is out of bounds. The current record has " + columnCount + " columns");
+		}
+		return lengths[column];
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	@Override
+	public boolean isNull(int column) {
+		return validate(column) == -1;
+	}
+
+	@Override
+	public CharSequence get(int column) {
+		if (validate(column) == -1) {
+			return null;
+		}
+		if (values == null || values.length <= column) {
+			values = values == null ? new Value[Math.max(columnCount, 16)] : Arrays.copyOf(values, Math.max(values.length * 2, column + 1));
+		}
+		Value value = values[column];
+		if (value == null) {
+			value = values[column] = new Value(column);
+		}
+		return value;
+	}
+
+	@Override
+	public int length(int column) {
+		return validate(column);
+	}
+
+	@Override
+	public char charAt(int column, int index) {
+		int length = validate(column);
+		if (index < 0 || index >= length) {
+			throw new StringIndexOutOfBoundsException(index);
+		}
+		return slab[offsets[column] + index];
+	}
+
+	@Override
+	public char[] getChars() {
+		return slab;
+	}
+
+	@Override
+	public int getOffset(int column) {
+		return validate(column) == -1 ? -1 : offsets[column];
+	}
+
+	@Override
+	public boolean contentEquals(int column, CharSequence value) {
+		int length = validate(column);
+		if (length == -1 || value == null) {
+			return length == -1 && value == null;
+		}
+		if (value.length() != length) {
+			return false;
+		}
+		final char[] slab = this.slab;
+		final int offset = offsets[column];
+		for (int i = 0; i < length; i++) {
+			if (slab[offset + i] != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equalsIgnoreCase(int column, CharSequence value) {
+		int length = validate(column);
+		if (length == -1 || value == null) {
+			return length == -1 && value == null;
+		}
+		if (value.length() != length) {
+			return false;
+		}
+		final char[] slab = this.slab;
+		final int offset = offsets[column];
+		for (int i = 0; i < length; i++) {
+			char c1 = slab[offset + i];
+			char c2 = value.charAt(i);
+			if (c1 == c2) {
+				continue;
+			}
+			char u1 = Character.toUpperCase(c1);
+			char u2 = Character.toUpperCase(c2);
+			if (u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int getInt(int column) {
+		return (int) parseLong(column, Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public long getLong(int column) {
+		return parseLong(column, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	private long parseLong(int column, long min, long max) {
+		int length = validate(column);
+		if (length <= 0) {
+			throw invalidNumber(column);
+		}
+		final char[] slab = this.slab;
+		int i = offsets[column];
+		final int end = i + length;
+
+		boolean negative = false;
+		long limit = -max;
+		char first = slab[i];
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limit = min;
+			}
+			if (++i == end) {
+				throw invalidNumber(column);
+			}
+		}
+
+		// accumulates negatively to handle the minimum value, as done in Long.parseLong()
+		final long multiplicationLimit = limit / 10;
+		long result = 0;
+		while (i < end) {
+			int digit = Character.digit(slab[i++], 10);
+			if (digit < 0 || result < multiplicationLimit) {
+				throw invalidNumber(column);
+			}
+			result *= 10;
+			if (result < limit + digit) {
+				throw invalidNumber(column);
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	@Override
+	public double getDouble(int column) {
+		int length = validate(column);
+		if (length <= 0) {
+			throw invalidNumber(column);
+		}
+		final char[] slab = this.slab;
+		int i = offsets[column];
+		final int end = i + length;
+
+		boolean negative = false;
+		char first = slab[i];
+		if (first == '-' || first == '+') {
+			negative = first == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int fractionDigits = -1;
+		for (; i < end; i++) {
+			char ch = slab[i];
+			if (ch >= '0' && ch <= '9') {
+				if (++digits > MAX_FAST_DOUBLE_DIGITS) {
+					return parseDouble(column);
+				}
+				mantissa = mantissa * 10 + (ch - '0');
+				if (fractionDigits >= 0) {
+					fractionDigits++;
+				}
+			} else if (ch == '.' && fractionDigits == -1) {
+				fractionDigits = 0;
+			} else {
+				// exponents, type suffixes, hexadecimal notation, NaN, Infinity, etc.
+				return parseDouble(column);
+			}
+		}
+		if (digits == 0) {
+			return parseDouble(column);
+		}
+
+		// both values are exact, so the division is correctly rounded.
+		double out = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+		return negative ? -out : out;
+	}
+
+	private double parseDouble(int column) {
+		return Double.parseDouble(getString(column));
+	}
+
+	private NumberFormatException invalidNumber(int column) {
+		return new NumberFormatException("For input string: \"" + getString(column) + "\"");
+	}
+
+	@Override
+	public String getString(int column) {
+		int length = validate(column);
+		return length == -1 ? null : new String(slab, offsets[column], length);
+	}
+
+	@Override
+	public String[] toArray() {
+		String[] out = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			out[i] = getString(i);
+		}
+		return out;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	/**
+	 * A {@link CharSequence} over the value of a column, reading the characters directly from the slab.
+	 */
+	private final class Value implements CharSequence {
+
+		private final int column;
+
+		Value(int column) {
+			this.column = column;
+		}
+
+		@Override
+		public int length() {
+			return DefaultRowView.this.length(column);
+		}
+
+		@Override
+		public char charAt(int index) {
+			return DefaultRowView.this.charAt(column, index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return toString().substring(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return getString(column);
+		}
+	}
+}
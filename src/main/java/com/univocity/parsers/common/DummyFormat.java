@@ -38,4 +38,9 @@ final class DummyFormat extends Format {
 		return new TreeMap<String, Object>();
 	}
 
+	@Override
+	protected final char[] getSpecialCharacters() {
+		return new char[0];
+	}
+
 }
@@ -176,6 +176,42 @@ public abstract class Format implements Cloneable{
 		return this.comment == ch;
 	}
 
+	/**
+	 * Identifies whether all characters of this format, including the comment character and the line separator, are ASCII characters.
+	 * Inputs in UTF-8 can only be parsed as raw bytes when this is the case, as the bytes of non-ASCII characters may appear in the middle
+	 * of multi-byte characters.
+	 *
+	 * @return true if every character of this format is below {@code 0x80}, false otherwise
+	 */
+	final boolean isAscii() {
+		if (comment >= 0x80 || normalizedNewline >= 0x80 || !isAscii(lineSeparator)) {
+			return false;
+		}
+		char[] specialCharacters = getSpecialCharacters();
+		return specialCharacters != null && isAscii(specialCharacters);
+	}
+
+	private static boolean isAscii(char[] chars) {
+		for (char ch : chars) {
+			if (ch >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the characters that have a special meaning in this format, such as delimiters, quotes and escape characters. The comment
+	 * character and the line separator are handled by {@link Format} itself and don't need to be returned here.
+	 *
+	 * <p>Formats that don't override this method return {@code null}, and are never considered to contain ASCII characters only.</p>
+	 *
+	 * @return the special characters of this format, or {@code null} if they are unknown.
+	 */
+	protected char[] getSpecialCharacters() {
+		return null;
+	}
+
 	private static String getFormattedValue(Object value) {
 		if (value instanceof Character) {
 			char ch = (Character) value;
@@ -70,6 +70,6 @@ class LineReader extends Reader {
 
 	@Override
 	public void close() {
-		line = null;
+		// the parser reuses its input reader and may close it after the next line has been set: the line must be kept.
 	}
 }
@@ -88,6 +88,11 @@ class NoopParsingContext implements ParsingContext {
 		return Format.getSystemLineSeparator();
 	}
 
+	@Override
+	public long filteredRecords() {
+		return 0;
+	}
+
 	@Override
 	public String[] headers() {
 		return null;
@@ -46,16 +46,29 @@ public class ParserOutput {
 	protected int column = 0;
 
 	/**
-	 * Stores the values parsed for a record.
+	 * The number of values the arrays of this output can hold before they need to grow.
 	 */
-	protected final String[] parsedValues;
+	private static final int INITIAL_COLUMN_CAPACITY = 128;
+
+	/**
+	 * Stores the values parsed for a record. Starts small and grows as records with more values are parsed, up to
+	 * {@link CommonSettings#getMaxColumns()} values.
+	 */
+	protected String[] parsedValues;
 
 	/**
 	 * <p>Stores (shared) references to {@link CharAppender} for each potential column (as given by {@link CommonSettings#getMaxColumns()}).
 	 * <p>Fields that are not selected will receive an instance of {@link NoopCharAppender} so all parser calls in {@link AbstractParser#parseRecord()} to {@link ParserOutput#appender} will do nothing.
 	 * <p>Selected fields (given by {@link CommonParserSettings}) will receive a functional {@link CharAppender}.
 	 */
-	private final CharAppender[] appenders;
+	private CharAppender[] appenders;
+
+	/**
+	 * The appender assigned to the positions of {@link #appenders} added when the arrays of this output grow.
+	 */
+	private CharAppender tailAppender;
+
+	private final int maxColumns;
 
 	protected final CommonParserSettings<?> settings;
 	private final boolean skipEmptyLines;
@@ -77,10 +90,82 @@ public class ParserOutput {
 	private String[] headers;
 	private int[] selectedIndexes;
 
+	/**
+	 * The position of the last selected column in the input, when the selected columns are reordered. Values after it are not part of the output,
+	 * so parsers can skip them. {@code Integer.MAX_VALUE} when all values must be parsed.
+	 */
+	private int lastSelectedIndex = Integer.MAX_VALUE;
+
 	private long currentRecord;
 
 	public boolean trim = false;
 
+	/**
+	 * Indicates whether parsed values contain raw UTF-8 bytes produced by a {@link RawByteReader} and must be decoded before being returned.
+	 */
+	boolean decodeValues = false;
+
+	/**
+	 * Collects the parsed values into a reusable slab of characters when a {@link com.univocity.parsers.common.processor.RowViewProcessor} is used.
+	 * {@code null} if values are collected as strings.
+	 */
+	private DefaultRowView rowView;
+
+	/**
+	 * The {@link RowFilter} applied to each record, and the number of values parsed before it is evaluated: {@code 0} when no filter is defined,
+	 * or {@code Integer.MAX_VALUE} when the filter is evaluated after all values of each record are parsed.
+	 */
+	private final RowFilter rowFilter;
+	private final int filterColumns;
+	private DefaultRowView filterView;
+
+	/**
+	 * Columns that are not selected but whose values are collected for the {@link RowFilter}, when selected fields are not reordered.
+	 * Their values are replaced by {@code null} once the record is accepted, as if they were not parsed.
+	 */
+	private boolean[] filterOnlyColumns;
+
+	/**
+	 * The result of the {@link RowFilter} for the current record: {@code 0} if not evaluated yet, {@code 1} if accepted and {@code -1} if rejected.
+	 */
+	private int filterResult;
+	private long filteredRecords;
+
+	/**
+	 * The context of the parsing process, given to the {@link RowFilter}.
+	 */
+	ParsingContext context;
+
+	/**
+	 * The {@link StringCache} of each column selected with {@link CommonParserSettings#deduplicateFields(String...)}, indexed by column position.
+	 * {@code null} if no values are deduplicated.
+	 */
+	private StringCache[] stringCaches;
+
+	/**
+	 * The {@link StreamingCharAppender} of each column selected with {@link CommonParserSettings#streamFields(ValueStreamHandler, String...)},
+	 * indexed by column position. These are only used while assigned to the same position of {@link #appenders}. {@code null} if no values are streamed.
+	 */
+	private StreamingCharAppender[] streamingAppenders;
+	private final int valueStreamingWindow;
+
+	/**
+	 * Indicates whether rows produced by {@link #rowParsed()} should reuse the same arrays instead of allocating a new array for each record,
+	 * as enabled by {@link CommonParserSettings#isRowRecyclingEnabled()}. Set by the parser for each parsing process.
+	 */
+	boolean recycleRows;
+
+	/**
+	 * The reusable row arrays, indexed by their length.
+	 */
+	private String[][] recycledRows;
+
+	/**
+	 * Tracks the rows given out while recycling is enabled, to detect rows that are retained. {@code null} unless
+	 * {@link CommonParserSettings#isRowRetentionDetectionEnabled()} evaluates to {@code true}.
+	 */
+	private final RowRetentionDetector retentionDetector;
+
 
 	/**
 	 * Headers parsed from the input when {@link CommonParserSettings#headerExtractionEnabled} is {@code true},
@@ -96,12 +181,23 @@ public class ParserOutput {
 	public ParserOutput(CommonParserSettings<?> settings) {
 		this.appenderInstance = settings.newCharAppender();
 		this.appender = appenderInstance;
-		this.parsedValues = new String[settings.getMaxColumns()];
-		this.appenders = new CharAppender[settings.getMaxColumns() + 1];
+		this.tailAppender = appender;
+		this.maxColumns = settings.getMaxColumns();
+		this.parsedValues = new String[Math.min(maxColumns, INITIAL_COLUMN_CAPACITY)];
+		this.appenders = new CharAppender[parsedValues.length + 1];
 		Arrays.fill(appenders, appender);
 		this.settings = settings;
 		this.skipEmptyLines = settings.getSkipEmptyLines();
 		this.nullValue = settings.getNullValue();
+		this.rowFilter = settings.getRowFilter();
+		if (rowFilter == null) {
+			filterColumns = 0;
+		} else {
+			int count = rowFilter.getColumnCount();
+			filterColumns = count <= 0 ? Integer.MAX_VALUE : count;
+		}
+		this.retentionDetector = settings.isRowRetentionDetectionEnabled() ? new RowRetentionDetector(16) : null;
+		this.valueStreamingWindow = settings.getValueStreamingWindow();
 		this.columnsToExtractInitialized = false;
 		this.currentRecord = 0;
 		if(settings.getHeaders() != null){
@@ -113,7 +209,10 @@ public class ParserOutput {
 		columnsToExtractInitialized = true;
 		columnsReordered = false;
 		selectedIndexes = null;
+		lastSelectedIndex = Integer.MAX_VALUE;
+		filterOnlyColumns = null;
 		this.appender = appenderInstance;
+		this.tailAppender = appender;
 		Arrays.fill(appenders, appender);
 
 		this.headers = settings.getHeaders();
@@ -128,6 +227,192 @@ public class ParserOutput {
 				headers = parsedHeaders.clone();
 			}
 		}
+		if (settings.getDeduplicatedFields() != null && rowView == null) {
+			initializeStringCaches(headers != null ? headers : parsedHeaders);
+		}
+		if (settings.getStreamedFields() != null) {
+			initializeValueStreaming(headers != null ? headers : parsedHeaders);
+		}
+	}
+
+	/**
+	 * Prepares the columns selected with {@link CommonParserSettings#streamFields(ValueStreamHandler, String...)} to be streamed from the first
+	 * record of the input, if their positions can be determined before any record is parsed. The header row is never streamed.
+	 */
+	final void prepareValueStreaming() {
+		if (settings.getStreamedFields() != null) {
+			if (settings.isHeaderExtractionEnabled()) {
+				disableValueStreaming();
+			} else {
+				initializeValueStreaming(settings.getHeaders());
+			}
+		}
+	}
+
+	/**
+	 * Assigns a {@link StreamingCharAppender} to each selected column whose values should be streamed. Values are not streamed if they must
+	 * be decoded after being parsed.
+	 *
+	 * @param values the headers of the input, or the first record parsed if no headers are available.
+	 */
+	private void initializeValueStreaming(String[] values) {
+		disableValueStreaming();
+		int[] indexes = decodeValues ? null : settings.getStreamedFields().getFieldIndexes(values);
+		if (indexes == null) {
+			return;
+		}
+		for (int index : indexes) {
+			if (index < 0 || index >= maxColumns) {
+				continue;
+			}
+			ensureColumnCapacity(index + 1);
+			if (appenders[index] != appenderInstance) {
+				// column not selected.
+				continue;
+			}
+			if (streamingAppenders == null) {
+				streamingAppenders = new StreamingCharAppender[index + 1];
+			} else if (index >= streamingAppenders.length) {
+				streamingAppenders = Arrays.copyOf(streamingAppenders, index + 1);
+			}
+			if (streamingAppenders[index] == null) {
+				streamingAppenders[index] = new ValueStreamingAppender(index);
+			}
+			appenders[index] = streamingAppenders[index];
+		}
+		this.appender = appenders[column];
+	}
+
+	/**
+	 * Replaces any {@link StreamingCharAppender} in {@link #appenders} by the default appender.
+	 */
+	private void disableValueStreaming() {
+		if (streamingAppenders != null) {
+			for (int i = 0; i < streamingAppenders.length && i < appenders.length; i++) {
+				if (streamingAppenders[i] != null) {
+					streamingAppenders[i].reset();
+					if (appenders[i] == streamingAppenders[i]) {
+						appenders[i] = appenderInstance;
+					}
+				}
+			}
+			this.appender = appenders[column];
+		}
+	}
+
+	/**
+	 * Indicates whether the value at the current column is collected by a {@link StreamingCharAppender}.
+	 *
+	 * @return {@code true} if the value of the current column is streamed once it exceeds the streaming window, otherwise {@code false}.
+	 */
+	private boolean isCurrentValueStreamed() {
+		return column < streamingAppenders.length && streamingAppenders[column] != null && streamingAppenders[column] == appender;
+	}
+
+	/**
+	 * A {@link StreamingCharAppender} that delivers the chunks of a streamed value to the {@link ValueStreamHandler} of the settings.
+	 */
+	private final class ValueStreamingAppender extends StreamingCharAppender {
+		private final int index;
+		private final ValueStreamHandler handler;
+
+		ValueStreamingAppender(int index) {
+			super(valueStreamingWindow, appenderInstance);
+			this.index = index;
+			this.handler = settings.getValueStreamHandler();
+		}
+
+		@Override
+		protected void valueStarted() {
+			handler.valueStarted(index, context);
+		}
+
+		@Override
+		protected void chunkParsed(char[] chars, int from, int length) {
+			handler.chunkParsed(chars, from, length);
+		}
+
+		@Override
+		protected void valueEnded() {
+			handler.valueEnded(index, context);
+		}
+	}
+
+	/**
+	 * Creates a {@link StringCache} for each column selected with {@link CommonParserSettings#deduplicateFields(String...)} or
+	 * {@link CommonParserSettings#deduplicateIndexes(Integer...)}.
+	 *
+	 * @param values the headers of the input, or the first record parsed if no headers are available.
+	 */
+	private void initializeStringCaches(String[] values) {
+		stringCaches = null;
+		int[] indexes = settings.getDeduplicatedFields().getFieldIndexes(values);
+		if (indexes == null) {
+			return;
+		}
+		for (int index : indexes) {
+			if (index >= 0 && index < maxColumns) {
+				if (stringCaches == null) {
+					stringCaches = new StringCache[index + 1];
+				} else if (index >= stringCaches.length) {
+					stringCaches = Arrays.copyOf(stringCaches, index + 1);
+				}
+				if (stringCaches[index] == null) {
+					stringCaches[index] = new StringCache(settings.getStringCacheSize());
+				}
+			}
+		}
+		if (stringCaches != null && !settings.isHeaderExtractionEnabled()) {
+			// the record parsed before the caches were created is part of the output.
+			for (int i = 0; i < column && i < stringCaches.length; i++) {
+				if (stringCaches[i] != null && parsedValues[i] != nullValue) {
+					parsedValues[i] = stringCaches[i].get(parsedValues[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link StringCache} used to deduplicate the values of the given column, if any.
+	 *
+	 * @param column the position of the column in the input
+	 *
+	 * @return the cache of the given column, or {@code null} if its values are not deduplicated.
+	 */
+	private StringCache getStringCache(int column) {
+		if (stringCaches == null || column >= stringCaches.length || decodeValues) {
+			return null;
+		}
+		return stringCaches[column];
+	}
+
+	/**
+	 * Indicates whether the value at the current column will be deduplicated through a {@link StringCache}. Parsers should then
+	 * accumulate the characters of the value in the {@link #appender}, or provide them with {@link #valueParsed(char[], int, int)},
+	 * instead of creating a {@code String} for it.
+	 *
+	 * @return {@code true} if the value of the current column is deduplicated, otherwise {@code false}.
+	 */
+	public final boolean isCurrentValueDeduplicated() {
+		return stringCaches != null && getStringCache(column) != null;
+	}
+
+	/**
+	 * Returns the {@link StringCache} of each column whose values are deduplicated in the current parsing process, keyed by column position.
+	 *
+	 * @return an unmodifiable map of caches per column, empty if no values are deduplicated.
+	 */
+	public Map<Integer, StringCache> getStringCaches() {
+		if (stringCaches == null) {
+			return Collections.emptyMap();
+		}
+		Map<Integer, StringCache> out = new LinkedHashMap<Integer, StringCache>();
+		for (int i = 0; i < stringCaches.length; i++) {
+			if (stringCaches[i] != null) {
+				out.put(i, stringCaches[i]);
+			}
+		}
+		return Collections.unmodifiableMap(out);
 	}
 
 	/**
@@ -136,8 +421,15 @@ public class ParserOutput {
 	 * @return the sequence of parsed values in a record.
 	 */
 	public String[] rowParsed() {
+		if (rowView != null) {
+			RowView row = rowViewParsed();
+			return row == null ? null : row.toArray();
+		}
 		// some values were parsed. Let's return them
 		if (column > 0) {
+			if (decodeValues) {
+				decodeParsedValues();
+			}
 			// identifies selected columns and headers (in the first non-empty row)
 			if (!columnsToExtractInitialized) {
 				initializeHeaders();
@@ -149,10 +441,13 @@ public class ParserOutput {
 					return null;
 				}
 			}
+			if (rowFilter != null && filterRejected()) {
+				return null;
+			}
 
 			currentRecord++;
 			if (columnsReordered) {
-				String[] reorderedValues = new String[selectedIndexes.length];
+				String[] reorderedValues = newRow(selectedIndexes.length);
 				for (int i = 0; i < selectedIndexes.length; i++) {
 					int index = selectedIndexes[i];
 					if (index >= column || index == -1) {
@@ -165,7 +460,10 @@ public class ParserOutput {
 				this.appender = appenders[0];
 				return reorderedValues;
 			} else {
-				String[] out = new String[column];
+				if (filterOnlyColumns != null) {
+					clearFilterOnlyValues(false);
+				}
+				String[] out = newRow(column);
 				System.arraycopy(parsedValues, 0, out, 0, column);
 				column = 0;
 				this.appender = appenders[0];
@@ -175,11 +473,14 @@ public class ParserOutput {
 			if (!columnsToExtractInitialized) {
 				initializeHeaders();
 			}
+			if (rowFilter != null && filterRejected()) {
+				return null;
+			}
 
 			currentRecord++;
 
 			if (columnsReordered) {
-				String[] out = new String[selectedIndexes.length];
+				String[] out = newRow(selectedIndexes.length);
 				Arrays.fill(out, nullValue);
 				return out;
 			}
@@ -190,10 +491,270 @@ public class ParserOutput {
 		return null;
 	}
 
+	/**
+	 * Returns an array to hold the values of a record. A new array is created unless rows are recycled, in which case the same array is
+	 * returned for all records with the given length.
+	 *
+	 * @param length the number of values in the record
+	 *
+	 * @return an array of the given length, whose contents will be overwritten.
+	 */
+	private String[] newRow(int length) {
+		if (!recycleRows) {
+			return new String[length];
+		}
+		if (retentionDetector != null) {
+			return retentionDetector.track(new String[length]);
+		}
+		if (recycledRows == null) {
+			recycledRows = new String[length + 1][];
+		} else if (length >= recycledRows.length) {
+			recycledRows = Arrays.copyOf(recycledRows, length + 1);
+		}
+		String[] row = recycledRows[length];
+		if (row == null) {
+			row = new String[length];
+			recycledRows[length] = row;
+		}
+		return row;
+	}
+
+	/**
+	 * Verifies whether rows given out while recycling was enabled are still referenced, if {@link CommonParserSettings#isRowRetentionDetectionEnabled()}
+	 * evaluates to {@code true}.
+	 *
+	 * @param rowHandler the object that received the rows, used to describe the problem.
+	 *
+	 * @throws IllegalStateException if any of the rows given out, other than the last one, is still referenced.
+	 */
+	final void verifyRowRetention(Object rowHandler) {
+		if (retentionDetector == null || !recycleRows) {
+			return;
+		}
+		int tracked = retentionDetector.getTrackedRows();
+		int retained = retentionDetector.countRetainedRows();
+		retentionDetector.reset();
+		if (retained > 0) {
+			throw new IllegalStateException(retained + " of the last " + tracked + " rows parsed are still referenced after being processed by "
+					+ rowHandler.getClass().getName() + ". Rows are reused when row recycling is enabled and must not be retained. " +
+					"Copy the values that must be kept, or disable row recycling with CommonParserSettings.setRowRecyclingEnabled(false).");
+		}
+	}
+
+	/**
+	 * Completes the record whose values were collected into the {@link RowView} of this output, as enabled by {@link #enableRowView(boolean)}.
+	 * Strings are created only for the first record when it is used to initialize the headers.
+	 *
+	 * @return the view over the values of the record, or {@code null} if the record must be discarded.
+	 */
+	final RowView rowViewParsed() {
+		if (column > 0) {
+			if (decodeValues || !columnsToExtractInitialized) {
+				rowView.copyParsedValues(column, parsedValues);
+				if (decodeValues) {
+					decodeParsedValues();
+				}
+				if (!columnsToExtractInitialized) {
+					initializeHeaders();
+					if (settings.isHeaderExtractionEnabled()) {
+						rowView.clear();
+						column = 0;
+						this.appender = appenders[0];
+						return null;
+					}
+				}
+				for (int i = 0; i < column; i++) {
+					rowView.valueParsed(i, parsedValues[i]);
+				}
+			}
+			if (rowFilter != null && filterRejected()) {
+				return null;
+			}
+			if (filterOnlyColumns != null && !columnsReordered) {
+				clearFilterOnlyValues(true);
+			}
+			currentRecord++;
+			rowView.rowParsed(column, columnsReordered ? selectedIndexes : null);
+			column = 0;
+			this.appender = appenders[0];
+			return rowView;
+		} else if (!skipEmptyLines) {
+			if (!columnsToExtractInitialized) {
+				initializeHeaders();
+			}
+			if (rowFilter != null && filterRejected()) {
+				return null;
+			}
+			currentRecord++;
+			rowView.rowParsed(0, columnsReordered ? selectedIndexes : null);
+			return rowView;
+		}
+		return null;
+	}
+
+	/**
+	 * Evaluates the {@link RowFilter} with the values parsed so far, once the number of values it requires has been parsed.
+	 * The first record is only evaluated once it is complete, as it may be used to initialize the headers.
+	 */
+	private void evaluateFilter() {
+		if (filterResult == 0 && columnsToExtractInitialized && !decodeValues) {
+			filterResult = rowFilter.accept(filterView(), context) ? 1 : -1;
+		}
+	}
+
+	/**
+	 * Evaluates the {@link RowFilter} if the record is complete and has not been evaluated yet, and discards the record if it is rejected.
+	 *
+	 * @return {@code true} if the record has been rejected and its values were discarded, otherwise {@code false}
+	 */
+	private boolean filterRejected() {
+		if (filterResult == 0) {
+			filterResult = rowFilter.accept(filterView(), context) ? 1 : -1;
+		}
+		if (filterResult == -1) {
+			filteredRecords++;
+			discardValues();
+			return true;
+		}
+		filterResult = 0;
+		return false;
+	}
+
+	/**
+	 * Exposes the values parsed for the current record, in the order they appear in the input, through a {@link RowView}.
+	 */
+	private RowView filterView() {
+		if (rowView != null) {
+			rowView.rowParsed(column, null);
+			return rowView;
+		}
+		if (filterView == null) {
+			filterView = new DefaultRowView(parsedValues.length, nullValue);
+		}
+		for (int i = 0; i < column; i++) {
+			filterView.valueParsed(i, parsedValues[i]);
+		}
+		filterView.rowParsed(column, null);
+		return filterView;
+	}
+
+	/**
+	 * Replaces the values collected only for the {@link RowFilter} by {@code null}, as they are not selected.
+	 *
+	 * @param inRowView flag indicating whether the values to replace are in the {@link RowView} or in the {@link #parsedValues} array.
+	 */
+	private void clearFilterOnlyValues(boolean inRowView) {
+		int count = Math.min(column, filterOnlyColumns.length);
+		for (int i = 0; i < count; i++) {
+			if (filterOnlyColumns[i]) {
+				if (inRowView) {
+					rowView.discardParsedValue(i);
+				} else if (parsedValues[i] != nullValue) {
+					parsedValues[i] = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of records discarded by the {@link RowFilter} defined in {@link CommonParserSettings#getRowFilter()}.
+	 *
+	 * @return the number of records rejected by the row filter.
+	 */
+	public long getFilteredRecords() {
+		return filteredRecords;
+	}
+
+	/**
+	 * Returns the {@link RowView} that holds the values of the last record parsed, if enabled with {@link #enableRowView(boolean)}.
+	 *
+	 * @return the view over the values of the last record parsed, or {@code null} if values are collected as strings.
+	 */
+	final RowView getRowView() {
+		return rowView;
+	}
+
+	/**
+	 * Defines whether parsed values should be collected into a reusable {@link RowView} instead of strings. Strings are still created
+	 * when records are obtained from {@link #rowParsed()}.
+	 *
+	 * @param rowViewEnabled flag indicating whether values should be collected into a {@link RowView}.
+	 */
+	final void enableRowView(boolean rowViewEnabled) {
+		if (!rowViewEnabled) {
+			rowView = null;
+		} else if (rowView == null) {
+			rowView = new DefaultRowView(parsedValues.length, nullValue);
+		}
+	}
+
+	/**
+	 * Indicates whether parsed values are collected into a reusable {@link RowView}. Parsers should then avoid creating strings
+	 * for the values they parse, and accumulate their characters in the {@link #appender} instead.
+	 *
+	 * @return {@code true} if values are collected into a {@link RowView}, otherwise {@code false}.
+	 */
+	public final boolean isRowViewEnabled() {
+		return rowView != null;
+	}
+
+	private void decodeParsedValues() {
+		for (int i = 0; i < column; i++) {
+			String value = parsedValues[i];
+			if (value != nullValue) {
+				value = RawByteReader.decodeValue(value);
+				if (stringCaches != null && i < stringCaches.length && stringCaches[i] != null) {
+					value = stringCaches[i].get(value);
+				}
+				parsedValues[i] = value;
+			}
+		}
+	}
+
 	FieldSelector getFieldSelector(){
 		return settings.getFieldSelector();
 	}
 
+	/**
+	 * Grows the arrays of this output once the number of values parsed for a record reaches their capacity. The capacity doubles until it
+	 * reaches {@link CommonSettings#getMaxColumns()}. Beyond that, storing another value fails as before.
+	 */
+	private void growColumns() {
+		if (parsedValues.length < maxColumns) {
+			ensureColumnCapacity((int) Math.min(parsedValues.length * 2L, maxColumns));
+		}
+	}
+
+	/**
+	 * Ensures the arrays of this output can hold the given number of values.
+	 *
+	 * @param capacity the number of values of a record the output must be able to hold.
+	 */
+	private void ensureColumnCapacity(int capacity) {
+		if (capacity <= parsedValues.length) {
+			return;
+		}
+		int previous = appenders.length;
+		parsedValues = Arrays.copyOf(parsedValues, capacity);
+		appenders = Arrays.copyOf(appenders, capacity + 1);
+		Arrays.fill(appenders, previous, appenders.length, tailAppender);
+		if (rowView != null) {
+			rowView.setColumnCapacity(capacity);
+		}
+		if (filterView != null) {
+			filterView.setColumnCapacity(capacity);
+		}
+	}
+
+	/**
+	 * Returns the number of values a record can have before the arrays of this output need to grow.
+	 *
+	 * @return the current capacity of this output.
+	 */
+	final int getColumnCapacity() {
+		return parsedValues.length;
+	}
+
 	/**
 	 * Initializes the sequence of selected fields, if any.
 	 *
@@ -205,7 +766,20 @@ public class ParserOutput {
 			selectedIndexes = selector.getFieldIndexes(values);
 
 			if (selectedIndexes != null) {
+				columnsReordered = settings.isColumnReorderingEnabled();
+
+				// positions past the capacity of this output receive the tail appender, so all selected positions must fit.
+				int required = columnsReordered ? 0 : values.length;
+				for (int i = 0; i < selectedIndexes.length; i++) {
+					required = Math.max(required, selectedIndexes[i] + 1);
+				}
+				if (rowFilter != null && filterColumns != Integer.MAX_VALUE) {
+					required = Math.max(required, filterColumns);
+				}
+				ensureColumnCapacity(Math.min(required, maxColumns));
+
 				Arrays.fill(appenders, NoopCharAppender.getInstance());
+				tailAppender = NoopCharAppender.getInstance();
 
 				for (int i = 0; i < selectedIndexes.length; i++) {
 					int index = selectedIndexes[i];
@@ -214,10 +788,37 @@ public class ParserOutput {
 					}
 				}
 
-				columnsReordered = settings.isColumnReorderingEnabled();
+				if (columnsReordered) {
+					lastSelectedIndex = rowFilter == null ? -1 : filterColumns - 1;
+					for (int i = 0; i < selectedIndexes.length; i++) {
+						lastSelectedIndex = Math.max(lastSelectedIndex, selectedIndexes[i]);
+					}
+				}
+
+				if (rowFilter != null) {
+					// values required by the filter are collected even if not selected.
+					if (filterColumns == Integer.MAX_VALUE) {
+						tailAppender = appender;
+					}
+					int count = Math.min(filterColumns, appenders.length);
+					for (int i = 0; i < count; i++) {
+						if (appenders[i] == NoopCharAppender.getInstance()) {
+							appenders[i] = appender;
+							if (!columnsReordered) {
+								if (filterOnlyColumns == null) {
+									filterOnlyColumns = new boolean[count];
+								}
+								filterOnlyColumns[i] = true;
+							}
+						}
+					}
+				}
 
-				if (!columnsReordered && values.length < appenders.length) {
-					Arrays.fill(appenders, values.length, appenders.length, appender);
+				if (!columnsReordered) {
+					if (values.length < appenders.length) {
+						Arrays.fill(appenders, values.length, appenders.length, appender);
+					}
+					tailAppender = appender;
 				}
 				appender = appenders[0];
 			}
@@ -261,12 +862,42 @@ public class ParserOutput {
 		return column;
 	}
 
+	/**
+	 * Indicates whether the remaining values of the current record can be skipped by the parser, as they won't be part of the output. This happens
+	 * when the record has been rejected by the {@link RowFilter}, or when the selected fields are reordered and the value of the last selected column
+	 * in the input has been parsed.
+	 *
+	 * @return {@code true} if the remaining values of the current record can be skipped, otherwise {@code false}.
+	 */
+	public final boolean canSkipRemainingValues() {
+		return (column > lastSelectedIndex && column > 0) || filterResult == -1;
+	}
+
+	/**
+	 * Discards any characters appended to the {@link #appender} until the end of the current record, when the parser skips its
+	 * remaining values after {@link #canSkipRemainingValues()} evaluates to {@code true}.
+	 */
+	public final void ignoreRemainingValues() {
+		this.appender = NoopCharAppender.getInstance();
+	}
+
 	/**
 	 * Adds a nullValue (as specified in {@link CommonSettings#getNullValue()}) to the output and prepares the next position in the record to receive more values.
 	 */
 	public void emptyParsed() {
-		this.parsedValues[column++] = nullValue;
+		if (rowView != null) {
+			rowView.valueParsed(column, nullValue);
+		} else {
+			this.parsedValues[column] = nullValue;
+		}
+		column++;
+		if (column == parsedValues.length) {
+			growColumns();
+		}
 		this.appender = appenders[column];
+		if (column == filterColumns) {
+			evaluateFilter();
+		}
 	}
 
 	/**
@@ -276,8 +907,33 @@ public class ParserOutput {
 		if(trim){
 			appender.updateWhitespace();
 		}
-		this.parsedValues[column++] = appender.getAndReset();
+		if (streamingAppenders != null && isCurrentValueStreamed() && streamingAppenders[column].endValue()) {
+			if (rowView != null) {
+				rowView.valueParsed(column, (String) null);
+			} else {
+				this.parsedValues[column] = null;
+			}
+		} else if (rowView != null) {
+			rowView.valueParsed(column, appender);
+		} else if (stringCaches != null && getStringCache(column) != null) {
+			int length = appender.length();
+			if (length > 0) {
+				this.parsedValues[column] = stringCaches[column].get(appender.getChars(), 0, length);
+				appender.reset();
+			} else {
+				this.parsedValues[column] = appender.getAndReset();
+			}
+		} else {
+			this.parsedValues[column] = appender.getAndReset();
+		}
+		column++;
+		if (column == parsedValues.length) {
+			growColumns();
+		}
 		this.appender = appenders[column];
+		if (column == filterColumns) {
+			evaluateFilter();
+		}
 	}
 
 	/**
@@ -285,8 +941,58 @@ public class ParserOutput {
 	 * @param value the value to be added to the current record position.
 	 */
 	public void valueParsed(String value){
-		this.parsedValues[column++] = value;
+		if (streamingAppenders != null && value != null && value.length() > valueStreamingWindow && isCurrentValueStreamed()) {
+			appender.append(value);
+			valueParsed();
+			return;
+		}
+		if (rowView != null) {
+			rowView.valueParsed(column, value);
+		} else if (stringCaches != null && value != nullValue && getStringCache(column) != null) {
+			this.parsedValues[column] = stringCaches[column].get(value);
+		} else {
+			this.parsedValues[column] = value;
+		}
+		column++;
+		if (column == parsedValues.length) {
+			growColumns();
+		}
 		this.appender = appenders[column];
+		if (column == filterColumns) {
+			evaluateFilter();
+		}
+	}
+
+	/**
+	 * Adds a value read directly from a sequence of characters to the output and prepares the next position in the record to receive more values.
+	 * A {@code String} is only created if the value is not collected into a {@link RowView}, nor found in the {@link StringCache} of the current column.
+	 *
+	 * @param chars  the array that contains the characters of the value
+	 * @param from   the position of the first character of the value
+	 * @param length the number of characters of the value
+	 */
+	public void valueParsed(char[] chars, int from, int length) {
+		if (streamingAppenders != null && length > valueStreamingWindow && isCurrentValueStreamed()) {
+			appender.append(chars, from, length);
+			valueParsed();
+		} else if (rowView != null && length == 0) {
+			valueParsed();
+		} else {
+			if (rowView != null) {
+				rowView.valueParsed(column, chars, from, length);
+			} else {
+				StringCache cache = stringCaches == null ? null : getStringCache(column);
+				this.parsedValues[column] = cache == null ? new String(chars, from, length) : cache.get(chars, from, length);
+			}
+			column++;
+			if (column == parsedValues.length) {
+				growColumns();
+			}
+			this.appender = appenders[column];
+			if (column == filterColumns) {
+				evaluateFilter();
+			}
+		}
 	}
 
 	/**
@@ -298,21 +1004,111 @@ public class ParserOutput {
 		return currentRecord;
 	}
 
+	/**
+	 * Copies all values parsed in the {@link ParserOutput#parsedValues} array into the given row, without allocating a new array.
+	 * Empty records are not counted.
+	 *
+	 * @param row the array that receives the parsed values.
+	 *
+	 * @return the number of values in the record, which may be greater than the length of the given row. In this case
+	 * only the values that fit in the row are copied.
+	 */
+	final int rowParsed(String[] row) {
+		if (column == 0) {
+			return 0;
+		}
+		if (rowView != null) {
+			rowView.copyParsedValues(column, parsedValues);
+		}
+		if (!columnsToExtractInitialized) {
+			initializeHeaders();
+		}
+		if (rowFilter != null && filterRejected()) {
+			return 0;
+		}
+
+		currentRecord++;
+		int length;
+		if (columnsReordered) {
+			length = selectedIndexes.length;
+			int limit = Math.min(length, row.length);
+			for (int i = 0; i < limit; i++) {
+				int index = selectedIndexes[i];
+				if (index >= column || index == -1) {
+					row[i] = nullValue;
+				} else {
+					row[i] = parsedValues[index];
+				}
+			}
+		} else {
+			if (filterOnlyColumns != null) {
+				clearFilterOnlyValues(false);
+			}
+			length = column;
+			System.arraycopy(parsedValues, 0, row, 0, Math.min(length, row.length));
+		}
+		column = 0;
+		this.appender = appenders[0];
+		return length;
+	}
+
 	/**
 	 * Discards the values parsed so far
 	 */
 	public final void discardValues() {
+		if (rowView != null) {
+			rowView.clear();
+		}
+		if (streamingAppenders != null) {
+			resetStreamingAppenders();
+		}
 		column = 0;
+		filterResult = 0;
 		this.appender = appenders[0];
 	}
 
 	/**
-	 * Resets the parser output and prepares for a new parsing process.
+	 * Indicates whether the next record with values will be taken as the header row of the input.
+	 *
+	 * @return {@code true} if header extraction is enabled and the headers were not parsed yet, otherwise {@code false}
+	 */
+	final boolean isHeaderRowPending() {
+		return !columnsToExtractInitialized && settings.isHeaderExtractionEnabled();
+	}
+
+	/**
+	 * Resets the parser output and prepares for a new parsing process. The arrays and appenders of this output are retained.
 	 */
 	final void reset() {
 		this.columnsToExtractInitialized = false;
 		this.currentRecord = 0;
+		this.filteredRecords = 0;
+		this.filterResult = 0;
 		this.column = 0;
 		this.headers = null;
+		this.parsedHeaders = null;
+		this.lastSelectedIndex = Integer.MAX_VALUE;
+		if (retentionDetector != null) {
+			retentionDetector.reset();
+		}
+		this.appender = appenders[0];
+		this.appender.reset();
+		if (rowView != null) {
+			rowView.clear();
+		}
+		if (streamingAppenders != null) {
+			resetStreamingAppenders();
+		}
+	}
+
+	/**
+	 * Discards any value partially collected by the {@link StreamingCharAppender}s of this output.
+	 */
+	private void resetStreamingAppenders() {
+		for (int i = 0; i < streamingAppenders.length; i++) {
+			if (streamingAppenders[i] != null) {
+				streamingAppenders[i].reset();
+			}
+		}
 	}
 }
@@ -131,4 +131,12 @@ public interface ParsingContext extends Context {
 	 * @return the line separator sequence. Might contain one or two characters.
 	 */
 	char[] lineSeparator();
+
+	/**
+	 * Returns the number of records discarded so far by the {@link RowFilter} defined in {@link CommonParserSettings#getRowFilter()}.
+	 * Filtered records are not included in {@link #currentRecord()}.
+	 *
+	 * @return the number of records rejected by the row filter.
+	 */
+	long filteredRecords();
 }
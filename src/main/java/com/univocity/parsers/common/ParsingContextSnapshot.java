@@ -33,6 +33,7 @@ public class ParsingContextSnapshot extends ParsingContextWrapper {
 	private final int currentColumn;
 	private final String currentParsedContent;
 	private final long currentRecord;
+	private final long filteredRecords;
 
 	/**
 	 * Creates a snapshot of a given {@link Context}
@@ -48,6 +49,7 @@ public class ParsingContextSnapshot extends ParsingContextWrapper {
 		currentColumn = context.currentColumn();
 		currentParsedContent = context.currentParsedContent();
 		currentRecord = context.currentRecord();
+		filteredRecords = context.filteredRecords();
 	}
 
 
@@ -85,4 +87,9 @@ public class ParsingContextSnapshot extends ParsingContextWrapper {
 	public long currentRecord() {
 		return currentRecord;
 	}
+
+	@Override
+	public long filteredRecords() {
+		return filteredRecords;
+	}
 }
@@ -64,6 +64,11 @@ public class ParsingContextWrapper extends ContextWrapper<ParsingContext> implem
 		return context.lineSeparator();
 	}
 
+	@Override
+	public long filteredRecords() {
+		return context.filteredRecords();
+	}
+
 	@Override
 	public String fieldContentOnError() {
 		return context.fieldContentOnError();
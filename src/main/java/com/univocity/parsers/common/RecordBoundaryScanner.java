@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.nio.*;
+
+/**
+ * A state machine that scans raw bytes of an input to identify where records start, used by {@link AbstractParallelParser} to split
+ * an input into ranges that can be parsed independently.
+ *
+ * <p> As any range of bytes may start in the middle of a record (e.g. inside a quoted value), each range is scanned speculatively,
+ * once for every state the input could be in at the first byte of the range (as given by {@link #getPossibleStates()}). Scans
+ * whose states become identical at any point are merged, so in practice only a couple of them run for most of the range.
+ * Once all ranges are scanned, the actual state at the start of each range is known from the state at the end of the previous
+ * range, and the corresponding scan result is used.
+ *
+ * <p> Implementations must work with bytes only. Therefore all characters that affect the identification of records (line
+ * separators, quotes, escapes, delimiters and comments) must be ASCII characters, and the input must use an ASCII-compatible
+ * encoding such as US-ASCII, ISO-8859-1 or UTF-8.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParallelParser
+ */
+public abstract class RecordBoundaryScanner {
+
+	private final byte separatorStart;
+	private final byte separatorEnd;
+
+	/**
+	 * Creates a scanner for an input with the given line separator, which is used to count lines.
+	 *
+	 * @param lineSeparator the line separator of the input, with 1 or 2 ASCII characters.
+	 */
+	protected RecordBoundaryScanner(char[] lineSeparator) {
+		if (lineSeparator == null || lineSeparator.length == 0 || lineSeparator.length > 2) {
+			throw new IllegalArgumentException("Invalid line separator. Expected 1 to 2 characters");
+		}
+		this.separatorEnd = toByte(lineSeparator[lineSeparator.length - 1], "Line separator");
+		this.separatorStart = lineSeparator.length == 2 ? toByte(lineSeparator[0], "Line separator") : 0;
+	}
+
+	/**
+	 * Converts an ASCII character into a byte
+	 *
+	 * @param ch          the character to convert
+	 * @param description a description of the character, used in the error message if it is not an ASCII character
+	 *
+	 * @return the byte that represents the given character
+	 */
+	protected static byte toByte(char ch, String description) {
+		if (ch >= 0x80) {
+			throw new IllegalArgumentException(description + " '" + ch + "' is not an ASCII character and can't be used for parallel parsing");
+		}
+		return (byte) ch;
+	}
+
+	/**
+	 * Returns the state of the scanner at the beginning of the input.
+	 *
+	 * @return the initial state, which must be a record start as per {@link #isRecordStart(int)}
+	 */
+	protected abstract int getInitialState();
+
+	/**
+	 * Returns all states the scanner can be in at an arbitrary position of the input.
+	 *
+	 * @return the possible states of the scanner.
+	 */
+	protected abstract int[] getPossibleStates();
+
+	/**
+	 * Returns the state of the scanner after consuming a byte.
+	 *
+	 * @param state the current state of the scanner
+	 * @param b     the next byte of the input
+	 *
+	 * @return the new state of the scanner.
+	 */
+	protected abstract int nextState(int state, byte b);
+
+	/**
+	 * Indicates whether the next byte of the input, after the scanner reaches the given state, will be the first byte of a record.
+	 *
+	 * @param state the current state of the scanner
+	 *
+	 * @return {@code true} if a record starts after the given state, otherwise {@code false}.
+	 */
+	protected abstract boolean isRecordStart(int state);
+
+	/**
+	 * Scans a range of bytes once for each of the given initial states.
+	 *
+	 * @param bytes    the bytes of the range
+	 * @param start    the position of the first byte of the range in the input
+	 * @param previous the byte before the range, or {@code 0} at the beginning of the input.
+	 * @param states   the possible states of the scanner at the start of the range
+	 *
+	 * @return the result of the scan for each initial state.
+	 */
+	final ScanResult scan(ByteBuffer bytes, long start, byte previous, int[] states) {
+		final int count = states.length;
+		ScanResult result = new ScanResult(states);
+
+		int[] machineOf = new int[count];
+		int[] machineStates = states.clone();
+		int machines = count;
+		int pending = 0;
+		for (int h = 0; h < count; h++) {
+			machineOf[h] = h;
+			if (isRecordStart(states[h])) {
+				result.recordStarts[h] = start;
+			} else {
+				pending++;
+			}
+		}
+
+		long lines = 0;
+		byte prev = previous;
+		final int length = bytes.limit();
+		for (int i = 0; i < length; i++) {
+			byte b = bytes.get(i);
+			if (b == separatorEnd && (separatorStart == 0 || prev == separatorStart)) {
+				lines++;
+			}
+			prev = b;
+
+			for (int m = 0; m < machines; m++) {
+				int state = nextState(machineStates[m], b);
+				machineStates[m] = state;
+				if (pending > 0 && isRecordStart(state)) {
+					for (int h = 0; h < count; h++) {
+						if (machineOf[h] == m && result.recordStarts[h] == -1) {
+							result.recordStarts[h] = start + i + 1;
+							result.linesBeforeRecordStart[h] = lines;
+							pending--;
+						}
+					}
+				}
+			}
+
+			if (machines > 1) {
+				machines = mergeIdenticalMachines(machineStates, machines, machineOf);
+			}
+		}
+
+		result.lineCount = lines;
+		for (int h = 0; h < count; h++) {
+			result.endStates[h] = machineStates[machineOf[h]];
+		}
+		return result;
+	}
+
+	private static int mergeIdenticalMachines(int[] machineStates, int machines, int[] machineOf) {
+		for (int m1 = 0; m1 < machines; m1++) {
+			for (int m2 = machines - 1; m2 > m1; m2--) {
+				if (machineStates[m1] == machineStates[m2]) {
+					int last = --machines;
+					for (int h = 0; h < machineOf.length; h++) {
+						if (machineOf[h] == m2) {
+							machineOf[h] = m1;
+						} else if (machineOf[h] == last) {
+							machineOf[h] = m2;
+						}
+					}
+					machineStates[m2] = machineStates[last];
+				}
+			}
+		}
+		return machines;
+	}
+
+	/**
+	 * The result of scanning a range of bytes for each possible initial state.
+	 */
+	static final class ScanResult {
+		final int[] initialStates;
+		final long[] recordStarts;
+		final long[] linesBeforeRecordStart;
+		final int[] endStates;
+		long lineCount;
+
+		ScanResult(int[] initialStates) {
+			this.initialStates = initialStates;
+			this.recordStarts = new long[initialStates.length];
+			this.linesBeforeRecordStart = new long[initialStates.length];
+			this.endStates = new int[initialStates.length];
+			java.util.Arrays.fill(recordStarts, -1L);
+		}
+
+		int indexOf(int initialState) {
+			for (int i = 0; i < initialStates.length; i++) {
+				if (initialStates[i] == initialState) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
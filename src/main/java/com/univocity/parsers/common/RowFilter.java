@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+/**
+ * A predicate evaluated by any parser that extends {@link AbstractParser} to discard records as soon as their leading values are parsed,
+ * before the remaining values are collected and before the record is sent to a {@link com.univocity.parsers.common.processor.core.Processor}.
+ *
+ * <p>The filter is evaluated once the number of values given by {@link #getColumnCount()} has been parsed. If the record is rejected,
+ * parsers that support it skip the remaining characters of the record without collecting them, otherwise the values parsed are simply discarded.
+ * The number of records rejected is available from {@link ParsingContext#filteredRecords()}.
+ *
+ * <p>When parsing in parallel, the same filter instance is evaluated by multiple threads.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CommonParserSettings#setRowFilter(RowFilter)
+ * @see ParsingContext#filteredRecords()
+ */
+public interface RowFilter {
+
+	/**
+	 * Returns the number of leading values of each record required by this filter to decide whether the record should be accepted.
+	 * The values of these columns are collected even if they are not selected with the field selection methods of {@link CommonSettings}.
+	 *
+	 * @return the number of values to parse before evaluating the filter. If {@code 0} or less, the filter is evaluated after all values of each record
+	 * have been parsed.
+	 */
+	int getColumnCount();
+
+	/**
+	 * Decides whether a record should be processed or discarded.
+	 *
+	 * @param row     a view over the values parsed for the record, in the order they appear in the input, irrespective of any field selection.
+	 *                The view is only valid until this method returns. Records with fewer values than given by {@link #getColumnCount()} are evaluated
+	 *                after all their values are parsed, so {@link RowView#getColumnCount()} must be checked before reading the values.
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 *
+	 * @return {@code true} if the record should be processed, or {@code false} if it should be discarded.
+	 */
+	boolean accept(RowView row, ParsingContext context);
+}
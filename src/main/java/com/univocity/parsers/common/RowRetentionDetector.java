@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.lang.ref.*;
+import java.util.*;
+
+/**
+ * Detects rows that are still referenced after the parser would have recycled them, when {@link CommonParserSettings#isRowRetentionDetectionEnabled()}
+ * evaluates to {@code true}.
+ *
+ * <p>Instead of reusing a row array, a new array is given out for every record and the previous one is cleared, so that code that retains rows sees
+ * the same loss of values it would experience with recycled arrays. The most recent rows are tracked through weak references. Once parsing ends,
+ * the garbage collector is invoked and any of these rows that is still reachable, other than the last one, is reported as retained.</p>
+ *
+ * <p>This is a debugging aid: it allocates as much as parsing without recycling, and triggers a garbage collection at the end of each parsing process.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+final class RowRetentionDetector {
+
+	private final WeakReference<?>[] rows;
+	private String[] lastRow;
+	private long count;
+
+	RowRetentionDetector(int trackedRows) {
+		rows = new WeakReference<?>[trackedRows];
+	}
+
+	/**
+	 * Tracks a new row that is about to be given out by the parser, and clears the contents of the previous row as if it had been recycled.
+	 *
+	 * @param row the new row
+	 *
+	 * @return the given row
+	 */
+	String[] track(String[] row) {
+		if (lastRow != null) {
+			Arrays.fill(lastRow, null);
+		}
+		lastRow = row;
+		rows[(int) (count++ % rows.length)] = new WeakReference<String[]>(row);
+		return row;
+	}
+
+	/**
+	 * Counts how many of the tracked rows, except the last one, are still reachable after a garbage collection.
+	 *
+	 * @return the number of rows retained, or {@code 0} if none were retained or if the garbage collector did not clear unreachable objects.
+	 */
+	int countRetainedRows() {
+		String[] last = lastRow;
+		lastRow = null;
+
+		WeakReference<Object> canary = new WeakReference<Object>(new Object());
+		System.gc();
+		if (canary.get() != null) {
+			// the collection did not happen (e.g. explicit GC is disabled). Nothing can be determined.
+			return 0;
+		}
+
+		int retained = 0;
+		for (WeakReference<?> reference : rows) {
+			Object row = reference == null ? null : reference.get();
+			if (row != null && row != last) {
+				retained++;
+			}
+		}
+		return retained;
+	}
+
+	/**
+	 * Returns the number of rows tracked in the last parsing process, up to the number of rows that can be tracked at once.
+	 *
+	 * @return the number of rows verified by {@link #countRetainedRows()}.
+	 */
+	int getTrackedRows() {
+		return (int) Math.min(count, rows.length);
+	}
+
+	/**
+	 * Discards all tracked rows to start a new parsing process.
+	 */
+	void reset() {
+		Arrays.fill(rows, null);
+		lastRow = null;
+		count = 0;
+	}
+}
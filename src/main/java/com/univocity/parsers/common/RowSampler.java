@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.util.*;
+
+/**
+ * Decides which records are part of the sample configured with a {@link RowSampling}, during a single parsing process. When sampling a
+ * reservoir, it also holds the records selected so far.
+ *
+ * <p>Reservoir sampling uses Li's "Algorithm L": once the reservoir is full, the position of the next record to select is computed directly,
+ * so no random number is generated for the records skipped in between.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+final class RowSampler {
+
+	private final RowSampling sampling;
+	private final Random random;
+	private long records;
+
+	private String[][] reservoir;
+	private long[] positions;
+	private int count;
+	private double w;
+	private long nextSelected;
+	private int[] deliveryOrder;
+	private int delivered;
+
+	RowSampler(RowSampling sampling) {
+		this.sampling = sampling;
+		this.random = new Random(sampling.seed);
+		if (sampling.mode == RowSampling.Mode.RESERVOIR) {
+			int capacity = Math.min(sampling.size, 1024);
+			reservoir = new String[capacity][];
+			positions = new long[capacity];
+			w = Math.exp(Math.log(nextRandom()) / sampling.size);
+			nextSelected = sampling.size + skipLength();
+		}
+	}
+
+	private double nextRandom() {
+		// in (0, 1], so its logarithm is finite.
+		return 1.0 - random.nextDouble();
+	}
+
+	private long skipLength() {
+		return (long) Math.floor(Math.log(nextRandom()) / Math.log(1.0 - w));
+	}
+
+	/**
+	 * Decides whether the next record of the input is part of the sample.
+	 *
+	 * @return {@code true} if the record should be parsed, or {@code false} if it should be skipped.
+	 */
+	boolean sample() {
+		long index = records++;
+		switch (sampling.mode) {
+			case EVERY_NTH:
+				return index % sampling.interval == 0;
+			case BERNOULLI:
+				return random.nextDouble() < sampling.probability;
+			default:
+				if (index < sampling.size) {
+					return true;
+				}
+				if (index == nextSelected) {
+					w *= Math.exp(Math.log(nextRandom()) / sampling.size);
+					nextSelected = index + 1 + skipLength();
+					return true;
+				}
+				return false;
+		}
+	}
+
+	/**
+	 * Indicates whether the sampled records are collected into a reservoir and only produced once the end of the input is reached.
+	 *
+	 * @return {@code true} if sampling a reservoir, otherwise {@code false}
+	 */
+	boolean isReservoir() {
+		return reservoir != null;
+	}
+
+	/**
+	 * Adds the last record selected by {@link #sample()} to the reservoir, replacing a random record if the reservoir is full.
+	 *
+	 * @param row the values of the record.
+	 */
+	void add(String[] row) {
+		int slot;
+		if (count < sampling.size) {
+			if (count == reservoir.length) {
+				int capacity = (int) Math.min(count * 2L, sampling.size);
+				reservoir = Arrays.copyOf(reservoir, capacity);
+				positions = Arrays.copyOf(positions, capacity);
+			}
+			slot = count++;
+		} else {
+			slot = random.nextInt(count);
+		}
+		reservoir[slot] = row;
+		positions[slot] = records - 1;
+	}
+
+	/**
+	 * Returns the next record of the reservoir, in the order the records appear in the input.
+	 *
+	 * @return the next record of the sample, or {@code null} if all records have been returned.
+	 */
+	String[] next() {
+		if (deliveryOrder == null) {
+			Integer[] order = new Integer[count];
+			for (int i = 0; i < count; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer o1, Integer o2) {
+					long p1 = positions[o1];
+					long p2 = positions[o2];
+					return p1 < p2 ? -1 : p1 == p2 ? 0 : 1;
+				}
+			});
+			deliveryOrder = new int[count];
+			for (int i = 0; i < count; i++) {
+				deliveryOrder[i] = order[i];
+			}
+		}
+		if (delivered >= count) {
+			return null;
+		}
+		int slot = deliveryOrder[delivered++];
+		String[] out = reservoir[slot];
+		reservoir[slot] = null;
+		return out;
+	}
+
+	/**
+	 * Returns the number of records of the reservoir returned by {@link #next()} so far.
+	 *
+	 * @return the number of sampled records produced.
+	 */
+	int getDeliveredCount() {
+		return delivered;
+	}
+
+	/**
+	 * Indicates whether the input has been read and the reservoir is ready to produce its records.
+	 *
+	 * @return {@code true} if {@link #next()} has been invoked, otherwise {@code false}
+	 */
+	boolean isComplete() {
+		return deliveryOrder != null;
+	}
+}
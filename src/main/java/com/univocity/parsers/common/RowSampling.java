@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+/**
+ * Selects a sample of the records of the input to be parsed, as configured with {@link CommonParserSettings#setRowSampling(RowSampling)}.
+ * Records that are not part of the sample are skipped as soon as they are found, without collecting their values, which allows a small sample
+ * of a very large input to be obtained much faster than parsing the entire input.
+ *
+ * <p>Three sampling modes are available:</p>
+ * <ul>
+ * <li>{@link #everyNth(long)}: the first record, and every {@code n}th record after it.</li>
+ * <li>{@link #bernoulli(double, long)}: each record is selected independently with a given probability.</li>
+ * <li>{@link #reservoir(int, long)}: a uniform random sample of a fixed number of records, taken from the entire input. As the sample is only
+ * known once the input has been read, the sampled records are only produced after the end of the input is reached. They are produced in
+ * the order they appear in the input.</li>
+ * </ul>
+ *
+ * <p>Sampling decisions are made before each record is parsed. Records discarded afterwards, for example by a {@link RowFilter}, still count
+ * as sampled. Blank lines skipped by the parser and the header row are never sampled out. Random samples are reproducible: the same seed
+ * selects the same records from the same input.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CommonParserSettings#setRowSampling(RowSampling)
+ */
+public final class RowSampling {
+
+	enum Mode {
+		EVERY_NTH, BERNOULLI, RESERVOIR
+	}
+
+	final Mode mode;
+	final long interval;
+	final double probability;
+	final int size;
+	final long seed;
+
+	private RowSampling(Mode mode, long interval, double probability, int size, long seed) {
+		this.mode = mode;
+		this.interval = interval;
+		this.probability = probability;
+		this.size = size;
+		this.seed = seed;
+	}
+
+	/**
+	 * Selects the first record of the input and every {@code n}th record after it.
+	 *
+	 * @param n the distance between each record selected.
+	 *
+	 * @return a sampling mode that selects one in each {@code n} records.
+	 */
+	public static RowSampling everyNth(long n) {
+		if (n < 1) {
+			throw new IllegalArgumentException("Sampling interval must be 1 or greater");
+		}
+		return new RowSampling(Mode.EVERY_NTH, n, 1.0, 0, 0L);
+	}
+
+	/**
+	 * Selects each record independently with a given probability.
+	 *
+	 * @param probability the probability of each record being selected, greater than 0 and up to 1.
+	 * @param seed        the seed of the random number generator used to select records.
+	 *
+	 * @return a sampling mode that selects approximately {@code probability * 100}% of the records.
+	 */
+	public static RowSampling bernoulli(double probability, long seed) {
+		if (!(probability > 0.0 && probability <= 1.0)) {
+			throw new IllegalArgumentException("Sampling probability must be greater than 0 and less than or equal to 1. Got " + probability);
+		}
+		return new RowSampling(Mode.BERNOULLI, 1L, probability, 0, seed);
+	}
+
+	/**
+	 * Selects a uniform random sample of a fixed number of records from the entire input. If the input has fewer records, all of them are selected.
+	 * Only the selected records are held in memory, and the records between each selected record are skipped.
+	 *
+	 * @param size the number of records to select.
+	 * @param seed the seed of the random number generator used to select records.
+	 *
+	 * @return a sampling mode that selects {@code size} random records.
+	 */
+	public static RowSampling reservoir(int size, long seed) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Reservoir size must be 1 or greater");
+		}
+		return new RowSampling(Mode.RESERVOIR, 1L, 1.0, size, seed);
+	}
+
+	@Override
+	public String toString() {
+		switch (mode) {
+			case EVERY_NTH:
+				return "every " + interval + " records";
+			case BERNOULLI:
+				return "bernoulli(probability=" + probability + ", seed=" + seed + ")";
+			default:
+				return "reservoir(size=" + size + ", seed=" + seed + ")";
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+
+/**
+ * A read-only view over the values of the record just parsed, given to a {@link RowViewProcessor} instead of a {@code String[]}.
+ *
+ * <p>The characters of all values of a record are stored one after the other in a single char array (the "slab") which is reused for every record.
+ * Each value is identified by its offset and length in this array. No {@code String} is created unless a value is explicitly materialized with
+ * {@link #getString(int)} or {@link #toArray()}.
+ *
+ * <p>A RowView and the {@link CharSequence}s it returns are reused by the parser, and are only valid until the {@link RowViewProcessor#rowProcessed(RowView, ParsingContext)}
+ * method returns. Materialize any value that must be retained.
+ *
+ * <p>Column indexes follow the same rules of the {@code String[]} produced for a record: if fields are selected and {@link CommonParserSettings#isColumnReorderingEnabled()}
+ * is enabled, only the selected columns are available, in the order of the selection.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see RowViewProcessor
+ * @see CommonParserSettings#setRowViewProcessor(RowViewProcessor)
+ */
+public interface RowView {
+
+	/**
+	 * Returns the number of columns in the current record.
+	 *
+	 * @return the number of columns available in this view.
+	 */
+	int getColumnCount();
+
+	/**
+	 * Indicates whether the value of a given column is {@code null}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return {@code true} if the value is {@code null}, otherwise {@code false}
+	 */
+	boolean isNull(int column);
+
+	/**
+	 * Returns the value of a given column as a {@link CharSequence} backed by the slab of this view, without copying its characters.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the value of the column, or {@code null} if the value is {@code null}. The returned sequence is reused when the next record is parsed.
+	 */
+	CharSequence get(int column);
+
+	/**
+	 * Returns the length of the value of a given column.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the number of characters of the value, or {@code -1} if the value is {@code null}
+	 */
+	int length(int column);
+
+	/**
+	 * Returns the character at a given position of the value of a column.
+	 *
+	 * @param column the index of the column
+	 * @param index  the position of the character in the value
+	 *
+	 * @return the character at the given position
+	 */
+	char charAt(int column, int index);
+
+	/**
+	 * Returns the char array that holds the characters of all values of the current record. Use {@link #getOffset(int)} and {@link #length(int)}
+	 * to locate each value in this array.
+	 *
+	 * @return the slab of characters of the current record. Its contents change when the next record is parsed.
+	 */
+	char[] getChars();
+
+	/**
+	 * Returns the position of the first character of the value of a column in the array returned by {@link #getChars()}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the offset of the value in the slab, or {@code -1} if the value is {@code null}
+	 */
+	int getOffset(int column);
+
+	/**
+	 * Compares the value of a column with a given sequence of characters.
+	 *
+	 * @param column the index of the column
+	 * @param value  the characters to compare
+	 *
+	 * @return {@code true} if the value has the same characters of the given sequence, or if both are {@code null}.
+	 */
+	boolean contentEquals(int column, CharSequence value);
+
+	/**
+	 * Compares the value of a column with a given sequence of characters, ignoring case considerations in the same way
+	 * as {@link String#equalsIgnoreCase(String)}.
+	 *
+	 * @param column the index of the column
+	 * @param value  the characters to compare
+	 *
+	 * @return {@code true} if the value has the same characters of the given sequence, ignoring case, or if both are {@code null}.
+	 */
+	boolean equalsIgnoreCase(int column, CharSequence value);
+
+	/**
+	 * Parses the value of a column as a decimal {@code int}, in the same way as {@link Integer#parseInt(String)}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code int} value of the column
+	 *
+	 * @throws NumberFormatException if the value is {@code null} or is not a valid {@code int}
+	 */
+	int getInt(int column);
+
+	/**
+	 * Parses the value of a column as a decimal {@code long}, in the same way as {@link Long#parseLong(String)}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code long} value of the column
+	 *
+	 * @throws NumberFormatException if the value is {@code null} or is not a valid {@code long}
+	 */
+	long getLong(int column);
+
+	/**
+	 * Parses the value of a column as a {@code double}, in the same way as {@link Double#parseDouble(String)}.
+	 * Plain decimal numbers with up to 15 significant digits are parsed directly from the slab. Any other format is materialized and
+	 * given to {@link Double#parseDouble(String)}.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the {@code double} value of the column
+	 *
+	 * @throws NumberFormatException if the value is {@code null} or is not a valid {@code double}
+	 */
+	double getDouble(int column);
+
+	/**
+	 * Creates a {@code String} with the value of a column.
+	 *
+	 * @param column the index of the column
+	 *
+	 * @return the value of the column, or {@code null} if the value is {@code null}
+	 */
+	String getString(int column);
+
+	/**
+	 * Creates a {@code String[]} with the values of all columns of the current record, as they would be produced by the parser
+	 * when no {@link RowViewProcessor} is used.
+	 *
+	 * @return the values of the current record.
+	 */
+	String[] toArray();
+}
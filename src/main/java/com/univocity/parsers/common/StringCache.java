@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.util.*;
+
+/**
+ * A bounded cache of canonical {@code String} instances, used by the parser to deduplicate the values of columns that repeat the same few values
+ * over and over, such as country codes, status flags or currencies. Values are looked up directly from the characters parsed, so no {@code String}
+ * is created when the value is already in the cache.
+ *
+ * <p>Values are stored in a two-way set associative table: each value can only be held by one of two entries, selected by its hash code.
+ * When both entries are in use, the least recently used of the two is evicted. The memory used by the cache is therefore bounded by its capacity,
+ * even for columns with a large number of distinct values, at the cost of a low hit rate in such columns. Use the statistics provided by
+ * {@link #getHitRate()} and {@link #getEvictions()} to identify the columns that benefit from deduplication.</p>
+ *
+ * <p>Instances of this class are not thread-safe. Each parser holds one cache per deduplicated column, as configured with
+ * {@link CommonParserSettings#deduplicateFields(String...)}, {@link CommonParserSettings#deduplicateIndexes(Integer...)} and
+ * {@link CommonParserSettings#setStringCacheSize(int)}, and exposes them through {@link AbstractParser#getStringCaches()}.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CommonParserSettings#setStringCacheSize(int)
+ */
+public final class StringCache {
+
+	private final String[] values;
+	private final boolean[] secondUsedLast;
+	private final int mask;
+
+	private int size;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Creates a cache that holds up to the given number of distinct values. The capacity is rounded up to the next power of two.
+	 *
+	 * @param maxSize the maximum number of values held by this cache.
+	 */
+	public StringCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("String cache size must be a positive number");
+		}
+		int capacity = 2;
+		while (capacity < maxSize && capacity < 1 << 30) {
+			capacity <<= 1;
+		}
+		this.values = new String[capacity];
+		this.secondUsedLast = new boolean[capacity >> 1];
+		this.mask = (capacity >> 1) - 1;
+	}
+
+	/**
+	 * Returns the canonical {@code String} with the given characters, creating and storing a new one only if it is not already cached.
+	 *
+	 * @param chars  the array that contains the characters of the value
+	 * @param from   the position of the first character of the value
+	 * @param length the number of characters of the value
+	 *
+	 * @return the cached {@code String} with the given characters
+	 */
+	public String get(char[] chars, int from, int length) {
+		int hash = 0;
+		final int end = from + length;
+		for (int i = from; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+
+		final int set = spread(hash) & mask;
+		final int first = set << 1;
+
+		String value = values[first];
+		if (value != null && value.hashCode() == hash && matches(value, chars, from, length)) {
+			hits++;
+			secondUsedLast[set] = false;
+			return value;
+		}
+		value = values[first + 1];
+		if (value != null && value.hashCode() == hash && matches(value, chars, from, length)) {
+			hits++;
+			secondUsedLast[set] = true;
+			return value;
+		}
+
+		misses++;
+		value = new String(chars, from, length);
+		store(set, value);
+		return value;
+	}
+
+	/**
+	 * Returns the canonical {@code String} equal to the given value, storing the value in the cache if an equal {@code String} is not already cached.
+	 *
+	 * @param value the value to deduplicate
+	 *
+	 * @return the cached {@code String} equal to the given value, or {@code null} if the value is {@code null}.
+	 */
+	public String get(String value) {
+		if (value == null) {
+			return null;
+		}
+		final int hash = value.hashCode();
+		final int set = spread(hash) & mask;
+		final int first = set << 1;
+
+		String cached = values[first];
+		if (cached != null && cached.hashCode() == hash && cached.equals(value)) {
+			hits++;
+			secondUsedLast[set] = false;
+			return cached;
+		}
+		cached = values[first + 1];
+		if (cached != null && cached.hashCode() == hash && cached.equals(value)) {
+			hits++;
+			secondUsedLast[set] = true;
+			return cached;
+		}
+
+		misses++;
+		store(set, value);
+		return value;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean matches(String value, char[] chars, int from, int length) {
+		if (value.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (value.charAt(i) != chars[from + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void store(int set, String value) {
+		int first = set << 1;
+		int entry;
+		if (values[first] == null) {
+			entry = first;
+			size++;
+		} else if (values[first + 1] == null) {
+			entry = first + 1;
+			size++;
+		} else {
+			// evicts the entry that was not used last
+			entry = secondUsedLast[set] ? first : first + 1;
+			evictions++;
+		}
+		values[entry] = value;
+		secondUsedLast[set] = entry != first;
+	}
+
+	/**
+	 * Returns the maximum number of values this cache can hold.
+	 *
+	 * @return the capacity of this cache
+	 */
+	public int getCapacity() {
+		return values.length;
+	}
+
+	/**
+	 * Returns the number of values currently held by this cache.
+	 *
+	 * @return the number of cached values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of lookups that found the value in the cache, and therefore did not create a new {@code String}.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of lookups that did not find the value in the cache.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of values removed from the cache to make room for other values. A large number of evictions indicates
+	 * the column has too many distinct values to benefit from deduplication, or that the cache size should be increased.
+	 *
+	 * @return the number of cached values evicted
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the fraction of lookups that found the value in the cache.
+	 *
+	 * @return a number between {@code 0.0} and {@code 1.0}, or {@code 0.0} if no values were looked up.
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0.0 : (double) hits / lookups;
+	}
+
+	/**
+	 * Removes all values from this cache and resets its statistics.
+	 */
+	public void clear() {
+		Arrays.fill(values, null);
+		Arrays.fill(secondUsedLast, false);
+		size = 0;
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "StringCache{size=" + size + ", capacity=" + values.length + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + '}';
+	}
+}
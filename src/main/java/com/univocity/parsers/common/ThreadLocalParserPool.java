@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import java.util.*;
+
+/**
+ * Keeps one parser instance per thread for each settings object, so that parsers (and the buffers they retain, see {@link AbstractParser#beginParsing(java.io.Reader)})
+ * can be reused to process many inputs without allocating a new parser every time.
+ *
+ * <p> Parsers are created on demand by {@link #newParser(CommonParserSettings)} and associated with the given settings object, compared by identity.
+ * Changes made to a settings object after a parser was created for it are not guaranteed to take effect.
+ *
+ * <p> Example:
+ * <pre>{@code
+ *
+ * ThreadLocalParserPool<CsvParserSettings, CsvParser> pool = new ThreadLocalParserPool<CsvParserSettings, CsvParser>() {
+ *     protected CsvParser newParser(CsvParserSettings settings) {
+ *         return new CsvParser(settings);
+ *     }
+ * };
+ *
+ * // in any thread:
+ * List<String[]> rows = pool.getParser(settings).parseAll(input);
+ *
+ * }</pre>
+ *
+ * <p> Parsers in this pool share the {@link com.univocity.parsers.common.processor.core.Processor} defined in their settings, which must
+ * be able to handle rows coming from multiple threads. As each thread retains its parsers until {@link #release(CommonParserSettings)}
+ * or {@link #clear()} is invoked, pools used by long-lived threads should be cleared once the settings are no longer needed.
+ *
+ * @param <T> the type of settings used to create the parsers of this pool.
+ * @param <P> the type of parser managed by this pool.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParser
+ */
+public abstract class ThreadLocalParserPool<T extends CommonParserSettings<?>, P extends AbstractParser<T>> {
+
+	private final ThreadLocal<Map<T, P>> parsers = new ThreadLocal<Map<T, P>>() {
+		@Override
+		protected Map<T, P> initialValue() {
+			return new IdentityHashMap<T, P>(4);
+		}
+	};
+
+	/**
+	 * Creates a new parser for the given settings
+	 *
+	 * @param settings the configuration of the parser
+	 *
+	 * @return a new parser instance.
+	 */
+	protected abstract P newParser(T settings);
+
+	/**
+	 * Returns the parser of the current thread for the given settings, creating a new one if required. The returned parser must
+	 * only be used by the current thread.
+	 *
+	 * @param settings the configuration of the parser
+	 *
+	 * @return the parser associated with the current thread and the given settings.
+	 */
+	public P getParser(T settings) {
+		if (settings == null) {
+			throw new IllegalArgumentException("Parser settings cannot be null");
+		}
+		Map<T, P> threadParsers = parsers.get();
+		P parser = threadParsers.get(settings);
+		if (parser == null) {
+			parser = newParser(settings);
+			threadParsers.put(settings, parser);
+		}
+		return parser;
+	}
+
+	/**
+	 * Discards the parser of the current thread associated with the given settings, if any.
+	 *
+	 * @param settings the configuration of the parser to discard
+	 */
+	public void release(T settings) {
+		parsers.get().remove(settings);
+	}
+
+	/**
+	 * Discards all parsers of the current thread.
+	 */
+	public void clear() {
+		parsers.remove();
+	}
+}
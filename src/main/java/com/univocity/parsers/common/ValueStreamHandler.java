@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+/**
+ * A callback that receives oversized values of selected columns as a sequence of chunks, while they are parsed, instead of having them
+ * accumulated in memory. Columns to stream are selected with {@link CommonParserSettings#streamFields(ValueStreamHandler, String...)} or
+ * {@link CommonParserSettings#streamIndexes(ValueStreamHandler, Integer...)}.
+ *
+ * <p>Values of the selected columns are accumulated as usual until they exceed the window given by {@link CommonParserSettings#getValueStreamingWindow()}.
+ * From that point on, the characters of the value are delivered to {@link #chunkParsed(char[], int, int)} every time the window fills up, so
+ * the memory used by each value is bounded by the window length. The value becomes {@code null} in the record produced by the parser, and the
+ * remaining values of the record are parsed normally.
+ *
+ * <p>For each streamed value, {@link #valueStarted(int, ParsingContext)} is invoked once, followed by one or more invocations of
+ * {@link #chunkParsed(char[], int, int)} and finally by {@link #valueEnded(int, ParsingContext)}.
+ *
+ * <p>When parsing in parallel, the same handler instance is invoked by multiple threads.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CommonParserSettings#streamFields(ValueStreamHandler, String...)
+ * @see CommonParserSettings#getValueStreamingWindow()
+ */
+public interface ValueStreamHandler {
+
+	/**
+	 * Notifies that a value has exceeded the streaming window, and that its characters will be delivered to {@link #chunkParsed(char[], int, int)}.
+	 *
+	 * @param column  the position of the value in the input record.
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void valueStarted(int column, ParsingContext context);
+
+	/**
+	 * Receives the next sequence of characters of the value being streamed.
+	 *
+	 * @param chars  the buffer with the characters of the value. Its contents are overwritten once this method returns.
+	 * @param from   the position of the first character of the chunk
+	 * @param length the number of characters in the chunk
+	 */
+	void chunkParsed(char[] chars, int from, int length);
+
+	/**
+	 * Notifies that all characters of the value being streamed have been delivered. Trailing whitespace is not delivered if the parser is
+	 * configured to ignore it. If the value was discarded by the parser (for example, when an unescaped quote makes it skip the value),
+	 * this method is invoked at the point where the value was discarded.
+	 *
+	 * @param column  the position of the value in the input record.
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void valueEnded(int column, ParsingContext context);
+}
@@ -67,6 +67,15 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 	private boolean incrementLineCount = false;
 	private boolean normalizeLineEndings = true;
 
+	boolean normalizeLineEndingsOnLoad = false;
+	private int[] lineEndings;
+	private int lineEndingCount;
+	private int lineEndingCursor;
+	private boolean pendingLineSeparator;
+	private boolean joinedLineSeparator;
+	private boolean readingComment;
+	private long bufferCount;
+
 	/**
 	 * Creates a new instance that attempts to detect the newlines used in the input automatically.
 	 *
@@ -139,6 +148,18 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		stop();
 		setReader(reader);
 		lineCount = 0;
+		charCount = 0;
+		recordStart = 0;
+		i = 0;
+		length = -1;
+		ch = '\0';
+		incrementLineCount = false;
+		bufferCount = 0;
+		lineEndingCount = 0;
+		lineEndingCursor = 0;
+		pendingLineSeparator = false;
+		joinedLineSeparator = false;
+		tmp.reset();
 
 		lineSeparatorDetected = false;
 		submitLineSeparatorDetector();
@@ -152,15 +173,26 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 	 * <p> If there are no more characters in the input, the reading will stop by invoking the {@link AbstractCharInputReader#stop()} method.
 	 */
 	private void updateBuffer() {
-		if (length - recordStart > 0 && buffer != null) {
+		if (!readingComment && length - recordStart > 0 && buffer != null) {
 			tmp.append(buffer, recordStart, length - recordStart);
 		}
 		recordStart = 0;
 		reloadBuffer();
+		bufferCount++;
 
 		charCount += i;
 		i = 0;
 
+		if (normalizeLineEndingsOnLoad) {
+			// all line separators of the previous buffer have been consumed.
+			lineCount += lineEndingCount;
+			if (lineSeparator2 != '\0') {
+				charCount += lineEndingCount;
+			}
+			lineEndingCount = 0;
+			lineEndingCursor = 0;
+		}
+
 		if (length == -1) {
 			stop();
 			incrementLineCount = true;
@@ -175,6 +207,129 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 				inputAnalysisProcesses = null;
 			}
 		}
+
+		if (normalizeLineEndingsOnLoad && length != -1) {
+			normalizeBuffer();
+			if (i >= length) {
+				updateBuffer();
+			}
+		}
+	}
+
+	/**
+	 * Replaces all line separators in the buffer just loaded by the normalized newline character, and records their positions so the line count can be
+	 * calculated when requested. Two-character line separators are compacted into a single character. If the buffer ends with the first character
+	 * of a two-character line separator, it is only normalized once the next buffer is loaded.
+	 */
+	private void normalizeBuffer() {
+		final char[] buffer = this.buffer;
+		final int length = this.length;
+		final char separator1 = lineSeparator1;
+		final char separator2 = lineSeparator2;
+		final char newLine = normalizedLineSeparator;
+
+		int from = 0;
+		if (pendingLineSeparator) {
+			pendingLineSeparator = false;
+			if (buffer[0] == separator2) {
+				joinedLineSeparator = true;
+				lineCount++;
+				i = 1;
+				from = 1;
+			}
+		}
+
+		if (lineEndings == null) {
+			lineEndings = new int[1024];
+		}
+		int[] lineEndings = this.lineEndings;
+		int count = 0;
+
+		if (separator2 == '\0') {
+			for (int p = from; p < length; p++) {
+				if (buffer[p] == separator1) {
+					buffer[p] = newLine;
+					if (count == lineEndings.length) {
+						lineEndings = this.lineEndings = Arrays.copyOf(lineEndings, count * 2);
+					}
+					lineEndings[count++] = p;
+				}
+			}
+		} else {
+			int p = from;
+			while (p < length && buffer[p] != separator1) {
+				p++;
+			}
+			int w = p;
+			for (; p < length; p++) {
+				char ch = buffer[p];
+				if (ch == separator1) {
+					if (p + 1 == length) {
+						pendingLineSeparator = true;
+					} else if (buffer[p + 1] == separator2) {
+						if (count == lineEndings.length) {
+							lineEndings = this.lineEndings = Arrays.copyOf(lineEndings, count * 2);
+						}
+						lineEndings[count++] = w;
+						buffer[w++] = newLine;
+						p++;
+						continue;
+					}
+				}
+				buffer[w++] = ch;
+			}
+			this.length = w;
+		}
+		lineEndingCount = count;
+	}
+
+	/**
+	 * Returns the number of line separators found in the current buffer before the given position, when line separators are normalized on load.
+	 */
+	private int lineEndingsBefore(int position) {
+		while (lineEndingCursor < lineEndingCount && lineEndings[lineEndingCursor] < position) {
+			lineEndingCursor++;
+		}
+		while (lineEndingCursor > 0 && lineEndings[lineEndingCursor - 1] >= position) {
+			lineEndingCursor--;
+		}
+		return lineEndingCursor;
+	}
+
+	/**
+	 * Enables or disables the normalization of line separators when each buffer is loaded from the input, instead of checking every character
+	 * returned by {@link #nextChar()}. Line separators are replaced by the normalized newline character in bulk and their positions are recorded,
+	 * so {@link #lineCount()} is only calculated when requested.
+	 *
+	 * <p>When enabled, line separators are always normalized and {@link #enableNormalizeLineEndings(boolean)} has no effect.
+	 * Must be invoked before {@link #start(Reader)}.</p>
+	 *
+	 * @param normalizeLineEndingsOnLoad flag indicating whether line separators should be normalized when each buffer is loaded.
+	 */
+	public final void enableLineEndingNormalizationOnLoad(boolean normalizeLineEndingsOnLoad) {
+		this.normalizeLineEndingsOnLoad = normalizeLineEndingsOnLoad;
+	}
+
+	/**
+	 * Indicates whether line separators are normalized when each buffer is loaded from the input.
+	 * When enabled, the {@link #buffer} only contains the normalized newline character in place of each line separator.
+	 *
+	 * @return {@code true} if line separators are normalized when each buffer is loaded, otherwise {@code false}
+	 *
+	 * @see #enableLineEndingNormalizationOnLoad(boolean)
+	 */
+	public final boolean isLineEndingNormalizationOnLoadEnabled() {
+		return normalizeLineEndingsOnLoad;
+	}
+
+	/**
+	 * Returns the number of buffers loaded since the current input was started. Parsers that index the contents of the {@link #buffer}
+	 * can use this number to identify when the buffer has been reloaded.
+	 *
+	 * @return the number of buffers loaded from the current input.
+	 */
+	public final long getBufferCount() {
+		return bufferCount;
 	}
 
 	/**
@@ -211,6 +366,15 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 
 		if (i >= length) {
 			updateBuffer();
+			if (joinedLineSeparator) {
+				joinedLineSeparator = false;
+				ch = normalizedLineSeparator;
+				return ch;
+			}
+		}
+
+		if (normalizeLineEndingsOnLoad) {
+			return ch;
 		}
 
 		if (lineSeparator1 == ch && (lineSeparator2 == '\0' || length != -1 && lineSeparator2 == buffer[i])) {
@@ -233,6 +397,47 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		return ch;
 	}
 
+	/**
+	 * Returns the character that must interrupt a bulk scan of the buffer, so it is processed by {@link #nextChar()}: the first character
+	 * of the line separator, or the normalized newline when line separators are normalized as each buffer is loaded.
+	 *
+	 * @return the character at which any scan of the buffer must stop.
+	 */
+	public final char getScanStop() {
+		return normalizeLineEndingsOnLoad ? normalizedLineSeparator : lineSeparator1;
+	}
+
+	/**
+	 * Skips characters until a stop character is found, scanning the buffer directly instead of reading each character with {@link #nextChar()}.
+	 * The last character of each buffer and any character that may start a line separator are still read with {@link #nextChar()}, so the next
+	 * buffer can be loaded and line separators are handled.
+	 *
+	 * @param ch    the current character
+	 * @param stop1 the first character that ends the scan
+	 * @param stop2 the second character that ends the scan
+	 * @param stop3 the third character that ends the scan
+	 *
+	 * @return the stop character found
+	 */
+	final char skipUntil(char ch, char stop1, char stop2, char stop3) {
+		while (ch != stop1 && ch != stop2 && ch != stop3) {
+			final char[] buffer = this.buffer;
+			final int end = length - 1;
+			final char lineSeparator = getScanStop();
+			int i = this.i;
+			while (i < end) {
+				char c = buffer[i];
+				if (c == stop1 || c == stop2 || c == stop3 || c == lineSeparator) {
+					break;
+				}
+				i++;
+			}
+			this.i = i;
+			ch = nextChar();
+		}
+		return ch;
+	}
+
 	@Override
 	public final char getChar() {
 		return ch;
@@ -240,6 +445,9 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 
 	@Override
 	public final long lineCount() {
+		if (normalizeLineEndingsOnLoad) {
+			return lineCount + lineEndingsBefore(i);
+		}
 		return lineCount;
 	}
 
@@ -249,13 +457,22 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		if (lines < 1) {
 			return;
 		}
-		long expectedLineCount = this.lineCount + lines;
+		long expectedLineCount = lineCount() + lines;
 
 		try {
 			do {
+				// scans the buffer directly for the next line separator, leaving it to nextChar() to consume it and load the next buffer.
+				final char[] buffer = this.buffer;
+				final int end = length - 1;
+				final char lineSeparator = getScanStop();
+				int i = this.i;
+				while (i < end && buffer[i] != lineSeparator) {
+					i++;
+				}
+				this.i = i;
 				nextChar();
-			} while (lineCount < expectedLineCount);
-			if (lineCount < lines) {
+			} while (lineCount() < expectedLineCount);
+			if (lineCount() < lines) {
 				throw new IllegalArgumentException("Unable to skip " + lines + " lines from line " + (expectedLineCount - lines) + ". End of input reached");
 			}
 		} catch (EOFException ex) {
@@ -265,7 +482,9 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 
 	@Override
 	public String readComment() {
-		long expectedLineCount = lineCount + 1;
+		long expectedLineCount = lineCount() + 1;
+		tmp.reset();
+		readingComment = true;
 		try {
 			do {
 				char ch = nextChar();
@@ -274,7 +493,7 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 				}
 				tmp.appendUntil(ch, this, normalizedLineSeparator, normalizedLineSeparator);
 
-				if (lineCount < expectedLineCount) {
+				if (lineCount() < expectedLineCount) {
 					tmp.appendIgnoringWhitespace(nextChar());
 				} else {
 					tmp.updateWhitespace();
@@ -284,11 +503,16 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 		} catch (EOFException ex) {
 			tmp.updateWhitespace();
 			return tmp.getAndReset();
+		} finally {
+			readingComment = false;
 		}
 	}
 
 	@Override
 	public final long charCount() {
+		if (normalizeLineEndingsOnLoad && lineSeparator2 != '\0') {
+			return charCount + i + lineEndingsBefore(i);
+		}
 		return charCount + i;
 	}
 
@@ -341,12 +565,21 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 			return null;
 		}
 		int i = this.i;
-		for (; ch != stop; ch = buffer[i++]) {
-			if (i >= length) {
-				return null;
+		if (normalizeLineEndingsOnLoad) {
+			final char newLine = normalizedLineSeparator;
+			for (; ch != stop && ch != newLine; ch = buffer[i++]) {
+				if (i >= length) {
+					return null;
+				}
 			}
-			if (lineSeparator1 == ch && (lineSeparator2 == '\0' || lineSeparator2 == buffer[i])) {
-				break;
+		} else {
+			for (; ch != stop; ch = buffer[i++]) {
+				if (i >= length) {
+					return null;
+				}
+				if (lineSeparator1 == ch && (lineSeparator2 == '\0' || lineSeparator2 == buffer[i])) {
+					break;
+				}
 			}
 		}
 
@@ -356,15 +589,20 @@ public abstract class AbstractCharInputReader implements CharInputReader {
 			return null;
 		}
 
-		this.i = i - 1;
-
 		if (trim) {
-			i = i - 2;
-			while (buffer[i--] <= ' ') {
+			int t = i - 2;
+			while (len > 0 && buffer[t--] <= ' ') {
 				len--;
 			}
 		}
 
+		if (len <= 0 && nullValue == null) {
+			//nothing was consumed, so the caller can read the (blank) value with an appender.
+			return null;
+		}
+
+		this.i = i - 1;
+
 		String out;
 		if (len <= 0) {
 			out = nullValue;
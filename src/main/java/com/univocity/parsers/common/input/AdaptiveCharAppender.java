@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+/**
+ * An {@link ExpandingCharAppender} that starts with a small buffer and adapts its length to the length of the values it accumulates,
+ * while never accumulating more than a maximum number of characters.
+ *
+ * <p>The buffer grows as required to fit longer values, up to the maximum length given in the constructor. Once a sequence of values
+ * is accumulated with none of them using more than a quarter of the buffer, the buffer is shrunk back to twice the length of the longest
+ * of these values, so that a few unusually long values don't hold on to a large buffer for the rest of the parsing process.</p>
+ *
+ * <p>Exceeding the maximum length throws an {@link ArrayIndexOutOfBoundsException} with the maximum length as its message, as a
+ * {@link DefaultCharAppender} of the same maximum length would.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ */
+public class AdaptiveCharAppender extends ExpandingCharAppender {
+
+	/**
+	 * The number of values observed before deciding whether the buffer should shrink.
+	 */
+	private static final int WINDOW = 4096;
+
+	private final int initialLength;
+	private int values;
+	private int longestValue;
+
+	/**
+	 * Creates an {@code AdaptiveCharAppender} with a maximum number of characters to accumulate, and the default value to return when no
+	 * characters have been accumulated. The buffer starts with 256 characters, or the maximum length if smaller.
+	 *
+	 * @param maxLength  the maximum number of characters this appender can accumulate.
+	 * @param emptyValue default value to return when no characters have been accumulated
+	 */
+	public AdaptiveCharAppender(int maxLength, String emptyValue) {
+		this(256, maxLength, emptyValue);
+	}
+
+	/**
+	 * Creates an {@code AdaptiveCharAppender} with an initial buffer length, a maximum number of characters to accumulate, and the default
+	 * value to return when no characters have been accumulated.
+	 *
+	 * @param initialLength the initial length of the internal buffer, and the minimum length it shrinks to.
+	 * @param maxLength     the maximum number of characters this appender can accumulate.
+	 * @param emptyValue    default value to return when no characters have been accumulated
+	 */
+	public AdaptiveCharAppender(int initialLength, int maxLength, String emptyValue) {
+		super(initialLength, maxLength, emptyValue);
+		this.initialLength = chars.length;
+	}
+
+	@Override
+	public String getAndReset() {
+		int length = index;
+		String out = super.getAndReset();
+		valueAccumulated(length);
+		return out;
+	}
+
+	@Override
+	public char[] getCharsAndReset() {
+		int length = index;
+		char[] out = super.getCharsAndReset();
+		valueAccumulated(length);
+		return out;
+	}
+
+	@Override
+	public void reset() {
+		int length = index;
+		super.reset();
+		valueAccumulated(length);
+	}
+
+	private void valueAccumulated(int length) {
+		if (length > longestValue) {
+			longestValue = length;
+		}
+		if (++values == WINDOW) {
+			if (chars.length > initialLength && longestValue < chars.length >> 2) {
+				chars = new char[Math.max(initialLength, longestValue << 1)];
+			}
+			values = 0;
+			longestValue = 0;
+		}
+	}
+
+	/**
+	 * Returns the current length of the internal buffer of this appender.
+	 *
+	 * @return the number of characters this appender can accumulate before its buffer has to grow.
+	 */
+	public final int getBufferLength() {
+		return chars.length;
+	}
+}
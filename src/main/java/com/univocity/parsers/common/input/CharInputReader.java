@@ -32,6 +32,8 @@ public interface CharInputReader extends CharInput{
 
 	/**
 	 * Initializes the CharInputReader implementation with a {@link java.io.Reader} which provides access to the input.
+	 * Any input previously given to this CharInputReader is closed and its state discarded, allowing the same instance (and its buffer)
+	 * to be reused for multiple inputs.
 	 *
 	 * @param reader A {@link java.io.Reader} that provides access to the input.
 	 */
@@ -230,6 +230,9 @@ public class DefaultCharAppender implements CharAppender {
 	}
 
 	public char appendUntil(char ch, CharInput input, char stop) {
+		if (input instanceof AbstractCharInputReader) {
+			return scanUntil(ch, (AbstractCharInputReader) input, stop, stop, stop);
+		}
 		for (; ch != stop; ch = input.nextChar()) {
 			chars[index++] = ch;
 		}
@@ -237,6 +240,9 @@ public class DefaultCharAppender implements CharAppender {
 	}
 
 	public char appendUntil(char ch, CharInput input, char stop1, char stop2) {
+		if (input instanceof AbstractCharInputReader) {
+			return scanUntil(ch, (AbstractCharInputReader) input, stop1, stop2, stop2);
+		}
 		for (; ch != stop1 && ch != stop2; ch = input.nextChar()) {
 			chars[index++] = ch;
 		}
@@ -244,12 +250,46 @@ public class DefaultCharAppender implements CharAppender {
 	}
 
 	public char appendUntil(char ch, CharInput input, char stop1, char stop2, char stop3) {
+		if (input instanceof AbstractCharInputReader) {
+			return scanUntil(ch, (AbstractCharInputReader) input, stop1, stop2, stop3);
+		}
 		for (; ch != stop1 && ch != stop2 && ch != stop3; ch = input.nextChar()) {
 			chars[index++] = ch;
 		}
 		return ch;
 	}
 
+	/**
+	 * Appends characters until a stop character is found, scanning the buffer of the input directly. Characters are copied in bulk,
+	 * while the last character of each buffer and any character that may start a line separator are read with {@link CharInput#nextChar()},
+	 * so the input can load the next buffer and handle line separators.
+	 */
+	private char scanUntil(char ch, AbstractCharInputReader input, char stop1, char stop2, char stop3) {
+		while (ch != stop1 && ch != stop2 && ch != stop3) {
+			chars[index++] = ch;
+
+			final char[] buffer = input.buffer;
+			final int from = input.i;
+			final int end = Math.min(input.length - 1, from + chars.length - index);
+			final char lineSeparator = input.getScanStop();
+			int i = from;
+			while (i < end) {
+				char c = buffer[i];
+				if (c == stop1 || c == stop2 || c == stop3 || c == lineSeparator) {
+					break;
+				}
+				i++;
+			}
+			if (i > from) {
+				System.arraycopy(buffer, from, chars, index, i - from);
+				index += i - from;
+				input.i = i;
+			}
+			ch = input.nextChar();
+		}
+		return ch;
+	}
+
 	@Override
 	public void append(char[] ch, int from, int length) {
 		System.arraycopy(ch, from, chars, index, length);
@@ -28,6 +28,8 @@ public class ExpandingCharAppender extends DefaultCharAppender {
 
 	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
 
+	private final int maxLength;
+
 	/**
 	 * Creates an {@code ExpandingCharAppender} a the default value to return when no characters have been accumulated.
 	 * The padding character is defaulted to a whitespace character ' '.
@@ -46,7 +48,21 @@ public class ExpandingCharAppender extends DefaultCharAppender {
 	 * @param emptyValue default value to return when no characters have been accumulated
 	 */
 	public ExpandingCharAppender(int initialBufferLength, String emptyValue) {
-		super(initialBufferLength, emptyValue);
+		this(initialBufferLength, MAX_ARRAY_LENGTH, emptyValue);
+	}
+
+	/**
+	 * Creates an {@code ExpandingCharAppender} that expands its internal buffer up to a maximum number of characters. Once that limit is
+	 * reached, appending more characters throws an {@link ArrayIndexOutOfBoundsException} with the limit as its message, just like
+	 * a {@link DefaultCharAppender} created with the same maximum length.
+	 *
+	 * @param initialBufferLength the initial length of the internal buffer.
+	 * @param maxLength           the maximum number of characters this appender can accumulate.
+	 * @param emptyValue          default value to return when no characters have been accumulated
+	 */
+	public ExpandingCharAppender(int initialBufferLength, int maxLength, String emptyValue) {
+		super(Math.min(initialBufferLength, maxLength), emptyValue);
+		this.maxLength = Math.min(maxLength, MAX_ARRAY_LENGTH);
 	}
 
 	@Override
@@ -107,10 +123,13 @@ public class ExpandingCharAppender extends DefaultCharAppender {
 	}
 
 	private void expand(int additionalLength, double factor){
-		if(chars.length == MAX_ARRAY_LENGTH){
-			throw new TextParsingException(null, "Can't expand internal appender array to over " + MAX_ARRAY_LENGTH + " characters in length.");
+		if(chars.length >= maxLength){
+			if (maxLength == MAX_ARRAY_LENGTH) {
+				throw new TextParsingException(null, "Can't expand internal appender array to over " + MAX_ARRAY_LENGTH + " characters in length.");
+			}
+			throw new ArrayIndexOutOfBoundsException(String.valueOf(maxLength));
 		}
-		chars = Arrays.copyOf(chars, (int) Math.min(((index + additionalLength) * factor), MAX_ARRAY_LENGTH));
+		chars = Arrays.copyOf(chars, (int) Math.max(Math.min(((index + additionalLength) * factor), maxLength), chars.length + 1));
 	}
 
 	final void expand() {
@@ -193,17 +212,21 @@ public class ExpandingCharAppender extends DefaultCharAppender {
 		if(index + length <= chars.length) {
 			super.append(ch, from, length);
 		} else {
-			chars = Arrays.copyOf(chars, Math.min(((chars.length + length + index)), MAX_ARRAY_LENGTH));
+			if ((long) index + length > maxLength) {
+				throw new ArrayIndexOutOfBoundsException(String.valueOf(maxLength));
+			}
+			chars = Arrays.copyOf(chars, (int) Math.min(((long) chars.length + length + index), maxLength));
 			super.append(ch, from, length);
 		}
 	}
 
 	public final void append(String string, int from, int to) {
-		try {
-			super.append(string, from, to);
-		} catch (ArrayIndexOutOfBoundsException e) {
+		if (index + to - from > chars.length) {
+			if ((long) index + to - from > maxLength) {
+				throw new ArrayIndexOutOfBoundsException(String.valueOf(maxLength));
+			}
 			expand(to - from);
-			super.append(string, from, to);
 		}
+		super.append(string, from, to);
 	}
 }
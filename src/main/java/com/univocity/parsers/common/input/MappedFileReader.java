@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+
+/**
+ * A {@link Reader} that reads the contents of a file through memory-mapped regions obtained with {@link FileChannel#map(FileChannel.MapMode, long, long)}.
+ *
+ * <p> Characters are decoded straight from each mapped region into the {@code char[]} given to {@link #read(char[], int, int)}, which
+ * is the parser buffer when used by {@link DefaultCharInputReader}. There is no intermediate byte array as in an {@link InputStreamReader}.
+ * <p> For the single-byte charsets ISO-8859-1 and US-ASCII, the mapped bytes are scanned directly and no {@link CharsetDecoder} is used.
+ * <p> Malformed and unmappable input is replaced with the charset's default replacement, as done by {@link InputStreamReader}.
+ * <p> <b>Note:</b> mapped regions are released by the garbage collector only. Files being read can't be deleted on some platforms while a region is reachable.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see DefaultCharInputReader
+ */
+public class MappedFileReader extends Reader {
+
+	/**
+	 * The default size of each region of the file mapped into memory (64 MB)
+	 */
+	public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+	private static final int MIN_REGION_SIZE = 16;
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long end;
+	private final int regionSize;
+
+	private final CharsetDecoder decoder;
+	private final boolean latin1;
+
+	private MappedByteBuffer region;
+	private long regionStart;
+	private boolean finished;
+	private char leftover = '\0';
+	private boolean hasLeftover;
+	private boolean flushed;
+
+	/**
+	 * Creates a reader for the entire contents of a given file.
+	 *
+	 * @param file     the file to read
+	 * @param encoding the encoding of the file. If {@code null}, the default charset of the JVM will be used.
+	 */
+	public MappedFileReader(File file, Charset encoding) {
+		this(file, encoding, 0L, -1L, DEFAULT_REGION_SIZE);
+	}
+
+	/**
+	 * Creates a reader for a range of bytes of a given file.
+	 *
+	 * @param file       the file to read
+	 * @param encoding   the encoding of the file. If {@code null}, the default charset of the JVM will be used.
+	 * @param start      the position of the first byte to read
+	 * @param end        the position after the last byte to read. Use {@code -1} to read until the end of the file.
+	 * @param regionSize the maximum number of bytes to map into memory at a time.
+	 */
+	public MappedFileReader(File file, Charset encoding, long start, long end, int regionSize) {
+		if (file == null) {
+			throw new IllegalArgumentException("File cannot be null");
+		}
+		if (start < 0) {
+			throw new IllegalArgumentException("Start position cannot be negative");
+		}
+		if (regionSize < MIN_REGION_SIZE) {
+			throw new IllegalArgumentException("Region size must be at least " + MIN_REGION_SIZE + " bytes");
+		}
+		if (encoding == null) {
+			encoding = Charset.defaultCharset();
+		}
+		try {
+			this.file = new RandomAccessFile(file, "r");
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException(e);
+		}
+		this.channel = this.file.getChannel();
+		try {
+			long size = channel.size();
+			this.end = end < 0 || end > size ? size : end;
+		} catch (IOException e) {
+			closeQuietly();
+			throw new IllegalStateException("Unable to determine size of file '" + file.getAbsolutePath() + "'", e);
+		}
+		this.regionSize = regionSize;
+		this.regionStart = start;
+
+		String name = encoding.name();
+		if ("ISO-8859-1".equals(name) || "US-ASCII".equals(name)) {
+			this.latin1 = "ISO-8859-1".equals(name);
+			this.decoder = null;
+		} else {
+			this.latin1 = false;
+			this.decoder = encoding.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+	}
+
+	/**
+	 * Maps the next region of the file, starting from the first byte not consumed from the current region.
+	 *
+	 * @return {@code false} if there are no more bytes to map.
+	 */
+	private boolean mapNextRegion() throws IOException {
+		if (region != null) {
+			regionStart += region.position();
+		}
+		long remaining = end - regionStart;
+		if (remaining <= 0) {
+			region = null;
+			return false;
+		}
+		region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(remaining, regionSize));
+		return true;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (finished) {
+			return -1;
+		}
+		int count = 0;
+		if (hasLeftover) {
+			cbuf[off] = leftover;
+			hasLeftover = false;
+			if (len == 1) {
+				return 1;
+			}
+			count = 1;
+		}
+		if (decoder == null) {
+			count += readSingleByte(cbuf, off + count, len - count);
+		} else {
+			count += decode(cbuf, off + count, len - count);
+		}
+		if (count == 0) {
+			finished = true;
+			return -1;
+		}
+		return count;
+	}
+
+	private int readSingleByte(char[] cbuf, int off, int len) throws IOException {
+		if ((region == null || !region.hasRemaining()) && !mapNextRegion()) {
+			return 0;
+		}
+		MappedByteBuffer region = this.region;
+		int n = Math.min(len, region.remaining());
+		int to = off + n;
+		if (latin1) {
+			for (int i = off; i < to; i++) {
+				cbuf[i] = (char) (region.get() & 0xFF);
+			}
+		} else {
+			for (int i = off; i < to; i++) {
+				byte b = region.get();
+				cbuf[i] = b < 0 ? '\uFFFD' : (char) b;
+			}
+		}
+		return n;
+	}
+
+	private int decode(char[] cbuf, int off, int len) throws IOException {
+		if (region == null && !mapNextRegion()) {
+			return flushDecoder(cbuf, off, len);
+		}
+		CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+		while (out.hasRemaining()) {
+			boolean lastRegion = regionStart + region.limit() >= end;
+			CoderResult result = decoder.decode(region, out, lastRegion);
+			if (result.isOverflow()) {
+				break;
+			}
+			if (lastRegion) {
+				int decoded = out.position() - off;
+				region = null;
+				regionStart = end;
+				return decoded + flushDecoder(cbuf, off + decoded, len - decoded);
+			}
+			mapNextRegion();
+		}
+		int decoded = out.position() - off;
+		if (decoded == 0 && len == 1) {
+			// a surrogate pair doesn't fit in the output. Keep the low surrogate for the next read.
+			CharBuffer pair = CharBuffer.allocate(2);
+			decoder.decode(region, pair, false);
+			if (pair.position() == 0) {
+				return 0;
+			}
+			cbuf[off] = pair.get(0);
+			if (pair.position() > 1) {
+				leftover = pair.get(1);
+				hasLeftover = true;
+			}
+			return 1;
+		}
+		return decoded;
+	}
+
+	private int flushDecoder(char[] cbuf, int off, int len) {
+		if (flushed || len == 0) {
+			return 0;
+		}
+		CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+		decoder.decode(EMPTY, out, true);
+		decoder.flush(out);
+		flushed = true;
+		return out.position() - off;
+	}
+
+	@Override
+	public void close() throws IOException {
+		finished = true;
+		region = null;
+		file.close();
+	}
+
+	private void closeQuietly() {
+		try {
+			file.close();
+		} catch (IOException e) {
+			//ignore
+		}
+	}
+}
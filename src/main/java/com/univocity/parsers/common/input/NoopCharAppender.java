@@ -161,18 +161,27 @@ public class NoopCharAppender implements CharAppender {
 
 	@Override
 	public char appendUntil(char ch, CharInput input, char stop) {
+		if (input instanceof AbstractCharInputReader) {
+			return ((AbstractCharInputReader) input).skipUntil(ch, stop, stop, stop);
+		}
 		for (; ch != stop; ch = input.nextChar()) ;
 		return ch;
 	}
 
 	@Override
 	public final char appendUntil(char ch, CharInput input, char stop1, char stop2) {
+		if (input instanceof AbstractCharInputReader) {
+			return ((AbstractCharInputReader) input).skipUntil(ch, stop1, stop2, stop2);
+		}
 		for (; ch != stop1 && ch != stop2; ch = input.nextChar()) ;
 		return ch;
 	}
 
 	@Override
 	public final char appendUntil(char ch, CharInput input, char stop1, char stop2, char stop3) {
+		if (input instanceof AbstractCharInputReader) {
+			return ((AbstractCharInputReader) input).skipUntil(ch, stop1, stop2, stop3);
+		}
 		for (; ch != stop1 && ch != stop2 && ch != stop3; ch = input.nextChar()) ;
 		return ch;
 	}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import java.io.*;
+import java.nio.charset.*;
+
+/**
+ * A {@link Reader} for byte inputs in ASCII-compatible encodings (US-ASCII, ISO-8859-1 and UTF-8) that doesn't use a {@link CharsetDecoder}.
+ *
+ * <p> Each byte read from the input is widened into a single {@code char}, so parsers can scan delimiters, quotes and line separators
+ * (which are always ASCII characters) directly on the raw input.
+ * <ul>
+ * <li>ISO-8859-1: the widened bytes are the actual characters of the input.</li>
+ * <li>US-ASCII: bytes outside of the ASCII range are replaced by the replacement character U+FFFD, as a {@link CharsetDecoder} would do.</li>
+ * <li>UTF-8: bytes outside of the ASCII range are kept as they are and only values actually produced by the parser must be decoded,
+ * using {@link #decodeValue(String)}. As UTF-8 encodes non-ASCII characters using bytes between {@code 0x80} and {@code 0xFF} only,
+ * these can't be mistaken for any delimiter, quote, line separator or whitespace character.</li>
+ * </ul>
+ *
+ * <p> When used by a parser, {@link #isValueDecodingRequired()} indicates whether parsed values must be decoded.
+ * Notice that, when decoding is required, the limits set in {@link com.univocity.parsers.common.CommonSettings#getMaxCharsPerColumn()}
+ * apply to the number of bytes of each value.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see com.univocity.parsers.common.CommonParserSettings#isByteOrientedParsingEnabled()
+ */
+public class RawByteReader extends Reader {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final InputStream input;
+	private final boolean ascii;
+	private final boolean utf8;
+	private byte[] bytes;
+
+	/**
+	 * Creates a reader of raw bytes from a given input stream
+	 *
+	 * @param input    the input stream to read.
+	 * @param encoding the encoding of the input stream. Must be US-ASCII, ISO-8859-1 or UTF-8.
+	 */
+	public RawByteReader(InputStream input, Charset encoding) {
+		if (input == null) {
+			throw new IllegalArgumentException("Input stream cannot be null");
+		}
+		if (!isSupported(encoding)) {
+			throw new IllegalArgumentException("Encoding " + encoding + " is not supported. Expecting US-ASCII, ISO-8859-1 or UTF-8");
+		}
+		this.input = input;
+		String name = encoding.name();
+		this.ascii = "US-ASCII".equals(name);
+		this.utf8 = "UTF-8".equals(name);
+	}
+
+	/**
+	 * Indicates whether the given encoding can be read by a {@code RawByteReader}
+	 *
+	 * @param encoding the encoding of an input
+	 *
+	 * @return {@code true} if the encoding is US-ASCII, ISO-8859-1 or UTF-8, otherwise {@code false}.
+	 */
+	public static boolean isSupported(Charset encoding) {
+		if (encoding == null) {
+			return false;
+		}
+		String name = encoding.name();
+		return "US-ASCII".equals(name) || "ISO-8859-1".equals(name) || "UTF-8".equals(name);
+	}
+
+	/**
+	 * Indicates whether the values extracted from the characters produced by this reader must be decoded using {@link #decodeValue(String)}
+	 *
+	 * @return {@code true} if the input is encoded in UTF-8, otherwise {@code false}.
+	 */
+	public boolean isValueDecodingRequired() {
+		return utf8;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (bytes == null || bytes.length < len) {
+			bytes = new byte[len];
+		}
+		int length = input.read(bytes, 0, len);
+		if (ascii) {
+			for (int i = 0; i < length; i++) {
+				byte b = bytes[i];
+				cbuf[off + i] = b < 0 ? '\uFFFD' : (char) b;
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				cbuf[off + i] = (char) (bytes[i] & 0xFF);
+			}
+		}
+		return length;
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	/**
+	 * Decodes a value whose characters are UTF-8 bytes produced by a {@code RawByteReader}.
+	 *
+	 * @param value the value to decode.
+	 *
+	 * @return the decoded value. The same instance is returned if it contains ASCII characters only.
+	 */
+	public static String decodeValue(String value) {
+		if (value == null) {
+			return null;
+		}
+		int length = value.length();
+		int i = 0;
+		while (i < length && value.charAt(i) < 0x80) {
+			i++;
+		}
+		if (i == length) {
+			return value;
+		}
+		byte[] bytes = new byte[length];
+		for (i = 0; i < length; i++) {
+			bytes[i] = (byte) value.charAt(i);
+		}
+		return new String(bytes, 0, length, UTF_8);
+	}
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+/**
+ * A {@link CharAppender} with a fixed-length buffer (the window) that, instead of failing or expanding when the buffer is full, delivers the
+ * characters accumulated so far to {@link #chunkParsed(char[], int, int)} and starts over. Values that fit in the window are accumulated
+ * as in a {@link DefaultCharAppender}. Longer values are streamed in chunks of up to the window length, so the memory used by this appender
+ * never grows.
+ *
+ * <p>Trailing whitespace is kept in the window when a chunk is delivered, so it can be discarded if the value ends with it.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see com.univocity.parsers.common.ValueStreamHandler
+ */
+public abstract class StreamingCharAppender extends DefaultCharAppender {
+
+	private boolean streaming;
+
+	/**
+	 * Creates a {@code StreamingCharAppender} with a given window length, and the default value to return when no characters have been accumulated.
+	 *
+	 * @param windowLength the number of characters accumulated before they are delivered as a chunk.
+	 * @param emptyValue   default value to return when no characters have been accumulated
+	 */
+	public StreamingCharAppender(int windowLength, String emptyValue) {
+		super(windowLength, emptyValue);
+	}
+
+	/**
+	 * Creates a {@code StreamingCharAppender} with a given window length, that returns the same default value as another appender when no
+	 * characters have been accumulated.
+	 *
+	 * @param windowLength the number of characters accumulated before they are delivered as a chunk.
+	 * @param appender     the appender whose default value for empty values should be used. If it is not a {@link DefaultCharAppender},
+	 *                     {@code null} is used.
+	 */
+	public StreamingCharAppender(int windowLength, CharAppender appender) {
+		this(windowLength, appender instanceof DefaultCharAppender ? ((DefaultCharAppender) appender).emptyValue : null);
+	}
+
+	/**
+	 * Notifies that the value being accumulated does not fit in the window and will be delivered in chunks.
+	 */
+	protected abstract void valueStarted();
+
+	/**
+	 * Receives the next chunk of characters of the value being streamed.
+	 *
+	 * @param chars  the buffer of this appender
+	 * @param from   the position of the first character of the chunk
+	 * @param length the number of characters in the chunk
+	 */
+	protected abstract void chunkParsed(char[] chars, int from, int length);
+
+	/**
+	 * Notifies that the value being streamed has ended.
+	 */
+	protected abstract void valueEnded();
+
+	/**
+	 * Indicates whether the value being accumulated has exceeded the window and is being streamed.
+	 *
+	 * @return {@code true} if chunks of the current value have been delivered, otherwise {@code false}.
+	 */
+	public final boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Delivers the characters accumulated in the window, except for any trailing whitespace, which is moved to the beginning of the window.
+	 */
+	private void flush() {
+		int keep = 0;
+		while (keep < index && chars[index - keep - 1] <= ' ') {
+			keep++;
+		}
+		keep = Math.max(keep, whitespaceCount);
+		if (keep >= index) {
+			keep = 0;
+			whitespaceCount = 0;
+		}
+		int length = index - keep;
+		if (!streaming) {
+			streaming = true;
+			valueStarted();
+		}
+		chunkParsed(chars, 0, length);
+		System.arraycopy(chars, length, chars, 0, keep);
+		index = keep;
+	}
+
+	private void ensureRoom(int length) {
+		if (index + length > chars.length) {
+			flush();
+		}
+	}
+
+	/**
+	 * Delivers the remaining characters of the value being streamed, if any, and ends it. Trailing whitespace counted by this appender is not
+	 * delivered.
+	 *
+	 * @return {@code true} if the value was streamed, or {@code false} if the value fits in the window and is still accumulated in this appender.
+	 */
+	public final boolean endValue() {
+		if (!streaming) {
+			return false;
+		}
+		int length = index - whitespaceCount;
+		if (length > 0) {
+			chunkParsed(chars, 0, length);
+		}
+		index = 0;
+		whitespaceCount = 0;
+		streaming = false;
+		valueEnded();
+		return true;
+	}
+
+	@Override
+	public void appendIgnoringPadding(char ch, char padding) {
+		ensureRoom(1);
+		super.appendIgnoringPadding(ch, padding);
+	}
+
+	@Override
+	public void appendIgnoringWhitespaceAndPadding(char ch, char padding) {
+		ensureRoom(1);
+		super.appendIgnoringWhitespaceAndPadding(ch, padding);
+	}
+
+	@Override
+	public void appendIgnoringWhitespace(char ch) {
+		ensureRoom(1);
+		super.appendIgnoringWhitespace(ch);
+	}
+
+	@Override
+	public void append(char ch) {
+		if (index == chars.length) {
+			flush();
+		}
+		chars[index++] = ch;
+	}
+
+	@Override
+	public void append(char[] ch, int from, int length) {
+		while (length > 0) {
+			ensureRoom(1);
+			int count = Math.min(length, chars.length - index);
+			System.arraycopy(ch, from, chars, index, count);
+			index += count;
+			from += count;
+			length -= count;
+		}
+	}
+
+	@Override
+	public void append(String string, int from, int to) {
+		while (from < to) {
+			ensureRoom(1);
+			int count = Math.min(to - from, chars.length - index);
+			string.getChars(from, from + count, chars, index);
+			index += count;
+			from += count;
+		}
+	}
+
+	@Override
+	public void append(DefaultCharAppender appender) {
+		append(appender.chars, 0, appender.index - appender.whitespaceCount);
+		appender.reset();
+	}
+
+	@Override
+	public void fill(char ch, int length) {
+		for (int i = 0; i < length; i++) {
+			append(ch);
+		}
+	}
+
+	@Override
+	public void prepend(char ch) {
+		ensureRoom(1);
+		super.prepend(ch);
+	}
+
+	@Override
+	public void prepend(char ch1, char ch2) {
+		ensureRoom(2);
+		super.prepend(ch1, ch2);
+	}
+
+	@Override
+	public void prepend(char[] chars) {
+		ensureRoom(chars.length);
+		super.prepend(chars);
+	}
+
+	@Override
+	public char appendUntil(char ch, CharInput input, char stop) {
+		while (true) {
+			try {
+				return super.appendUntil(ch, input, stop);
+			} catch (ArrayIndexOutOfBoundsException e) {
+				ch = flushAndRetry(input);
+			}
+		}
+	}
+
+	@Override
+	public char appendUntil(char ch, CharInput input, char stop1, char stop2) {
+		while (true) {
+			try {
+				return super.appendUntil(ch, input, stop1, stop2);
+			} catch (ArrayIndexOutOfBoundsException e) {
+				ch = flushAndRetry(input);
+			}
+		}
+	}
+
+	@Override
+	public char appendUntil(char ch, CharInput input, char stop1, char stop2, char stop3) {
+		while (true) {
+			try {
+				return super.appendUntil(ch, input, stop1, stop2, stop3);
+			} catch (ArrayIndexOutOfBoundsException e) {
+				ch = flushAndRetry(input);
+			}
+		}
+	}
+
+	/**
+	 * Delivers the full window after a character could not be stored in it, and returns that character so it can be appended again.
+	 */
+	private char flushAndRetry(CharInput input) {
+		index--;
+		flush();
+		return input.getChar();
+	}
+
+	@Override
+	public String getAndReset() {
+		if (endValue()) {
+			return null;
+		}
+		return super.getAndReset();
+	}
+
+	@Override
+	public char[] getCharsAndReset() {
+		if (endValue()) {
+			return null;
+		}
+		return super.getCharsAndReset();
+	}
+
+	@Override
+	public void reset() {
+		if (streaming) {
+			streaming = false;
+			valueEnded();
+		}
+		super.reset();
+	}
+}
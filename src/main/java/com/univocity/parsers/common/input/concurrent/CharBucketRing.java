@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input.concurrent;
+
+import java.util.concurrent.locks.*;
+
+/**
+ * A lock-free ring of pre-allocated {@link CharBucket} instances shared by exactly one producer thread, which fills the buckets, and
+ * one consumer thread, which reads them in order.
+ *
+ * <p> The producer {@link #claim()}s the next empty bucket, fills it and {@link #publish()}es it. The consumer {@link #take()}s the next
+ * filled bucket and keeps using it until it is {@link #release()}d, so the producer never overwrites a bucket that is still in use.
+ * Each side only writes its own position, therefore no locks are required.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ConcurrentCharLoader
+ */
+final class CharBucketRing {
+
+	private final CharBucket[] buckets;
+	private final WaitStrategy waitStrategy;
+
+	// position of the next bucket to be consumed, written by the consumer only.
+	private volatile long head;
+	// position of the next bucket to be filled, written by the producer only.
+	private volatile long tail;
+
+	private volatile boolean closed;
+	private volatile Thread waitingProducer;
+	private volatile Thread waitingConsumer;
+
+	/**
+	 * Creates a ring of buckets
+	 *
+	 * @param bucketSize     the size of each individual {@link CharBucket}
+	 * @param bucketQuantity the number of {@link CharBucket} instances in the ring.
+	 * @param waitStrategy   how the producer and consumer threads wait when the ring is full or empty.
+	 */
+	CharBucketRing(int bucketSize, int bucketQuantity, WaitStrategy waitStrategy) {
+		if (bucketQuantity <= 0) {
+			throw new IllegalArgumentException("Number of buckets must be positive");
+		}
+		this.buckets = new CharBucket[bucketQuantity];
+		for (int i = 0; i < bucketQuantity; i++) {
+			buckets[i] = new CharBucket(bucketSize);
+		}
+		this.waitStrategy = waitStrategy == null ? WaitStrategy.PARK : waitStrategy;
+	}
+
+	/**
+	 * Returns the next bucket to be filled by the producer, waiting until the consumer releases one if all buckets are in use.
+	 *
+	 * @return the next bucket to fill, or {@code null} if the ring was closed or the producer thread interrupted while waiting.
+	 */
+	CharBucket claim() {
+		final long position = tail;
+		int iteration = 0;
+		while (position - head >= buckets.length) {
+			if (closed || Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			if (waitStrategy == WaitStrategy.PARK) {
+				waitingProducer = Thread.currentThread();
+				if (position - head >= buckets.length && !closed) {
+					waitStrategy.idle(this, iteration++);
+				}
+				waitingProducer = null;
+			} else {
+				waitStrategy.idle(this, iteration++);
+			}
+		}
+		return buckets[(int) (position % buckets.length)];
+	}
+
+	/**
+	 * Makes the bucket returned by {@link #claim()} available to the consumer.
+	 */
+	void publish() {
+		tail = tail + 1;
+		signal(waitingConsumer);
+	}
+
+	/**
+	 * Returns the next bucket published by the producer, waiting until one is available.
+	 *
+	 * @return the next filled bucket, or {@code null} if there are no more buckets to consume.
+	 */
+	CharBucket take() {
+		final long position = head;
+		int iteration = 0;
+		while (position >= tail) {
+			if (closed) {
+				if (position >= tail) {
+					return null;
+				}
+				break;
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			if (waitStrategy == WaitStrategy.PARK) {
+				waitingConsumer = Thread.currentThread();
+				if (position >= tail && !closed) {
+					waitStrategy.idle(this, iteration++);
+				}
+				waitingConsumer = null;
+			} else {
+				waitStrategy.idle(this, iteration++);
+			}
+		}
+		return buckets[(int) (position % buckets.length)];
+	}
+
+	/**
+	 * Returns the bucket obtained with {@link #take()} to the producer.
+	 */
+	void release() {
+		head = head + 1;
+		signal(waitingProducer);
+	}
+
+	/**
+	 * Closes this ring. The producer won't be able to claim more buckets, and the consumer will receive {@code null} once all published buckets are taken.
+	 */
+	void close() {
+		closed = true;
+		signal(waitingConsumer);
+		signal(waitingProducer);
+	}
+
+	/**
+	 * Empties and reopens this ring so its buckets can be filled with another input. Must only be invoked once the previous producer
+	 * and consumer threads stopped using the ring.
+	 */
+	void reset() {
+		head = 0L;
+		tail = 0L;
+		waitingProducer = null;
+		waitingConsumer = null;
+		closed = false;
+	}
+
+	private static void signal(Thread waiting) {
+		if (waiting != null) {
+			LockSupport.unpark(waiting);
+		}
+	}
+}
@@ -19,14 +19,17 @@ import com.univocity.parsers.common.*;
 import com.univocity.parsers.common.input.*;
 
 import java.io.*;
+import java.util.concurrent.*;
 
 /**
  * A concurrent CharInputReader that loads batches of characters in a separate thread and assigns them to buffer in {@link AbstractCharInputReader} when requested.
  *
  * <p> This class loads "buckets" of characters in the background and provides them sequentially to the {@link ConcurrentCharInputReader#buffer}
  *     attribute in {@link AbstractCharInputReader}.
- * <p> The bucket loading process will block and wait while all buckets are full.
- * <p> Similarly, the reader will block while all buckets are empty.
+ * <p> Buckets are pre-allocated and handed over between the two threads through a lock-free ring. The ring and its buckets are created once
+ *     and reused for every input given to {@link #start(Reader)}.
+ * <p> The bucket loading process will wait while all buckets are full.
+ * <p> Similarly, the reader will wait while all buckets are empty. How threads wait is defined by a {@link WaitStrategy}.
  *
  * This CharInputReader implementation provides a better throughput than {@link DefaultCharInputReader} when reading large inputs ({@code > 100 mb}).
  *
@@ -39,9 +42,15 @@ import java.io.*;
  */
 public class ConcurrentCharInputReader extends AbstractCharInputReader {
 
+	// maximum time to wait for the loader of a previous input to release the ring before a new ring is allocated.
+	private static final long RING_RELEASE_TIMEOUT = 1000L;
+
 	private ConcurrentCharLoader bucketLoader;
+	private CharBucketRing buckets;
 	private final int bucketSize;
 	private final int bucketQuantity;
+	private final WaitStrategy waitStrategy;
+	private final Executor executor;
 
 	/**
 	 * Creates a new instance with the mandatory characters for handling newlines transparently. Line separators will be detected automatically.
@@ -51,9 +60,36 @@ public class ConcurrentCharInputReader extends AbstractCharInputReader {
 	 * @param bucketQuantity the number of "buckets" to load in memory. Note the reader will stop if all buckets are full.
 	 */
 	public ConcurrentCharInputReader(char normalizedLineSeparator, int bucketSize, int bucketQuantity) {
+		this(normalizedLineSeparator, bucketSize, bucketQuantity, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently. Line separators will be detected automatically.
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()})
+	 *        that is used to replace any lineSeparator sequence found in the input.
+	 * @param bucketSize the size of an each individual "bucket" used to store characters read from the input.
+	 * @param bucketQuantity the number of "buckets" to load in memory. Note the reader will stop if all buckets are full.
+	 * @param waitStrategy how the input reading thread and the parser wait when all buckets are full or empty.
+	 */
+	public ConcurrentCharInputReader(char normalizedLineSeparator, int bucketSize, int bucketQuantity, WaitStrategy waitStrategy) {
+		this(normalizedLineSeparator, bucketSize, bucketQuantity, waitStrategy, null);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently. Line separators will be detected automatically.
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()})
+	 *        that is used to replace any lineSeparator sequence found in the input.
+	 * @param bucketSize the size of an each individual "bucket" used to store characters read from the input.
+	 * @param bucketQuantity the number of "buckets" to load in memory. Note the reader will stop if all buckets are full.
+	 * @param waitStrategy how the input reading thread and the parser wait when all buckets are full or empty.
+	 * @param executor the {@link Executor} used to run the input reading process. If {@code null}, a new thread will be started for every input.
+	 */
+	public ConcurrentCharInputReader(char normalizedLineSeparator, int bucketSize, int bucketQuantity, WaitStrategy waitStrategy, Executor executor) {
 		super(normalizedLineSeparator);
 		this.bucketSize = bucketSize;
 		this.bucketQuantity = bucketQuantity;
+		this.waitStrategy = waitStrategy;
+		this.executor = executor;
 	}
 
 	/**
@@ -65,9 +101,38 @@ public class ConcurrentCharInputReader extends AbstractCharInputReader {
 	 * @param bucketQuantity the number of "buckets" to load in memory. Note the reader will stop if all buckets are full.
 	 */
 	public ConcurrentCharInputReader(char[] lineSeparator, char normalizedLineSeparator, int bucketSize, int bucketQuantity) {
+		this(lineSeparator, normalizedLineSeparator, bucketSize, bucketQuantity, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently.
+	 * @param lineSeparator the sequence of characters that represent a newline, as defined in {@link Format#getLineSeparator()}
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()})
+	 *        that is used to replace any lineSeparator sequence found in the input.
+	 * @param bucketSize the size of an each individual "bucket" used to store characters read from the input.
+	 * @param bucketQuantity the number of "buckets" to load in memory. Note the reader will stop if all buckets are full.
+	 * @param waitStrategy how the input reading thread and the parser wait when all buckets are full or empty.
+	 */
+	public ConcurrentCharInputReader(char[] lineSeparator, char normalizedLineSeparator, int bucketSize, int bucketQuantity, WaitStrategy waitStrategy) {
+		this(lineSeparator, normalizedLineSeparator, bucketSize, bucketQuantity, waitStrategy, null);
+	}
+
+	/**
+	 * Creates a new instance with the mandatory characters for handling newlines transparently.
+	 * @param lineSeparator the sequence of characters that represent a newline, as defined in {@link Format#getLineSeparator()}
+	 * @param normalizedLineSeparator the normalized newline character (as defined in {@link Format#getNormalizedNewline()})
+	 *        that is used to replace any lineSeparator sequence found in the input.
+	 * @param bucketSize the size of an each individual "bucket" used to store characters read from the input.
+	 * @param bucketQuantity the number of "buckets" to load in memory. Note the reader will stop if all buckets are full.
+	 * @param waitStrategy how the input reading thread and the parser wait when all buckets are full or empty.
+	 * @param executor the {@link Executor} used to run the input reading process. If {@code null}, a new thread will be started for every input.
+	 */
+	public ConcurrentCharInputReader(char[] lineSeparator, char normalizedLineSeparator, int bucketSize, int bucketQuantity, WaitStrategy waitStrategy, Executor executor) {
 		super(lineSeparator, normalizedLineSeparator);
 		this.bucketSize = bucketSize;
 		this.bucketQuantity = bucketQuantity;
+		this.waitStrategy = waitStrategy;
+		this.executor = executor;
 	}
 
 	/**
@@ -82,12 +147,19 @@ public class ConcurrentCharInputReader extends AbstractCharInputReader {
 	}
 
 	/**
-	 * Starts an input reading thread to load characters from the given reader into "buckets" of characters
+	 * Starts an input reading thread (or submits the reading process to the {@link Executor} provided in the constructor) to load characters from the given reader into "buckets" of characters.
+	 * The buckets used for the previous input are reused once its reading process stops.
 	 */
 	@Override
 	protected void setReader(Reader reader) {
 		stop();
-		bucketLoader = new ConcurrentCharLoader(reader, bucketSize, bucketQuantity);
+		if (buckets != null && (bucketLoader == null || bucketLoader.awaitTermination(RING_RELEASE_TIMEOUT))) {
+			buckets.reset();
+		} else {
+			// the previous reading process may still be filling the old buckets (e.g. blocked reading from its input), so it keeps them.
+			buckets = new CharBucketRing(bucketSize, bucketQuantity, waitStrategy);
+		}
+		bucketLoader = new ConcurrentCharLoader(reader, buckets, executor);
 	}
 
 	/**
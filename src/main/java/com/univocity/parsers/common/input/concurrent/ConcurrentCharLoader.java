@@ -20,110 +20,124 @@ import java.util.concurrent.*;
 
 /**
  *
- * A concurrent character loader for loading a pool of {@link CharBucket} instances using a {@link java.io.Reader} in a separate thread
+ * A concurrent character loader for loading a ring of {@link CharBucket} instances using a {@link java.io.Reader} in a separate thread
  *
  * @see ConcurrentCharInputReader
  * @see CharBucket
- * @see Entry
+ * @see CharBucketRing
  *
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  *
  */
 class ConcurrentCharLoader implements Runnable {
-	private final ArrayBlockingQueue<Object> buckets;
-	private final CharBucket end;
-	private final FixedInstancePool<CharBucket> instances;
+	private static final CharBucket END = new CharBucket(-1);
 
-	private Entry<CharBucket> currentBucket;
+	private final CharBucketRing buckets;
+
+	private boolean currentBucketTaken;
 
 	private boolean finished = false;
-	private boolean active;
+	private volatile boolean active;
 	private final Reader reader;
-	private final Thread activeExecution;
+	private final boolean ownThread;
+
+	private Thread activeExecution;
+	private boolean interrupted;
 
 	/**
-	 * Creates a {@link FixedInstancePool} with a given amount of {@link CharBucket} instances and starts a thread to fill each one.
+	 * Starts a thread to fill the {@link CharBucket} instances of a given {@link CharBucketRing}.
 	 * @param reader The source of characters to extract and fill {@link CharBucket} instances
-	 * @param bucketSize The size of each individual {@link CharBucket}
-	 * @param bucketQuantity The number of {@link CharBucket} instances used to extract characters from the given reader.
+	 * @param buckets The empty ring of {@link CharBucket} instances used to extract characters from the given reader.
+	 * @param executor The {@link Executor} that runs the loading process. If {@code null}, a new thread will be started.
 	 */
-	public ConcurrentCharLoader(Reader reader, final int bucketSize, int bucketQuantity) {
-		this.end = new CharBucket(-1);
-		this.buckets = new ArrayBlockingQueue<Object>(bucketQuantity);
+	public ConcurrentCharLoader(Reader reader, CharBucketRing buckets, Executor executor) {
+		this.buckets = buckets;
 
 		this.reader = reader;
 
-		this.instances = new FixedInstancePool<CharBucket>(bucketQuantity) {
-			@Override
-			protected CharBucket newInstance() {
-				return new CharBucket(bucketSize);
-			}
-		};
-
 		finished = false;
 		active = true;
-		activeExecution = new Thread(this, "unVocity-parsers input reading thread");
-		activeExecution.start();
+		ownThread = executor == null;
+		if (ownThread) {
+			new Thread(this, "unVocity-parsers input reading thread").start();
+		} else {
+			executor.execute(this);
+		}
 	}
 
 	/**
 	 * The {@link CharBucket} loading process that executes in parallel until the input is completely read.
 	 * Once the end of the input is reached, the {@link java.io.Reader} instance provided in the constructor is closed.
+	 *
+	 * <p> When executed by a thread provided by an {@link Executor}, the thread is left as it was found once the loading process ends:
+	 * its name is preserved and any interruption sent by {@link #stopReading()} is cleared.
 	 */
 	@Override
 	public void run() {
-		Thread.currentThread().setName("Character reading thread");
+		synchronized (this) {
+			if (!active) {
+				//stopped before the loading process started: the ring may already be in use by another loader.
+				return;
+			}
+			activeExecution = Thread.currentThread();
+		}
+		if (ownThread) {
+			Thread.currentThread().setName("Character reading thread");
+		}
 		try {
 			try {
 				int length;
 				do {
-					Entry<CharBucket> bucket = instances.allocate();
-					length = bucket.get().fill(reader);
-					if (length != -1) {
-						buckets.put(bucket);
-					} else {
-						instances.release(bucket);
+					CharBucket bucket = buckets.claim();
+					if (bucket == null) {
+						break;
 					}
+					length = bucket.fill(reader);
+					buckets.publish();
 				} while (active && length != -1);
 			} finally {
-				buckets.put(end);
+				buckets.close();
 			}
 		} catch (IOException e) {
-			throw new IllegalStateException("Error processing input", e);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
+			if (active) {
+				throw new IllegalStateException("Error processing input", e);
+			}
+			//reader closed by stopReading() while loading the input: not an error.
 		} finally {
-			stopReading();
+			try {
+				stopReading();
+			} finally {
+				synchronized (this) {
+					activeExecution = null;
+					if (interrupted) {
+						Thread.interrupted();
+					}
+					notifyAll();
+				}
+			}
 		}
 	}
 
 	/**
-	 * Returns the next available bucket. Blocks until a bucket is made available or the reading process stops.
+	 * Returns the next available bucket. Waits until a bucket is made available or the reading process stops.
+	 * The bucket returned previously is given back to the reading thread. This method must be called by a single thread.
 	 * @return the next available bucket.
 	 */
-	@SuppressWarnings("unchecked")
-	public synchronized CharBucket nextBucket() {
-		try {
-			if (finished) {
-				return end;
-			}
-			if (currentBucket != null) {
-				instances.release(currentBucket);
-			}
+	public CharBucket nextBucket() {
+		if (finished) {
+			return END;
+		}
+		if (currentBucketTaken) {
+			buckets.release();
+		}
 
-			Object element = buckets.take();
-			if (element == end) {
-				finished = true;
-				return end;
-			} else {
-				currentBucket = (Entry<CharBucket>) element;
-			}
-			return currentBucket.get();
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
+		CharBucket bucket = buckets.take();
+		currentBucketTaken = bucket != null;
+		if (bucket == null || bucket.length == -1) {
 			finished = true;
-			return end;
+			return END;
 		}
+		return bucket;
 	}
 
 	/**
@@ -131,16 +145,47 @@ class ConcurrentCharLoader implements Runnable {
 	 */
 	public void stopReading() {
 		active = false;
+		buckets.close();
 		try {
 			reader.close();
 		} catch (IOException e) {
 			throw new IllegalStateException("Error closing input", e);
 		} finally {
 			try {
-				activeExecution.interrupt();
+				interruptReadingThread();
 			} catch (Throwable ex) {
 				throw new IllegalStateException("Error stopping input reader thread", ex);
 			}
 		}
 	}
+
+	/**
+	 * Waits for the loading process to stop using the {@link CharBucketRing} after {@link #stopReading()} is invoked.
+	 * @param timeout the maximum time to wait, in milliseconds.
+	 * @return {@code true} if the ring is no longer used by this loader, {@code false} if the loading process is still running after the timeout elapsed
+	 * or the current thread was interrupted while waiting.
+	 */
+	public synchronized boolean awaitTermination(long timeout) {
+		final long deadline = System.currentTimeMillis() + timeout;
+		while (activeExecution != null) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				return false;
+			}
+			try {
+				wait(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private synchronized void interruptReadingThread() {
+		if (activeExecution != null && activeExecution != Thread.currentThread()) {
+			interrupted = true;
+			activeExecution.interrupt();
+		}
+	}
 }
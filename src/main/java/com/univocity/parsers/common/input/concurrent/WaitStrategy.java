@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input.concurrent;
+
+import java.util.concurrent.locks.*;
+
+/**
+ * The strategies available for a thread that waits for another thread to produce or consume data, for example when the input reading
+ * thread of a {@link ConcurrentCharInputReader} finds all buckets full, or when the parser finds all buckets empty. Also used by
+ * {@link com.univocity.parsers.common.processor.core.AbstractConcurrentProcessor} when rows are handed over to the processing thread.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ConcurrentCharInputReader
+ */
+public enum WaitStrategy {
+
+	/**
+	 * Busy-waits, checking for data continuously. Yields the lowest latency at the cost of keeping a processor fully occupied while waiting.
+	 * The waiting thread still yields every {@value #SPINS_BEFORE_YIELD} iterations so it can't starve the other thread on machines with a single processor.
+	 */
+	SPIN,
+
+	/**
+	 * Calls {@link Thread#yield()} while waiting, allowing other threads to run on the same processor.
+	 */
+	YIELD,
+
+	/**
+	 * Parks the waiting thread until it is signalled by the other thread. Uses no CPU while waiting, but each hand-off may involve a context switch.
+	 */
+	PARK;
+
+	/**
+	 * Maximum time a parked thread sleeps before checking the state it is waiting on again, in nanoseconds.
+	 */
+	static final long PARK_TIMEOUT = 100000L;
+
+	/**
+	 * Number of iterations a spinning thread waits before yielding.
+	 */
+	static final int SPINS_BEFORE_YIELD = 1024;
+
+	/**
+	 * Pauses the current thread briefly according to this strategy. Callers must check the condition they are waiting on after this method returns.
+	 * Threads waiting with {@link #PARK} resume after a short timeout, or earlier if unparked with {@link LockSupport#unpark(Thread)}.
+	 *
+	 * @param blocker   the object the thread is waiting on.
+	 * @param iteration how many times the thread has been waiting on the same condition.
+	 */
+	public void idle(Object blocker, int iteration) {
+		switch (this) {
+			case SPIN:
+				if (iteration % SPINS_BEFORE_YIELD == SPINS_BEFORE_YIELD - 1) {
+					Thread.yield();
+				}
+				break;
+			case YIELD:
+				Thread.yield();
+				break;
+			case PARK:
+				LockSupport.parkNanos(blocker, PARK_TIMEOUT);
+				break;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A callback interface to handle records parsed by any parser that extends {@link AbstractParser} in batches of a fixed size, instead of
+ * one record at a time.
+ *
+ * <p>When a BatchProcessor is defined with {@link CommonParserSettings#setBatchProcessor(BatchProcessor)}, it replaces the {@link com.univocity.parsers.common.processor.core.Processor}
+ * of the parser settings. The parser collects up to {@link CommonParserSettings#getBatchSize()} records and then hands all of them over at once.
+ * The last batch of the input may be smaller. Records returned by {@link AbstractParser#parseNext()} are also delivered to this processor.
+ *
+ * <p>This is intended for destinations that work in batches, such as JDBC batch inserts or message producers. Use a
+ * {@link RowProcessorBatchAdapter} to deliver batches to an existing {@link RowProcessor}.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CommonParserSettings#setBatchProcessor(BatchProcessor)
+ * @see RowProcessorBatchAdapter
+ */
+public interface BatchProcessor {
+
+	/**
+	 * This method will by invoked by the parser once, when it is ready to start processing the input.
+	 *
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void processStarted(ParsingContext context);
+
+	/**
+	 * Invoked by the parser after a batch of valid records has been parsed. If an error is thrown, the remaining records of the batch
+	 * are discarded.
+	 *
+	 * @param rows     an array with the records of the batch in its first {@code rowCount} positions. The array is reused by the parser and
+	 *                 is only valid until this method returns, but the records in it can be retained.
+	 * @param rowCount the number of records in the batch.
+	 * @param context  A contextual object with information and controls over the current state of the parsing process. It reflects the
+	 *                 state of the parser after the last record of the batch was parsed, therefore the record number of {@code rows[i]} is
+	 *                 {@code context.currentRecord() - rowCount + 1 + i}
+	 */
+	void batchProcessed(String[][] rows, int rowCount, ParsingContext context);
+
+	/**
+	 * This method will by invoked by the parser once, after the parsing process stopped and all resources were closed.
+	 * <p> It will always be called by the parser: in case of errors, if the end of the input us reached, or if the user stopped the process manually using {@link ParsingContext#stop()}.
+	 *
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void processEnded(ParsingContext context);
+}
@@ -25,6 +25,8 @@ import com.univocity.parsers.common.processor.core.*;
  *
  * <p> For each row processed, a java bean instance of a given class will be created with its fields populated.
  * <p> This instance will then be sent to the {@link BeanProcessor#beanProcessed(Object, Context)} method, where the user can access it.
+ * <p> When used with a {@link ConcurrentRowProcessor} with multiple workers, beans are created in parallel by the workers
+ * and sent to {@link BeanProcessor#beanProcessed(Object, Context)} one at a time.
  *
  * @see AbstractParser
  * @see RowProcessor
@@ -35,7 +37,7 @@ import com.univocity.parsers.common.processor.core.*;
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  *
  */
-public abstract class BeanProcessor<T> extends AbstractBeanProcessor<T, ParsingContext> implements RowProcessor{
+public abstract class BeanProcessor<T> extends AbstractBeanProcessor<T, ParsingContext> implements RowProcessor, StagedProcessor<ParsingContext> {
 
 	/**
 	 * Creates a processor for java beans of a given type.
@@ -45,5 +47,14 @@ public abstract class BeanProcessor<T> extends AbstractBeanProcessor<T, ParsingC
 		super(beanType);
 	}
 
+	@Override
+	public final Object prepareRow(String[] row, ParsingContext context) {
+		return createBean(row, context);
+	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public final void preparedRowProcessed(Object prepared, ParsingContext context) {
+		beanProcessed((T) prepared, context);
+	}
 }
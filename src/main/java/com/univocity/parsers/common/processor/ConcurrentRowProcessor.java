@@ -18,6 +18,8 @@ package com.univocity.parsers.common.processor;
 import com.univocity.parsers.common.*;
 import com.univocity.parsers.common.processor.core.*;
 
+import java.util.*;
+
 /**
  * A {@link RowProcessor} implementation to perform row processing tasks in parallel. The {@code ConcurrentRowProcessor} wraps another {@link RowProcessor}, and collects rows read from the input.
  * The actual row processing is performed in by wrapped {@link RowProcessor} in a separate thread.
@@ -30,7 +32,8 @@ public class ConcurrentRowProcessor extends AbstractConcurrentProcessor<ParsingC
 
 
 	/**
-	 * Creates a non-blocking {@code ConcurrentRowProcessor}, to perform processing of rows parsed from the input in a separate thread.
+	 * Creates a {@code ConcurrentRowProcessor}, to perform processing of rows parsed from the input in a separate thread.
+	 * Up to {@link #DEFAULT_CAPACITY} rows are kept in memory before the input parsing process is blocked.
 	 *
 	 * @param rowProcessor a regular {@link RowProcessor} implementation which will be executed in a separate thread.
 	 */
@@ -43,11 +46,48 @@ public class ConcurrentRowProcessor extends AbstractConcurrentProcessor<ParsingC
 	 *
 	 * @param rowProcessor a regular {@link RowProcessor} implementation which will be executed in a separate thread.
 	 * @param limit        the limit of rows to be kept in memory before the input parsing process is blocked.
+	 *                     Values smaller than 2 select the {@link #DEFAULT_CAPACITY}.
 	 */
 	public ConcurrentRowProcessor(RowProcessor rowProcessor, int limit) {
 		super(rowProcessor, limit);
 	}
 
+	/**
+	 * Creates a {@code ConcurrentRowProcessor} that distributes the rows parsed from the input among multiple worker threads, all sharing
+	 * the given {@link RowProcessor}. Its {@link RowProcessor#rowProcessed(String[], ParsingContext)} method must be thread-safe.
+	 * Processors that execute conversions, such as {@link ObjectRowProcessor} and {@link BeanProcessor}, are not thread-safe and
+	 * are rejected when {@code workerCount > 1}. Use {@link #ConcurrentRowProcessor(List, int)} to provide one instance per worker instead.
+	 *
+	 * <p><b>Note:</b> while {@link #isOrderedProcessingEnabled()} evaluates to {@code true} (the default), the shared {@link RowProcessor}
+	 * is invoked by one worker at a time, in the order rows were parsed, so multiple workers won't process rows in parallel.
+	 * Disable it with {@link #setOrderedProcessingEnabled(boolean)} to let all workers invoke the processor concurrently.</p>
+	 *
+	 * @param rowProcessor a regular {@link RowProcessor} implementation which will be executed by the worker threads.
+	 * @param limit        the limit of rows to be kept in memory before the input parsing process is blocked.
+	 * @param workerCount  the number of worker threads that process rows.
+	 */
+	public ConcurrentRowProcessor(RowProcessor rowProcessor, int limit, int workerCount) {
+		super(rowProcessor, limit, workerCount);
+	}
+
+	/**
+	 * Creates a {@code ConcurrentRowProcessor} that distributes the rows parsed from the input among multiple worker threads,
+	 * one for each of the given {@link RowProcessor} instances.
+	 *
+	 * <p>Use one {@link ObjectRowProcessor} or {@link BeanProcessor} per worker to execute conversions in parallel, while their
+	 * {@link ObjectRowProcessor#rowProcessed(Object[], ParsingContext)} and {@link BeanProcessor#beanProcessed(Object, ParsingContext)}
+	 * methods are still invoked one row at a time.</p>
+	 *
+	 * <p><b>Note:</b> other processors are invoked by one worker at a time while {@link #isOrderedProcessingEnabled()} evaluates to
+	 * {@code true} (the default), so multiple workers won't process their rows in parallel.</p>
+	 *
+	 * @param rowProcessors the {@link RowProcessor} used by each worker thread.
+	 * @param limit         the limit of rows to be kept in memory before the input parsing process is blocked.
+	 */
+	public ConcurrentRowProcessor(List<? extends RowProcessor> rowProcessors, int limit) {
+		super(rowProcessors, limit);
+	}
+
 	@Override
 	protected ParsingContext copyContext(ParsingContext context) {
 		return new ParsingContextSnapshot(context);
@@ -26,6 +26,8 @@ import com.univocity.parsers.conversions.*;
  *
  * <p> For each row processed, a sequence of conversions will be executed and stored in an object array, at its original position.
  * <p> The row with the result of these conversions will then be sent to the {@link ObjectRowProcessor#rowProcessed(Object[], Context)} method, where the user can access it.
+ * <p> When used with a {@link ConcurrentRowProcessor} with multiple workers, conversions are executed in parallel by the workers
+ * and the resulting rows are sent to {@link ObjectRowProcessor#rowProcessed(Object[], Context)} one at a time.
  *
  * @see AbstractParser
  * @see RowProcessor
@@ -33,6 +35,15 @@ import com.univocity.parsers.conversions.*;
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  *
  */
-public abstract class ObjectRowProcessor extends AbstractObjectProcessor<ParsingContext> implements RowProcessor {
+public abstract class ObjectRowProcessor extends AbstractObjectProcessor<ParsingContext> implements RowProcessor, StagedProcessor<ParsingContext> {
 
+	@Override
+	public final Object prepareRow(String[] row, ParsingContext context) {
+		return applyConversions(row, context);
+	}
+
+	@Override
+	public final void preparedRowProcessed(Object prepared, ParsingContext context) {
+		rowProcessed((Object[]) prepared, context);
+	}
 }
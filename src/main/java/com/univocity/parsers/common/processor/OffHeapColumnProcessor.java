@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.core.*;
+
+/**
+ * A {@link RowProcessor} implementation that stores values of columns in batches and writes each batch into direct {@link java.nio.ByteBuffer}s
+ * outside of the Java heap, using a columnar layout similar to Apache Arrow's. Use this implementation in favor of {@link BatchedColumnProcessor}
+ * to hand large volumes of parsed data over to native code or to other systems that consume columnar buffers.
+ *
+ * <p> During the execution of the process, the {@link #columnsProcessed(java.util.List, int)} method will be invoked after a given number of
+ * rows has been processed, with the validity, offsets and data buffers of each column. Refer to {@link OffHeapColumn} for details of the layout.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ *
+ * @see AbstractParser
+ * @see RowProcessor
+ * @see AbstractOffHeapColumnProcessor
+ */
+public abstract class OffHeapColumnProcessor extends AbstractOffHeapColumnProcessor<ParsingContext> implements RowProcessor {
+
+	/**
+	 * Constructs an off-heap column processor configured to invoke the {@link #columnsProcessed(java.util.List, int)} method after a given
+	 * number of rows has been processed.
+	 *
+	 * @param rowsPerBatch the number of rows to process in each batch.
+	 */
+	public OffHeapColumnProcessor(int rowsPerBatch) {
+		super(rowsPerBatch);
+	}
+
+}
@@ -0,0 +1,541 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.fields.*;
+
+import java.util.*;
+
+/**
+ * A {@link RowViewProcessor} that reads the values of selected columns as primitives, storing them in batches of primitive arrays
+ * ({@code int[]}, {@code long[]}, {@code double[]} and {@code boolean[]}). Values are parsed directly from the characters of each {@link RowView},
+ * so no {@code String} nor boxed object is created for them.
+ *
+ * <p>The columns to read, and the {@link PrimitiveType} of each one, are selected with the same API used to select fields in {@link CommonSettings}:
+ * <pre>{@code
+ * processor.readFields(PrimitiveType.LONG, "id", "quantity");
+ * processor.readIndexes(PrimitiveType.DATE, 3);
+ * }</pre>
+ *
+ * <p>The {@link #batchProcessed(int)} method will be invoked after a given number of rows has been processed. The values of each column
+ * can then be obtained from the arrays returned by {@link #getInts(String)}, {@link #getLongs(String)}, {@link #getDoubles(String)},
+ * {@link #getBooleans(String)} and {@link #getNulls(String)}. These arrays are reused for each batch, and only their first {@code rowsInThisBatch}
+ * positions hold values of the current batch.
+ *
+ * <p>{@code null} values are stored as {@code 0} or {@code false}, and flagged in the array returned by {@link #getNulls(String)}.
+ * Values that can't be read as the expected type produce a {@link DataProcessingException}.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see PrimitiveType
+ * @see RowViewProcessor
+ * @see CommonParserSettings#setRowViewProcessor(RowViewProcessor)
+ */
+public abstract class PrimitiveColumnProcessor implements RowViewProcessor {
+
+	private final int rowsPerBatch;
+	private final List<FieldSelector> selectors = new ArrayList<FieldSelector>();
+	private final List<PrimitiveType> selectorTypes = new ArrayList<PrimitiveType>();
+
+	private String[] headers;
+	private PrimitiveType[] types;
+	private int[] fieldIndexes;
+	private int[] viewIndexes;
+	private Object[] values;
+	private boolean[][] nulls;
+
+	private int rowCount;
+	private int batchesProcessed;
+
+	/**
+	 * Constructs a primitive column processor configured to invoke the {@link #batchProcessed(int)} method after 10,000 rows have been processed.
+	 */
+	public PrimitiveColumnProcessor() {
+		this(10000);
+	}
+
+	/**
+	 * Constructs a primitive column processor configured to invoke the {@link #batchProcessed(int)} method after a given number of rows has been processed.
+	 *
+	 * @param rowsPerBatch the number of rows to process in each batch.
+	 */
+	public PrimitiveColumnProcessor(int rowsPerBatch) {
+		if (rowsPerBatch <= 0) {
+			throw new IllegalArgumentException("Number of rows per batch must be positive");
+		}
+		this.rowsPerBatch = rowsPerBatch;
+	}
+
+	/**
+	 * Selects fields, by name, whose values will be read as a given primitive type.
+	 *
+	 * @param type       the type of the values of the selected fields.
+	 * @param fieldNames the names of the fields to read.
+	 *
+	 * @return the (modifiable) set of selected fields
+	 */
+	public FieldSet<String> readFields(PrimitiveType type, String... fieldNames) {
+		return addFieldSet(type, new FieldNameSelector(), fieldNames);
+	}
+
+	/**
+	 * Selects fields, by position, whose values will be read as a given primitive type.
+	 *
+	 * @param type         the type of the values of the selected fields.
+	 * @param fieldIndexes the positions of the fields to read.
+	 *
+	 * @return the (modifiable) set of selected fields
+	 */
+	public FieldSet<Integer> readIndexes(PrimitiveType type, Integer... fieldIndexes) {
+		return addFieldSet(type, new FieldIndexSelector(), fieldIndexes);
+	}
+
+	/**
+	 * Selects fields, by name, whose values will be read as a given primitive type.
+	 *
+	 * @param type    the type of the values of the selected fields.
+	 * @param columns the columns to read.
+	 *
+	 * @return the (modifiable) set of selected fields
+	 */
+	@SuppressWarnings("rawtypes")
+	public FieldSet<Enum> readFields(PrimitiveType type, Enum... columns) {
+		return addFieldSet(type, new FieldEnumSelector(), columns);
+	}
+
+	private <T> FieldSet<T> addFieldSet(PrimitiveType type, FieldSet<T> fieldSet, T... fields) {
+		if (type == null) {
+			throw new IllegalArgumentException("Primitive type cannot be null");
+		}
+		selectors.add((FieldSelector) fieldSet);
+		selectorTypes.add(type);
+		fieldSet.add(fields);
+		return fieldSet;
+	}
+
+	@Override
+	public void processStarted(ParsingContext context) {
+		types = null;
+		headers = null;
+		rowCount = 0;
+		batchesProcessed = 0;
+	}
+
+	/**
+	 * Identifies the position of each selected field in the input and in the {@link RowView}s produced by the parser, and allocates the
+	 * arrays of each column.
+	 */
+	private void initialize(ParsingContext context) {
+		headers = context.headers();
+
+		List<Integer> indexes = new ArrayList<Integer>();
+		List<PrimitiveType> columnTypes = new ArrayList<PrimitiveType>();
+		for (int i = 0; i < selectors.size(); i++) {
+			FieldSelector selector = selectors.get(i);
+			int[] selected = selector.getFieldIndexes(headers);
+			if (selected == null) {
+				throw new DataProcessingException("Unable to read " + selector.describe() + " as no headers are available. Enable header extraction or provide headers in the parser settings.");
+			}
+			for (int index : selected) {
+				if (index != -1 && indexes.contains(index)) {
+					throw new DataProcessingException("Column " + index + " is selected more than once in " + selector.describe(), index);
+				}
+				indexes.add(index);
+				columnTypes.add(selectorTypes.get(i));
+			}
+		}
+
+		int columnCount = indexes.size();
+		types = columnTypes.toArray(new PrimitiveType[columnCount]);
+		fieldIndexes = new int[columnCount];
+		viewIndexes = new int[columnCount];
+		values = new Object[columnCount];
+		nulls = new boolean[columnCount][rowsPerBatch];
+
+		int[] extractedIndexes = context.columnsReordered() ? context.extractedFieldIndexes() : null;
+		for (int c = 0; c < columnCount; c++) {
+			int index = indexes.get(c);
+			fieldIndexes[c] = index;
+			viewIndexes[c] = index;
+			if (extractedIndexes != null) {
+				viewIndexes[c] = -1;
+				for (int i = 0; i < extractedIndexes.length; i++) {
+					if (extractedIndexes[i] == index) {
+						viewIndexes[c] = i;
+						break;
+					}
+				}
+			}
+
+			switch (types[c]) {
+				case INT:
+				case DATE:
+					values[c] = new int[rowsPerBatch];
+					break;
+				case LONG:
+				case DATE_TIME:
+					values[c] = new long[rowsPerBatch];
+					break;
+				case DOUBLE:
+					values[c] = new double[rowsPerBatch];
+					break;
+				case BOOLEAN:
+					values[c] = new boolean[rowsPerBatch];
+					break;
+			}
+		}
+	}
+
+	@Override
+	public void rowProcessed(RowView row, ParsingContext context) {
+		if (types == null) {
+			initialize(context);
+		}
+
+		final int r = rowCount;
+		for (int c = 0; c < types.length; c++) {
+			int column = viewIndexes[c];
+			boolean isNull = column == -1 || column >= row.getColumnCount() || row.isNull(column);
+			nulls[c][r] = isNull;
+			try {
+				switch (types[c]) {
+					case INT:
+						((int[]) values[c])[r] = isNull ? 0 : row.getInt(column);
+						break;
+					case LONG:
+						((long[]) values[c])[r] = isNull ? 0L : row.getLong(column);
+						break;
+					case DOUBLE:
+						((double[]) values[c])[r] = isNull ? 0.0 : row.getDouble(column);
+						break;
+					case BOOLEAN:
+						((boolean[]) values[c])[r] = !isNull && readBoolean(row, column);
+						break;
+					case DATE:
+						((int[]) values[c])[r] = isNull ? 0 : (int) readDate(row, column);
+						break;
+					case DATE_TIME:
+						((long[]) values[c])[r] = isNull ? 0L : readDateTime(row, column);
+						break;
+				}
+			} catch (IllegalArgumentException e) {
+				DataProcessingException exception = new DataProcessingException("Unable to read '{value}' as " + types[c], fieldIndexes[c], null, e);
+				exception.setValue(row.getString(column));
+				throw exception;
+			}
+		}
+
+		rowCount++;
+		if (rowCount == rowsPerBatch) {
+			batchProcessed(rowCount);
+			rowCount = 0;
+			batchesProcessed++;
+		}
+	}
+
+	@Override
+	public void processEnded(ParsingContext context) {
+		if (rowCount > 0) {
+			batchProcessed(rowCount);
+			rowCount = 0;
+			batchesProcessed++;
+		}
+	}
+
+	/**
+	 * Callback to the user, where the values of the selected columns can be obtained from the arrays of this processor.
+	 *
+	 * @param rowsInThisBatch the number of rows processed in the current batch. This corresponds to the number of positions filled in each array.
+	 */
+	public abstract void batchProcessed(int rowsInThisBatch);
+
+	/**
+	 * Returns the number of batches already processed
+	 *
+	 * @return the number of batches already processed
+	 */
+	public final int getBatchesProcessed() {
+		return batchesProcessed;
+	}
+
+	/**
+	 * Returns the headers of the input, if available.
+	 *
+	 * @return the headers used to identify each column, or {@code null} if no headers are available.
+	 */
+	public final String[] getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Returns the values of an {@link PrimitiveType#INT} or {@link PrimitiveType#DATE} column in the current batch.
+	 *
+	 * @param columnName the name of the column
+	 *
+	 * @return the array of values of the column
+	 */
+	public final int[] getInts(String columnName) {
+		return (int[]) getValues(indexOf(columnName), PrimitiveType.INT, PrimitiveType.DATE);
+	}
+
+	/**
+	 * Returns the values of an {@link PrimitiveType#INT} or {@link PrimitiveType#DATE} column in the current batch.
+	 *
+	 * @param columnIndex the position of the column in the input
+	 *
+	 * @return the array of values of the column
+	 */
+	public final int[] getInts(int columnIndex) {
+		return (int[]) getValues(indexOf(columnIndex), PrimitiveType.INT, PrimitiveType.DATE);
+	}
+
+	/**
+	 * Returns the values of a {@link PrimitiveType#LONG} or {@link PrimitiveType#DATE_TIME} column in the current batch.
+	 *
+	 * @param columnName the name of the column
+	 *
+	 * @return the array of values of the column
+	 */
+	public final long[] getLongs(String columnName) {
+		return (long[]) getValues(indexOf(columnName), PrimitiveType.LONG, PrimitiveType.DATE_TIME);
+	}
+
+	/**
+	 * Returns the values of a {@link PrimitiveType#LONG} or {@link PrimitiveType#DATE_TIME} column in the current batch.
+	 *
+	 * @param columnIndex the position of the column in the input
+	 *
+	 * @return the array of values of the column
+	 */
+	public final long[] getLongs(int columnIndex) {
+		return (long[]) getValues(indexOf(columnIndex), PrimitiveType.LONG, PrimitiveType.DATE_TIME);
+	}
+
+	/**
+	 * Returns the values of a {@link PrimitiveType#DOUBLE} column in the current batch.
+	 *
+	 * @param columnName the name of the column
+	 *
+	 * @return the array of values of the column
+	 */
+	public final double[] getDoubles(String columnName) {
+		return (double[]) getValues(indexOf(columnName), PrimitiveType.DOUBLE, PrimitiveType.DOUBLE);
+	}
+
+	/**
+	 * Returns the values of a {@link PrimitiveType#DOUBLE} column in the current batch.
+	 *
+	 * @param columnIndex the position of the column in the input
+	 *
+	 * @return the array of values of the column
+	 */
+	public final double[] getDoubles(int columnIndex) {
+		return (double[]) getValues(indexOf(columnIndex), PrimitiveType.DOUBLE, PrimitiveType.DOUBLE);
+	}
+
+	/**
+	 * Returns the values of a {@link PrimitiveType#BOOLEAN} column in the current batch.
+	 *
+	 * @param columnName the name of the column
+	 *
+	 * @return the array of values of the column
+	 */
+	public final boolean[] getBooleans(String columnName) {
+		return (boolean[]) getValues(indexOf(columnName), PrimitiveType.BOOLEAN, PrimitiveType.BOOLEAN);
+	}
+
+	/**
+	 * Returns the values of a {@link PrimitiveType#BOOLEAN} column in the current batch.
+	 *
+	 * @param columnIndex the position of the column in the input
+	 *
+	 * @return the array of values of the column
+	 */
+	public final boolean[] getBooleans(int columnIndex) {
+		return (boolean[]) getValues(indexOf(columnIndex), PrimitiveType.BOOLEAN, PrimitiveType.BOOLEAN);
+	}
+
+	/**
+	 * Returns flags indicating which values of a column are {@code null} in the current batch.
+	 *
+	 * @param columnName the name of the column
+	 *
+	 * @return an array where {@code true} identifies the rows with a {@code null} value in the column.
+	 */
+	public final boolean[] getNulls(String columnName) {
+		return nulls[indexOf(columnName)];
+	}
+
+	/**
+	 * Returns flags indicating which values of a column are {@code null} in the current batch.
+	 *
+	 * @param columnIndex the position of the column in the input
+	 *
+	 * @return an array where {@code true} identifies the rows with a {@code null} value in the column.
+	 */
+	public final boolean[] getNulls(int columnIndex) {
+		return nulls[indexOf(columnIndex)];
+	}
+
+	private Object getValues(int column, PrimitiveType type1, PrimitiveType type2) {
+		if (types[column] != type1 && types[column] != type2) {
+			throw new IllegalArgumentException("Column " + fieldIndexes[column] + " is read as " + types[column]);
+		}
+		return values[column];
+	}
+
+	private int indexOf(String columnName) {
+		if (headers == null) {
+			throw new IllegalStateException("No headers available to identify column '" + columnName + "'");
+		}
+		int index = ArgumentUtils.indexOf(ArgumentUtils.normalize(headers), ArgumentUtils.normalize(columnName));
+		if (index == -1) {
+			throw new IllegalArgumentException("Unknown column '" + columnName + "'");
+		}
+		return indexOf(index);
+	}
+
+	private int indexOf(int columnIndex) {
+		if (types == null) {
+			throw new IllegalStateException("No rows processed");
+		}
+		for (int c = 0; c < fieldIndexes.length; c++) {
+			if (fieldIndexes[c] == columnIndex) {
+				return c;
+			}
+		}
+		throw new IllegalArgumentException("Column " + columnIndex + " is not read by this processor");
+	}
+
+	private static boolean readBoolean(RowView row, int column) {
+		if (row.equalsIgnoreCase(column, "true")) {
+			return true;
+		}
+		if (row.equalsIgnoreCase(column, "false")) {
+			return false;
+		}
+		throw new IllegalArgumentException("Not a boolean");
+	}
+
+	private static int digits(char[] chars, int from, int count) {
+		int out = 0;
+		for (int i = from; i < from + count; i++) {
+			int digit = chars[i] - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IllegalArgumentException("Invalid digit");
+			}
+			out = out * 10 + digit;
+		}
+		return out;
+	}
+
+	private static void expect(char[] chars, int position, char expected) {
+		if (chars[position] != expected) {
+			throw new IllegalArgumentException("Expected '" + expected + "'");
+		}
+	}
+
+	private static long epochDay(char[] chars, int offset) {
+		int year = digits(chars, offset, 4);
+		expect(chars, offset + 4, '-');
+		int month = digits(chars, offset + 5, 2);
+		expect(chars, offset + 7, '-');
+		int day = digits(chars, offset + 8, 2);
+
+		if (month < 1 || month > 12 || day < 1) {
+			throw new IllegalArgumentException("Invalid date");
+		}
+		boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+		int daysInMonth = month == 2 ? (leap ? 29 : 28) : (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+		if (day > daysInMonth) {
+			throw new IllegalArgumentException("Invalid date");
+		}
+
+		// days from the civil calendar, counting years from March so leap days are the last day of each year.
+		int y = month <= 2 ? year - 1 : year;
+		int era = y / 400;
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097L + dayOfEra - 719468;
+	}
+
+	private static long readDate(RowView row, int column) {
+		if (row.length(column) != 10) {
+			throw new IllegalArgumentException("Not a date");
+		}
+		return epochDay(row.getChars(), row.getOffset(column));
+	}
+
+	private static long readDateTime(RowView row, int column) {
+		final int length = row.length(column);
+		if (length < 19) {
+			throw new IllegalArgumentException("Not a date and time");
+		}
+		final char[] chars = row.getChars();
+		final int offset = row.getOffset(column);
+		final int end = offset + length;
+
+		long days = epochDay(chars, offset);
+		if (chars[offset + 10] != 'T' && chars[offset + 10] != ' ') {
+			throw new IllegalArgumentException("Expected 'T'");
+		}
+		int hour = digits(chars, offset + 11, 2);
+		expect(chars, offset + 13, ':');
+		int minute = digits(chars, offset + 14, 2);
+		expect(chars, offset + 16, ':');
+		int second = digits(chars, offset + 17, 2);
+		if (hour > 23 || minute > 59 || second > 59) {
+			throw new IllegalArgumentException("Invalid time");
+		}
+
+		int i = offset + 19;
+		int millis = 0;
+		if (i < end && chars[i] == '.') {
+			int fractionDigits = 0;
+			while (++i < end && chars[i] >= '0' && chars[i] <= '9') {
+				if (fractionDigits++ < 3) {
+					millis = millis * 10 + (chars[i] - '0');
+				}
+			}
+			if (fractionDigits == 0) {
+				throw new IllegalArgumentException("Invalid fraction of seconds");
+			}
+			for (; fractionDigits < 3; fractionDigits++) {
+				millis *= 10;
+			}
+		}
+
+		int offsetSeconds = 0;
+		if (i < end) {
+			char zone = chars[i];
+			if (zone == 'Z' && i + 1 == end) {
+				i++;
+			} else if ((zone == '+' || zone == '-') && i + 6 == end) {
+				int hours = digits(chars, i + 1, 2);
+				expect(chars, i + 3, ':');
+				int minutes = digits(chars, i + 4, 2);
+				offsetSeconds = (hours * 3600 + minutes * 60) * (zone == '-' ? -1 : 1);
+				i = end;
+			} else {
+				throw new IllegalArgumentException("Invalid offset");
+			}
+		}
+
+		long seconds = days * 86400L + hour * 3600 + minute * 60 + second - offsetSeconds;
+		return seconds * 1000L + millis;
+	}
+}
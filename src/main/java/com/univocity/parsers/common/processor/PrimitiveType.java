@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+/**
+ * The primitive types a {@link PrimitiveColumnProcessor} can read from each selected column, and the array type used to store the values of each batch.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see PrimitiveColumnProcessor
+ */
+public enum PrimitiveType {
+
+	/**
+	 * A decimal integer that fits in an {@code int}, stored in an {@code int[]}.
+	 */
+	INT,
+
+	/**
+	 * A decimal integer that fits in a {@code long}, stored in a {@code long[]}.
+	 */
+	LONG,
+
+	/**
+	 * A floating point number, in any format accepted by {@link Double#parseDouble(String)}, stored in a {@code double[]}.
+	 */
+	DOUBLE,
+
+	/**
+	 * Either {@code true} or {@code false}, ignoring case, stored in a {@code boolean[]}.
+	 */
+	BOOLEAN,
+
+	/**
+	 * An ISO-8601 date in the format {@code yyyy-MM-dd}, stored in an {@code int[]} as the number of days since 1970-01-01.
+	 */
+	DATE,
+
+	/**
+	 * An ISO-8601 date and time in the format {@code yyyy-MM-ddTHH:mm:ss}, optionally followed by a fraction of seconds and by {@code Z} or an
+	 * offset such as {@code +10:00}. A space is also accepted in place of the {@code T}. Stored in a {@code long[]} as the number of milliseconds
+	 * since 1970-01-01T00:00:00Z. Values without an offset are read as UTC.
+	 */
+	DATE_TIME
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A {@link BatchProcessor} that sends each record of every batch to a {@link RowProcessor}, such as an {@link ObjectRowProcessor} or
+ * a {@link BeanProcessor}.
+ *
+ * <p>The {@link ParsingContext} given to the {@link RowProcessor} reports the record number and line of each row of the batch in
+ * {@link ParsingContext#currentRecord()} and {@link ParsingContext#currentLine()}. All other methods reflect the state of the parser
+ * after the last record of the batch was parsed. Conversion errors of an {@link ObjectRowProcessor} or {@link BeanProcessor} are
+ * reported with this same context (see {@link #getContext()}).
+ * Errors in a record are handled individually, as when the {@link RowProcessor} receives records from the parser directly: the
+ * {@link ProcessorErrorHandler} of the parser settings receives the failing record, and the remaining records of the batch are still
+ * processed.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see BatchProcessor
+ * @see RowProcessor
+ */
+public class RowProcessorBatchAdapter implements BatchProcessor {
+
+	private final RowProcessor rowProcessor;
+	private ParsingContext rowContext;
+	private long currentRecord;
+	private int currentRow;
+	private long[] lineIndexes;
+	private ProcessorErrorHandler<ParsingContext> errorHandler;
+
+	/**
+	 * Creates an adapter that sends every record of each batch to the given {@link RowProcessor}
+	 *
+	 * @param rowProcessor the processor that will receive each record.
+	 */
+	public RowProcessorBatchAdapter(RowProcessor rowProcessor) {
+		if (rowProcessor == null) {
+			throw new IllegalArgumentException("Row processor cannot be null");
+		}
+		this.rowProcessor = rowProcessor;
+	}
+
+	/**
+	 * Returns the {@link RowProcessor} that receives each record of every batch.
+	 *
+	 * @return the wrapped row processor
+	 */
+	public RowProcessor getRowProcessor() {
+		return rowProcessor;
+	}
+
+	/**
+	 * Defines the handler of errors thrown by the {@link RowProcessor} while processing an individual record. Invoked by the parser
+	 * when parsing starts, with a handler that applies the {@link ProcessorErrorHandler} of the parser settings to each failing record.
+	 * Errors are not caught if no handler is defined.
+	 *
+	 * @param errorHandler the handler of errors in individual records.
+	 */
+	public void setErrorHandler(ProcessorErrorHandler<ParsingContext> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Defines where the line of each record of a batch is found, i.e. {@code lineIndexes[i]} holds the line of the {@code i}-th row of
+	 * every batch received. Invoked by the parser when parsing starts. If no line indexes are defined, the context given to the
+	 * {@link RowProcessor} reports the line where the last record of the batch was parsed.
+	 *
+	 * @param lineIndexes the line of each row of the current batch, updated by the parser as each batch is collected.
+	 */
+	public void setLineIndexes(long[] lineIndexes) {
+		this.lineIndexes = lineIndexes;
+	}
+
+	/**
+	 * Returns the {@link ParsingContext} given to the {@link RowProcessor} for each record of the batch being processed. Its
+	 * {@link ParsingContext#currentRecord()} and {@link ParsingContext#currentLine()} refer to the record being processed rather than
+	 * to the last record parsed.
+	 *
+	 * @return the context of the record being processed, or {@code null} if processing has not started yet.
+	 */
+	public ParsingContext getContext() {
+		return rowContext;
+	}
+
+	@Override
+	public void processStarted(ParsingContext context) {
+		rowContext = new ParsingContextWrapper(context) {
+			@Override
+			public long currentRecord() {
+				return currentRecord;
+			}
+
+			@Override
+			public long currentLine() {
+				return lineIndexes == null ? super.currentLine() : lineIndexes[currentRow];
+			}
+		};
+		rowProcessor.processStarted(context);
+	}
+
+	@Override
+	public void batchProcessed(String[][] rows, int rowCount, ParsingContext context) {
+		currentRecord = context.currentRecord() - rowCount;
+		for (int i = 0; i < rowCount; i++) {
+			currentRecord++;
+			currentRow = i;
+			if (errorHandler == null) {
+				rowProcessor.rowProcessed(rows[i], rowContext);
+				continue;
+			}
+			try {
+				rowProcessor.rowProcessed(rows[i], rowContext);
+			} catch (DataProcessingException ex) {
+				errorHandler.handleError(ex, rows[i], rowContext);
+			}
+		}
+	}
+
+	@Override
+	public void processEnded(ParsingContext context) {
+		rowProcessor.processEnded(context);
+	}
+}
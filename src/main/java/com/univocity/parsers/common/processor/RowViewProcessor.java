@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A callback interface to handle records parsed by any parser that extends {@link AbstractParser} through a reusable {@link RowView},
+ * without creating a {@code String} for each parsed value nor a {@code String[]} for each record.
+ *
+ * <p>When a RowViewProcessor is defined with {@link CommonParserSettings#setRowViewProcessor(RowViewProcessor)}, it replaces the {@link com.univocity.parsers.common.processor.core.Processor}
+ * of the parser settings. Records parsed with {@link AbstractParser#parse(java.io.Reader)} are delivered only as views. Records returned by
+ * {@link AbstractParser#parseNext()} are materialized into a {@code String[]}, and are also delivered to this processor.
+ *
+ * <p>This is intended for filtering and aggregation workloads, where most values are inspected or converted to primitives, but never retained.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see RowView
+ * @see CommonParserSettings#setRowViewProcessor(RowViewProcessor)
+ */
+public interface RowViewProcessor {
+
+	/**
+	 * This method will by invoked by the parser once, when it is ready to start processing the input.
+	 *
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void processStarted(ParsingContext context);
+
+	/**
+	 * Invoked by the parser after all values of a valid record have been processed.
+	 *
+	 * @param row     a view over the values of the current record. The view is reused by the parser and is only valid until this method returns.
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void rowProcessed(RowView row, ParsingContext context);
+
+	/**
+	 * This method will by invoked by the parser once, after the parsing process stopped and all resources were closed.
+	 * <p> It will always be called by the parser: in case of errors, if the end of the input us reached, or if the user stopped the process manually using {@link ParsingContext#stop()}.
+	 *
+	 * @param context A contextual object with information and controls over the current state of the parsing process
+	 */
+	void processEnded(ParsingContext context);
+}
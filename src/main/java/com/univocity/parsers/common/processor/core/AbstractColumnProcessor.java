@@ -27,7 +27,8 @@ import java.util.*;
  * {@link #getColumnValuesAsMapOfIndexes()} and {@link #getColumnValuesAsMapOfNames()}. </p>
  *
  *
- * <p><b>Note:</b> Storing the values of all columns may be memory intensive. For large inputs, use a {@link AbstractBatchedColumnProcessor} instead</p>
+ * <p><b>Note:</b> Storing the values of all columns may be memory intensive. For large inputs, use a {@link AbstractBatchedColumnProcessor} instead,
+ * or enable compact storage with {@link #setCompactStorageEnabled(boolean)}</p>
  *
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  *
@@ -107,4 +108,53 @@ public abstract class AbstractColumnProcessor<T extends Context> implements Proc
 	public List<String> getColumn(int columnIndex) {
 		return splitter.getColumnValues(columnIndex, String.class);
 	}
+
+	/**
+	 * Indicates whether the values of each column are stored in compact {@link ColumnVector}s (defaults to {@code false}).
+	 *
+	 * @return a flag indicating whether compact storage is enabled.
+	 */
+	public boolean isCompactStorageEnabled() {
+		return splitter.isCompactStorageEnabled();
+	}
+
+	/**
+	 * Defines whether the values of each column should be stored in compact {@link ColumnVector}s (defaults to {@code false}).
+	 * Strings repeated across rows are stored only once per column.
+	 * Use {@link #getColumnVector(int)} to read values without boxing them.
+	 *
+	 * @param compactStorageEnabled flag indicating whether compact storage should be enabled.
+	 */
+	public void setCompactStorageEnabled(boolean compactStorageEnabled) {
+		splitter.setCompactStorageEnabled(compactStorageEnabled);
+	}
+
+	/**
+	 * Returns the {@link ColumnVector} with the values of a given column. Only available when compact storage is enabled
+	 * with {@link #setCompactStorageEnabled(boolean)}.
+	 * @param columnIndex the position of the column in the input (0-based).
+	 * @return the values of the given column
+	 */
+	public ColumnVector<String> getColumnVector(int columnIndex) {
+		return splitter.getColumnVector(columnIndex);
+	}
+
+	/**
+	 * Returns the {@link ColumnVector} with the values of a given column. Only available when compact storage is enabled
+	 * with {@link #setCompactStorageEnabled(boolean)}.
+	 * @param columnName the name of the column in the input.
+	 * @return the values of the given column
+	 */
+	public ColumnVector<String> getColumnVector(String columnName) {
+		return splitter.getColumnVector(columnName);
+	}
+
+	/**
+	 * Returns a map of column indexes and the {@link ColumnVector}s with their respective values parsed from the input. Only available
+	 * when compact storage is enabled with {@link #setCompactStorageEnabled(boolean)}.
+	 * @return a map of column indexes and their respective values.
+	 */
+	public Map<Integer, ColumnVector<String>> getColumnVectorsAsMapOfIndexes() {
+		return splitter.getColumnVectorsAsMapOfIndexes();
+	}
 }
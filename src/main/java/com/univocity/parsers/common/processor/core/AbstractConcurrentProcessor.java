@@ -16,7 +16,9 @@
 package com.univocity.parsers.common.processor.core;
 
 import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.input.concurrent.*;
 
+import java.util.*;
 import java.util.concurrent.*;
 
 /**
@@ -28,43 +30,53 @@ import java.util.concurrent.*;
  * state of the parser at the time the row as generated, but the current state of the parser instead. You can enable the
  * {@link #contextCopyingEnabled} flag to generate copies of the {@link Context} at the time each row was generated.
  *
+ * <p>Rows can also be distributed among multiple worker threads. In this case every row is sent along with a copy of the {@link Context}
+ * at the time the row was generated, and each worker uses its own {@link Processor} if one instance per worker is provided.
+ * Each batch of {@link #getBatchSize()} rows is processed by a single worker. Workers running a {@link StagedProcessor} prepare rows
+ * in parallel and hand the results over one at a time, in the same order the rows were parsed unless
+ * {@link #setOrderedProcessingEnabled(boolean)} is disabled.</p>
+ *
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
  * @see AbstractParser
  * @see Processor
  */
 public abstract class AbstractConcurrentProcessor<T extends Context> implements Processor<T> {
 
-	private final Processor processor;
+	private final Processor<T>[] processors;
+	private final List<Processor<T>> distinctProcessors;
 
 	private boolean ended = false;
 
-	private static class Node<T> {
-		public Node(String[] row, T context) {
-			this.row = row;
-			this.context = context;
-		}
+	/**
+	 * The default number of rows handed over to the processing thread at once: each row is handed over as soon as it is parsed.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1;
 
-		public final T context;
-		public final String[] row;
-		public Node next;
-	}
+	/**
+	 * The maximum number of rows kept in memory when no limit is provided.
+	 */
+	public static final int DEFAULT_CAPACITY = 16384;
 
-	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final ExecutorService executor;
 	private volatile long rowCount;
 
-	private Future<Void> process;
-
 	private T currentContext;
-	private Node<T> inputQueue;
-	private volatile Node<T> outputQueue;
 	private final int limit;
-	private volatile long input;
-	private volatile long output;
-	private final Object lock;
 	private boolean contextCopyingEnabled = false;
+	private WaitStrategy waitStrategy = WaitStrategy.PARK;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private boolean orderedProcessingEnabled = true;
+
+	private RowBatchRing ring;
+	private RowBatchRing.Batch batch;
+	private List<Future<Void>> workers;
+	private volatile boolean failed;
+	private final Object turn = new Object();
+	private long nextToDeliver;
 
 	/**
-	 * Creates a non-blocking {@code AbstractConcurrentProcessor}, to perform processing of rows parsed from the input in a separate thread.
+	 * Creates an {@code AbstractConcurrentProcessor}, to perform processing of rows parsed from the input in a separate thread.
+	 * Up to {@link #DEFAULT_CAPACITY} rows are kept in memory before blocking the input parsing process.
 	 *
 	 * @param processor a regular {@link Processor} implementation which will be executed in a separate thread.
 	 */
@@ -77,18 +89,117 @@ public abstract class AbstractConcurrentProcessor<T extends Context> implements
 	 *
 	 * @param processor a regular {@link Processor} implementation which will be executed in a separate thread.
 	 * @param limit     the limit of rows to be kept in memory before blocking the input parsing process.
+	 *                  Values smaller than 2 select the {@link #DEFAULT_CAPACITY}.
 	 */
 	public AbstractConcurrentProcessor(Processor<T> processor, int limit) {
-		if (processor == null) {
+		this(processor, limit, 1);
+	}
+
+	/**
+	 * Creates a {@code ConcurrentProcessor} that distributes the rows parsed from the input among multiple worker threads.
+	 *
+	 * <p>All workers share the given {@link Processor}, so its {@link Processor#rowProcessed(String[], Context)} method
+	 * must be thread-safe. Instances of {@link StagedProcessor} or {@link DefaultConversionProcessor} can't be shared among workers
+	 * when {@code workerCount > 1}: use {@link #AbstractConcurrentProcessor(List, int)} to provide one processor per worker instead.</p>
+	 *
+	 * <p><b>Note:</b> while {@link #isOrderedProcessingEnabled()} evaluates to {@code true} (the default), a processor that is not a
+	 * {@link StagedProcessor} is invoked by one worker at a time, in the order rows were parsed, so multiple workers won't process rows
+	 * in parallel. Disable it with {@link #setOrderedProcessingEnabled(boolean)} to let all workers invoke the processor concurrently.</p>
+	 *
+	 * @param processor   a regular {@link Processor} implementation which will be executed by the worker threads.
+	 * @param limit       the limit of rows to be kept in memory before blocking the input parsing process.
+	 * @param workerCount the number of worker threads that process rows.
+	 */
+	public AbstractConcurrentProcessor(Processor<T> processor, int limit, int workerCount) {
+		this(repeat(processor, workerCount), limit);
+	}
+
+	/**
+	 * Creates a {@code ConcurrentProcessor} that distributes the rows parsed from the input among multiple worker threads,
+	 * one for each of the given {@link Processor} instances. The same instance can be given more than once, as long as it is
+	 * not a {@link StagedProcessor} or a {@link DefaultConversionProcessor}, as these prepare rows in ways that are not thread-safe.
+	 *
+	 * <p><b>Note:</b> only {@link StagedProcessor}s prepare rows in parallel while {@link #isOrderedProcessingEnabled()} evaluates to
+	 * {@code true} (the default). Other processors are invoked by one worker at a time, in the order rows were parsed.</p>
+	 *
+	 * @param processors the {@link Processor} used by each worker thread.
+	 * @param limit      the limit of rows to be kept in memory before blocking the input parsing process.
+	 */
+	public AbstractConcurrentProcessor(List<? extends Processor<T>> processors, int limit) {
+		if (processors == null || processors.isEmpty()) {
 			throw new IllegalArgumentException("Row processor cannot be null");
 		}
-		this.processor = processor;
-		input = 0;
-		output = 0;
-		lock = new Object();
+		this.processors = toArray(processors);
+		this.distinctProcessors = new ArrayList<Processor<T>>();
+		for (Processor<T> processor : this.processors) {
+			if (processor == null) {
+				throw new IllegalArgumentException("Row processor cannot be null");
+			}
+			boolean found = false;
+			for (Processor<T> existing : distinctProcessors) {
+				found |= existing == processor;
+			}
+			if (!found) {
+				distinctProcessors.add(processor);
+			} else if (processor instanceof StagedProcessor || processor instanceof DefaultConversionProcessor) {
+				throw new IllegalArgumentException("Instances of " + processor.getClass().getName() + " can't be shared among workers. Provide one processor per worker");
+			}
+		}
+		this.executor = this.processors.length == 1 ? Executors.newSingleThreadExecutor() : Executors.newFixedThreadPool(this.processors.length);
 		this.limit = limit;
 	}
 
+	@SuppressWarnings("unchecked")
+	private static <T extends Context> Processor<T>[] toArray(List<? extends Processor<T>> processors) {
+		return (Processor<T>[]) processors.toArray(new Processor<?>[0]);
+	}
+
+	private static <T extends Context> List<Processor<T>> repeat(Processor<T> processor, int workerCount) {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("Number of workers must be positive. Got " + workerCount);
+		}
+		return Collections.nCopies(workerCount, processor);
+	}
+
+	/**
+	 * Returns the number of worker threads that process rows.
+	 *
+	 * @return the number of worker threads used by this processor.
+	 */
+	public int getWorkerCount() {
+		return processors.length;
+	}
+
+	/**
+	 * Indicates whether rows processed by multiple workers are handed over to the wrapped {@link Processor} in the same order they were
+	 * parsed. Has no effect when a single worker is used, as rows are then always processed in order.
+	 *
+	 * Defaults to {@code true}
+	 *
+	 * @return a flag indicating whether rows are processed in the order they were parsed.
+	 */
+	public boolean isOrderedProcessingEnabled() {
+		return orderedProcessingEnabled;
+	}
+
+	/**
+	 * Defines whether rows processed by multiple workers are handed over to the wrapped {@link Processor} in the same order they were
+	 * parsed.
+	 *
+	 * <p> When enabled, workers running a {@link StagedProcessor} prepare rows in parallel, and results that are ready before the results of
+	 * preceding rows are held in memory until they can be passed to {@link StagedProcessor#preparedRowProcessed(Object, Context)} in order.
+	 * Other processors are invoked one row at a time, in order, so they won't benefit from multiple workers.
+	 * When disabled, {@link StagedProcessor#preparedRowProcessed(Object, Context)} is still invoked one row at a time, while
+	 * {@link Processor#rowProcessed(String[], Context)} of other processors is invoked concurrently by all workers.</p>
+	 *
+	 * Defaults to {@code true}
+	 *
+	 * @param orderedProcessingEnabled flag indicating whether rows should be processed in order.
+	 */
+	public void setOrderedProcessingEnabled(boolean orderedProcessingEnabled) {
+		this.orderedProcessingEnabled = orderedProcessingEnabled;
+	}
+
 	/**
 	 * Indicates whether this processor should persist the {@link Context} object that is sent to the wrapped {@link Processor}
 	 * given in the constructor of this class, so all methods of {@link Context} reflect the parser state at the time
@@ -117,103 +228,284 @@ public abstract class AbstractConcurrentProcessor<T extends Context> implements
 		this.contextCopyingEnabled = contextCopyingEnabled;
 	}
 
-	@Override
-	public final void processStarted(T context) {
-		currentContext = wrapContext(context);
+	/**
+	 * Returns how the parsing thread and the processing thread wait for each other when the rows kept in memory reach the limit,
+	 * or when there are no rows to process.
+	 *
+	 * Defaults to {@link WaitStrategy#PARK}
+	 *
+	 * @return the wait strategy used to hand rows over to the processing thread.
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
 
-		processor.processStarted(currentContext);
+	/**
+	 * Defines how the parsing thread and the processing thread wait for each other when the rows kept in memory reach the limit,
+	 * or when there are no rows to process.
+	 *
+	 * <p>{@link WaitStrategy#SPIN} and {@link WaitStrategy#YIELD} reduce the latency of each hand-off at the cost of keeping a processor
+	 * busy while waiting.</p>
+	 *
+	 * Defaults to {@link WaitStrategy#PARK}
+	 *
+	 * @param waitStrategy the wait strategy used to hand rows over to the processing thread.
+	 */
+	public void setWaitStrategy(WaitStrategy waitStrategy) {
+		if (waitStrategy == null) {
+			throw new IllegalArgumentException("Wait strategy cannot be null");
+		}
+		this.waitStrategy = waitStrategy;
+	}
 
-		startProcess();
+	/**
+	 * Returns the number of rows collected from the parser before they are handed over to the processing thread at once.
+	 *
+	 * Defaults to {@link #DEFAULT_BATCH_SIZE}
+	 *
+	 * @return the number of rows in each hand-off.
+	 */
+	public int getBatchSize() {
+		return batchSize;
 	}
 
-	private void startProcess() {
-		ended = false;
-		rowCount = 0;
+	/**
+	 * Defines the number of rows collected from the parser before they are handed over to the processing thread at once. When
+	 * multiple workers are used, each batch is processed by a single worker. Batches are never larger than the limit of rows kept in memory.
+	 *
+	 * <p>Larger batches reduce the synchronization overhead of each hand-off, which improves the throughput when rows are parsed faster
+	 * than they can be handed over one by one (e.g. a few hundred rows per batch for inputs read from memory or from local files).
+	 * However, a batch is only handed over once it is full or the input ends, so its rows are not processed until the parser produces
+	 * the rows that complete it. With slow or streaming inputs, such as data arriving over a network connection, rows may then wait
+	 * for a long time before they are processed.</p>
+	 *
+	 * Defaults to {@link #DEFAULT_BATCH_SIZE}
+	 *
+	 * @param batchSize the number of rows in each hand-off.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive. Got " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
 
-		process = executor.submit(new Callable<Void>() {
+	/**
+	 * Returns the number of rows handed over by the parser that are waiting to be processed, or are being processed.
+	 *
+	 * @return the number of rows currently kept in memory.
+	 */
+	public long getOccupancy() {
+		return ring == null ? 0 : ring.getOccupancy();
+	}
 
-			@Override
-			public Void call() {
-				while (outputQueue == null && !ended) {
-					Thread.yield();
-				}
+	/**
+	 * Returns the largest number of rows kept in memory at once since the parsing process started.
+	 *
+	 * @return the peak number of rows waiting to be processed.
+	 */
+	public long getPeakOccupancy() {
+		return ring == null ? 0 : ring.getPeakOccupancy();
+	}
 
-				while (!ended) {
-					rowCount++;
+	/**
+	 * Returns how many times the parser had to wait for rows to be processed because the limit of rows kept in memory was reached.
+	 *
+	 * @return the number of times the parsing process was blocked.
+	 */
+	public long getProducerStallCount() {
+		return ring == null ? 0 : ring.getProducerStalls();
+	}
+
+	/**
+	 * Returns the total time the parser spent waiting for rows to be processed because the limit of rows kept in memory was reached.
+	 *
+	 * @return the time the parsing process was blocked, in nanoseconds.
+	 */
+	public long getProducerStallNanos() {
+		return ring == null ? 0 : ring.getProducerStallNanos();
+	}
+
+	/**
+	 * Returns how many times the processing thread(s) had to wait for rows to be handed over by the parser.
+	 *
+	 * @return the number of times there were no rows to process.
+	 */
+	public long getConsumerStallCount() {
+		return ring == null ? 0 : ring.getConsumerStalls();
+	}
+
+	@Override
+	public final void processStarted(T context) {
+		currentContext = wrapContext(context);
 
+		for (Processor<T> processor : distinctProcessors) {
+			processor.processStarted(currentContext);
+		}
+
+		startWorkers();
+	}
 
-					processor.rowProcessed(outputQueue.row, outputQueue.context);
-					while (outputQueue.next == null) {
-						if (ended && outputQueue.next == null) {
-							return null;
+	private void startWorkers() {
+		ended = false;
+		failed = false;
+		rowCount = 0;
+		nextToDeliver = 0;
+
+		int capacity = limit > 1 ? limit : DEFAULT_CAPACITY;
+		int size = Math.min(batchSize, capacity);
+		ring = new RowBatchRing(size, Math.max(1, capacity / size), waitStrategy);
+		batch = null;
+
+		workers = new ArrayList<Future<Void>>(processors.length);
+		for (final Processor<T> worker : processors) {
+			workers.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() {
+					boolean completed = false;
+					try {
+						RowBatchRing.Batch batch;
+						while (!failed && (batch = ring.take()) != null) {
+							process(worker, batch);
 						}
-						Thread.yield();
-					}
-					outputQueue = outputQueue.next;
-					output++;
-					if (limit > 1) {
-						synchronized (lock) {
-							lock.notify();
+						completed = true;
+					} finally {
+						if (!completed) {
+							// stops the other workers. The error is reported to the parser once it finds the ring closed.
+							failed = true;
 						}
+						ring.close();
 					}
+					return null;
 				}
+			}));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T context(RowBatchRing.Batch batch, int i) {
+		return (T) batch.contexts[i];
+	}
 
-				while (outputQueue != null) {
+	private void process(Processor<T> worker, RowBatchRing.Batch batch) {
+		if (processors.length == 1) {
+			// a single worker takes every batch in order, so rows are handed to the processor directly.
+			try {
+				for (int i = 0; i < batch.size; i++) {
 					rowCount++;
-					processor.rowProcessed(outputQueue.row, outputQueue.context);
-					outputQueue = outputQueue.next;
+					worker.rowProcessed(batch.rows[i], context(batch, i));
 				}
-
-				return null;
+			} finally {
+				ring.release(batch);
 			}
+			return;
+		}
 
-		});
-	}
+		if (worker instanceof StagedProcessor) {
+			StagedProcessor<T> staged = (StagedProcessor<T>) worker;
+			if (batch.prepared == null) {
+				batch.prepared = new Object[batch.rows.length];
+			}
+			for (int i = 0; i < batch.size; i++) {
+				batch.prepared[i] = staged.prepareRow(batch.rows[i], context(batch, i));
+			}
+		} else if (!orderedProcessingEnabled) {
+			for (int i = 0; i < batch.size; i++) {
+				worker.rowProcessed(batch.rows[i], context(batch, i));
+			}
+			synchronized (turn) {
+				rowCount += batch.size;
+			}
+			ring.release(batch);
+			return;
+		}
+		batch.processor = worker;
 
-	@Override
-	public final void rowProcessed(String[] row, T context) {
-		if (inputQueue == null) {
-			inputQueue = new Node(row, grabContext(context));
-			outputQueue = inputQueue;
-		} else {
-			if (limit > 1) {
-				synchronized (lock) {
-					try {
-						if (input - output >= limit) {
-							lock.wait();
-						}
-					} catch (InterruptedException e) {
-						ended = true;
-						Thread.currentThread().interrupt();
-						return;
-					}
-				}
+		synchronized (turn) {
+			if (!orderedProcessingEnabled) {
+				deliver(batch);
+				ring.release(batch);
+				return;
+			}
+			// batches that complete ahead of their turn stay in the ring until all preceding batches are delivered.
+			batch.ready = true;
+			RowBatchRing.Batch next;
+			while (!failed && (next = ring.get(nextToDeliver)) != null && next.ready) {
+				nextToDeliver++;
+				deliver(next);
+				ring.release(next);
 			}
-			inputQueue.next = new Node(row, grabContext(context));
-			inputQueue = inputQueue.next;
 		}
-		input++;
 	}
 
-	@Override
-	public final void processEnded(T context) {
-		ended = true;
-		if (limit > 1) {
-			synchronized (lock) {
-				lock.notify();
+	@SuppressWarnings("unchecked")
+	private void deliver(RowBatchRing.Batch batch) {
+		if (batch.processor instanceof StagedProcessor) {
+			StagedProcessor<T> staged = (StagedProcessor<T>) batch.processor;
+			for (int i = 0; i < batch.size; i++) {
+				if (batch.prepared[i] != null) {
+					rowCount++;
+					staged.preparedRowProcessed(batch.prepared[i], context(batch, i));
+				}
+			}
+		} else {
+			Processor<T> processor = (Processor<T>) batch.processor;
+			for (int i = 0; i < batch.size; i++) {
+				rowCount++;
+				processor.rowProcessed(batch.rows[i], context(batch, i));
 			}
 		}
+	}
 
+	private void awaitWorkers() {
 		try {
-			process.get();
+			for (Future<Void> worker : workers) {
+				worker.get();
+			}
 		} catch (ExecutionException e) {
 			throw new DataProcessingException("Error executing process", e);
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public final void rowProcessed(String[] row, T context) {
+		if (ended) {
+			return;
+		}
+		if (batch == null) {
+			batch = failed ? null : ring.claim();
+			if (batch == null) {
+				// the ring is only closed before the input ends when a worker fails: stop parsing instead of discarding the remaining input.
+				ended = true;
+				ring.close();
+				awaitWorkers();
+				return;
+			}
+		}
+		if (batch.add(row, processors.length == 1 ? grabContext(context) : copyContext(context))) {
+			batch = null;
+			ring.publish();
+		}
+	}
+
+	@Override
+	public final void processEnded(T context) {
+		ended = true;
+		try {
+			if (batch != null) {
+				batch = null;
+				ring.publish();
+			}
+			ring.close();
+			awaitWorkers();
 		} finally {
 			try {
-				processor.processEnded(grabContext(context));
-			} finally{
+				for (Processor<T> processor : distinctProcessors) {
+					processor.processEnded(grabContext(context));
+				}
+			} finally {
 				executor.shutdown();
 			}
 		}
@@ -31,7 +31,8 @@ import java.util.*;
  * <p> At the end of the process, the user can access the lists with values parsed for all columns using the methods {@link #getColumnValuesAsList()},
  * {@link #getColumnValuesAsMapOfIndexes()} and {@link #getColumnValuesAsMapOfNames()}. </p>
  *
- * <p><b>Note:</b> Storing the values of all columns may be memory intensive. For large inputs, use a {@link AbstractBatchedObjectColumnProcessor} instead</p>
+ * <p><b>Note:</b> Storing the values of all columns may be memory intensive. For large inputs, use a {@link AbstractBatchedObjectColumnProcessor} instead,
+ * or enable compact storage with {@link #setCompactStorageEnabled(boolean)}</p>
  *
  * @see AbstractParser
  * @see Processor
@@ -134,4 +135,53 @@ public abstract class AbstractObjectColumnProcessor<T extends Context> extends A
 	public List<Object> getColumn(int columnIndex) {
 		return splitter.getColumnValues(columnIndex, Object.class);
 	}
+
+	/**
+	 * Indicates whether the values of each column are stored in compact {@link ColumnVector}s (defaults to {@code false}).
+	 *
+	 * @return a flag indicating whether compact storage is enabled.
+	 */
+	public boolean isCompactStorageEnabled() {
+		return splitter.isCompactStorageEnabled();
+	}
+
+	/**
+	 * Defines whether the values of each column should be stored in compact {@link ColumnVector}s (defaults to {@code false}).
+	 * Values converted to integers, longs, doubles or booleans are stored in arrays of primitives, and strings are dictionary-encoded.
+	 * Use {@link #getColumnVector(int)} to read values without boxing them.
+	 *
+	 * @param compactStorageEnabled flag indicating whether compact storage should be enabled.
+	 */
+	public void setCompactStorageEnabled(boolean compactStorageEnabled) {
+		splitter.setCompactStorageEnabled(compactStorageEnabled);
+	}
+
+	/**
+	 * Returns the {@link ColumnVector} with the values of a given column. Only available when compact storage is enabled
+	 * with {@link #setCompactStorageEnabled(boolean)}.
+	 * @param columnIndex the position of the column in the input (0-based).
+	 * @return the values of the given column
+	 */
+	public ColumnVector<Object> getColumnVector(int columnIndex) {
+		return splitter.getColumnVector(columnIndex);
+	}
+
+	/**
+	 * Returns the {@link ColumnVector} with the values of a given column. Only available when compact storage is enabled
+	 * with {@link #setCompactStorageEnabled(boolean)}.
+	 * @param columnName the name of the column in the input.
+	 * @return the values of the given column
+	 */
+	public ColumnVector<Object> getColumnVector(String columnName) {
+		return splitter.getColumnVector(columnName);
+	}
+
+	/**
+	 * Returns a map of column indexes and the {@link ColumnVector}s with their respective values parsed from the input. Only available
+	 * when compact storage is enabled with {@link #setCompactStorageEnabled(boolean)}.
+	 * @return a map of column indexes and their respective values.
+	 */
+	public Map<Integer, ColumnVector<Object>> getColumnVectorsAsMapOfIndexes() {
+		return splitter.getColumnVectorsAsMapOfIndexes();
+	}
 }
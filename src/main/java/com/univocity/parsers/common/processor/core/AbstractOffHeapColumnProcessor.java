@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import com.univocity.parsers.common.*;
+
+import java.util.*;
+
+/**
+ * A {@link Processor} implementation that stores values of columns in batches, like {@link AbstractBatchedColumnProcessor}, and writes each
+ * batch into direct {@link java.nio.ByteBuffer}s allocated outside of the Java heap, in a columnar layout similar to the variable-size binary
+ * layout of Apache Arrow. Refer to {@link OffHeapColumn} for a description of the buffers produced for each column.
+ *
+ * <p> During the execution of the process, the {@link #columnsProcessed(List, int)} method will be invoked after a given number of rows has
+ * been processed, with one {@link OffHeapColumn} per column of the batch.</p>
+ * <p> The buffers of each column are allocated once and reused for every batch, growing only when a batch does not fit. Their contents
+ * are only valid until {@link #columnsProcessed(List, int)} returns.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ *
+ * @see AbstractParser
+ * @see OffHeapColumn
+ * @see AbstractBatchedColumnProcessor
+ */
+public abstract class AbstractOffHeapColumnProcessor<T extends Context> extends AbstractBatchedColumnProcessor<T> {
+
+	private final List<OffHeapColumn> columns = new ArrayList<OffHeapColumn>();
+	private final List<OffHeapColumn> columnsInBatch = new ArrayList<OffHeapColumn>();
+
+	/**
+	 * Constructs an off-heap column processor configured to invoke the {@link #columnsProcessed(List, int)} method after a given number
+	 * of rows has been processed.
+	 *
+	 * @param rowsPerBatch the number of rows to process in each batch.
+	 */
+	public AbstractOffHeapColumnProcessor(int rowsPerBatch) {
+		super(rowsPerBatch);
+	}
+
+	@Override
+	public void processStarted(T context) {
+		super.processStarted(context);
+		columnsInBatch.clear();
+	}
+
+	/**
+	 * Writes the values of all columns collected in the current batch into their off-heap buffers, then invokes
+	 * {@link #columnsProcessed(List, int)}.
+	 *
+	 * @param rowsInThisBatch the number of rows processed in the current batch
+	 */
+	@Override
+	public final void batchProcessed(int rowsInThisBatch) {
+		List<List<String>> values = getColumnValuesAsList();
+		String[] headers = getHeaders();
+
+		columnsInBatch.clear();
+		for (int i = 0; i < values.size(); i++) {
+			if (i == columns.size()) {
+				columns.add(new OffHeapColumn(i, getRowsPerBatch()));
+			}
+			OffHeapColumn column = columns.get(i);
+			column.write(headers != null && i < headers.length ? headers[i] : null, values.get(i), rowsInThisBatch);
+			columnsInBatch.add(column);
+		}
+
+		columnsProcessed(Collections.unmodifiableList(columnsInBatch), rowsInThisBatch);
+	}
+
+	/**
+	 * Returns the off-heap columns written for the last batch processed.
+	 *
+	 * @return an unmodifiable list with the columns of the last batch, which is empty if no batch has been processed yet.
+	 */
+	public final List<OffHeapColumn> getOffHeapColumns() {
+		return Collections.unmodifiableList(columnsInBatch);
+	}
+
+	/**
+	 * Callback to the user, where the buffers of each column of a batch can be consumed. The buffers are reused in the next batch
+	 * and must not be accessed after this method returns.
+	 *
+	 * @param columns         the columns of the batch, in the order they appear in the input.
+	 * @param rowsInThisBatch the number of rows processed in the current batch
+	 */
+	public abstract void columnsProcessed(List<OffHeapColumn> columns, int rowsInThisBatch);
+
+}
@@ -42,6 +42,7 @@ class ColumnSplitter<T> {
 	private int expectedRowCount = 1000;
 	private long rowCount;
 	private long addNullsFrom;
+	private boolean compactStorageEnabled;
 
 	/**
 	 * Creates a splitter allocating a space for a give number of expected rows to be read
@@ -54,6 +55,22 @@ class ColumnSplitter<T> {
 		this.expectedRowCount = expectedRowCount;
 	}
 
+	/**
+	 * Indicates whether column values are stored in arrays of primitives or dictionaries whenever possible.
+	 * @return a flag indicating whether {@link ColumnVector}s are created with compact storage enabled.
+	 */
+	boolean isCompactStorageEnabled() {
+		return compactStorageEnabled;
+	}
+
+	/**
+	 * Defines whether column values should be stored in arrays of primitives or dictionaries whenever possible.
+	 * @param compactStorageEnabled a flag indicating whether {@link ColumnVector}s should be created with compact storage enabled.
+	 */
+	void setCompactStorageEnabled(boolean compactStorageEnabled) {
+		this.compactStorageEnabled = compactStorageEnabled;
+	}
+
 	/**
 	 * Removes any column values previously processed
 	 */
@@ -146,7 +163,8 @@ class ColumnSplitter<T> {
 			int columnsToAdd = row.length - columnValues.size();
 			while (columnsToAdd-- > 0) {
 				long records = context.currentRecord() - addNullsFrom;
-				ArrayList<T> values = new ArrayList<T>(expectedRowCount < records ? (int) records : expectedRowCount);
+				int initialCapacity = expectedRowCount < records ? (int) records : expectedRowCount;
+				List<T> values = compactStorageEnabled ? new ColumnVector<T>(initialCapacity, true) : new ArrayList<T>(initialCapacity);
 
 				//adding nulls to the values of a new row with more columns than parsed before.
 				//this ensures all columns will have the same number of values.
@@ -197,13 +215,64 @@ class ColumnSplitter<T> {
 	 * @return a list with all data  stored in the given column
 	 */
 	<V> List<V> getColumnValues(int columnIndex, Class<V> columnType){
+		return (List<V>) getColumn(columnIndex);
+	}
+
+	private List<T> getColumn(int columnIndex) {
 		if(columnIndex < 0){
 			throw new IllegalArgumentException("Column index must be positive");
 		}
 		if(columnIndex >= columnValues.size()){
 			throw new IllegalArgumentException("Column index must be less than " + columnValues.size() +". Got " + columnIndex);
 		}
-		return (List<V>) columnValues.get(columnIndex);
+		return columnValues.get(columnIndex);
+	}
+
+	private int getColumnIndex(String columnName) {
+		int index = ArgumentUtils.indexOf(headers, columnName);
+		if(index == -1){
+			throw new IllegalArgumentException("No column named '" + columnName +"' has been found. Available column headers: " + Arrays.toString(headers));
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the {@link ColumnVector} with the values of a given column. Only available when compact storage is enabled.
+	 * @param columnIndex the position of the column in the input (0-based).
+	 * @return the vector with all data stored in the given column
+	 */
+	ColumnVector<T> getColumnVector(int columnIndex) {
+		return toColumnVector(getColumn(columnIndex));
+	}
+
+	/**
+	 * Returns the {@link ColumnVector} with the values of a given column. Only available when compact storage is enabled.
+	 * @param columnName the name of the column in the input.
+	 * @return the vector with all data stored in the given column
+	 */
+	ColumnVector<T> getColumnVector(String columnName) {
+		return toColumnVector(getColumn(getColumnIndex(columnName)));
+	}
+
+	/**
+	 * Returns a map of column indexes and their respective {@link ColumnVector}s. Only available when compact storage is enabled.
+	 * @return a map of column indexes and the vectors with their values.
+	 */
+	Map<Integer, ColumnVector<T>> getColumnVectorsAsMapOfIndexes() {
+		Map<Integer, ColumnVector<T>> map = new HashMap<Integer, ColumnVector<T>>();
+		if (columnValues != null) {
+			for (int i = 0; i < columnValues.size(); i++) {
+				map.put(i, toColumnVector(columnValues.get(i)));
+			}
+		}
+		return map;
+	}
+
+	private ColumnVector<T> toColumnVector(List<T> values) {
+		if (values instanceof ColumnVector) {
+			return (ColumnVector<T>) values;
+		}
+		throw new IllegalStateException("Column vectors are only available when compact storage is enabled");
 	}
 
 	/**
@@ -214,11 +283,7 @@ class ColumnSplitter<T> {
 	 * @return a list with all data  stored in the given column
 	 */
 	<V> List<V> getColumnValues(String  columnName, Class<V> columnType){
-		int index = ArgumentUtils.indexOf(headers, columnName);
-		if(index == -1){
-			throw new IllegalArgumentException("No column named '" + columnName +"' has been found. Available column headers: " + Arrays.toString(headers));
-		}
-		return getColumnValues(index, columnType);
+		return getColumnValues(getColumnIndex(columnName), columnType);
 	}
 
 	/**
@@ -0,0 +1,527 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import java.util.*;
+
+/**
+ * A list with the values of a single column, as collected by the implementations of {@link ColumnReader}.
+ *
+ * <p>When compact storage is enabled, the type of the first non-null value added to the column selects how values are stored: {@link Integer},
+ * {@link Long} and {@link Double} values are kept in arrays of primitives, {@link Boolean} values in a bit set, and {@link String} values
+ * are dictionary-encoded, i.e. each distinct value is stored once and the column keeps an {@code int} code for each row. Null values are
+ * tracked in a separate bit set. If a value of a different type is added, or if most strings of the column are distinct, the column
+ * falls back to an array of objects.</p>
+ *
+ * <p>Values are boxed when read through the methods of {@link List}. Use {@link #getInt(int)}, {@link #getLong(int)}, {@link #getDouble(int)}
+ * and {@link #getBoolean(int)} along with {@link #isNull(int)} to read values without boxing.</p>
+ *
+ * <p>With compact storage, values can only be inserted at the end of the column. Removing values makes the column fall back to an array of objects.</p>
+ *
+ * @param <T> the type of values stored in the column.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see ColumnReader
+ */
+public final class ColumnVector<T> extends AbstractList<T> implements RandomAccess {
+
+	/**
+	 * The storage layouts used by a {@link ColumnVector}.
+	 */
+	public enum Storage {
+		/**
+		 * No non-null value was added to a column with compact storage yet.
+		 */
+		UNDEFINED,
+		/**
+		 * Values are stored in an {@code Object[]}.
+		 */
+		OBJECT,
+		/**
+		 * {@link Integer} values stored in an {@code int[]}.
+		 */
+		INT,
+		/**
+		 * {@link Long} values stored in a {@code long[]}.
+		 */
+		LONG,
+		/**
+		 * {@link Double} values stored in a {@code double[]}.
+		 */
+		DOUBLE,
+		/**
+		 * {@link Boolean} values stored in a bit set.
+		 */
+		BOOLEAN,
+		/**
+		 * {@link String} values stored once in a dictionary, with an {@code int} code for each row.
+		 */
+		DICTIONARY
+	}
+
+	/**
+	 * Number of values a dictionary-encoded column must have before its dictionary size is verified.
+	 */
+	static final int DICTIONARY_CHECK_THRESHOLD = 1024;
+
+	private Storage storage;
+	private int size;
+	private int capacity;
+
+	private Object[] objects;
+	private int[] ints;
+	private long[] longs;
+	private double[] doubles;
+	private long[] bits;
+	private long[] nulls;
+
+	private Map<T, Integer> codes;
+	private List<T> dictionary;
+
+	/**
+	 * Creates an empty column.
+	 *
+	 * @param expectedSize          the number of values to allocate space for.
+	 * @param compactStorageEnabled flag indicating whether values should be stored in arrays of primitives or dictionaries whenever possible.
+	 */
+	public ColumnVector(int expectedSize, boolean compactStorageEnabled) {
+		this.capacity = expectedSize <= 0 ? 10 : expectedSize;
+		if (compactStorageEnabled) {
+			storage = Storage.UNDEFINED;
+		} else {
+			storage = Storage.OBJECT;
+			objects = new Object[capacity];
+		}
+	}
+
+	/**
+	 * Returns how the values of this column are stored.
+	 *
+	 * @return the storage layout of this column.
+	 */
+	public Storage getStorage() {
+		return storage;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tests whether the value at a given position is {@code null}.
+	 *
+	 * @param index the position of the value in the column
+	 *
+	 * @return {@code true} if the value is {@code null}, otherwise {@code false}
+	 */
+	public boolean isNull(int index) {
+		checkIndex(index);
+		if (storage == Storage.OBJECT) {
+			return objects[index] == null;
+		}
+		return isSet(nulls, index);
+	}
+
+	/**
+	 * Returns the value at a given position as an {@code int}. Values of columns that don't use {@link Storage#INT} must be {@link Number}s.
+	 *
+	 * @param index the position of the value in the column
+	 *
+	 * @return the value at the given position, or {@code 0} if it is {@code null}.
+	 */
+	public int getInt(int index) {
+		if (storage == Storage.INT) {
+			checkIndex(index);
+			return ints[index];
+		}
+		Object value = get(index);
+		return value == null ? 0 : ((Number) value).intValue();
+	}
+
+	/**
+	 * Returns the value at a given position as a {@code long}. Values of columns that don't use {@link Storage#LONG} or {@link Storage#INT}
+	 * must be {@link Number}s.
+	 *
+	 * @param index the position of the value in the column
+	 *
+	 * @return the value at the given position, or {@code 0} if it is {@code null}.
+	 */
+	public long getLong(int index) {
+		if (storage == Storage.LONG) {
+			checkIndex(index);
+			return longs[index];
+		}
+		if (storage == Storage.INT) {
+			checkIndex(index);
+			return ints[index];
+		}
+		Object value = get(index);
+		return value == null ? 0L : ((Number) value).longValue();
+	}
+
+	/**
+	 * Returns the value at a given position as a {@code double}. Values of columns that don't use {@link Storage#DOUBLE}, {@link Storage#LONG}
+	 * or {@link Storage#INT} must be {@link Number}s.
+	 *
+	 * @param index the position of the value in the column
+	 *
+	 * @return the value at the given position, or {@code 0.0} if it is {@code null}.
+	 */
+	public double getDouble(int index) {
+		if (storage == Storage.DOUBLE) {
+			checkIndex(index);
+			return doubles[index];
+		}
+		if (storage == Storage.LONG || storage == Storage.INT) {
+			return getLong(index);
+		}
+		Object value = get(index);
+		return value == null ? 0.0 : ((Number) value).doubleValue();
+	}
+
+	/**
+	 * Returns the value at a given position as a {@code boolean}. Values of columns that don't use {@link Storage#BOOLEAN} must be {@link Boolean}s.
+	 *
+	 * @param index the position of the value in the column
+	 *
+	 * @return the value at the given position, or {@code false} if it is {@code null}.
+	 */
+	public boolean getBoolean(int index) {
+		if (storage == Storage.BOOLEAN) {
+			checkIndex(index);
+			return isSet(bits, index);
+		}
+		Object value = get(index);
+		return value == null ? false : (Boolean) value;
+	}
+
+	/**
+	 * Returns the dictionary code of the value at a given position of a column that uses {@link Storage#DICTIONARY}. The value
+	 * is the element of {@link #getDictionary()} at the returned position.
+	 *
+	 * @param index the position of the value in the column
+	 *
+	 * @return the position of the value in the dictionary, or {@code -1} if it is {@code null}.
+	 */
+	public int getDictionaryCode(int index) {
+		if (storage != Storage.DICTIONARY) {
+			throw new IllegalStateException("Column is not dictionary-encoded. Storage: " + storage);
+		}
+		checkIndex(index);
+		return isSet(nulls, index) ? -1 : ints[index];
+	}
+
+	/**
+	 * Returns the distinct values of a column that uses {@link Storage#DICTIONARY}, in the order they were first added.
+	 *
+	 * @return an unmodifiable list with the distinct values of the column.
+	 */
+	public List<T> getDictionary() {
+		if (storage != Storage.DICTIONARY) {
+			throw new IllegalStateException("Column is not dictionary-encoded. Storage: " + storage);
+		}
+		return Collections.unmodifiableList(dictionary);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		checkIndex(index);
+		switch (storage) {
+			case OBJECT:
+				return (T) objects[index];
+			case UNDEFINED:
+				return null;
+			default:
+				if (isSet(nulls, index)) {
+					return null;
+				}
+		}
+		switch (storage) {
+			case INT:
+				return (T) Integer.valueOf(ints[index]);
+			case LONG:
+				return (T) Long.valueOf(longs[index]);
+			case DOUBLE:
+				return (T) Double.valueOf(doubles[index]);
+			case BOOLEAN:
+				return (T) Boolean.valueOf(isSet(bits, index));
+			default:
+				return dictionary.get(ints[index]);
+		}
+	}
+
+	@Override
+	public boolean add(T value) {
+		if (size == capacity) {
+			grow();
+		}
+		size++;
+		store(size - 1, value);
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public void add(int index, T value) {
+		if (index == size) {
+			add(value);
+			return;
+		}
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		if (storage != Storage.OBJECT) {
+			throw new UnsupportedOperationException("Values can only be added to the end of a column with compact storage");
+		}
+		if (size == capacity) {
+			grow();
+		}
+		System.arraycopy(objects, index, objects, index + 1, size - index);
+		objects[index] = value;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public T set(int index, T value) {
+		T previous = get(index);
+		store(index, value);
+		return previous;
+	}
+
+	@Override
+	public T remove(int index) {
+		T previous = get(index);
+		if (storage != Storage.OBJECT) {
+			inflate();
+		}
+		System.arraycopy(objects, index + 1, objects, index, size - index - 1);
+		objects[--size] = null;
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		if (storage == Storage.OBJECT) {
+			Arrays.fill(objects, 0, size, null);
+		} else {
+			storage = Storage.UNDEFINED;
+			ints = null;
+			longs = null;
+			doubles = null;
+			bits = null;
+			nulls = null;
+			codes = null;
+			dictionary = null;
+		}
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		if (fromIndex == 0 && toIndex == size) {
+			clear();
+			return;
+		}
+		if (fromIndex >= toIndex) {
+			return;
+		}
+		if (storage != Storage.OBJECT) {
+			inflate();
+		}
+		System.arraycopy(objects, toIndex, objects, fromIndex, size - toIndex);
+		int newSize = size - (toIndex - fromIndex);
+		Arrays.fill(objects, newSize, size, null);
+		size = newSize;
+		modCount++;
+	}
+
+	private void store(int index, T value) {
+		if (storage == Storage.OBJECT) {
+			objects[index] = value;
+			return;
+		}
+		if (value == null) {
+			if (nulls == null) {
+				nulls = new long[bitSetLength(capacity)];
+			}
+			set(nulls, index, true);
+			clear(index);
+			return;
+		}
+		if (storage == Storage.UNDEFINED) {
+			defineStorage(value);
+		} else if (storage != storageOf(value)) {
+			inflate();
+			objects[index] = value;
+			return;
+		}
+		set(nulls, index, false);
+
+		switch (storage) {
+			case INT:
+				ints[index] = (Integer) value;
+				break;
+			case LONG:
+				longs[index] = (Long) value;
+				break;
+			case DOUBLE:
+				doubles[index] = (Double) value;
+				break;
+			case BOOLEAN:
+				set(bits, index, (Boolean) value);
+				break;
+			case DICTIONARY:
+				Integer code = codes.get(value);
+				if (code == null) {
+					code = dictionary.size();
+					codes.put(value, code);
+					dictionary.add(value);
+				}
+				ints[index] = code;
+				if (size >= DICTIONARY_CHECK_THRESHOLD && dictionary.size() > size / 2) {
+					inflate();
+				}
+				break;
+			default:
+				objects[index] = value;
+		}
+	}
+
+	private void clear(int index) {
+		switch (storage) {
+			case INT:
+			case DICTIONARY:
+				ints[index] = 0;
+				break;
+			case LONG:
+				longs[index] = 0L;
+				break;
+			case DOUBLE:
+				doubles[index] = 0.0;
+				break;
+			case BOOLEAN:
+				set(bits, index, false);
+				break;
+		}
+	}
+
+	private static Storage storageOf(Object value) {
+		Class<?> type = value.getClass();
+		if (type == Integer.class) {
+			return Storage.INT;
+		} else if (type == Long.class) {
+			return Storage.LONG;
+		} else if (type == Double.class) {
+			return Storage.DOUBLE;
+		} else if (type == Boolean.class) {
+			return Storage.BOOLEAN;
+		} else if (type == String.class) {
+			return Storage.DICTIONARY;
+		}
+		return Storage.OBJECT;
+	}
+
+	private void defineStorage(Object value) {
+		storage = storageOf(value);
+		switch (storage) {
+			case INT:
+				ints = new int[capacity];
+				break;
+			case LONG:
+				longs = new long[capacity];
+				break;
+			case DOUBLE:
+				doubles = new double[capacity];
+				break;
+			case BOOLEAN:
+				bits = new long[bitSetLength(capacity)];
+				break;
+			case DICTIONARY:
+				ints = new int[capacity];
+				codes = new HashMap<T, Integer>();
+				dictionary = new ArrayList<T>();
+				break;
+			default:
+				objects = new Object[capacity];
+				nulls = null;
+		}
+	}
+
+	private void inflate() {
+		Object[] values = new Object[capacity];
+		for (int i = 0; i < size; i++) {
+			values[i] = get(i);
+		}
+		objects = values;
+		storage = Storage.OBJECT;
+		ints = null;
+		longs = null;
+		doubles = null;
+		bits = null;
+		nulls = null;
+		codes = null;
+		dictionary = null;
+	}
+
+	private void grow() {
+		capacity = capacity + (capacity >> 1) + 1;
+		if (objects != null) {
+			objects = Arrays.copyOf(objects, capacity);
+		}
+		if (ints != null) {
+			ints = Arrays.copyOf(ints, capacity);
+		}
+		if (longs != null) {
+			longs = Arrays.copyOf(longs, capacity);
+		}
+		if (doubles != null) {
+			doubles = Arrays.copyOf(doubles, capacity);
+		}
+		if (bits != null) {
+			bits = Arrays.copyOf(bits, bitSetLength(capacity));
+		}
+		if (nulls != null) {
+			nulls = Arrays.copyOf(nulls, bitSetLength(capacity));
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private static int bitSetLength(int capacity) {
+		return (capacity >> 6) + 1;
+	}
+
+	private static boolean isSet(long[] bits, int index) {
+		return bits != null && (bits[index >> 6] & (1L << index)) != 0;
+	}
+
+	private static void set(long[] bits, int index, boolean value) {
+		if (value) {
+			bits[index >> 6] |= 1L << index;
+		} else if (bits != null) {
+			bits[index >> 6] &= ~(1L << index);
+		}
+	}
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import java.nio.*;
+import java.nio.charset.*;
+
+/**
+ * The values of a single column of a batch processed by an {@link AbstractOffHeapColumnProcessor}, stored outside of the Java heap in
+ * direct {@link ByteBuffer}s that follow the variable-size binary layout of Apache Arrow. All buffers use little-endian byte order:
+ *
+ * <ul>
+ * <li><b>validity buffer:</b> one bit per row, where the least significant bit of the first byte corresponds to the first row of the batch.
+ * A set bit indicates the value is not {@code null}. The length of the buffer is padded to a multiple of 8 bytes and padding bits are 0.</li>
+ * <li><b>offsets buffer:</b> {@code rowCount + 1} 32-bit signed integers. The bytes of the value at row {@code i} are located between the
+ * positions {@code offset[i]} (inclusive) and {@code offset[i + 1]} (exclusive) of the data buffer. The first offset is always 0,
+ * and {@code null} values have no bytes.</li>
+ * <li><b>data buffer:</b> the UTF-8 encoded bytes of all values of the column, one after the other.</li>
+ * </ul>
+ *
+ * <p>The buffers are reused by the processor for every batch, therefore their contents are only valid until the processing of the batch ends.
+ * Copy them if the data must be kept.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractOffHeapColumnProcessor
+ */
+public final class OffHeapColumn {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final int index;
+	private String name;
+	private int rowCount;
+	private int nullCount;
+
+	private ByteBuffer validity;
+	private ByteBuffer offsets;
+	private ByteBuffer data;
+	private byte[] scratch = new byte[64];
+
+	OffHeapColumn(int index, int expectedRowCount) {
+		this.index = index;
+		this.validity = allocate(validityLength(expectedRowCount));
+		this.offsets = allocate((expectedRowCount + 1) * 4);
+		this.data = allocate(expectedRowCount * 8);
+	}
+
+	/**
+	 * Returns the position of this column in the records processed (0-based).
+	 *
+	 * @return the index of this column.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the header of this column, if available.
+	 *
+	 * @return the name of this column, or {@code null} if the column has no header.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of rows in the batch.
+	 *
+	 * @return the number of values in this column.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Returns the number of {@code null} values in the batch.
+	 *
+	 * @return the number of rows whose validity bit is not set.
+	 */
+	public int getNullCount() {
+		return nullCount;
+	}
+
+	/**
+	 * Returns the validity bitmap of this column.
+	 *
+	 * @return a read-only view of the validity buffer, from position 0 to the padded length of the bitmap.
+	 */
+	public ByteBuffer getValidityBuffer() {
+		return view(validity, validityLength(rowCount));
+	}
+
+	/**
+	 * Returns the offsets of the values of this column in the data buffer.
+	 *
+	 * @return a read-only view of the offsets buffer, with {@code rowCount + 1} integers.
+	 */
+	public ByteBuffer getOffsetsBuffer() {
+		return view(offsets, (rowCount + 1) * 4);
+	}
+
+	/**
+	 * Returns the UTF-8 encoded values of this column.
+	 *
+	 * @return a read-only view of the data buffer, from position 0 to the end of the last value.
+	 */
+	public ByteBuffer getDataBuffer() {
+		return view(data, offsets.getInt(rowCount * 4));
+	}
+
+	/**
+	 * Tests whether the value at a given row of the batch is {@code null}.
+	 *
+	 * @param row the position of the row in the batch
+	 *
+	 * @return {@code true} if the validity bit of the row is not set.
+	 */
+	public boolean isNull(int row) {
+		checkRow(row);
+		return (validity.get(row >> 3) & (1 << (row & 7))) == 0;
+	}
+
+	/**
+	 * Decodes the value at a given row of the batch into a {@code String}.
+	 *
+	 * @param row the position of the row in the batch
+	 *
+	 * @return the value of the row, or {@code null} if its validity bit is not set.
+	 */
+	public String getString(int row) {
+		if (isNull(row)) {
+			return null;
+		}
+		int start = offsets.getInt(row * 4);
+		int length = offsets.getInt(row * 4 + 4) - start;
+		byte[] bytes = new byte[length];
+		ByteBuffer values = data.duplicate();
+		values.position(start);
+		values.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * Clears this column and writes the given values into its buffers.
+	 *
+	 * @param name     the header of the column
+	 * @param values   the values of the column, where each {@code null} value is recorded in the validity bitmap.
+	 * @param rowCount the number of values to write
+	 */
+	void write(String name, java.util.List<String> values, int rowCount) {
+		this.name = name;
+		this.rowCount = rowCount;
+		this.nullCount = 0;
+
+		int validityLength = validityLength(rowCount);
+		if (validity.capacity() < validityLength) {
+			validity = allocate(validityLength * 2);
+		}
+		for (int i = 0; i < validityLength; i++) {
+			validity.put(i, (byte) 0);
+		}
+		if (offsets.capacity() < (rowCount + 1) * 4) {
+			offsets = allocate((rowCount + 1) * 8);
+		}
+
+		int position = 0;
+		offsets.putInt(0, 0);
+		for (int row = 0; row < rowCount; row++) {
+			String value = row < values.size() ? values.get(row) : null;
+			if (value == null) {
+				nullCount++;
+			} else {
+				validity.put(row >> 3, (byte) (validity.get(row >> 3) | (1 << (row & 7))));
+				position = encode(value, position);
+			}
+			offsets.putInt((row + 1) * 4, position);
+		}
+	}
+
+	private int encode(String value, int position) {
+		int length = value.length();
+		if (scratch.length < length * 3) {
+			scratch = new byte[length * 3];
+		}
+		int size = 0;
+		for (int i = 0; i < length; i++) {
+			char ch = value.charAt(i);
+			if (ch < 0x80) {
+				scratch[size++] = (byte) ch;
+			} else if (ch < 0x800) {
+				scratch[size++] = (byte) (0xC0 | (ch >> 6));
+				scratch[size++] = (byte) (0x80 | (ch & 0x3F));
+			} else if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+				scratch[size++] = (byte) (0xF0 | (codePoint >> 18));
+				scratch[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				scratch[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				scratch[size++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (ch >= '\uD800' && ch <= '\uDFFF') {
+				scratch[size++] = '?';
+			} else {
+				scratch[size++] = (byte) (0xE0 | (ch >> 12));
+				scratch[size++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+				scratch[size++] = (byte) (0x80 | (ch & 0x3F));
+			}
+		}
+
+		long end = (long) position + size;
+		if (end > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Values of column " + (name == null ? index : name) + " exceed the maximum size of a batch (2GB). Use fewer rows per batch");
+		}
+		if (data.capacity() < end) {
+			ByteBuffer grown = allocate((int) Math.min(Integer.MAX_VALUE, Math.max(end, (long) data.capacity() * 2)));
+			ByteBuffer previous = data.duplicate();
+			previous.position(0).limit(position);
+			grown.put(previous);
+			data = grown;
+		}
+		ByteBuffer out = data.duplicate();
+		out.position(position);
+		out.put(scratch, 0, size);
+		return (int) end;
+	}
+
+	private void checkRow(int row) {
+		if (row < 0 || row >= rowCount) {
+			throw new IndexOutOfBoundsException("Row: " + row + ", Row count: " + rowCount);
+		}
+	}
+
+	private static int validityLength(int rowCount) {
+		return ((rowCount + 63) >> 6) << 3;
+	}
+
+	private static ByteBuffer allocate(int capacity) {
+		return ByteBuffer.allocateDirect(Math.max(capacity, 8)).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static ByteBuffer view(ByteBuffer buffer, int length) {
+		ByteBuffer view = buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+		view.position(0).limit(length);
+		return view;
+	}
+}
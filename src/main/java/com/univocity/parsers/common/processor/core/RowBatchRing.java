@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import com.univocity.parsers.common.input.concurrent.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * A ring of reusable {@link Batch}es of rows shared by exactly one producer thread, which fills the batches, and one or more consumer
+ * threads, which process them.
+ *
+ * <p> The producer {@link #claim()}s the next empty batch, fills it and {@link #publish()}es it. Consumers {@link #take()} published batches
+ * in the order they were published, and {@link #release(Batch)} each one once all its rows are processed. Batches can be released in any
+ * order, but are only returned to the producer in the order they were published, so the {@link Batch#sequence} of a batch taken from
+ * the ring identifies its position among all batches published. The number of times each side had to wait for the other is recorded,
+ * along with the number of rows held in the ring.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractConcurrentProcessor
+ */
+final class RowBatchRing {
+
+	/**
+	 * A batch of rows, along with the context objects associated with each one of them, and the results prepared from them
+	 * by a {@link StagedProcessor}.
+	 */
+	static final class Batch {
+		final String[][] rows;
+		final Object[] contexts;
+		Object[] prepared;
+		int size;
+		long sequence;
+		Processor<?> processor;
+		boolean ready;
+		private boolean released;
+
+		Batch(int capacity) {
+			rows = new String[capacity][];
+			contexts = new Object[capacity];
+		}
+
+		boolean add(String[] row, Object context) {
+			rows[size] = row;
+			contexts[size] = context;
+			return ++size == rows.length;
+		}
+
+		void clear() {
+			Arrays.fill(rows, 0, size, null);
+			Arrays.fill(contexts, 0, size, null);
+			if (prepared != null) {
+				Arrays.fill(prepared, 0, size, null);
+			}
+			size = 0;
+			processor = null;
+			ready = false;
+			released = false;
+		}
+	}
+
+	private final Batch[] batches;
+	private final int batchSize;
+	private final WaitStrategy waitStrategy;
+
+	// position of the next batch to be taken, advanced by the consumers.
+	private final AtomicLong head = new AtomicLong();
+	// position of the next batch to be filled, written by the producer only.
+	private volatile long tail;
+	// position of the next batch to be returned to the producer, advanced by the consumers in order.
+	private volatile long free;
+
+	// rows published, written by the producer only, and rows released, written by the consumers while holding the lock of the ring.
+	private volatile long publishedRows;
+	private volatile long releasedRows;
+	private volatile long peakOccupancy;
+
+	private volatile long producerStalls;
+	private volatile long producerStallNanos;
+	private final AtomicLong consumerStalls = new AtomicLong();
+
+	private volatile boolean closed;
+	private volatile Thread waitingProducer;
+	private final Queue<Thread> waitingConsumers = new ConcurrentLinkedQueue<Thread>();
+
+	/**
+	 * Creates a ring of row batches
+	 *
+	 * @param batchSize     the maximum number of rows in each {@link Batch}
+	 * @param batchQuantity the number of {@link Batch} instances in the ring.
+	 * @param waitStrategy  how the producer and consumer threads wait when the ring is full or empty.
+	 */
+	RowBatchRing(int batchSize, int batchQuantity, WaitStrategy waitStrategy) {
+		if (batchQuantity <= 0 || batchSize <= 0) {
+			throw new IllegalArgumentException("Number of batches and batch size must be positive");
+		}
+		this.batches = new Batch[batchQuantity];
+		this.batchSize = batchSize;
+		this.waitStrategy = waitStrategy == null ? WaitStrategy.PARK : waitStrategy;
+	}
+
+	/**
+	 * Returns the next batch to be filled by the producer, waiting until the consumers release one if all batches are in use.
+	 *
+	 * @return the next batch to fill, or {@code null} if the ring was closed or the producer thread interrupted while waiting.
+	 */
+	Batch claim() {
+		final long position = tail;
+		if (position - free >= batches.length) {
+			long start = System.nanoTime();
+			producerStalls = producerStalls + 1;
+			try {
+				int iteration = 0;
+				while (position - free >= batches.length) {
+					if (closed || Thread.currentThread().isInterrupted()) {
+						return null;
+					}
+					if (waitStrategy == WaitStrategy.PARK) {
+						waitingProducer = Thread.currentThread();
+						if (position - free >= batches.length && !closed) {
+							waitStrategy.idle(this, iteration++);
+						}
+						waitingProducer = null;
+					} else {
+						waitStrategy.idle(this, iteration++);
+					}
+				}
+			} finally {
+				producerStallNanos = producerStallNanos + (System.nanoTime() - start);
+			}
+		}
+		if (closed) {
+			return null;
+		}
+		int index = (int) (position % batches.length);
+		Batch batch = batches[index];
+		if (batch == null) {
+			// batches are only allocated when needed, as large rings of small batches may never be filled.
+			batch = batches[index] = new Batch(batchSize);
+		}
+		batch.sequence = position;
+		return batch;
+	}
+
+	/**
+	 * Makes the batch returned by {@link #claim()} available to the consumers.
+	 */
+	void publish() {
+		long published = publishedRows + batches[(int) (tail % batches.length)].size;
+		publishedRows = published;
+		long occupancy = published - releasedRows;
+		if (occupancy > peakOccupancy) {
+			peakOccupancy = occupancy;
+		}
+		tail = tail + 1;
+		signal(waitingConsumers.peek());
+	}
+
+	/**
+	 * Returns the next batch published by the producer, waiting until one is available.
+	 *
+	 * @return the next published batch, or {@code null} if there are no more batches to consume.
+	 */
+	Batch take() {
+		boolean stalled = false;
+		int iteration = 0;
+		while (true) {
+			final long position = head.get();
+			if (position < tail) {
+				if (head.compareAndSet(position, position + 1)) {
+					return batches[(int) (position % batches.length)];
+				}
+				continue;
+			}
+			if (closed) {
+				if (position >= tail) {
+					return null;
+				}
+				continue;
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			if (!stalled) {
+				stalled = true;
+				consumerStalls.incrementAndGet();
+			}
+			if (waitStrategy == WaitStrategy.PARK) {
+				Thread current = Thread.currentThread();
+				waitingConsumers.add(current);
+				if (head.get() >= tail && !closed) {
+					waitStrategy.idle(this, iteration++);
+				}
+				waitingConsumers.remove(current);
+			} else {
+				waitStrategy.idle(this, iteration++);
+			}
+		}
+	}
+
+	/**
+	 * Clears a batch obtained with {@link #take()} once all its rows are processed. The batch is returned to the producer along with any
+	 * batches published after it that were released earlier.
+	 *
+	 * @param batch the batch whose rows were all processed.
+	 */
+	void release(Batch batch) {
+		synchronized (this) {
+			batch.released = true;
+			long position = free;
+			Batch next;
+			while (position < head.get() && (next = batches[(int) (position % batches.length)]).released) {
+				releasedRows = releasedRows + next.size;
+				next.clear();
+				position++;
+			}
+			free = position;
+		}
+		signal(waitingProducer);
+	}
+
+	/**
+	 * Returns the batch at the given position of the sequence of batches published, if it has not been returned to the producer yet.
+	 *
+	 * @param sequence the position of the batch among all batches published.
+	 *
+	 * @return the batch with the given sequence, or {@code null} if it has not been taken yet, or was already returned to the producer.
+	 */
+	Batch get(long sequence) {
+		if (sequence < free || sequence >= head.get()) {
+			return null;
+		}
+		return batches[(int) (sequence % batches.length)];
+	}
+
+	/**
+	 * Closes this ring. The producer won't be able to claim more batches, and the consumers will receive {@code null} once all published
+	 * batches are taken.
+	 */
+	void close() {
+		closed = true;
+		signal(waitingProducer);
+		for (Thread consumer : waitingConsumers) {
+			signal(consumer);
+		}
+	}
+
+	long getOccupancy() {
+		return publishedRows - releasedRows;
+	}
+
+	long getPeakOccupancy() {
+		return peakOccupancy;
+	}
+
+	long getProducerStalls() {
+		return producerStalls;
+	}
+
+	long getProducerStallNanos() {
+		return producerStallNanos;
+	}
+
+	long getConsumerStalls() {
+		return consumerStalls.get();
+	}
+
+	private static void signal(Thread waiting) {
+		if (waiting != null) {
+			LockSupport.unpark(waiting);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A {@link Processor} whose work on each row can be split in two stages: the preparation of a result from the parsed row, which can run
+ * concurrently with the preparation of other rows, and the consumption of that result, which happens one row at a time.
+ *
+ * <p>When used by an {@link AbstractConcurrentProcessor} with more than one worker, {@link #prepareRow(String[], Context)} is invoked
+ * by the worker threads in parallel, and {@link #preparedRowProcessed(Object, Context)} is invoked sequentially, in the order rows
+ * were parsed if {@link AbstractConcurrentProcessor#isOrderedProcessingEnabled()} evaluates to {@code true}.
+ * In this case {@link #rowProcessed(String[], Context)} is not invoked.</p>
+ *
+ * <p>Each worker prepares rows with its own processor instance, so the preparation stage of one instance is never executed
+ * concurrently.</p>
+ *
+ * @param <T> the context type supported by this processor.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractConcurrentProcessor
+ */
+public interface StagedProcessor<T extends Context> extends Processor<T> {
+
+	/**
+	 * Prepares the result of a parsed row, such as an array of converted values or a java bean.
+	 *
+	 * @param row     the data extracted by the parser for an individual record.
+	 * @param context a snapshot of the state of the parsing process at the time the row was parsed.
+	 *
+	 * @return the prepared result, or {@code null} if the row should be discarded.
+	 */
+	Object prepareRow(String[] row, T context);
+
+	/**
+	 * Consumes the result of a row prepared by {@link #prepareRow(String[], Context)}.
+	 *
+	 * @param prepared the (non-null) result produced by {@link #prepareRow(String[], Context)}.
+	 * @param context  a snapshot of the state of the parsing process at the time the row was parsed.
+	 */
+	void preparedRowProcessed(Object prepared, T context);
+}
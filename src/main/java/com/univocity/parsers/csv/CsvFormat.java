@@ -200,6 +200,11 @@ public class CsvFormat extends Format {
 		return out;
 	}
 
+	@Override
+	protected char[] getSpecialCharacters() {
+		return new char[]{quote, quoteEscape, getCharToEscapeQuoteEscaping(), delimiter};
+	}
+
 	@Override
 	public final CsvFormat clone() {
 		return (CsvFormat) super.clone();
@@ -32,6 +32,7 @@ abstract class CsvFormatDetector implements InputAnalysisProcess {
 	private final char comment;
 	private final char suggestedDelimiter;
 	private final char normalizedNewLine;
+	private final char suggestedQuote;
 
 	/**
 	 * Builds a new {@code CsvFormatDetector}
@@ -42,6 +43,7 @@ abstract class CsvFormatDetector implements InputAnalysisProcess {
 		this.MAX_ROW_SAMPLES = maxRowSamples;
 		suggestedDelimiter = settings.getFormat().getDelimiter();
 		normalizedNewLine = settings.getFormat().getNormalizedNewline();
+		suggestedQuote = settings.getFormat().getQuote();
 		comment = settings.getFormat().getComment();
 	}
 
@@ -55,6 +57,7 @@ abstract class CsvFormatDetector implements InputAnalysisProcess {
 
 		int doubleQuoteCount = 0;
 		int singleQuoteCount = 0;
+		boolean quoteFound = false;
 
 		int i;
 		char inQuote = '\0';
@@ -73,7 +76,12 @@ abstract class CsvFormatDetector implements InputAnalysisProcess {
 				continue;
 			}
 
+			if (ch == suggestedQuote) {
+				quoteFound = true;
+			}
+
 			if (ch == '"' || ch == '\'') {
+				quoteFound = true;
 				if (inQuote == ch) { //closing quotes (potentially)
 					if (ch == '"') {
 						doubleQuoteCount++;
@@ -152,7 +160,7 @@ abstract class CsvFormatDetector implements InputAnalysisProcess {
 
 		escape.remove(delimiter);
 		char quoteEscape = max(escape, quote);
-		apply(delimiter, quote, quoteEscape);
+		apply(delimiter, quote, quoteEscape, quoteFound);
 	}
 
 	/**
@@ -223,6 +231,7 @@ abstract class CsvFormatDetector implements InputAnalysisProcess {
 	 * @param delimiter the discovered delimiter character
 	 * @param quote the discovered quote character
 	 * @param quoteEscape the discovered quote escape character.
+	 * @param quoteFound flag indicating whether any quote character was found in the rows analyzed.
 	 */
-	abstract void apply(char delimiter, char quote, char quoteEscape);
+	abstract void apply(char delimiter, char quote, char quoteEscape, boolean quoteFound);
 }
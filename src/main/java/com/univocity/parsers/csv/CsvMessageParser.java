@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+
+import java.nio.charset.*;
+
+/**
+ * A parser for independent CSV messages, each containing a single record, that parses messages with the same rules as the {@link CsvParser}
+ * and copies the values of each message into a caller-provided array.
+ *
+ * <p> Example:
+ * <pre>{@code
+ *
+ * CsvMessageParser parser = new CsvMessageParser(new CsvParserSettings());
+ * String[] row = new String[10];
+ *
+ * // can be invoked from multiple threads
+ * int valueCount = parser.parse(messageBytes, 0, messageBytes.length, row);
+ *
+ * }</pre>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractMessageParser
+ * @see CsvParser
+ * @see CsvParserSettings
+ */
+public class CsvMessageParser extends AbstractMessageParser<CsvParserSettings> {
+
+	/**
+	 * Creates a CSV message parser. Messages provided as bytes must be encoded in UTF-8.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public CsvMessageParser(CsvParserSettings settings) {
+		super(settings);
+	}
+
+	/**
+	 * Creates a CSV message parser.
+	 *
+	 * @param settings the parser configuration
+	 * @param encoding the encoding of messages provided as bytes.
+	 */
+	public CsvMessageParser(CsvParserSettings settings, Charset encoding) {
+		super(settings, encoding);
+	}
+
+	@Override
+	protected AbstractParser<CsvParserSettings> newParser(CsvParserSettings settings) {
+		return new CsvParser(settings);
+	}
+}
@@ -53,6 +53,17 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 	private final String nullValue;
 	private final int maxColumnLength;
 
+	private final boolean structuralIndexingEnabled;
+	private boolean rowViewEnabled;
+	private CsvStructuralIndex structuralIndex;
+	private AbstractCharInputReader indexedInput;
+	private AbstractCharInputReader bufferedInput;
+	private long indexedBuffer;
+
+	private final boolean quoteFreeParsingEnabled;
+	private boolean quoteFreeInputDetected;
+	private boolean quoteFreeInput;
+
 	/**
 	 * The CsvParser supports all settings provided by {@link CsvParserSettings}, and requires this configuration to be properly initialized.
 	 *
@@ -70,6 +81,8 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 		normalizeLineEndingsInQuotes = settings.isNormalizeLineEndingsWithinQuotes();
 		nullValue = settings.getNullValue();
 		maxColumnLength = settings.getMaxCharsPerColumn();
+		structuralIndexingEnabled = settings.isStructuralIndexingEnabled();
+		quoteFreeParsingEnabled = settings.isQuoteFreeParsingEnabled();
 
 
 		CsvFormat format = settings.getFormat();
@@ -99,13 +112,279 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 	}
 
 
+	@Override
+	protected final void initialize() {
+		rowViewEnabled = output.isRowViewEnabled();
+		indexedInput = null;
+		bufferedInput = input instanceof AbstractCharInputReader ? (AbstractCharInputReader) input : null;
+		quoteFreeInput = (quoteFreeParsingEnabled || quoteFreeInputDetected) && bufferedInput != null && doNotEscapeUnquotedValues;
+		quoteFreeInputDetected = false;
+		if (!quoteFreeInput && structuralIndexingEnabled && input instanceof AbstractCharInputReader && ((AbstractCharInputReader) input).isLineEndingNormalizationOnLoadEnabled()) {
+			if (quote == quoteEscape && escapeEscape == '\0' && !keepQuotes && !keepEscape && doNotEscapeUnquotedValues) {
+				indexedInput = (AbstractCharInputReader) input;
+				indexedBuffer = -1;
+				if (structuralIndex == null) {
+					structuralIndex = new CsvStructuralIndex();
+				}
+			}
+		}
+	}
+
 	@Override
 	protected final void parseRecord() {
 		if (ch <= ' ' && ignoreLeadingWhitespace) {
 			ch = input.skipWhitespace(ch, delimiter, quote);
 		}
 
+		if (quoteFreeInput && (ch == newLine || parseQuoteFreeValues())) {
+			return;
+		}
+		if (indexedInput != null && (ch == newLine || parseIndexedValues())) {
+			return;
+		}
+
+		parseValues();
+	}
+
+	/**
+	 * Parses the values of the current record using the {@link CsvStructuralIndex} of the input buffer. Values are cut
+	 * directly from the buffer until the end of the record, or until a value that can't be parsed with the index is found.
+	 * In this case the input is positioned at the beginning of that value so {@link #parseValues()} can parse the rest of the record.
+	 *
+	 * @return {@code true} if the entire record has been parsed, otherwise {@code false}.
+	 */
+	private boolean parseIndexedValues() {
+		final AbstractCharInputReader input = indexedInput;
+		final CsvStructuralIndex index = structuralIndex;
+
+		while (true) {
+			final char[] buffer = input.buffer;
+			final int start = input.i - 1;
+			if (start < 0 || buffer[start] != ch) {
+				// the current character comes from the previous buffer.
+				return false;
+			}
+			if (indexedBuffer != input.getBufferCount()) {
+				index.build(buffer, input.length, delimiter, quote, newLine);
+				indexedBuffer = input.getBufferCount();
+			}
+
+			int pos = start;
+			char c = ch;
+			if (c <= ' ' && ignoreLeadingWhitespace) {
+				final int length = input.length;
+				while (c <= ' ' && c != delimiter && c != newLine && c != quote) {
+					if (++pos >= length) {
+						return resumeAt(start);
+					}
+					c = buffer[pos];
+				}
+			}
+
+			int end;
+			if (c == delimiter || c == newLine) {
+				output.emptyParsed();
+				end = pos;
+			} else if (c == quote) {
+				end = index.nextStructuralAfterQuotes(pos);
+				if (end == -1 || !parseIndexedQuotedValue(buffer, pos, end - 1)) {
+					return resumeAt(start);
+				}
+			} else {
+				end = index.nextStructural(pos);
+				if (end == -1) {
+					return resumeAt(start);
+				}
+				if (!unquotedValueParsed(buffer, pos, end - pos)) {
+					return resumeAt(start);
+				}
+			}
+
+			input.i = end;
+			ch = input.nextChar();
+			if (ch == newLine) {
+				return true;
+			}
+			ch = input.nextChar();
+			if (ch == newLine) {
+				output.emptyParsed();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Parses the values of the current record directly from the input buffer, assuming they are not quoted. Each value is cut from the buffer
+	 * as soon as the delimiter or newline that ends it is found. When a value starts with a quote, or doesn't end within the buffer, the input
+	 * is positioned at the beginning of that value so {@link #parseValues()} can parse the rest of the record.
+	 *
+	 * @return {@code true} if the entire record has been parsed, otherwise {@code false}.
+	 */
+	private boolean parseQuoteFreeValues() {
+		final AbstractCharInputReader input = bufferedInput;
+		final char lineSeparator = input.getScanStop();
+
+		while (true) {
+			final char[] buffer = input.buffer;
+			final int length = input.length;
+			int start = input.i - 1;
+			if (start < 0 || buffer[start] != ch) {
+				return false;
+			}
+
+			int end;
+			char c;
+			while (true) {
+				if (output.canSkipRemainingValues()) {
+					return resumeAt(start);
+				}
+				int pos = start;
+				c = buffer[pos];
+				if (c <= ' ' && ignoreLeadingWhitespace) {
+					while (c <= ' ' && c != delimiter && c != newLine && c != lineSeparator) {
+						if (++pos >= length) {
+							return resumeAt(start);
+						}
+						c = buffer[pos];
+					}
+				}
+				if (c == quote) {
+					return resumeAt(start);
+				}
+
+				end = pos;
+				while (c != delimiter && c != newLine) {
+					if (c == lineSeparator || ++end >= length) {
+						return resumeAt(start);
+					}
+					c = buffer[end];
+				}
+				if (end == pos) {
+					output.emptyParsed();
+				} else if (!unquotedValueParsed(buffer, pos, end - pos)) {
+					return resumeAt(start);
+				}
+
+				// the next value is read from the buffer, unless the characters after the delimiter must be read with nextChar().
+				start = end + 1;
+				if (c == newLine || start >= length - 1 || buffer[start] == lineSeparator) {
+					break;
+				}
+			}
+
+			input.i = end;
+			ch = input.nextChar();
+			if (ch == newLine) {
+				return true;
+			}
+			ch = input.nextChar();
+			if (ch == newLine) {
+				output.emptyParsed();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Collects an unquoted value cut directly from the input buffer, producing the same result as {@link CharInputReader#getString(char, char, boolean, String, int)},
+	 * or as appending until the end of the value when values can't be read with it.
+	 *
+	 * @param buffer the input buffer
+	 * @param from   the position of the first character of the value
+	 * @param length the number of characters of the value, including any trailing whitespace
+	 *
+	 * @return {@code false} if the value is longer than the maximum number of characters per column and must be parsed as usual, otherwise {@code true}.
+	 */
+	private boolean unquotedValueParsed(char[] buffer, int from, int length) {
+		int trimmedLength = length;
+		if (ignoreTrailingWhitespace) {
+			while (trimmedLength > 0 && buffer[from + trimmedLength - 1] <= ' ') {
+				trimmedLength--;
+			}
+		}
+		if (maxColumnLength != -1 && output.appender.length() + length > maxColumnLength) {
+			return false;
+		}
+		if (maxColumnLength == -1 || output.appender.length() != 0 || (trimmedLength <= 0 && nullValue == null)) {
+			// same as appending until the end of the value, as done in parseValues() when values can't be read with getString().
+			output.trim = ignoreTrailingWhitespace;
+			output.appender.append(buffer, from, length);
+			output.valueParsed();
+		} else if (trimmedLength <= 0) {
+			output.valueParsed(nullValue);
+		} else {
+			output.valueParsed(buffer, from, trimmedLength);
+		}
+		return true;
+	}
+
+	/**
+	 * Parses a quoted value using the {@link CsvStructuralIndex} of the input buffer. Only values whose quotes are all escaped by
+	 * another quote, and that have a delimiter or newline right after the closing quote, are parsed.
+	 *
+	 * @param buffer       the input buffer
+	 * @param openingQuote the position of the quote that opens the value
+	 * @param closingQuote the position of the character before the delimiter or newline that follows the value
+	 *
+	 * @return {@code true} if the value has been parsed, otherwise {@code false}.
+	 */
+	private boolean parseIndexedQuotedValue(char[] buffer, int openingQuote, int closingQuote) {
+		if (closingQuote <= openingQuote || buffer[closingQuote] != quote) {
+			return false;
+		}
+		final CsvStructuralIndex index = structuralIndex;
+		if (index.containsNull(openingQuote + 1, closingQuote)) {
+			return false;
+		}
+
+		int escapedQuotes = 0;
+		int q = index.nextQuote(openingQuote + 1, closingQuote);
+		while (q != -1) {
+			if (q + 1 >= closingQuote || buffer[q + 1] != quote) {
+				return false;
+			}
+			escapedQuotes++;
+			q = index.nextQuote(q + 2, closingQuote);
+		}
+
+		if (maxColumnLength != -1 && closingQuote - openingQuote - 1 - escapedQuotes > maxColumnLength) {
+			return false;
+		}
+
+		int from = openingQuote + 1;
+		if (escapedQuotes > 0) {
+			q = index.nextQuote(from, closingQuote);
+			while (q != -1) {
+				output.appender.append(buffer, from, q + 1 - from);
+				from = q + 2;
+				q = index.nextQuote(from, closingQuote);
+			}
+		}
+		output.appender.append(buffer, from, closingQuote - from);
+		output.trim = false;
+		output.valueParsed();
+		return true;
+	}
+
+	/**
+	 * Moves the input back to the beginning of a value that will be parsed by {@link #parseValues()}
+	 *
+	 * @param position the position of the first character of the value in the input buffer
+	 *
+	 * @return {@code false}, to indicate the record has not been fully parsed.
+	 */
+	private boolean resumeAt(int position) {
+		bufferedInput.i = position;
+		ch = bufferedInput.nextChar();
+		return false;
+	}
+
+	private void parseValues() {
 		while (ch != newLine) {
+			if (output.canSkipRemainingValues()) {
+				skipRemainingValues();
+				return;
+			}
 			if (ch <= ' ' && ignoreLeadingWhitespace) {
 				ch = input.skipWhitespace(ch, delimiter, quote);
 			}
@@ -116,17 +395,11 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 				prev = '\0';
 				if (ch == quote) {
 					output.trim = false;
-					if (normalizeLineEndingsInQuotes) {
-						parseQuotedValue();
-					} else {
-						input.enableNormalizeLineEndings(false);
-						parseQuotedValue();
-						input.enableNormalizeLineEndings(true);
-					}
+					readQuotedValue();
 					output.valueParsed();
 				} else if (doNotEscapeUnquotedValues) {
 					String value = null;
-					if (output.appender.length() == 0) {
+					if (output.appender.length() == 0 && !rowViewEnabled && !output.isCurrentValueDeduplicated()) {
 						value = input.getString(ch, delimiter, ignoreTrailingWhitespace, nullValue, maxColumnLength);
 					}
 					if (value != null) {
@@ -135,7 +408,7 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 					} else {
 						output.trim = ignoreTrailingWhitespace;
 						ch = output.appender.appendUntil(ch, input, delimiter, newLine);
-						output.valueParsed();
+						unquotedValueParsed();
 					}
 				} else {
 					output.trim = ignoreTrailingWhitespace;
@@ -152,6 +425,99 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 		}
 	}
 
+	@Override
+	protected final void skipRecord() {
+		skipRemainingValues();
+		output.discardValues();
+	}
+
+	/**
+	 * Skips the remaining values of the current record once the values of all selected columns have been parsed, or once the record is rejected
+	 * by the {@link com.univocity.parsers.common.RowFilter}. A {@link NoopCharAppender} scans the input buffer for the end of each value without
+	 * collecting anything. Quoted values are still processed to find where the record ends, but nothing is added to the output.
+	 */
+	private void skipRemainingValues() {
+		output.ignoreRemainingValues();
+		while (ch != newLine) {
+			if (ch <= ' ' && ignoreLeadingWhitespace) {
+				ch = input.skipWhitespace(ch, delimiter, quote);
+			}
+			if (ch != delimiter && ch != newLine) {
+				prev = '\0';
+				if (ch == quote) {
+					readQuotedValue();
+				} else if (doNotEscapeUnquotedValues) {
+					skipUnquotedValues();
+				} else {
+					parseValueProcessingEscape();
+				}
+			}
+			if (ch != newLine) {
+				ch = input.nextChar();
+			}
+		}
+	}
+
+	/**
+	 * Skips unquoted values, scanning the input buffer directly until a newline is found, or until a delimiter is followed by a character
+	 * that may start a quoted value. Quotes inside unquoted values are part of the value, as in {@link #parseValues()}.
+	 */
+	private void skipUnquotedValues() {
+		final AbstractCharInputReader input = bufferedInput;
+		if (input == null) {
+			ch = output.appender.appendUntil(ch, this.input, delimiter, newLine);
+			return;
+		}
+		while (ch != delimiter && ch != newLine) {
+			final char[] buffer = input.buffer;
+			final int end = input.length - 1;
+			final char lineSeparator = input.getScanStop();
+			int i = input.i;
+			while (i < end) {
+				char c = buffer[i];
+				if (c == newLine || c == lineSeparator) {
+					break;
+				}
+				if (c == delimiter) {
+					char next = buffer[i + 1];
+					if (next == quote || (next <= ' ' && ignoreLeadingWhitespace)) {
+						break;
+					}
+				}
+				i++;
+			}
+			input.i = i;
+			ch = input.nextChar();
+		}
+	}
+
+	private void readQuotedValue() {
+		if (normalizeLineEndingsInQuotes) {
+			parseQuotedValue();
+		} else {
+			input.enableNormalizeLineEndings(false);
+			parseQuotedValue();
+			input.enableNormalizeLineEndings(true);
+		}
+	}
+
+	/**
+	 * Collects an unquoted value accumulated in the appender. When values are collected into a {@link com.univocity.parsers.common.RowView},
+	 * {@link CharInputReader#getString(char, char, boolean, String, int)} is not used as it creates a String, so blank values are converted to the
+	 * null value here, as it would do.
+	 */
+	private void unquotedValueParsed() {
+		if (rowViewEnabled && ignoreTrailingWhitespace && nullValue != null && maxColumnLength != -1) {
+			output.appender.updateWhitespace();
+			if (output.appender.length() == 0) {
+				output.appender.reset();
+				output.valueParsed(nullValue);
+				return;
+			}
+		}
+		output.valueParsed();
+	}
+
 	private void skipValue() {
 		output.appender.reset();
 		ch = NoopCharAppender.getInstance().appendUntil(ch, input, delimiter, newLine);
@@ -319,10 +685,11 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 
 	@Override
 	protected final InputAnalysisProcess getInputAnalysisProcess() {
-		if (settings.isDelimiterDetectionEnabled() || settings.isQuoteDetectionEnabled()) {
+		if (settings.isDelimiterDetectionEnabled() || settings.isQuoteDetectionEnabled() || settings.isQuoteFreeParsingDetectionEnabled()) {
 			return new CsvFormatDetector(20, settings) {
 				@Override
-				void apply(char delimiter, char quote, char quoteEscape) {
+				void apply(char delimiter, char quote, char quoteEscape, boolean quoteFound) {
+					quoteFreeInputDetected = !quoteFound && settings.isQuoteFreeParsingDetectionEnabled();
 					if (settings.isDelimiterDetectionEnabled()) {
 						CsvParser.this.delimiter = delimiter;
 
@@ -381,4 +748,19 @@ public final class CsvParser extends AbstractParser<CsvParserSettings> {
 		}
 		return false;
 	}
+
+	/**
+	 * Indicates whether the values of the current input are parsed directly from the input buffer, assuming they are not quoted, as enabled by
+	 * {@link CsvParserSettings#isQuoteFreeParsingEnabled()} or selected by {@link CsvParserSettings#isQuoteFreeParsingDetectionEnabled()}.
+	 *
+	 * @return {@code true} if the quote-free parsing of values is in use, otherwise {@code false}.
+	 */
+	boolean isQuoteFreeParsing() {
+		return quoteFreeInput;
+	}
+
+	@Override
+	protected final boolean isLineEndingNormalizationOnLoadSupported() {
+		return normalizeLineEndingsInQuotes;
+	}
 }
@@ -28,6 +28,12 @@ import java.util.*;
  * <ul>
  * <li><b>emptyValue <i>(defaults to null)</i>:</b> Defines a replacement string to signify an empty value (which is not a null value)
  * <p>When reading, if the parser does not read any character from the input, and the input is within quotes, the empty is used instead of an empty string</li>
+ * <li><b>structuralIndexingEnabled <i>(defaults to false)</i>:</b> indicates whether the parser should index the quotes, delimiters and line separators
+ * of each input buffer, and cut values directly from the buffer using this index.</li>
+ * <li><b>quoteFreeParsingEnabled <i>(defaults to false)</i>:</b> indicates whether the parser should assume values are not quoted, splitting
+ * each record on delimiters and newlines only. Values that start with a quote are still parsed as usual.</li>
+ * <li><b>quoteFreeParsingDetectionEnabled <i>(defaults to false)</i>:</b> indicates whether the parser should assume values are not quoted
+ * when no quote is found in the first rows of the input.</li>
  * </ul>
  *
  * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
@@ -48,6 +54,9 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 	private boolean delimiterDetectionEnabled = false;
 	private boolean quoteDetectionEnabled = false;
 	private UnescapedQuoteHandling unescapedQuoteHandling = null;
+	private boolean structuralIndexingEnabled = false;
+	private boolean quoteFreeParsingEnabled = false;
+	private boolean quoteFreeParsingDetectionEnabled = false;
 
 	/**
 	 * Returns the String representation of an empty value (defaults to null)
@@ -82,7 +91,7 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 	protected CharAppender newCharAppender() {
 		int chars = getMaxCharsPerColumn();
 		if (chars != -1) {
-			return new DefaultCharAppender(chars, emptyValue);
+			return new AdaptiveCharAppender(chars, emptyValue);
 		} else {
 			return new ExpandingCharAppender(emptyValue);
 		}
@@ -323,6 +332,22 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 		return this.unescapedQuoteHandling;
 	}
 
+	/**
+	 * Returns the handling of unescaped quotes that is effectively applied by the parser. If no {@link UnescapedQuoteHandling} is defined,
+	 * it is derived from the deprecated flags set via {@link #setParseUnescapedQuotes(boolean)} and {@link #setParseUnescapedQuotesUntilDelimiter(boolean)}.
+	 *
+	 * @return the handling method applied when unescaped quotes are found in the input.
+	 */
+	final UnescapedQuoteHandling getEffectiveUnescapedQuoteHandling() {
+		if (unescapedQuoteHandling != null) {
+			return unescapedQuoteHandling;
+		}
+		if (parseUnescapedQuotes) {
+			return parseUnescapedQuotesUntilDelimiter ? UnescapedQuoteHandling.STOP_AT_DELIMITER : UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE;
+		}
+		return UnescapedQuoteHandling.RAISE_ERROR;
+	}
+
 
 	/**
 	 * Flag indicating whether the parser should keep enclosing quote characters in the values parsed from the input.
@@ -344,6 +369,127 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 		this.keepQuotes = keepQuotes;
 	}
 
+	/**
+	 * Indicates whether the parser should index the structural characters of each input buffer before parsing its records (defaults to false).
+	 *
+	 * <p>When enabled, quotes, delimiters and line separators are located in bulk as each buffer is loaded, and the parser cuts values
+	 * directly from the buffer using this index instead of reading one character at a time. Line separators are normalized
+	 * when the buffer is loaded (as with {@link #isLineEndingNormalizationOnLoadEnabled()}), so a normalized newline character
+	 * that is not part of the line separator ends the record when found outside of a quoted value: with a line separator
+	 * {@code \r\n}, the input {@code a,b\r\nc\nd,e\r\n} is parsed into {@code [a, b]}, {@code [c]} and {@code [d, e]}.
+	 *
+	 * <p>The index is used for values that are unquoted, or enclosed in quotes with quotes escaped by another quote, such as in
+	 * <a href="http://tools.ietf.org/html/rfc4180">RFC4180</a>. Any other value (e.g. with unescaped quotes or whitespace after the
+	 * closing quote) is parsed as usual, so the results are the same whether this setting is enabled or not. The index is not
+	 * used when the quote escape differs from the quote character, when escape sequences or quotes are kept, when unquoted values
+	 * are escaped, or when {@link #isNormalizeLineEndingsWithinQuotes()} is disabled.
+	 *
+	 * @return {@code true} if the structural characters of each buffer should be indexed, otherwise {@code false}
+	 */
+	public boolean isStructuralIndexingEnabled() {
+		return structuralIndexingEnabled;
+	}
+
+	/**
+	 * Defines whether the parser should index the structural characters of each input buffer before parsing its records (defaults to false).
+	 *
+	 * <p>When enabled, quotes, delimiters and line separators are located in bulk as each buffer is loaded, and the parser cuts values
+	 * directly from the buffer using this index instead of reading one character at a time. Line separators are normalized
+	 * when the buffer is loaded (as with {@link #isLineEndingNormalizationOnLoadEnabled()}), so a normalized newline character
+	 * that is not part of the line separator ends the record when found outside of a quoted value: with a line separator
+	 * {@code \r\n}, the input {@code a,b\r\nc\nd,e\r\n} is parsed into {@code [a, b]}, {@code [c]} and {@code [d, e]}.
+	 *
+	 * <p>The index is used for values that are unquoted, or enclosed in quotes with quotes escaped by another quote, such as in
+	 * <a href="http://tools.ietf.org/html/rfc4180">RFC4180</a>. Any other value (e.g. with unescaped quotes or whitespace after the
+	 * closing quote) is parsed as usual, so the results are the same whether this setting is enabled or not. The index is not
+	 * used when the quote escape differs from the quote character, when escape sequences or quotes are kept, when unquoted values
+	 * are escaped, or when {@link #isNormalizeLineEndingsWithinQuotes()} is disabled.
+	 *
+	 * @param structuralIndexingEnabled flag indicating whether the structural characters of each buffer should be indexed
+	 */
+	public void setStructuralIndexingEnabled(boolean structuralIndexingEnabled) {
+		this.structuralIndexingEnabled = structuralIndexingEnabled;
+	}
+
+	/**
+	 * Indicates whether the parser should assume the values of the input are not quoted (defaults to false).
+	 *
+	 * <p>When enabled, the parser splits each record only on delimiters and newlines, cutting each value directly from the input buffer
+	 * without handling quotes, quote escapes or unescaped quotes. This is meant for machine-generated inputs known to contain no quoted values.
+	 * Values that start with a quote (after any leading whitespace) are still parsed as usual, so the results are the same whether this
+	 * setting is enabled or not. Quotes in the middle of unquoted values are part of these values, as usual.
+	 *
+	 * <p>Not used when {@link #isEscapeUnquotedValues()} is enabled. Takes precedence over {@link #isStructuralIndexingEnabled()}. Line separators
+	 * with two characters should be normalized when each buffer is loaded ({@link #isLineEndingNormalizationOnLoadEnabled()}), otherwise the last
+	 * value of each record is parsed as usual.
+	 *
+	 * <p>A normalized newline character that is not part of the line separator ends the record when found outside of a quoted value, as
+	 * when line separators are normalized on load: with a line separator {@code \r\n}, the input {@code a,b\r\nc\nd,e\r\n} is parsed into
+	 * {@code [a, b]}, {@code [c]} and {@code [d, e]}. If line separators are not normalized on load, such a character may still be kept in the
+	 * last value of a record, as that value is parsed as usual.
+	 *
+	 * @return {@code true} if the values of the input are assumed not to be quoted, otherwise {@code false}
+	 */
+	public boolean isQuoteFreeParsingEnabled() {
+		return quoteFreeParsingEnabled;
+	}
+
+	/**
+	 * Defines whether the parser should assume the values of the input are not quoted (defaults to false).
+	 *
+	 * <p>When enabled, the parser splits each record only on delimiters and newlines, cutting each value directly from the input buffer
+	 * without handling quotes, quote escapes or unescaped quotes. This is meant for machine-generated inputs known to contain no quoted values.
+	 * Values that start with a quote (after any leading whitespace) are still parsed as usual, so the results are the same whether this
+	 * setting is enabled or not. Quotes in the middle of unquoted values are part of these values, as usual.
+	 *
+	 * <p>Not used when {@link #isEscapeUnquotedValues()} is enabled. Takes precedence over {@link #isStructuralIndexingEnabled()}. Line separators
+	 * with two characters should be normalized when each buffer is loaded ({@link #isLineEndingNormalizationOnLoadEnabled()}), otherwise the last
+	 * value of each record is parsed as usual.
+	 *
+	 * <p>A normalized newline character that is not part of the line separator ends the record when found outside of a quoted value, as
+	 * when line separators are normalized on load: with a line separator {@code \r\n}, the input {@code a,b\r\nc\nd,e\r\n} is parsed into
+	 * {@code [a, b]}, {@code [c]} and {@code [d, e]}. If line separators are not normalized on load, such a character may still be kept in the
+	 * last value of a record, as that value is parsed as usual.
+	 *
+	 * @param quoteFreeParsingEnabled flag indicating whether the values of the input are assumed not to be quoted
+	 */
+	public void setQuoteFreeParsingEnabled(boolean quoteFreeParsingEnabled) {
+		this.quoteFreeParsingEnabled = quoteFreeParsingEnabled;
+	}
+
+	/**
+	 * Indicates whether the parser should analyze the first rows of the input and enable {@link #isQuoteFreeParsingEnabled() quote-free parsing}
+	 * if no quote character is found in them (defaults to false).
+	 * <p>The same rows analyzed to detect the delimiter and quote characters are used. Quoted values found after these rows are still parsed correctly.</p>
+	 *
+	 * @return {@code true} if quote-free parsing should be selected when the input appears to have no quotes, otherwise {@code false}
+	 */
+	public boolean isQuoteFreeParsingDetectionEnabled() {
+		return quoteFreeParsingDetectionEnabled;
+	}
+
+	/**
+	 * Defines whether the parser should analyze the first rows of the input and enable {@link #isQuoteFreeParsingEnabled() quote-free parsing}
+	 * if no quote character is found in them (defaults to false).
+	 * <p>The same rows analyzed to detect the delimiter and quote characters are used. Quoted values found after these rows are still parsed correctly.</p>
+	 *
+	 * @param quoteFreeParsingDetectionEnabled flag indicating whether quote-free parsing should be selected when the input appears to have no quotes
+	 */
+	public void setQuoteFreeParsingDetectionEnabled(boolean quoteFreeParsingDetectionEnabled) {
+		this.quoteFreeParsingDetectionEnabled = quoteFreeParsingDetectionEnabled;
+	}
+
+	/**
+	 * Indicates whether line separators should be normalized in bulk when each buffer is loaded from the input. Always enabled
+	 * when {@link #isStructuralIndexingEnabled()} is enabled.
+	 *
+	 * @return true if line separators should be normalized when each buffer is loaded, false otherwise
+	 */
+	@Override
+	public boolean isLineEndingNormalizationOnLoadEnabled() {
+		return structuralIndexingEnabled || super.isLineEndingNormalizationOnLoadEnabled();
+	}
+
 	@Override
 	protected void addConfiguration(Map<String, Object> out) {
 		super.addConfiguration(out);
@@ -355,5 +501,8 @@ public class CsvParserSettings extends CommonParserSettings<CsvFormat> {
 		out.put("Normalize escaped line separators", normalizeLineEndingsWithinQuotes);
 		out.put("Autodetect column delimiter", delimiterDetectionEnabled);
 		out.put("Autodetect quotes", quoteDetectionEnabled);
+		out.put("Structural indexing enabled", structuralIndexingEnabled);
+		out.put("Quote free parsing enabled", quoteFreeParsingEnabled);
+		out.put("Quote free parsing detection enabled", quoteFreeParsingDetectionEnabled);
 	}
 }
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+/**
+ * A bitmap index of the structural characters of a CSV input buffer, used by the {@link CsvParser} when
+ * {@link CsvParserSettings#isStructuralIndexingEnabled()} is enabled.
+ *
+ * <p>The buffer is scanned once, four characters at a time packed in a {@code long}, and the positions of quotes, delimiters, newlines and
+ * {@code '\0'} characters are recorded in bitmaps with one bit per character. The parser then walks these bitmaps to find where each
+ * value ends, instead of inspecting every character. Quoted regions are resolved with a prefix-XOR of the quote bitmap.</p>
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see CsvParser
+ */
+final class CsvStructuralIndex {
+
+	private static final long LANES = 0x0001000100010001L;
+	private static final long LOW_BITS = 0x7FFF7FFF7FFF7FFFL;
+	private static final long HIGH_BITS = 0x8000800080008000L;
+	private static final long GATHER = 0x0000200040008001L;
+
+	private long[] quotes = new long[0];
+	private long[] structurals = new long[0];
+	private long[] nulls = new long[0];
+	private int length;
+
+	/**
+	 * Indexes the given buffer.
+	 *
+	 * @param buffer    the characters to index
+	 * @param length    the number of characters available in the buffer
+	 * @param delimiter the column delimiter
+	 * @param quote     the quote character
+	 * @param newLine   the normalized newline character
+	 */
+	void build(char[] buffer, int length, char delimiter, char quote, char newLine) {
+		this.length = length;
+		int words = (length + 63) >>> 6;
+		if (quotes.length < words) {
+			quotes = new long[words];
+			structurals = new long[words];
+			nulls = new long[words];
+		}
+
+		final long delimiterLanes = delimiter * LANES;
+		final long quoteLanes = quote * LANES;
+		final long newLineLanes = newLine * LANES;
+
+		int fullWords = length >>> 6;
+		for (int w = 0; w < fullWords; w++) {
+			long q = 0;
+			long s = 0;
+			long z = 0;
+			int p = w << 6;
+			for (int shift = 0; shift < 64; shift += 4, p += 4) {
+				long chars = buffer[p] | (long) buffer[p + 1] << 16 | (long) buffer[p + 2] << 32 | (long) buffer[p + 3] << 48;
+				q |= matches(chars ^ quoteLanes) << shift;
+				s |= (matches(chars ^ delimiterLanes) | matches(chars ^ newLineLanes)) << shift;
+				z |= matches(chars) << shift;
+			}
+			quotes[w] = q;
+			structurals[w] = s;
+			nulls[w] = z;
+		}
+
+		if (fullWords < words) {
+			long q = 0;
+			long s = 0;
+			long z = 0;
+			for (int p = fullWords << 6, bit = 0; p < length; p++, bit++) {
+				char ch = buffer[p];
+				if (ch == quote) {
+					q |= 1L << bit;
+				} else if (ch == delimiter || ch == newLine) {
+					s |= 1L << bit;
+				} else if (ch == '\0') {
+					z |= 1L << bit;
+				}
+			}
+			quotes[fullWords] = q;
+			structurals[fullWords] = s;
+			nulls[fullWords] = z;
+		}
+	}
+
+	/**
+	 * Identifies the zero lanes of four characters packed in a {@code long}
+	 *
+	 * @param chars four characters XOR'ed with the character to match, so that matching characters become zero.
+	 *
+	 * @return four bits, one per character, where each bit is set if the corresponding character is zero.
+	 */
+	private static long matches(long chars) {
+		long zeroes = ~(((chars & LOW_BITS) + LOW_BITS) | chars) & HIGH_BITS;
+		return ((zeroes >>> 15) * GATHER) >>> 45 & 0xF;
+	}
+
+	/**
+	 * Computes, for each bit, the XOR of all bits at or below its position. Applied to a bitmap of quotes, the result has
+	 * the bits of the characters after an odd number of quotes set.
+	 */
+	private static long prefixXor(long bits) {
+		bits ^= bits << 1;
+		bits ^= bits << 2;
+		bits ^= bits << 4;
+		bits ^= bits << 8;
+		bits ^= bits << 16;
+		bits ^= bits << 32;
+		return bits;
+	}
+
+	/**
+	 * Finds the first delimiter or newline at or after the given position.
+	 *
+	 * @param from the position where the search starts
+	 *
+	 * @return the position of the delimiter or newline, or {@code -1} if there is none in the buffer.
+	 */
+	int nextStructural(int from) {
+		if (from >= length) {
+			return -1;
+		}
+		int w = from >>> 6;
+		long bits = structurals[w] & (-1L << from);
+		int words = (length + 63) >>> 6;
+		while (bits == 0) {
+			if (++w >= words) {
+				return -1;
+			}
+			bits = structurals[w];
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Finds the first delimiter or newline outside of the quoted region opened by the quote at the given position.
+	 *
+	 * @param openingQuote the position of the quote that opens a quoted value
+	 *
+	 * @return the position of the delimiter or newline, or {@code -1} if there is none in the buffer.
+	 */
+	int nextStructuralAfterQuotes(int openingQuote) {
+		int w = openingQuote >>> 6;
+		long start = -1L << openingQuote;
+		long inside = prefixXor(quotes[w] & start);
+		long bits = structurals[w] & start & ~inside;
+		int words = (length + 63) >>> 6;
+		while (bits == 0) {
+			if (++w >= words) {
+				return -1;
+			}
+			inside = prefixXor(quotes[w]) ^ (inside >> 63);
+			bits = structurals[w] & ~inside;
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Finds the first quote at or after the given position
+	 *
+	 * @param from the position where the search starts
+	 * @param to   the position where the search ends (exclusive)
+	 *
+	 * @return the position of the quote, or {@code -1} if there is no quote in the given range.
+	 */
+	int nextQuote(int from, int to) {
+		if (from >= to) {
+			return -1;
+		}
+		int w = from >>> 6;
+		long bits = quotes[w] & (-1L << from);
+		int last = (to - 1) >>> 6;
+		while (bits == 0) {
+			if (++w > last) {
+				return -1;
+			}
+			bits = quotes[w];
+		}
+		int out = (w << 6) + Long.numberOfTrailingZeros(bits);
+		return out < to ? out : -1;
+	}
+
+	/**
+	 * Indicates whether there is a {@code '\0'} character in the given range.
+	 *
+	 * @param from the start of the range
+	 * @param to   the end of the range (exclusive)
+	 *
+	 * @return {@code true} if a {@code '\0'} character is found in the range, otherwise {@code false}
+	 */
+	boolean containsNull(int from, int to) {
+		if (from >= to) {
+			return false;
+		}
+		int first = from >>> 6;
+		int last = (to - 1) >>> 6;
+		for (int w = first; w <= last; w++) {
+			long bits = nulls[w];
+			if (w == first) {
+				bits &= -1L << from;
+			}
+			if (w == last) {
+				bits &= -1L >>> (63 - ((to - 1) & 63));
+			}
+			if (bits != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
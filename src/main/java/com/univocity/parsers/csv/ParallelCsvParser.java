@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+
+/**
+ * A CSV parser that splits a file into byte ranges and parses them simultaneously using multiple threads, producing the same rows
+ * a {@link CsvParser} would, with line and character indexes relative to the entire file.
+ *
+ * <p> Ranges are split at record boundaries identified by a {@link RecordBoundaryScanner} that tracks quoted values, escaped quotes and
+ * comment lines. Values containing unescaped quotes may be handled differently by the scanner and the {@link CsvParser}, so inputs
+ * where {@link CsvParserSettings#getUnescapedQuoteHandling()} matters should be parsed with a {@link CsvParser} instead.
+ *
+ * <p> The delimiter, quote, quote escape, comment and line separator characters must be ASCII characters.
+ *
+ * @author uniVocity Software Pty Ltd - <a href="mailto:parsers@univocity.com">parsers@univocity.com</a>
+ * @see AbstractParallelParser
+ * @see CsvParser
+ * @see CsvParserSettings
+ */
+public class ParallelCsvParser extends AbstractParallelParser<CsvParserSettings> {
+
+	/**
+	 * The ParallelCsvParser supports all settings provided by {@link CsvParserSettings}, and requires this configuration to be properly initialized.
+	 *
+	 * @param settings the parser configuration
+	 */
+	public ParallelCsvParser(CsvParserSettings settings) {
+		super(settings);
+	}
+
+	@Override
+	protected AbstractParser<CsvParserSettings> newParser(CsvParserSettings settings) {
+		return new CsvParser(settings);
+	}
+
+	@Override
+	protected void applyDetectedFormat(AbstractParser<CsvParserSettings> parser, CsvParserSettings settings) {
+		CsvFormat detectedFormat = ((CsvParser) parser).getDetectedFormat();
+		if (detectedFormat != null) {
+			settings.setFormat(detectedFormat);
+		}
+		settings.setDelimiterDetectionEnabled(false);
+		settings.setQuoteDetectionEnabled(false);
+		settings.setLineSeparatorDetectionEnabled(false);
+	}
+
+	@Override
+	protected RecordBoundaryScanner newRecordBoundaryScanner(CsvParserSettings settings) {
+		return new CsvRecordBoundaryScanner(settings);
+	}
+
+	/**
+	 * Identifies where CSV records start, following the same rules used by the {@link CsvParser} to process quoted values and comments.
+	 */
+	static final class CsvRecordBoundaryScanner extends RecordBoundaryScanner {
+
+		private static final int NONE = Integer.MIN_VALUE;
+
+		static final int UNQUOTED_VALUE = 0;
+		static final int VALUE_START = 1;
+		static final int RECORD_START = 2;
+		static final int QUOTED_VALUE = 3;
+		static final int AFTER_QUOTE = 4;
+		static final int ESCAPED = 5;
+		static final int COMMENT = 6;
+
+		private final int delimiter;
+		private final int quote;
+		private final int quoteEscape;
+		private final int escapeEscape;
+		private final int comment;
+		private final int recordEnd;
+		private final int newLine;
+		private final boolean ignoreLeadingWhitespaces;
+		private final boolean stopAtClosingQuote;
+		private final int[] possibleStates;
+
+		CsvRecordBoundaryScanner(CsvParserSettings settings) {
+			super(settings.getFormat().getLineSeparator());
+			CsvFormat format = settings.getFormat();
+			char[] lineSeparator = format.getLineSeparator();
+
+			delimiter = toInt(format.getDelimiter(), "Delimiter");
+			quote = toInt(format.getQuote(), "Quote");
+			int escape = toInt(format.getQuoteEscape(), "Quote escape");
+			quoteEscape = escape == quote ? NONE : escape;
+			escapeEscape = toInt(format.getCharToEscapeQuoteEscaping(), "Quote escape escape");
+			comment = toInt(format.getComment(), "Comment");
+			recordEnd = toInt(lineSeparator[lineSeparator.length - 1], "Line separator");
+			newLine = toInt(format.getNormalizedNewline(), "Normalized newline");
+			ignoreLeadingWhitespaces = settings.getIgnoreLeadingWhitespaces();
+
+			stopAtClosingQuote = settings.getEffectiveUnescapedQuoteHandling() == UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE;
+
+			if (quoteEscape == NONE) {
+				possibleStates = new int[]{UNQUOTED_VALUE, VALUE_START, RECORD_START, QUOTED_VALUE, AFTER_QUOTE, COMMENT};
+			} else {
+				possibleStates = new int[]{UNQUOTED_VALUE, VALUE_START, RECORD_START, QUOTED_VALUE, AFTER_QUOTE, ESCAPED, COMMENT};
+			}
+		}
+
+		private static int toInt(char ch, String description) {
+			return ch == '\0' ? NONE : toByte(ch, description);
+		}
+
+		@Override
+		protected int getInitialState() {
+			return RECORD_START;
+		}
+
+		@Override
+		protected int[] getPossibleStates() {
+			return possibleStates.clone();
+		}
+
+		@Override
+		protected boolean isRecordStart(int state) {
+			return state == RECORD_START;
+		}
+
+		@Override
+		@SuppressWarnings("fallthrough")
+		protected int nextState(int state, byte b) {
+			switch (state) {
+				case QUOTED_VALUE:
+					if (b == quote) {
+						return AFTER_QUOTE;
+					} else if (b == quoteEscape) {
+						return ESCAPED;
+					}
+					return QUOTED_VALUE;
+				case ESCAPED:
+					if (b == quoteEscape && b != escapeEscape) {
+						return ESCAPED;
+					}
+					return QUOTED_VALUE;
+				case AFTER_QUOTE:
+					if (b == quote) {
+						return QUOTED_VALUE;
+					} else if (b == recordEnd || b == newLine) {
+						return RECORD_START;
+					} else if (b == delimiter) {
+						return VALUE_START;
+					} else if (b >= 0 && b <= ' ') {
+						return AFTER_QUOTE;
+					}
+					return stopAtClosingQuote ? QUOTED_VALUE : UNQUOTED_VALUE;
+				case COMMENT:
+					if (b == recordEnd || b == newLine) {
+						return RECORD_START;
+					}
+					return COMMENT;
+				case RECORD_START:
+					if (b == comment) {
+						return COMMENT;
+					}
+					// fall through
+				case VALUE_START:
+					if (b == recordEnd || b == newLine) {
+						return RECORD_START;
+					} else if (b == delimiter) {
+						return VALUE_START;
+					} else if (b == quote) {
+						return QUOTED_VALUE;
+					} else if (ignoreLeadingWhitespaces && b >= 0 && b <= ' ') {
+						return VALUE_START;
+					}
+					return UNQUOTED_VALUE;
+				default:
+					if (b == recordEnd || b == newLine) {
+						return RECORD_START;
+					} else if (b == delimiter) {
+						return VALUE_START;
+					}
+					return UNQUOTED_VALUE;
+			}
+		}
+	}
+}
@@ -71,6 +71,11 @@ public class FixedWidthFormat extends Format {
 		return out;
 	}
 
+	@Override
+	protected char[] getSpecialCharacters() {
+		return new char[]{padding};
+	}
+
 	@Override
 	public final FixedWidthFormat clone() {
 		return (FixedWidthFormat) super.clone();
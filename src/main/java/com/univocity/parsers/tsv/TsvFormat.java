@@ -66,6 +66,11 @@ public class TsvFormat extends Format {
 		return out;
 	}
 
+	@Override
+	protected char[] getSpecialCharacters() {
+		return new char[]{escapeChar};
+	}
+
 	@Override
 	public final TsvFormat clone() {
 		return (TsvFormat) super.clone();
@@ -67,6 +67,10 @@ public class TsvParser extends AbstractParser<TsvParserSettings> {
 		}
 
 		while (ch != newLine) {
+			if (output.canSkipRemainingValues()) {
+				skipRemainingValues();
+				return;
+			}
 			parseField();
 			if (ch != newLine) {
 				ch = input.nextChar();
@@ -77,6 +81,30 @@ public class TsvParser extends AbstractParser<TsvParserSettings> {
 		}
 	}
 
+	@Override
+	protected void skipRecord() {
+		skipRemainingValues();
+		output.discardValues();
+	}
+
+	/**
+	 * Skips the remaining values of the current record once the values of all selected columns have been parsed, or once the record is rejected
+	 * by the {@link com.univocity.parsers.common.RowFilter}. Escape sequences are still processed to find where the record ends.
+	 */
+	private void skipRemainingValues() {
+		output.ignoreRemainingValues();
+		while (ch != newLine) {
+			ch = output.appender.appendUntil(ch, input, escapeChar, newLine);
+			if (ch == escapeChar) {
+				ch = input.nextChar();
+				if (ch == newLine && !joinLines) {
+					return;
+				}
+				ch = input.nextChar();
+			}
+		}
+	}
+
 	private void parseField() {
 		if (ignoreLeadingWhitespace && ch != '\t' && ch <= ' ') {
 			ch = input.skipWhitespace(ch, '\t', escapeChar);
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RowFilterTest {
+
+	private static final String INPUT = "" +
+			"type,id,text,extra\n" +
+			"keep,1,\"a,\nb\",x\n" +
+			"drop,2,\"c\"\"\n\",y,z\n" +
+			"\n" +
+			"keep,3\n" +
+			"  drop  ,4,\"e\nf\",\"g\n\"\n" +
+			"keep,,\"\"\"\"\n" +
+			"drop\n" +
+			"\"keep\",5,last";
+
+	private static class TypeFilter implements RowFilter {
+		private final int columnCount;
+		int evaluations;
+
+		TypeFilter(int columnCount) {
+			this.columnCount = columnCount;
+		}
+
+		@Override
+		public int getColumnCount() {
+			return columnCount;
+		}
+
+		@Override
+		public boolean accept(RowView row, ParsingContext context) {
+			evaluations++;
+			return row.getColumnCount() == 0 || !row.contentEquals(0, "drop");
+		}
+	}
+
+	private CsvParserSettings newSettings() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setReadInputOnSeparateThread(false);
+		settings.setHeaderExtractionEnabled(true);
+		return settings;
+	}
+
+	private List<String> expectedRows(CsvParserSettings settings) {
+		settings.setRowFilter(null);
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(INPUT));
+
+		CsvParserSettings allColumns = newSettings();
+		allColumns.setSkipEmptyLines(settings.getSkipEmptyLines());
+		List<String[]> unselected = new CsvParser(allColumns).parseAll(new StringReader(INPUT));
+		assertEquals(rows.size(), unselected.size());
+
+		List<String> out = new ArrayList<String>();
+		for (int i = 0; i < rows.size(); i++) {
+			String[] all = unselected.get(i);
+			if (all.length == 0 || !"drop".equals(all[0])) {
+				out.add(Arrays.toString(rows.get(i)));
+			}
+		}
+		return out;
+	}
+
+	private List<String> filteredRows(CsvParserSettings settings, RowFilter filter, boolean rowView) {
+		final List<String> out = new ArrayList<String>();
+		settings.setRowFilter(filter);
+		if (rowView) {
+			settings.setRowViewProcessor(new RowViewProcessor() {
+				@Override
+				public void processStarted(ParsingContext context) {
+				}
+
+				@Override
+				public void rowProcessed(RowView row, ParsingContext context) {
+					out.add(Arrays.toString(row.toArray()));
+				}
+
+				@Override
+				public void processEnded(ParsingContext context) {
+					assertEquals(context.filteredRecords(), 3);
+				}
+			});
+		} else {
+			settings.setProcessor(new AbstractRowProcessor() {
+				@Override
+				public void rowProcessed(String[] row, ParsingContext context) {
+					out.add(Arrays.toString(row));
+				}
+
+				@Override
+				public void processEnded(ParsingContext context) {
+					assertEquals(context.filteredRecords(), 3);
+				}
+			});
+		}
+		new CsvParser(settings).parse(new StringReader(INPUT));
+		settings.setRowViewProcessor(null);
+		return out;
+	}
+
+	@Test
+	public void testFilterWithFieldSelection() {
+		for (int columnCount = 0; columnCount < 3; columnCount++) {
+			for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+				for (int selection = 0; selection < 3; selection++) {
+					CsvParserSettings settings = newSettings();
+					settings.setInputBufferSize(bufferSize);
+					settings.setSkipEmptyLines(bufferSize % 2 == 0);
+					settings.setNullValue(bufferSize % 3 == 0 ? "?" : null);
+					if (selection > 0) {
+						settings.selectFields("text", "id");
+						settings.setColumnReorderingEnabled(selection == 1);
+					}
+
+					String message = "column count " + columnCount + ", buffer size " + bufferSize + ", selection " + selection;
+					List<String> expected = expectedRows(settings);
+					assertEquals(filteredRows(settings, new TypeFilter(columnCount), false), expected, message);
+					assertEquals(filteredRows(settings, new TypeFilter(columnCount), true), expected, message);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testFilterEvaluatedOnLeadingValues() {
+		final List<Integer> columnCounts = new ArrayList<Integer>();
+		CsvParserSettings settings = newSettings();
+		settings.setHeaderExtractionEnabled(false);
+		settings.setRowFilter(new RowFilter() {
+			@Override
+			public int getColumnCount() {
+				return 2;
+			}
+
+			@Override
+			public boolean accept(RowView row, ParsingContext context) {
+				columnCounts.add(row.getColumnCount());
+				return row.getColumnCount() < 2 || row.getInt(1) % 2 == 1;
+			}
+		});
+
+		CsvParser parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader("a,1,x\nb,2,\"y\n\"\nc\nd,3,z\ne,4,w"));
+		assertEquals(parser.parseNext(), new String[]{"a", "1", "x"});
+		assertEquals(parser.getContext().filteredRecords(), 0);
+		assertEquals(parser.parseNext(), new String[]{"c"});
+		assertEquals(parser.getContext().filteredRecords(), 1);
+		assertEquals(parser.parseNext(), new String[]{"d", "3", "z"});
+		assertEquals(parser.getContext().currentRecord(), 3);
+		assertNull(parser.parseNext());
+		assertEquals(parser.getContext().filteredRecords(), 2);
+
+		// the first record is only evaluated after it's complete as it could be used for headers.
+		assertEquals(columnCounts, Arrays.asList(3, 2, 1, 2, 2));
+	}
+
+	@Test
+	public void testTsvFilter() {
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setLineJoiningEnabled(true);
+		settings.setRowFilter(new TypeFilter(1));
+		settings.selectIndexes(2, 0);
+
+		RowListProcessor processor = new RowListProcessor();
+		settings.setProcessor(processor);
+		new TsvParser(settings).parse(new StringReader("keep\t1\ta\\\nb\tc\ndrop\t2\tx\\\ny\\t\\\\\tz\nkeep\t3\t\\\\\n"));
+
+		List<String[]> rows = processor.getRows();
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"a\nb", "keep"});
+		assertEquals(rows.get(1), new String[]{"\\", "keep"});
+	}
+}
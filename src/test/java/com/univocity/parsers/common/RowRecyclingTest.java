@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RowRecyclingTest {
+
+	private static final String INPUT = "a,b,c\n1,2,3\nx,y\n4,5,6\n\n7,8,9";
+
+	private static class RowCollector extends AbstractRowProcessor {
+		final List<String> values = new ArrayList<String>();
+		final Set<String[]> rows = Collections.newSetFromMap(new IdentityHashMap<String[], Boolean>());
+
+		@Override
+		public void rowProcessed(String[] row, ParsingContext context) {
+			values.add(Arrays.toString(row));
+			rows.add(row);
+		}
+	}
+
+	private CsvParserSettings newSettings() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setReadInputOnSeparateThread(false);
+		settings.setRowRecyclingEnabled(true);
+		return settings;
+	}
+
+	@Test
+	public void testProcessorReceivesRecycledRows() {
+		CsvParserSettings settings = newSettings();
+		RowCollector collector = new RowCollector();
+		settings.setProcessor(collector);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertEquals(collector.values, Arrays.asList("[a, b, c]", "[1, 2, 3]", "[x, y]", "[4, 5, 6]", "[7, 8, 9]"));
+		assertEquals(collector.rows.size(), 2);
+
+		settings.selectIndexes(2, 0);
+		collector = new RowCollector();
+		settings.setProcessor(collector);
+		settings.setSkipEmptyLines(false);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertEquals(collector.values, Arrays.asList("[c, a]", "[3, 1]", "[null, x]", "[6, 4]", "[null, null]", "[9, 7]"));
+		assertEquals(collector.rows.size(), 1);
+	}
+
+	@Test
+	public void testParseNextCopiesRowsByDefault() {
+		CsvParserSettings settings = newSettings();
+		RowCollector collector = new RowCollector();
+		settings.setProcessor(collector);
+
+		CsvParser parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader(INPUT));
+		String[] first = parser.parseNext();
+		String[] second = parser.parseNext();
+		assertNotSame(first, second);
+		assertEquals(first, new String[]{"a", "b", "c"});
+
+		settings.setRowRecyclingOnParseNextEnabled(true);
+		parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader(INPUT));
+		first = parser.parseNext();
+		assertEquals(first, new String[]{"a", "b", "c"});
+		second = parser.parseNext();
+		assertSame(first, second);
+		assertEquals(first, new String[]{"1", "2", "3"});
+
+		List<String[]> rows = parser.parseAll(new StringReader(INPUT));
+		assertEquals(rows.size(), 5);
+		assertEquals(rows.get(0), new String[]{"a", "b", "c"});
+		assertEquals(rows.get(4), new String[]{"7", "8", "9"});
+	}
+
+	@Test
+	public void testRetentionDetected() {
+		CsvParserSettings settings = newSettings();
+		settings.setRowRetentionDetectionEnabled(true);
+
+		RowListProcessor retaining = new RowListProcessor();
+		settings.setProcessor(retaining);
+		try {
+			new CsvParser(settings).parse(new StringReader(INPUT));
+			fail("Expected retained rows to be detected");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().startsWith("4 of the last 5 rows parsed are still referenced after being processed by " + RowListProcessor.class.getName()), e.getMessage());
+		}
+		// retained rows are cleared as if they had been overwritten.
+		assertEquals(retaining.getRows().get(0), new String[]{null, null, null});
+		assertEquals(retaining.getRows().get(4), new String[]{"7", "8", "9"});
+
+		RowCollector copying = new RowCollector() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				values.add(Arrays.toString(row));
+			}
+		};
+		settings.setProcessor(copying);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+		assertEquals(copying.values.size(), 5);
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RowSamplingTest {
+
+	private static String numbers(int count) {
+		StringBuilder out = new StringBuilder("id,text\n");
+		for (int i = 0; i < count; i++) {
+			out.append(i).append(",\"value\n").append(i).append(",\"\"x\"\"\"\n");
+		}
+		return out.toString();
+	}
+
+	private CsvParserSettings newSettings(RowSampling sampling) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowSampling(sampling);
+		return settings;
+	}
+
+	private List<Integer> ids(List<String[]> rows) {
+		List<Integer> out = new ArrayList<Integer>();
+		for (String[] row : rows) {
+			assertEquals(row[1], "value\n" + row[0] + ",\"x\"");
+			out.add(Integer.valueOf(row[0]));
+		}
+		return out;
+	}
+
+	@Test
+	public void testEveryNth() {
+		CsvParser parser = new CsvParser(newSettings(RowSampling.everyNth(3)));
+		List<String[]> rows = parser.parseAll(new StringReader(numbers(10)));
+
+		assertEquals(ids(rows), Arrays.asList(0, 3, 6, 9));
+		assertEquals(parser.getContext().headers(), new String[]{"id", "text"});
+		assertEquals(parser.getContext().currentRecord(), 4L);
+	}
+
+	@Test
+	public void testBernoulliIsReproducible() {
+		String input = numbers(2000);
+		List<Integer> first = ids(new CsvParser(newSettings(RowSampling.bernoulli(0.1, 42L))).parseAll(new StringReader(input)));
+		List<Integer> second = ids(new CsvParser(newSettings(RowSampling.bernoulli(0.1, 42L))).parseAll(new StringReader(input)));
+		List<Integer> other = ids(new CsvParser(newSettings(RowSampling.bernoulli(0.1, 7L))).parseAll(new StringReader(input)));
+
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+		assertTrue(first.size() > 140 && first.size() < 260, "Sampled " + first.size());
+	}
+
+	@Test
+	public void testReservoir() {
+		String input = numbers(1000);
+		List<Integer> sample = ids(new CsvParser(newSettings(RowSampling.reservoir(50, 1L))).parseAll(new StringReader(input)));
+
+		assertEquals(sample.size(), 50);
+		assertEquals(new TreeSet<Integer>(sample).size(), 50);
+		List<Integer> sorted = new ArrayList<Integer>(sample);
+		Collections.sort(sorted);
+		assertEquals(sample, sorted);
+		assertTrue(sample.get(49) >= 500, "Sample should cover the entire input: " + sample);
+
+		assertEquals(ids(new CsvParser(newSettings(RowSampling.reservoir(50, 1L))).parseAll(new StringReader(input))), sample);
+		assertEquals(ids(new CsvParser(newSettings(RowSampling.reservoir(50, 1L))).parseAll(new StringReader(numbers(20)))).size(), 20);
+	}
+
+	@Test
+	public void testReservoirWithProcessor() {
+		CsvParserSettings settings = newSettings(RowSampling.reservoir(5, 3L));
+		settings.setNumberOfRecordsToRead(3);
+		RowListProcessor processor = new RowListProcessor();
+		settings.setProcessor(processor);
+		new CsvParser(settings).parse(new StringReader(numbers(100)));
+
+		assertEquals(processor.getHeaders(), new String[]{"id", "text"});
+		assertEquals(ids(processor.getRows()).size(), 3);
+
+		final List<String[]> views = new ArrayList<String[]>();
+		settings.setNumberOfRecordsToRead(-1);
+		settings.setRowViewProcessor(new RowViewProcessor() {
+			@Override
+			public void processStarted(ParsingContext context) {
+			}
+
+			@Override
+			public void rowProcessed(RowView row, ParsingContext context) {
+				views.add(row.toArray());
+			}
+
+			@Override
+			public void processEnded(ParsingContext context) {
+			}
+		});
+		new CsvParser(settings).parse(new StringReader(numbers(100)));
+		List<Integer> viewIds = ids(views);
+		assertEquals(viewIds.size(), 5);
+		assertEquals(viewIds.subList(0, 3), ids(processor.getRows()));
+	}
+
+	@Test
+	public void testSkippedRecordAtEndOfInput() {
+		CsvParserSettings settings = newSettings(RowSampling.everyNth(2));
+		settings.setHeaderExtractionEnabled(false);
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader("a\nb\nc\n\"d\n"));
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"a"});
+		assertEquals(rows.get(1), new String[]{"c"});
+
+		TsvParserSettings tsv = new TsvParserSettings();
+		tsv.getFormat().setLineSeparator("\n");
+		tsv.setLineJoiningEnabled(true);
+		tsv.setRowSampling(RowSampling.everyNth(2));
+		rows = new TsvParser(tsv).parseAll(new StringReader("a\tb\n\nc\\\nd\te\nf\ng"));
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"a", "b"});
+		assertEquals(rows.get(1), new String[]{"f"});
+	}
+
+	@Test
+	public void testSkipLines() {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			input.append("line ").append(i).append("\r\n");
+		}
+		for (boolean normalizeOnLoad : new boolean[]{false, true}) {
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.getFormat().setLineSeparator("\r\n");
+			settings.setInputBufferSize(100);
+			settings.setReadInputOnSeparateThread(false);
+			settings.setLineEndingNormalizationOnLoadEnabled(normalizeOnLoad);
+			settings.setNumberOfRowsToSkip(9998);
+
+			List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+			assertEquals(rows.size(), 2);
+			assertEquals(rows.get(0), new String[]{"line 9998"});
+			assertEquals(rows.get(1), new String[]{"line 9999"});
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testInvalidSampling() {
+		RowSampling.bernoulli(0.0, 1L);
+	}
+}
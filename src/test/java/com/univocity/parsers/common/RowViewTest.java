@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RowViewTest {
+
+	private static class RowViewCollector implements RowViewProcessor {
+		final List<String[]> rows = new ArrayList<String[]>();
+		final Set<char[]> slabs = new HashSet<char[]>();
+		boolean started;
+		boolean ended;
+
+		@Override
+		public void processStarted(ParsingContext context) {
+			started = true;
+		}
+
+		@Override
+		public void rowProcessed(RowView row, ParsingContext context) {
+			String[] values = row.toArray();
+			for (int i = 0; i < values.length; i++) {
+				assertEquals(row.isNull(i), values[i] == null);
+				assertTrue(row.contentEquals(i, values[i]));
+				CharSequence value = row.get(i);
+				if (value == null) {
+					assertEquals(row.length(i), -1);
+					assertEquals(row.getOffset(i), -1);
+				} else {
+					assertEquals(value.toString(), values[i]);
+					assertEquals(new String(row.getChars(), row.getOffset(i), row.length(i)), values[i]);
+				}
+			}
+			slabs.add(row.getChars());
+			rows.add(values);
+		}
+
+		@Override
+		public void processEnded(ParsingContext context) {
+			ended = true;
+		}
+	}
+
+	private CsvParserSettings newSettings() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setReadInputOnSeparateThread(false);
+		return settings;
+	}
+
+	private void assertSameRows(String input, CsvParserSettings settings) {
+		List<String[]> expected = new CsvParser(settings).parseAll(new StringReader(input));
+
+		RowViewCollector collector = new RowViewCollector();
+		settings.setRowViewProcessor(collector);
+		new CsvParser(settings).parse(new StringReader(input));
+		settings.setRowViewProcessor(null);
+
+		assertTrue(collector.started);
+		assertTrue(collector.ended);
+		assertEquals(collector.rows.size(), expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(collector.rows.get(i), expected.get(i), "Row " + i);
+		}
+	}
+
+	@DataProvider
+	public Object[][] inputs() {
+		return new Object[][]{
+				{"a,b,c\n1,\" 2 \",3\n\n,, \n  x  ,\"y\"\"z\",\"\"\n4,5,6,7,8"},
+				{"name,value\n\"multi\nline\",10\n  ,  \nlast"},
+				{"a\n\nb,,\n\"\",\" \""},
+		};
+	}
+
+	@Test(dataProvider = "inputs")
+	public void testSameValuesAsStringRows(String input) {
+		CsvParserSettings settings = newSettings();
+		assertSameRows(input, settings);
+
+		settings.setNullValue("N/A");
+		settings.setEmptyValue("<empty>");
+		assertSameRows(input, settings);
+
+		settings.setIgnoreLeadingWhitespaces(false);
+		settings.setIgnoreTrailingWhitespaces(false);
+		settings.setSkipEmptyLines(false);
+		assertSameRows(input, settings);
+
+		settings.setHeaderExtractionEnabled(true);
+		settings.selectIndexes(1, 0, 6);
+		assertSameRows(input, settings);
+
+		settings.setColumnReorderingEnabled(false);
+		assertSameRows(input, settings);
+
+		settings = newSettings();
+		settings.setMaxCharsPerColumn(-1);
+		settings.setInputBufferSize(4);
+		assertSameRows(input, settings);
+
+		settings = newSettings();
+		settings.setStructuralIndexingEnabled(true);
+		settings.setNullValue("?");
+		assertSameRows(input, settings);
+	}
+
+	@Test
+	public void testSlabIsReused() {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			input.append(i).append(",\"row ").append(i).append("\",").append(i * 0.5).append('\n');
+		}
+
+		CsvParserSettings settings = newSettings();
+		RowViewCollector collector = new RowViewCollector();
+		settings.setRowViewProcessor(collector);
+		new CsvParser(settings).parse(new StringReader(input.toString()));
+
+		assertEquals(collector.rows.size(), 1000);
+		assertEquals(collector.slabs.size(), 1);
+		assertEquals(collector.rows.get(999), new String[]{"999", "row 999", "499.5"});
+	}
+
+	@Test
+	public void testPrimitiveValues() {
+		final List<Object> values = new ArrayList<Object>();
+		CsvParserSettings settings = newSettings();
+		settings.setRowViewProcessor(new RowViewCollector() {
+			@Override
+			public void rowProcessed(RowView row, ParsingContext context) {
+				values.add(row.getInt(0));
+				values.add(row.getLong(1));
+				values.add(row.getDouble(2));
+				values.add(row.equalsIgnoreCase(3, "YES"));
+			}
+		});
+		new CsvParser(settings).parse(new StringReader("" +
+				"-2147483648,9223372036854775807,0.1,yes\n" +
+				"+42,-9223372036854775808,-123456.789012345,Yes\n" +
+				"0,0,1.5e10,no\n" +
+				"7,-1,12345678901234567890.5,yES\n"));
+
+		assertEquals(values, Arrays.<Object>asList(
+				Integer.MIN_VALUE, Long.MAX_VALUE, 0.1, true,
+				42, Long.MIN_VALUE, -123456.789012345, true,
+				0, 0L, 1.5e10, false,
+				7, -1L, 12345678901234567890.5, true));
+	}
+
+	@Test
+	public void testDoubleParsingMatchesDouble() {
+		final StringBuilder input = new StringBuilder();
+		Random random = new Random(1);
+		for (int i = 0; i < 2000; i++) {
+			long mantissa = random.nextLong() % 1000000000000000L;
+			int scale = random.nextInt(16);
+			input.append(new java.math.BigDecimal(java.math.BigInteger.valueOf(mantissa), scale).toPlainString()).append('\n');
+		}
+
+		CsvParserSettings settings = newSettings();
+		settings.setRowViewProcessor(new RowViewCollector() {
+			@Override
+			public void rowProcessed(RowView row, ParsingContext context) {
+				assertEquals(row.getDouble(0), Double.parseDouble(row.getString(0)), row.getString(0));
+			}
+		});
+		new CsvParser(settings).parse(new StringReader(input.toString()));
+	}
+
+	@Test
+	public void testInvalidNumbers() {
+		final List<String> errors = new ArrayList<String>();
+		CsvParserSettings settings = newSettings();
+		settings.setRowViewProcessor(new RowViewCollector() {
+			@Override
+			public void rowProcessed(RowView row, ParsingContext context) {
+				try {
+					row.getInt(0);
+					fail("Expected error parsing " + row.getString(0));
+				} catch (NumberFormatException e) {
+					errors.add(e.getMessage());
+				}
+			}
+		});
+		new CsvParser(settings).parse(new StringReader("2147483648\n12a\n-\n,\n"));
+		assertEquals(errors, Arrays.asList(
+				"For input string: \"2147483648\"",
+				"For input string: \"12a\"",
+				"For input string: \"-\"",
+				"For input string: \"null\""));
+	}
+
+	@Test
+	public void testParseNextMaterializesRows() {
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		RowViewCollector collector = new RowViewCollector();
+		settings.setRowViewProcessor(collector);
+
+		TsvParser parser = new TsvParser(settings);
+		parser.beginParsing(new StringReader("a\tb\nc\\td\te"));
+		assertEquals(parser.parseNext(), new String[]{"a", "b"});
+		assertEquals(parser.parseNext(), new String[]{"c\td", "e"});
+		assertNull(parser.parseNext());
+
+		assertTrue(collector.ended);
+		assertEquals(collector.rows.size(), 2);
+		assertEquals(collector.rows.get(1), new String[]{"c\td", "e"});
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class StringCacheTest {
+
+	@Test
+	public void testLookups() {
+		StringCache cache = new StringCache(3);
+		assertEquals(cache.getCapacity(), 4);
+
+		char[] chars = "xxAUBRAU".toCharArray();
+		String au = cache.get(chars, 2, 2);
+		assertEquals(au, "AU");
+		assertSame(cache.get(chars, 6, 2), au);
+		assertSame(cache.get("AU"), au);
+		assertEquals(cache.get(chars, 4, 2), "BR");
+		assertNull(cache.get(null));
+
+		assertEquals(cache.size(), 2);
+		assertEquals(cache.getHits(), 2);
+		assertEquals(cache.getMisses(), 2);
+		assertEquals(cache.getEvictions(), 0);
+		assertEquals(cache.getHitRate(), 0.5);
+
+		cache.clear();
+		assertEquals(cache.size(), 0);
+		assertEquals(cache.getHitRate(), 0.0);
+		assertNotSame(cache.get(chars, 2, 2), au);
+	}
+
+	@Test
+	public void testSizeIsBounded() {
+		StringCache cache = new StringCache(16);
+		for (int i = 0; i < 10000; i++) {
+			char[] value = String.valueOf(i).toCharArray();
+			assertEquals(cache.get(value, 0, value.length), String.valueOf(i));
+			assertTrue(cache.size() <= 16);
+		}
+		assertEquals(cache.getMisses(), 10000);
+		assertEquals(cache.getEvictions(), 10000 - cache.size());
+
+		// a frequent value survives the eviction of values that share its entries.
+		String frequent = cache.get("frequent");
+		for (int i = 0; i < 10000; i++) {
+			cache.get(String.valueOf(i));
+			assertSame(cache.get("frequent"), frequent);
+		}
+	}
+
+	private List<String[]> parseCsv(CsvParserSettings settings, String input) {
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setReadInputOnSeparateThread(false);
+		return new CsvParser(settings).parseAll(new StringReader(input));
+	}
+
+	private String input(int rows) {
+		StringBuilder out = new StringBuilder("id,country,currency\n");
+		String[] countries = {"AU", "BR", " \"US\"", "NZ "};
+		for (int i = 0; i < rows; i++) {
+			out.append(i).append(',').append(countries[i % countries.length]).append(',').append(i % 3 == 0 ? "" : "AUD").append('\n');
+		}
+		return out.toString();
+	}
+
+	private void assertDeduplicated(List<String[]> rows, int column, int distinctValues) {
+		Map<String, String> instances = new HashMap<String, String>();
+		for (String[] row : rows) {
+			String value = row[column];
+			if (value != null) {
+				String previous = instances.put(value, value);
+				if (previous != null) {
+					assertSame(value, previous, value);
+				}
+			}
+		}
+		assertEquals(instances.size(), distinctValues);
+	}
+
+	@Test
+	public void testCsvValuesDeduplicated() {
+		for (int mode = 0; mode < 3; mode++) {
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.deduplicateFields("country", "currency");
+			settings.setStringCacheSize(64);
+			settings.setByteOrientedParsingEnabled(mode == 1);
+			settings.setStructuralIndexingEnabled(mode == 2);
+
+			CsvParser parser = new CsvParser(settings);
+			settings.getFormat().setLineSeparator("\n");
+			settings.setHeaderExtractionEnabled(true);
+			List<String[]> rows = new ArrayList<String[]>();
+			parser.beginParsing(new ByteArrayInputStream(input(100).getBytes()), "UTF-8");
+			String[] row;
+			while ((row = parser.parseNext()) != null) {
+				rows.add(row);
+			}
+
+			assertEquals(rows.size(), 100);
+			assertEquals(rows.get(2), new String[]{"2", "US", "AUD"});
+			assertEquals(rows.get(3), new String[]{"3", "NZ", null});
+			assertDeduplicated(rows, 1, 4);
+			assertDeduplicated(rows, 2, 1);
+			assertNotSame(rows.get(1)[0], parseCsv(new CsvParserSettings(), input(2)).get(1)[0]);
+
+			Map<Integer, StringCache> caches = parser.getStringCaches();
+			assertEquals(caches.keySet(), new HashSet<Integer>(Arrays.asList(1, 2)), "mode " + mode);
+			assertEquals(caches.get(1).getMisses(), 4, "mode " + mode);
+			assertEquals(caches.get(1).getHits(), 96, "mode " + mode);
+			assertEquals(caches.get(2).getHits() + caches.get(2).getMisses(), 66, "mode " + mode);
+		}
+	}
+
+	@Test
+	public void testSelectionByIndex() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.deduplicateIndexes(1);
+		settings.selectFields("currency", "country");
+		List<String[]> rows = parseCsv(settings, input(20));
+
+		assertEquals(rows.get(1), new String[]{"AUD", "BR"});
+		assertDeduplicated(rows, 1, 4);
+
+		CsvParser parser = new CsvParser(new CsvParserSettings());
+		parser.parseAll(new StringReader(input(1)));
+		assertTrue(parser.getStringCaches().isEmpty());
+	}
+
+	@Test
+	public void testTsvValuesDeduplicated() {
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.deduplicateIndexes(0);
+		TsvParser parser = new TsvParser(settings);
+
+		List<String[]> rows = parser.parseAll(new StringReader("a\\tb\t1\na\\tb\t2\nc\t3\na\\tb\t4"));
+		assertEquals(rows.get(0)[0], "a\tb");
+		assertDeduplicated(rows, 0, 2);
+		assertEquals(parser.getStringCaches().get(0).getHits(), 2);
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.testng.Assert.*;
+
+public class ThreadLocalParserPoolTest {
+
+	private final ThreadLocalParserPool<CsvParserSettings, CsvParser> pool = new ThreadLocalParserPool<CsvParserSettings, CsvParser>() {
+		@Override
+		protected CsvParser newParser(CsvParserSettings settings) {
+			return new CsvParser(settings);
+		}
+	};
+
+	@Test
+	public void testParserReuse() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		CsvParser parser = new CsvParser(settings);
+
+		parser.beginParsing(new StringReader("a,b\n1,2\n3,4\n5,6"));
+		assertEquals(parser.parseNext(), new String[]{"1", "2"});
+		parser.stopParsing();
+
+		parser.beginParsing(new StringReader("x,y,z\n\"7\n\",8,9\n10,11,12"));
+		assertEquals(parser.getContext().headers(), null);
+		assertEquals(parser.parseNext(), new String[]{"7\n", "8", "9"});
+		assertEquals(parser.getContext().headers(), new String[]{"x", "y", "z"});
+		assertEquals(parser.getContext().currentLine(), 3);
+		assertEquals(parser.getContext().currentChar(), "x,y,z\n\"7\n\",8,9\n".length());
+		assertEquals(parser.getContext().currentRecord(), 1);
+		assertEquals(parser.parseNext(), new String[]{"10", "11", "12"});
+		assertNull(parser.parseNext());
+
+		List<String[]> rows = parser.parseAll(new StringReader("h\nlast"));
+		assertEquals(rows.size(), 1);
+		assertEquals(rows.get(0), new String[]{"last"});
+	}
+
+	@Test
+	public void testOneParserPerThread() throws Exception {
+		final CsvParserSettings settings = new CsvParserSettings();
+		CsvParser parser = pool.getParser(settings);
+		assertSame(pool.getParser(settings), parser);
+		assertNotSame(pool.getParser(new CsvParserSettings()), parser);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CsvParser other = executor.submit(new Callable<CsvParser>() {
+				@Override
+				public CsvParser call() {
+					CsvParser parser = pool.getParser(settings);
+					assertEquals(parser.parseAll(new StringReader("a,b\nc,d")).size(), 2);
+					return parser;
+				}
+			}).get();
+			assertNotSame(other, parser);
+		} finally {
+			executor.shutdown();
+		}
+
+		pool.release(settings);
+		assertNotSame(pool.getParser(settings), parser);
+		pool.clear();
+	}
+}
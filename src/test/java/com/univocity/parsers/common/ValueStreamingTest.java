@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common;
+
+import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ValueStreamingTest {
+
+	private static class ValueCollector implements ValueStreamHandler {
+		final List<String> values = new ArrayList<String>();
+		StringBuilder value;
+		int chunks;
+		int maxChunk;
+
+		@Override
+		public void valueStarted(int column, ParsingContext context) {
+			assertNull(value);
+			value = new StringBuilder();
+			value.append(context.currentRecord() + 1).append(':').append(column).append('=');
+		}
+
+		@Override
+		public void chunkParsed(char[] chars, int from, int length) {
+			assertNotNull(value);
+			value.append(chars, from, length);
+			chunks++;
+			maxChunk = Math.max(maxChunk, length);
+		}
+
+		@Override
+		public void valueEnded(int column, ParsingContext context) {
+			values.add(value.toString());
+			value = null;
+		}
+	}
+
+	private static String repeat(String s, int times) {
+		StringBuilder out = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			out.append(s);
+		}
+		return out.toString();
+	}
+
+	private CsvParserSettings newSettings() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setReadInputOnSeparateThread(false);
+		return settings;
+	}
+
+	@Test
+	public void testLongValuesAreStreamed() {
+		String quoted = repeat("ab\"\"c\nde,", 50);
+		String unquoted = repeat("xyz ", 40) + "end";
+		String input = "1,short,a\n" +
+				"2,\"" + quoted + "\",b\n" +
+				"3,  " + unquoted + "   ,c\n" +
+				"4,\"\",d\n";
+
+		for (int bufferSize = 8; bufferSize < 2048; bufferSize *= 3) {
+			ValueCollector collector = new ValueCollector();
+			CsvParserSettings settings = newSettings();
+			settings.setInputBufferSize(bufferSize);
+			settings.setMaxCharsPerColumn(100);
+			settings.setEmptyValue("<empty>");
+			settings.setValueStreamingWindow(16);
+			settings.streamIndexes(collector, 1);
+
+			List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(input));
+			assertEquals(rows.size(), 4);
+			assertEquals(rows.get(0), new String[]{"1", "short", "a"});
+			assertEquals(rows.get(1), new String[]{"2", null, "b"});
+			assertEquals(rows.get(2), new String[]{"3", null, "c"});
+			assertEquals(rows.get(3), new String[]{"4", "<empty>", "d"});
+
+			assertEquals(collector.values, Arrays.asList("2:1=" + quoted.replace("\"\"", "\""), "3:1=" + unquoted), "buffer size " + bufferSize);
+			assertTrue(collector.maxChunk <= 16);
+		}
+	}
+
+	@Test
+	public void testStreamingWithStructuralIndexing() {
+		String value = repeat("0123456789", 100);
+		String input = "a,b,c\n1," + value + ",x\n2,\"" + value + "\",y\n3,z,\"" + value + "\"\n";
+
+		ValueCollector collector = new ValueCollector();
+		CsvParserSettings settings = newSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setStructuralIndexingEnabled(true);
+		settings.setValueStreamingWindow(64);
+		settings.streamFields(collector, "b", "c");
+
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(input));
+		assertEquals(rows.get(0), new String[]{"1", null, "x"});
+		assertEquals(rows.get(1), new String[]{"2", null, "y"});
+		assertEquals(rows.get(2), new String[]{"3", "z", null});
+		assertEquals(collector.values, Arrays.asList("1:1=" + value, "2:1=" + value, "3:2=" + value));
+		assertEquals(collector.chunks, 3 * (1000 / 64 + 1));
+	}
+
+	@Test
+	public void testHeadersAreNotStreamed() {
+		String header = repeat("h", 20);
+		ValueCollector collector = new ValueCollector();
+		CsvParserSettings settings = newSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setValueStreamingWindow(10);
+		settings.streamIndexes(collector, 0);
+
+		CsvParser parser = new CsvParser(settings);
+		List<String[]> rows = parser.parseAll(new StringReader(header + ",b\n" + repeat("v", 25) + ",1\nshort,2"));
+		assertEquals(parser.getContext().headers(), new String[]{header, "b"});
+		assertEquals(rows.get(0), new String[]{null, "1"});
+		assertEquals(rows.get(1), new String[]{"short", "2"});
+		assertEquals(collector.values, Collections.singletonList("1:0=" + repeat("v", 25)));
+	}
+
+	@Test
+	public void testStreamingWithRowViewAndSelection() {
+		final List<String> rows = new ArrayList<String>();
+		ValueCollector collector = new ValueCollector();
+		CsvParserSettings settings = newSettings();
+		settings.setValueStreamingWindow(8);
+		settings.streamIndexes(collector, 2);
+		settings.selectIndexes(2, 0);
+		settings.setRowViewProcessor(new RowViewProcessor() {
+			@Override
+			public void processStarted(ParsingContext context) {
+			}
+
+			@Override
+			public void rowProcessed(RowView row, ParsingContext context) {
+				rows.add(Arrays.toString(row.toArray()));
+			}
+
+			@Override
+			public void processEnded(ParsingContext context) {
+			}
+		});
+
+		new CsvParser(settings).parse(new StringReader("a,b,c\nd,e,0123456789ABC\n"));
+		assertEquals(rows, Arrays.asList("[c, a]", "[null, d]"));
+		assertEquals(collector.values, Collections.singletonList("2:2=0123456789ABC"));
+	}
+
+	@Test
+	public void testStreamingTsv() {
+		ValueCollector collector = new ValueCollector();
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setValueStreamingWindow(4);
+		settings.streamIndexes(collector, 1);
+
+		List<String[]> rows = new TsvParser(settings).parseAll(new StringReader("a\tline\\nbreak\tc\nd\te\tf"));
+		assertEquals(rows.get(0), new String[]{"a", null, "c"});
+		assertEquals(rows.get(1), new String[]{"d", "e", "f"});
+		assertEquals(collector.values, Collections.singletonList("1:1=line\nbreak"));
+	}
+}
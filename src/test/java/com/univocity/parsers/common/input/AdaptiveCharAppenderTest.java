@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import org.testng.annotations.*;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class AdaptiveCharAppenderTest {
+
+	@Test
+	public void testGrowsUpToMaxLength() throws Exception {
+		AdaptiveCharAppender a = new AdaptiveCharAppender(4, 10, null);
+		assertEquals(a.getBufferLength(), 4);
+
+		for (int i = 0; i < 10; i++) {
+			a.append((char) ('a' + i));
+		}
+		assertEquals(a.toString(), "abcdefghij");
+		assertEquals(a.getBufferLength(), 10);
+
+		try {
+			a.append('x');
+			fail("Expected error appending beyond the maximum length");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			assertEquals(e.getMessage(), "10");
+		}
+	}
+
+	@Test
+	public void testAppendArrayBeyondMaxLength() throws Exception {
+		AdaptiveCharAppender a = new AdaptiveCharAppender(2, 8, null);
+		a.append("abcdef".toCharArray(), 0, 6);
+		assertEquals(a.getAndReset(), "abcdef");
+		try {
+			a.append("abcdefghi".toCharArray(), 0, 9);
+			fail("Expected error appending beyond the maximum length");
+		} catch (ArrayIndexOutOfBoundsException e) {
+			assertEquals(e.getMessage(), "8");
+		}
+	}
+
+	@Test
+	public void testShrinksAfterLongValue() throws Exception {
+		AdaptiveCharAppender a = new AdaptiveCharAppender(16, 100000, "");
+		char[] longValue = new char[50000];
+		Arrays.fill(longValue, 'x');
+		a.append(longValue, 0, longValue.length);
+		assertEquals(a.getAndReset().length(), 50000);
+		assertTrue(a.getBufferLength() >= 50000);
+
+		for (int i = 0; i < 4096 * 2; i++) {
+			a.append("abc".toCharArray(), 0, 3);
+			assertEquals(a.getAndReset(), "abc");
+		}
+		assertEquals(a.getBufferLength(), 16);
+	}
+
+	@Test
+	public void testKeepsBufferInUse() throws Exception {
+		AdaptiveCharAppender a = new AdaptiveCharAppender(16, 1000, "");
+		for (int i = 0; i < 4096 * 2; i++) {
+			for (int j = 0; j < (i % 2 == 0 ? 500 : 3); j++) {
+				a.append('a');
+			}
+			a.reset();
+		}
+		assertTrue(a.getBufferLength() >= 500);
+	}
+}
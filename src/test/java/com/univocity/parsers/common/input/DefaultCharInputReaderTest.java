@@ -65,4 +65,45 @@ public class DefaultCharInputReaderTest {
 		assertEquals('\n', reader.nextChar());
 		assertEOF(reader);
 	}
+
+	@Test
+	public void testLineEndingNormalizationOnLoad() {
+		DefaultCharInputReader reader = new DefaultCharInputReader("\n\r".toCharArray(), '\n', 2);
+		reader.enableLineEndingNormalizationOnLoad(true);
+
+		reader.start(new StringReader("a\n\r"));
+		assertEquals('a', reader.nextChar());
+		assertEquals('\n', reader.nextChar());
+		assertEquals(reader.lineCount(), 1);
+		assertEquals(reader.charCount(), 3);
+		assertEOF(reader);
+
+		reader.start(new StringReader("a\r\n"));
+		assertEquals('a', reader.nextChar());
+		assertEquals('\r', reader.nextChar());
+		assertEquals('\n', reader.nextChar());
+		assertEquals(reader.lineCount(), 0);
+		assertEOF(reader);
+
+		reader.start(new StringReader("\n\ra"));
+		assertEquals('\n', reader.nextChar());
+		assertEquals(reader.lineCount(), 1);
+		assertEquals(reader.charCount(), 2);
+		assertEquals('a', reader.nextChar());
+		assertEOF(reader);
+
+		reader.start(new StringReader("ab\n\r\n\rc\n"));
+		assertEquals('a', reader.nextChar());
+		assertEquals('b', reader.nextChar());
+		assertEquals('\n', reader.nextChar());
+		assertEquals(reader.lineCount(), 1);
+		assertEquals('\n', reader.nextChar());
+		assertEquals(reader.lineCount(), 2);
+		assertEquals(reader.charCount(), 6);
+		assertEquals('c', reader.nextChar());
+		assertEquals('\n', reader.nextChar());
+		assertEquals(reader.lineCount(), 2);
+		assertEOF(reader);
+		assertEquals(reader.lineCount(), 3);
+	}
 }
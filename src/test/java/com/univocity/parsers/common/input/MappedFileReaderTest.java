@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class MappedFileReaderTest {
+
+	private static final String CONTENT = "a,b,c\nçá,€uro,😀 smile\nlast,line,here";
+
+	private File createFile(String content, String encoding) throws IOException {
+		File file = File.createTempFile("mapped", ".csv");
+		file.deleteOnExit();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), encoding);
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	private String readAll(Reader reader, int bufferSize) throws IOException {
+		StringBuilder out = new StringBuilder();
+		char[] buffer = new char[bufferSize];
+		int length;
+		while ((length = reader.read(buffer, 0, buffer.length)) != -1) {
+			out.append(buffer, 0, length);
+		}
+		reader.close();
+		return out.toString();
+	}
+
+	@DataProvider
+	public Object[][] encodingProvider() {
+		return new Object[][]{
+				{"UTF-8", 16, 1},
+				{"UTF-8", 16, 3},
+				{"UTF-8", 1024, 2},
+				{"UTF-16", 17, 5},
+				{"ISO-8859-1", 16, 1},
+				{"ISO-8859-1", 1024, 7},
+				{"US-ASCII", 16, 4},
+		};
+	}
+
+	@Test(dataProvider = "encodingProvider")
+	public void testReadAcrossRegions(String encoding, int regionSize, int bufferSize) throws Exception {
+		File file = createFile(CONTENT, encoding);
+		String expected = readAll(new InputStreamReader(new FileInputStream(file), encoding), bufferSize);
+
+		String result = readAll(new MappedFileReader(file, Charset.forName(encoding), 0, -1, regionSize), bufferSize);
+		assertEquals(result, expected);
+	}
+
+	@Test
+	public void testReadRange() throws Exception {
+		File file = createFile(CONTENT, "UTF-8");
+		long start = "a,b,c\n".length();
+
+		String result = readAll(new MappedFileReader(file, Charset.forName("UTF-8"), start, start + 4, 16), 10);
+		assertEquals(result, "çá");
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		File file = createFile("", "UTF-8");
+		assertEquals(readAll(new MappedFileReader(file, Charset.forName("UTF-8")), 10), "");
+		assertEquals(readAll(new MappedFileReader(file, Charset.forName("ISO-8859-1")), 10), "");
+	}
+
+	@Test
+	public void testParseMemoryMappedFile() throws Exception {
+		File file = createFile(CONTENT, "UTF-8");
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setMemoryMappedInputEnabled(true);
+		List<String[]> rows = new CsvParser(settings).parseAll(file, "UTF-8");
+
+		assertEquals(rows.size(), 3);
+		assertEquals(rows.get(0), new String[]{"a", "b", "c"});
+		assertEquals(rows.get(1), new String[]{"çá", "€uro", "😀 smile"});
+		assertEquals(rows.get(2), new String[]{"last", "line", "here"});
+	}
+}
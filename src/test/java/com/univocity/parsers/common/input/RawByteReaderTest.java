@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input;
+
+import com.univocity.parsers.csv.*;
+import com.univocity.parsers.tsv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RawByteReaderTest {
+
+	private static final String CSV = "#comment ção\nname,city,notes\n\"José\",São Paulo,  \"€ 10, \"\"cheap\"\"\"  \nAnn,Zürich,😀\n";
+
+	private InputStream toStream(String content, String encoding) throws UnsupportedEncodingException {
+		return new ByteArrayInputStream(content.getBytes(encoding));
+	}
+
+	@DataProvider
+	public Object[][] encodingProvider() {
+		return new Object[][]{
+				{"UTF-8"},
+				{"ISO-8859-1"},
+				{"US-ASCII"},
+		};
+	}
+
+	@Test(dataProvider = "encodingProvider")
+	public void testByteOrientedParsingMatchesDecodedInput(String encoding) throws Exception {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setCommentCollectionEnabled(true);
+		settings.setHeaderExtractionEnabled(true);
+		CsvParser parser = new CsvParser(settings);
+		List<String[]> expected = parser.parseAll(toStream(CSV, encoding), encoding);
+		String expectedComment = parser.getContext().lastComment();
+
+		settings.setByteOrientedParsingEnabled(true);
+		parser = new CsvParser(settings);
+		List<String[]> result = parser.parseAll(toStream(CSV, encoding), encoding);
+
+		assertEquals(result.size(), expected.size());
+		for (int i = 0; i < result.size(); i++) {
+			assertEquals(result.get(i), expected.get(i));
+		}
+		assertEquals(parser.getContext().lastComment(), expectedComment);
+		assertEquals(parser.getContext().headers(), new String[]{"name", "city", "notes"});
+	}
+
+	@Test
+	public void testUtf8ValuesDecodedOnlyWhenSelected() throws Exception {
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setByteOrientedParsingEnabled(true);
+		settings.selectIndexes(1);
+
+		List<String[]> rows = new TsvParser(settings).parseAll(toStream("ção\tAß\n€\t日本\n", "UTF-8"), "UTF-8");
+		assertEquals(rows.size(), 2);
+		assertEquals(rows.get(0), new String[]{"Aß"});
+		assertEquals(rows.get(1), new String[]{"日本"});
+	}
+
+	@Test
+	public void testNonAsciiFormatCharacters() throws Exception {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.getFormat().setDelimiter('§');
+		settings.getFormat().setQuote('«');
+		settings.getFormat().setQuoteEscape('«');
+		settings.setByteOrientedParsingEnabled(true);
+
+		for (String encoding : new String[]{"UTF-8", "ISO-8859-1"}) {
+			List<String[]> rows = new CsvParser(settings).parseAll(toStream("ação§maçã§«a§ç«\nçç§«x«««\n", encoding), encoding);
+			assertEquals(rows.size(), 2, encoding);
+			assertEquals(rows.get(0), new String[]{"ação", "maçã", "a§ç"}, encoding);
+			assertEquals(rows.get(1), new String[]{"çç", "x«"}, encoding);
+		}
+	}
+
+	@Test
+	public void testNonAsciiTsvEscape() throws Exception {
+		TsvParserSettings settings = new TsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.getFormat().setEscapeChar('§');
+		settings.setByteOrientedParsingEnabled(true);
+
+		List<String[]> rows = new TsvParser(settings).parseAll(toStream("açt\tmaçã\n", "UTF-8"), "UTF-8");
+		assertEquals(rows.size(), 1);
+		assertEquals(rows.get(0), new String[]{"açt", "maçã"});
+	}
+
+	@Test
+	public void testDecodeValue() {
+		String ascii = "plain";
+		assertSame(RawByteReader.decodeValue(ascii), ascii);
+		assertNull(RawByteReader.decodeValue(null));
+
+		String raw = new String("ção".getBytes(Charset.forName("UTF-8")), Charset.forName("ISO-8859-1"));
+		assertEquals(RawByteReader.decodeValue(raw), "ção");
+	}
+
+	@Test
+	public void testSupportedEncodings() {
+		assertTrue(RawByteReader.isSupported(Charset.forName("UTF-8")));
+		assertTrue(RawByteReader.isSupported(Charset.forName("ISO-8859-1")));
+		assertTrue(RawByteReader.isSupported(Charset.forName("US-ASCII")));
+		assertFalse(RawByteReader.isSupported(Charset.forName("UTF-16")));
+		assertFalse(RawByteReader.isSupported(null));
+	}
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.input.concurrent;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.testng.Assert.*;
+
+public class ConcurrentCharInputReaderTest {
+
+	private static String createInput(int rows) {
+		StringBuilder out = new StringBuilder();
+		for (int i = 0; i < rows; i++) {
+			out.append(i).append(",value ").append(i).append(",\"quoted\n").append(i).append("\"\n");
+		}
+		return out.toString();
+	}
+
+	private static CsvParserSettings newSettings(boolean readInputOnSeparateThread) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setReadInputOnSeparateThread(readInputOnSeparateThread);
+		settings.setInputBufferSize(16);
+		return settings;
+	}
+
+	@DataProvider
+	public Object[][] configurationProvider() {
+		return new Object[][]{
+				{WaitStrategy.SPIN, 1},
+				{WaitStrategy.SPIN, 2},
+				{WaitStrategy.YIELD, 3},
+				{WaitStrategy.PARK, 1},
+				{WaitStrategy.PARK, 10},
+		};
+	}
+
+	@Test(dataProvider = "configurationProvider")
+	public void testReadThroughRing(WaitStrategy waitStrategy, int buckets) {
+		String input = createInput(500);
+		List<String[]> expected = new CsvParser(newSettings(false)).parseAll(new StringReader(input));
+
+		CsvParserSettings settings = newSettings(true);
+		settings.setInputWaitStrategy(waitStrategy);
+		settings.setNumberOfInputBuckets(buckets);
+		List<String[]> result = new CsvParser(settings).parseAll(new StringReader(input));
+
+		assertEquals(result.size(), expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(result.get(i), expected.get(i));
+		}
+	}
+
+	@Test(dataProvider = "configurationProvider", timeOut = 10000)
+	public void testStopParsing(WaitStrategy waitStrategy, int buckets) {
+		CsvParserSettings settings = newSettings(true);
+		settings.setInputWaitStrategy(waitStrategy);
+		settings.setNumberOfInputBuckets(buckets);
+		CsvParser parser = new CsvParser(settings);
+
+		parser.beginParsing(new StringReader(createInput(5000)));
+		for (int i = 0; i < 10; i++) {
+			assertEquals(parser.parseNext()[0], String.valueOf(i));
+		}
+		parser.stopParsing();
+		assertNull(parser.parseNext());
+	}
+
+	@Test(timeOut = 10000)
+	public void testReadWithExecutor() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CsvParserSettings settings = newSettings(true);
+			settings.setInputReadingExecutor(executor);
+			CsvParser parser = new CsvParser(settings);
+
+			for (int i = 0; i < 20; i++) {
+				parser.beginParsing(new StringReader(createInput(1000)));
+				assertEquals(parser.parseNext()[0], "0");
+				parser.stopParsing();
+
+				assertEquals(parser.parseAll(new StringReader(createInput(10))).size(), 10);
+			}
+
+			Future<Boolean> interrupted = executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					return Thread.currentThread().isInterrupted();
+				}
+			});
+			assertFalse(interrupted.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test(timeOut = 10000)
+	public void testReadWithThreadFactory() {
+		final AtomicInteger threads = new AtomicInteger();
+		CsvParserSettings settings = newSettings(true);
+		settings.setInputReadingThreadFactory(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				threads.incrementAndGet();
+				Thread thread = new Thread(r, "custom reader");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		CsvParser parser = new CsvParser(settings);
+		assertEquals(parser.parseAll(new StringReader(createInput(10))).size(), 10);
+		assertEquals(parser.parseAll(new StringReader(createInput(10))).size(), 10);
+		assertEquals(threads.get(), 2);
+	}
+
+	@Test(timeOut = 30000)
+	public void testStopParsingWithExecutor() throws Exception {
+		final List<Throwable> uncaught = Collections.synchronizedList(new ArrayList<Throwable>());
+		final AtomicInteger threads = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				threads.incrementAndGet();
+				Thread thread = new Thread(r, "pooled reader");
+				thread.setDaemon(true);
+				thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+					@Override
+					public void uncaughtException(Thread t, Throwable e) {
+						uncaught.add(e);
+					}
+				});
+				return thread;
+			}
+		});
+		try {
+			String input = createInput(20000);
+			CsvParserSettings settings = newSettings(true);
+			settings.setInputReadingExecutor(executor);
+			CsvParser parser = new CsvParser(settings);
+
+			for (int i = 0; i < 50; i++) {
+				parser.beginParsing(new StringReader(input));
+				for (int j = 0; j < 10000; j++) {
+					assertEquals(parser.parseNext()[0], String.valueOf(j));
+				}
+				parser.stopParsing();
+			}
+
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			assertEquals(uncaught, Collections.emptyList());
+			assertTrue(threads.get() <= 2, "Pooled threads replaced: " + threads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static String readAll(ConcurrentCharInputReader reader, String input, Set<char[]> buffers) {
+		reader.start(new StringReader(input));
+		StringBuilder out = new StringBuilder();
+		try {
+			while (true) {
+				out.append(reader.nextChar());
+				if (reader.length > 0) {
+					buffers.add(reader.buffer);
+				}
+			}
+		} catch (com.univocity.parsers.common.input.EOFException e) {
+			//end of input
+		}
+		return out.toString();
+	}
+
+	@Test(timeOut = 10000)
+	public void testBucketsReusedAcrossInputs() {
+		ConcurrentCharInputReader reader = new ConcurrentCharInputReader(new char[]{'\n'}, '\n', 16, 3);
+		Set<char[]> firstBuffers = Collections.newSetFromMap(new IdentityHashMap<char[], Boolean>());
+		Set<char[]> buffers = Collections.newSetFromMap(new IdentityHashMap<char[], Boolean>());
+
+		String input = createInput(100);
+		assertEquals(readAll(reader, input, firstBuffers), input);
+		assertEquals(firstBuffers.size(), 3);
+
+		for (int i = 0; i < 20; i++) {
+			input = createInput(i * 10);
+			assertEquals(readAll(reader, input, buffers), input);
+			if (i % 2 == 0) {
+				reader.start(new StringReader(createInput(1000)));
+				assertEquals(reader.nextChar(), '0');
+				reader.stop();
+			}
+		}
+		buffers.removeAll(firstBuffers);
+		assertEquals(buffers, Collections.emptySet());
+
+		CsvParser parser = new CsvParser(newSettings(true));
+		parser.beginParsing(new StringReader(createInput(10)));
+		ParsingContext context = parser.getContext();
+		assertEquals(parser.parseNext()[0], "0");
+		parser.stopParsing();
+		assertTrue(context.isStopped());
+
+		parser.beginParsing(new StringReader(createInput(10)));
+		assertSame(parser.getContext(), context);
+		assertFalse(context.isStopped());
+		assertEquals(parser.parseNext()[0], "0");
+		assertEquals(context.currentRecord(), 1L);
+		parser.stopParsing();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testInvalidNumberOfBuckets() {
+		new CsvParserSettings().setNumberOfInputBuckets(0);
+	}
+}
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.annotations.*;
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.conversions.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class BatchProcessorTest {
+
+	private static final String INPUT = "id,name\n1,a\n2,b\n3,c\n4,d\n5,e\n6,f\n7,g";
+
+	private static class BatchCollector implements BatchProcessor {
+		final List<Integer> batchSizes = new ArrayList<Integer>();
+		final List<String[]> rows = new ArrayList<String[]>();
+		final List<Long> records = new ArrayList<Long>();
+		boolean started;
+		boolean ended;
+
+		@Override
+		public void processStarted(ParsingContext context) {
+			started = true;
+		}
+
+		@Override
+		public void batchProcessed(String[][] batch, int rowCount, ParsingContext context) {
+			batchSizes.add(rowCount);
+			for (int i = 0; i < rowCount; i++) {
+				rows.add(batch[i]);
+				records.add(context.currentRecord() - rowCount + 1 + i);
+			}
+		}
+
+		@Override
+		public void processEnded(ParsingContext context) {
+			ended = true;
+		}
+	}
+
+	private CsvParserSettings newSettings(BatchProcessor processor, int batchSize) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setBatchProcessor(processor);
+		settings.setBatchSize(batchSize);
+		return settings;
+	}
+
+	@Test
+	public void testRowsProcessedInBatches() {
+		BatchCollector collector = new BatchCollector();
+		CsvParserSettings settings = newSettings(collector, 3);
+		settings.setRowRecyclingEnabled(true);
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertTrue(collector.started);
+		assertTrue(collector.ended);
+		assertEquals(collector.batchSizes, Arrays.asList(3, 3, 1));
+		assertEquals(collector.records, Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L));
+		assertEquals(collector.rows.size(), 7);
+		for (int i = 0; i < 7; i++) {
+			assertEquals(collector.rows.get(i), new String[]{String.valueOf(i + 1), String.valueOf((char) ('a' + i))});
+		}
+	}
+
+	@Test
+	public void testParseNextDeliversBatches() {
+		BatchCollector collector = new BatchCollector();
+		CsvParser parser = new CsvParser(newSettings(collector, 2));
+		parser.beginParsing(new StringReader(INPUT));
+		assertEquals(parser.parseNext(), new String[]{"1", "a"});
+		assertEquals(parser.parseNext(), new String[]{"2", "b"});
+		assertEquals(collector.batchSizes, Arrays.asList(2));
+		assertEquals(parser.parseNext(), new String[]{"3", "c"});
+		parser.stopParsing();
+
+		assertTrue(collector.ended);
+		assertEquals(collector.batchSizes, Arrays.asList(2, 1));
+	}
+
+	@Test
+	public void testRowProcessorAdapter() {
+		final List<Object> values = new ArrayList<Object>();
+		ObjectRowProcessor processor = new ObjectRowProcessor() {
+			@Override
+			public void rowProcessed(Object[] row, ParsingContext context) {
+				values.add(row[0]);
+				values.add(context.currentRecord());
+			}
+		};
+		processor.convertFields(Conversions.toInteger()).set("id");
+
+		new CsvParser(newSettings(new RowProcessorBatchAdapter(processor), 4)).parse(new StringReader(INPUT));
+
+		assertEquals(values, Arrays.<Object>asList(1, 1L, 2, 2L, 3, 3L, 4, 4L, 5, 5L, 6, 6L, 7, 7L));
+	}
+
+	public static class Item {
+		@Parsed
+		int id;
+
+		@Parsed
+		String name;
+	}
+
+	@Test
+	public void testBeanProcessorAdapter() {
+		BeanListProcessor<Item> beans = new BeanListProcessor<Item>(Item.class);
+		new CsvParser(newSettings(new RowProcessorBatchAdapter(beans), 5)).parse(new StringReader(INPUT));
+
+		assertEquals(beans.getBeans().size(), 7);
+		assertEquals(beans.getBeans().get(6).id, 7);
+		assertEquals(beans.getBeans().get(6).name, "g");
+	}
+
+	@Test
+	public void testConversionErrorHandledThroughAdapter() {
+		final List<Object> ids = new ArrayList<Object>();
+		ObjectRowProcessor processor = new ObjectRowProcessor() {
+			@Override
+			public void rowProcessed(Object[] row, ParsingContext context) {
+				ids.add(row[0]);
+			}
+		};
+		processor.convertFields(Conversions.toInteger()).set("id");
+
+		CsvParserSettings settings = newSettings(new RowProcessorBatchAdapter(processor), 10);
+		settings.setProcessorErrorHandler(new RetryableErrorHandler<ParsingContext>() {
+			@Override
+			public void handleError(DataProcessingException error, Object[] inputRow, ParsingContext context) {
+				setDefaultValue(-1);
+			}
+		});
+		new CsvParser(settings).parse(new StringReader("id\n1\nx\n3"));
+
+		assertEquals(ids, Arrays.<Object>asList(1, -1, 3));
+	}
+
+	@Test
+	public void testErrorInRowOfAdaptedBatch() {
+		final List<String> processed = new ArrayList<String>();
+		final List<String> handled = new ArrayList<String>();
+		RowProcessor processor = new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				if (row[0].equals("3")) {
+					DataProcessingException error = new DataProcessingException("Can't process row");
+					error.markAsNonFatal();
+					throw error;
+				}
+				processed.add(row[0]);
+			}
+		};
+
+		CsvParserSettings settings = newSettings(new RowProcessorBatchAdapter(processor), 5);
+		settings.setProcessorErrorHandler(new RowProcessorErrorHandler() {
+			@Override
+			public void handleError(DataProcessingException error, Object[] inputRow, ParsingContext context) {
+				handled.add(inputRow[0] + "@" + context.currentRecord());
+			}
+		});
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertEquals(processed, Arrays.asList("1", "2", "4", "5", "6", "7"));
+		assertEquals(handled, Arrays.asList("3@3"));
+	}
+
+	@Test
+	public void testConversionErrorInRowOfAdaptedBatch() {
+		final List<Object[]> processed = new ArrayList<Object[]>();
+		final List<DataProcessingException> errors = new ArrayList<DataProcessingException>();
+		final List<Long> lines = new ArrayList<Long>();
+		ObjectRowProcessor processor = new ObjectRowProcessor() {
+			@Override
+			public void rowProcessed(Object[] row, ParsingContext context) {
+				processed.add(row);
+			}
+		};
+		processor.convertIndexes(Conversions.toInteger()).set(0);
+
+		CsvParserSettings settings = newSettings(new RowProcessorBatchAdapter(processor), 5);
+		settings.setHeaderExtractionEnabled(false);
+		settings.setProcessorErrorHandler(new RowProcessorErrorHandler() {
+			@Override
+			public void handleError(DataProcessingException error, Object[] inputRow, ParsingContext context) {
+				errors.add(error);
+				lines.add(context.currentLine());
+			}
+		});
+		new CsvParser(settings).parse(new StringReader("1\nx\n3\n4\n5\n"));
+
+		assertEquals(processed.size(), 4);
+		assertEquals(errors.size(), 1);
+		assertEquals(errors.get(0).getRecordNumber(), 2L);
+		assertEquals(errors.get(0).getLineIndex(), 2L);
+		assertEquals(lines, Arrays.asList(2L));
+	}
+
+	@Test
+	public void testErrorInBatch() {
+		final List<Integer> handled = new ArrayList<Integer>();
+		BatchCollector failing = new BatchCollector() {
+			@Override
+			public void batchProcessed(String[][] batch, int rowCount, ParsingContext context) {
+				if (batch[0][0].equals("4")) {
+					DataProcessingException error = new DataProcessingException("Can't process batch");
+					error.markAsNonFatal();
+					throw error;
+				}
+				super.batchProcessed(batch, rowCount, context);
+			}
+		};
+		CsvParserSettings settings = newSettings(failing, 3);
+		settings.setProcessorErrorHandler(new ProcessorErrorHandler<ParsingContext>() {
+			@Override
+			public void handleError(DataProcessingException error, Object[] inputRow, ParsingContext context) {
+				handled.add((int) context.currentRecord());
+			}
+		});
+		new CsvParser(settings).parse(new StringReader(INPUT));
+		assertEquals(failing.batchSizes, Arrays.asList(3, 1));
+		assertEquals(handled, Arrays.asList(6));
+		assertTrue(failing.ended);
+
+		BatchCollector broken = new BatchCollector() {
+			@Override
+			public void batchProcessed(String[][] batch, int rowCount, ParsingContext context) {
+				throw new IllegalStateException("Boom");
+			}
+		};
+		try {
+			new CsvParser(newSettings(broken, 3)).parse(new StringReader(INPUT));
+			fail("Expected error processing batch");
+		} catch (DataProcessingException e) {
+			assertTrue(e.getMessage().contains("Unexpected error processing batch of 3 input rows"), e.getMessage());
+			assertTrue(broken.ended);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testRowViewProcessorNotAllowed() {
+		CsvParserSettings settings = newSettings(new BatchCollector(), 3);
+		settings.setRowViewProcessor(new PrimitiveColumnProcessor() {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+			}
+		});
+		new CsvParser(settings);
+	}
+}
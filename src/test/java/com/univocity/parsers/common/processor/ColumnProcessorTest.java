@@ -69,4 +69,28 @@ public class ColumnProcessorTest {
 
 		assertEquals(processor.getHeaders(), new String[]{"A", "B", "C"});
 	}
+
+	@Test
+	public void testDefaultStorage() throws Exception {
+		ColumnProcessor processor = new ColumnProcessor();
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		List<String> column = processor.getColumn("A");
+		assertTrue(column instanceof ArrayList);
+		new ObjectOutputStream(new ByteArrayOutputStream()).writeObject(column);
+
+		column.clear();
+		assertTrue(processor.getColumn("A").isEmpty());
+
+		try {
+			processor.getColumnVector("A");
+			fail("Expected exception. Compact storage is disabled");
+		} catch (IllegalStateException e) {
+			//OK
+		}
+	}
 }
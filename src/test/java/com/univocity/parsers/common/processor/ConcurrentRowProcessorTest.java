@@ -15,12 +15,16 @@
  ******************************************************************************/
 package com.univocity.parsers.common.processor;
 
+import com.univocity.parsers.annotations.*;
 import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.input.concurrent.*;
+import com.univocity.parsers.conversions.*;
 import com.univocity.parsers.csv.*;
 import org.testng.annotations.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.testng.Assert.*;
 
@@ -119,4 +123,318 @@ public class ConcurrentRowProcessorTest {
 		CsvParser parser = new CsvParser(settings);
 		parser.parse(reader);
 	}
+
+	@DataProvider
+	private Object[][] getWorkerLimits() {
+		return new Object[][]{
+				{-1, 2},
+				{1, 4},
+				{3, 3},
+				{100, 8}
+		};
+	}
+
+	private CsvParserSettings newSettings(RowProcessor processor) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setProcessor(processor);
+		return settings;
+	}
+
+	@Test(dataProvider = "getWorkerLimits")
+	public void testObjectRowsProcessedInOrder(int limit, int workers) {
+		final List<Object[]> rows = new ArrayList<Object[]>();
+		final List<Long> lines = new ArrayList<Long>();
+		final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+
+		List<RowProcessor> processors = new ArrayList<RowProcessor>();
+		for (int i = 0; i < workers; i++) {
+			ObjectRowProcessor processor = new ObjectRowProcessor() {
+				@Override
+				public void rowProcessed(Object[] row, ParsingContext context) {
+					rows.add(row);
+					lines.add(context.currentLine());
+				}
+			};
+			processor.convertAll(new Conversion<String, Object>() {
+				@Override
+				public Object execute(String input) {
+					threads.add(Thread.currentThread());
+					return input.toLowerCase();
+				}
+
+				@Override
+				public String revert(Object input) {
+					return null;
+				}
+			});
+			processors.add(processor);
+		}
+
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(processors, limit);
+		assertEquals(concurrent.getWorkerCount(), workers);
+		new CsvParser(newSettings(concurrent)).parse(new StringReader(input));
+
+		assertEquals(rows.size(), LINES);
+		for (int i = 0; i < LINES; i++) {
+			assertEquals(rows.get(i)[0], "a" + i);
+			assertEquals(rows.get(i)[6], "g" + i);
+			assertEquals(lines.get(i).longValue(), i + 2);
+		}
+		assertFalse(threads.contains(Thread.currentThread()));
+	}
+
+	@Test
+	public void testBeansProcessedInOrder() {
+		final List<String> values = new ArrayList<String>();
+		List<RowProcessor> processors = new ArrayList<RowProcessor>();
+		for (int i = 0; i < 3; i++) {
+			processors.add(new BeanProcessor<Row>(Row.class) {
+				@Override
+				public void beanProcessed(Row bean, ParsingContext context) {
+					values.add(bean.a + bean.g);
+				}
+			});
+		}
+
+		new CsvParser(newSettings(new ConcurrentRowProcessor(processors, 10))).parse(new StringReader(input));
+
+		assertEquals(values.size(), LINES);
+		for (int i = 0; i < LINES; i++) {
+			assertEquals(values.get(i), "A" + i + "G" + i);
+		}
+	}
+
+	public static class Row {
+		@Parsed(field = "A")
+		String a;
+
+		@Parsed(field = "G")
+		String g;
+	}
+
+	@Test
+	public void testUnorderedProcessingWithSharedProcessor() {
+		final Set<String> values = Collections.synchronizedSet(new HashSet<String>());
+		final List<Long> records = Collections.synchronizedList(new ArrayList<Long>());
+
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				values.add(row[3]);
+				records.add(context.currentRecord());
+			}
+		}, 50, 4);
+		concurrent.setOrderedProcessingEnabled(false);
+		new CsvParser(newSettings(concurrent)).parse(new StringReader(input));
+
+		assertEquals(values.size(), LINES);
+		assertEquals(records.size(), LINES);
+		assertEquals(new HashSet<Long>(records).size(), LINES);
+	}
+
+	@Test
+	public void testErrorInWorker() {
+		final List<Object> processed = new ArrayList<Object>();
+		List<RowProcessor> processors = new ArrayList<RowProcessor>();
+		for (int i = 0; i < 2; i++) {
+			processors.add(new ObjectRowProcessor() {
+				@Override
+				public void rowProcessed(Object[] row, ParsingContext context) {
+					if (row[0].equals("A100")) {
+						throw new IllegalStateException("Boom");
+					}
+					processed.add(row[0]);
+				}
+			});
+		}
+
+		CsvParser parser = new CsvParser(newSettings(new ConcurrentRowProcessor(processors, 2)));
+		try {
+			parser.parse(new StringReader(input));
+			fail("Expected error from worker");
+		} catch (DataProcessingException e) {
+			assertTrue(e.getCause().getCause() instanceof IllegalStateException);
+		}
+		assertEquals(processed.size(), 100);
+		assertTrue(parser.getContext().currentRecord() < LINES / 2, "Parsed " + parser.getContext().currentRecord() + " records after failure");
+	}
+
+	@Test
+	public void testSharedConversionProcessorRejected() {
+		ObjectRowListProcessor processor = new ObjectRowListProcessor();
+		processor.convertAll(Conversions.toLowerCase());
+
+		try {
+			new ConcurrentRowProcessor(processor, 10, 4);
+			fail("Expected shared processor with conversions to be rejected");
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+
+		try {
+			new ConcurrentRowProcessor(Arrays.asList(processor, processor), 10);
+			fail("Expected shared processor with conversions to be rejected");
+		} catch (IllegalArgumentException e) {
+			//expected
+		}
+
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(processor, 10, 1);
+		new CsvParser(newSettings(concurrent)).parse(new StringReader(input));
+		assertEquals(processor.getRows().size(), LINES);
+		assertEquals(processor.getRows().get(LINES - 1)[6], "g" + (LINES - 1));
+	}
+
+	@DataProvider
+	private Object[][] getWaitStrategies() {
+		return new Object[][]{
+				{WaitStrategy.SPIN, 1},
+				{WaitStrategy.YIELD, 7},
+				{WaitStrategy.PARK, 256},
+				{WaitStrategy.PARK, 100000}
+		};
+	}
+
+	@Test(dataProvider = "getWaitStrategies")
+	public void testBatchedHandOff(WaitStrategy waitStrategy, int batchSize) {
+		final List<String> values = new ArrayList<String>();
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				values.add(row[0]);
+				assertEquals(context.currentRecord(), values.size());
+			}
+		}, 1000);
+		concurrent.setWaitStrategy(waitStrategy);
+		concurrent.setBatchSize(batchSize);
+		new CsvParser(newSettings(concurrent)).parse(new StringReader(input));
+
+		assertEquals(values.size(), LINES);
+		for (int i = 0; i < LINES; i++) {
+			assertEquals(values.get(i), "A" + i);
+		}
+		assertEquals(concurrent.getOccupancy(), 0);
+		assertTrue(concurrent.getPeakOccupancy() > 0);
+		assertTrue(concurrent.getPeakOccupancy() <= 1000, "Peak occupancy of " + concurrent.getPeakOccupancy());
+	}
+
+	@Test(dataProvider = "getWaitStrategies")
+	public void testBatchedHandOffWithWorkers(WaitStrategy waitStrategy, int batchSize) {
+		final List<String> values = new ArrayList<String>();
+		List<RowProcessor> processors = new ArrayList<RowProcessor>();
+		for (int i = 0; i < 3; i++) {
+			ObjectRowProcessor processor = new ObjectRowProcessor() {
+				@Override
+				public void rowProcessed(Object[] row, ParsingContext context) {
+					values.add((String) row[0]);
+				}
+			};
+			processor.convertAll(Conversions.toLowerCase());
+			processors.add(processor);
+		}
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(processors, 1000);
+		concurrent.setWaitStrategy(waitStrategy);
+		concurrent.setBatchSize(batchSize);
+		new CsvParser(newSettings(concurrent)).parse(new StringReader(input));
+
+		assertEquals(values.size(), LINES);
+		for (int i = 0; i < LINES; i++) {
+			assertEquals(values.get(i), "a" + i);
+		}
+		assertEquals(concurrent.getOccupancy(), 0);
+		assertTrue(concurrent.getPeakOccupancy() > 0);
+		assertTrue(concurrent.getPeakOccupancy() <= 1000, "Peak occupancy of " + concurrent.getPeakOccupancy());
+	}
+
+	@Test
+	public void testRowProcessedWhileInputBlocks() throws Exception {
+		final CountDownLatch processed = new CountDownLatch(1);
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				processed.countDown();
+			}
+		});
+		assertEquals(concurrent.getBatchSize(), ConcurrentRowProcessor.DEFAULT_BATCH_SIZE);
+
+		final boolean[] processedWhileBlocked = new boolean[1];
+		Reader slowInput = new Reader() {
+			private String remaining = "A,B\n1,2\n3,4";
+
+			@Override
+			public int read(char[] buffer, int offset, int length) throws IOException {
+				if (remaining == null) {
+					return -1;
+				}
+				if (remaining.isEmpty()) {
+					// the first record must be processed while the parser waits for more input.
+					try {
+						processedWhileBlocked[0] = processed.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						throw new InterruptedIOException();
+					}
+					remaining = null;
+					return -1;
+				}
+				int count = Math.min(length, remaining.length());
+				remaining.getChars(0, count, buffer, offset);
+				remaining = remaining.substring(count);
+				return count;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		CsvParserSettings settings = newSettings(concurrent);
+		settings.setReadInputOnSeparateThread(false);
+		new CsvParser(settings).parse(slowInput);
+		assertTrue(processedWhileBlocked[0]);
+	}
+
+	@Test
+	public void testStallMetrics() {
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				if (context.currentRecord() % 500 == 0) {
+					try {
+						Thread.sleep(1);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		}, 100);
+		concurrent.setBatchSize(10);
+		new CsvParser(newSettings(concurrent)).parse(new StringReader(input));
+
+		assertTrue(concurrent.getProducerStallCount() > 0);
+		assertTrue(concurrent.getProducerStallNanos() > 0);
+		assertTrue(concurrent.getConsumerStallCount() > 0);
+		assertTrue(concurrent.getPeakOccupancy() <= 100);
+	}
+
+	@Test
+	public void testErrorUnblocksParser() {
+		ConcurrentRowProcessor concurrent = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+			@Override
+			public void rowProcessed(String[] row, ParsingContext context) {
+				if (context.currentRecord() == 20) {
+					throw new IllegalStateException("Boom");
+				}
+			}
+		}, 10);
+		concurrent.setBatchSize(5);
+		CsvParser parser = new CsvParser(newSettings(concurrent));
+		try {
+			parser.parse(new StringReader(input));
+			fail("Expected error from processing thread");
+		} catch (DataProcessingException e) {
+			assertTrue(e.getCause().getCause() instanceof IllegalStateException);
+		}
+		assertTrue(parser.getContext().currentRecord() < LINES / 2, "Parsed " + parser.getContext().currentRecord() + " records after failure");
+	}
 }
@@ -15,6 +15,7 @@
  ******************************************************************************/
 package com.univocity.parsers.common.processor;
 
+import com.univocity.parsers.common.processor.core.*;
 import com.univocity.parsers.conversions.*;
 import com.univocity.parsers.csv.*;
 import org.testng.annotations.*;
@@ -74,4 +75,43 @@ public class ObjectColumnProcessorTest {
 		}
 		assertEquals(processor.getHeaders(), new String[]{"A", "B", "C"});
 	}
+
+	@Test
+	public void testCompactStorage() {
+		ObjectColumnProcessor processor = new ObjectColumnProcessor(2);
+		processor.setCompactStorageEnabled(true);
+		processor.convertFields(Conversions.toInteger()).add("A");
+		processor.convertFields(Conversions.toBoolean()).add("B");
+		processor.convertIndexes(Conversions.toBigDecimal()).add(3);
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowProcessor(processor);
+
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertEquals(processor.getColumn("A").toArray(), new Object[]{1, 2, 3, 4});
+		assertEquals(processor.getColumn(1).toArray(), new Object[]{true, false, null, false});
+		assertEquals(processor.getColumn(2).toArray(), new Object[]{"C", null, "C", "C"});
+		assertEquals(processor.getColumn(3).toArray(), new Object[]{null, null, null, new BigDecimal("55.4")});
+
+		ColumnVector<Object> a = processor.getColumnVector("A");
+		assertEquals(a.getStorage(), ColumnVector.Storage.INT);
+		assertEquals(a.getInt(3), 4);
+		assertEquals(a.getDouble(3), 4.0);
+
+		ColumnVector<Object> b = processor.getColumnVectorsAsMapOfIndexes().get(1);
+		assertEquals(b.getStorage(), ColumnVector.Storage.BOOLEAN);
+		assertTrue(b.getBoolean(0));
+		assertTrue(b.isNull(2));
+		assertFalse(b.getBoolean(2));
+
+		ColumnVector<Object> c = processor.getColumnVector(2);
+		assertEquals(c.getStorage(), ColumnVector.Storage.DICTIONARY);
+		assertEquals(c.getDictionary(), Arrays.asList("C"));
+		assertEquals(c.getDictionaryCode(1), -1);
+		assertEquals(c.getDictionaryCode(3), 0);
+
+		assertEquals(processor.getColumnVector(3).getStorage(), ColumnVector.Storage.OBJECT);
+	}
 }
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.processor.core.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class OffHeapColumnProcessorTest {
+
+	private static final String INPUT = "" +
+			"A,B,C" +
+			"\n1A,1B,1C" +
+			"\n2A,2B" +
+			"\n3A,,3C" +
+			"\n4A,é€😀,4C,4D";
+
+	private static String[] strings(OffHeapColumn column) {
+		String[] out = new String[column.getRowCount()];
+		for (int i = 0; i < out.length; i++) {
+			out[i] = column.getString(i);
+		}
+		return out;
+	}
+
+	private CsvParserSettings newSettings(OffHeapColumnProcessor processor) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setProcessor(processor);
+		return settings;
+	}
+
+	@Test
+	public void testColumnValues() {
+		final List<List<String[]>> batches = new ArrayList<List<String[]>>();
+		final List<String> names = new ArrayList<String>();
+
+		OffHeapColumnProcessor processor = new OffHeapColumnProcessor(2) {
+			@Override
+			public void columnsProcessed(List<OffHeapColumn> columns, int rowsInThisBatch) {
+				List<String[]> batch = new ArrayList<String[]>();
+				for (OffHeapColumn column : columns) {
+					assertEquals(column.getRowCount(), rowsInThisBatch);
+					assertTrue(column.getDataBuffer().isDirect());
+					batch.add(strings(column));
+					names.add(column.getName());
+				}
+				batches.add(batch);
+			}
+		};
+
+		new CsvParser(newSettings(processor)).parse(new StringReader(INPUT));
+
+		assertEquals(batches.size(), 2);
+		assertEquals(batches.get(0).size(), 3);
+		assertEquals(batches.get(0).get(0), new String[]{"1A", "2A"});
+		assertEquals(batches.get(0).get(1), new String[]{"1B", "2B"});
+		assertEquals(batches.get(0).get(2), new String[]{"1C", null});
+
+		assertEquals(batches.get(1).size(), 4);
+		assertEquals(batches.get(1).get(0), new String[]{"3A", "4A"});
+		assertEquals(batches.get(1).get(1), new String[]{null, "é€😀"});
+		assertEquals(batches.get(1).get(2), new String[]{"3C", "4C"});
+		assertEquals(batches.get(1).get(3), new String[]{null, "4D"});
+
+		assertEquals(names, Arrays.asList("A", "B", "C", "A", "B", "C", null));
+	}
+
+	@Test
+	public void testBufferLayout() {
+		final List<OffHeapColumn> columns = new ArrayList<OffHeapColumn>();
+
+		OffHeapColumnProcessor processor = new OffHeapColumnProcessor(10) {
+			@Override
+			public void columnsProcessed(List<OffHeapColumn> batch, int rowsInThisBatch) {
+				columns.addAll(batch);
+				OffHeapColumn column = batch.get(1);
+				assertEquals(column.getNullCount(), 1);
+
+				ByteBuffer validity = column.getValidityBuffer();
+				assertEquals(validity.order(), ByteOrder.LITTLE_ENDIAN);
+				assertEquals(validity.remaining(), 8);
+				assertEquals(validity.get(0), (byte) 0xB);
+				for (int i = 1; i < 8; i++) {
+					assertEquals(validity.get(i), (byte) 0);
+				}
+
+				ByteBuffer offsets = column.getOffsetsBuffer();
+				assertEquals(offsets.order(), ByteOrder.LITTLE_ENDIAN);
+				assertEquals(offsets.remaining(), 5 * 4);
+				int[] expectedOffsets = {0, 2, 4, 4, 4 + 2 + 3 + 4};
+				for (int i = 0; i < expectedOffsets.length; i++) {
+					assertEquals(offsets.getInt(i * 4), expectedOffsets[i]);
+				}
+
+				ByteBuffer data = column.getDataBuffer();
+				assertEquals(data.remaining(), 13);
+				assertEquals(data.get(0), (byte) '1');
+				assertEquals(data.get(1), (byte) 'B');
+				assertEquals(data.get(3), (byte) 'B');
+				assertEquals(data.get(4), (byte) 0xC3);
+				assertEquals(data.get(5), (byte) 0xA9);
+				assertEquals(data.get(9), (byte) 0xF0);
+				assertTrue(data.isReadOnly());
+			}
+		};
+
+		new CsvParser(newSettings(processor)).parse(new StringReader(INPUT));
+
+		assertEquals(columns.size(), 4);
+		assertEquals(processor.getOffHeapColumns().size(), 4);
+		assertTrue(columns.get(3).isNull(2));
+		assertFalse(columns.get(3).isNull(3));
+		try {
+			columns.get(3).isNull(4);
+			fail("Expected exception reading beyond the rows of the batch");
+		} catch (IndexOutOfBoundsException e) {
+			//OK
+		}
+	}
+
+	@Test
+	public void testBuffersGrowAndAreReused() {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			input.append(i).append(',');
+			for (int j = 0; j < i; j++) {
+				input.append('x');
+			}
+			input.append('\n');
+		}
+
+		final Set<OffHeapColumn> instances = Collections.newSetFromMap(new IdentityHashMap<OffHeapColumn, Boolean>());
+		final int[] rows = new int[1];
+
+		OffHeapColumnProcessor processor = new OffHeapColumnProcessor(100) {
+			@Override
+			public void columnsProcessed(List<OffHeapColumn> columns, int rowsInThisBatch) {
+				instances.addAll(columns);
+				OffHeapColumn values = columns.get(1);
+				for (int i = 0; i < rowsInThisBatch; i++) {
+					int row = rows[0] + i;
+					assertEquals(columns.get(0).getString(i), String.valueOf(row));
+					assertEquals(values.isNull(i), row == 0);
+					if (row > 0) {
+						assertEquals(values.getString(i).length(), row);
+					}
+				}
+				rows[0] += rowsInThisBatch;
+			}
+		};
+
+		CsvParserSettings settings = newSettings(processor);
+		settings.setHeaderExtractionEnabled(false);
+		new CsvParser(settings).parse(new StringReader(input.toString()));
+
+		assertEquals(rows[0], 500);
+		assertEquals(instances.size(), 2);
+	}
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.csv.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class PrimitiveColumnProcessorTest {
+
+	private static final String INPUT = "" +
+			"id,name,amount,active,day,time" +
+			"\n1,a,10.5,true,1970-01-01,1970-01-01T00:00:00Z" +
+			"\n2,b,-0.25,FALSE,2020-02-29,2016-03-01T10:15:30.5+10:00" +
+			"\n3,c,,,1969-12-31,2016-03-01 00:00:01.123" +
+			"\n4,d,1e3,True";
+
+	private CsvParserSettings newSettings(PrimitiveColumnProcessor processor) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setHeaderExtractionEnabled(true);
+		settings.setRowViewProcessor(processor);
+		return settings;
+	}
+
+	private static long utc(int year, int month, int day, int hour, int minute, int second, int millis) {
+		Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		calendar.clear();
+		calendar.set(year, month - 1, day, hour, minute, second);
+		calendar.set(Calendar.MILLISECOND, millis);
+		return calendar.getTimeInMillis();
+	}
+
+	@Test
+	public void testColumnValues() {
+		final List<Object> batches = new ArrayList<Object>();
+
+		PrimitiveColumnProcessor processor = new PrimitiveColumnProcessor(3) {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+				batches.add(rowsInThisBatch);
+				batches.add(Arrays.copyOf(getLongs("id"), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getDoubles(2), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getNulls("amount"), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getBooleans("active"), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getNulls(3), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getInts("day"), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getLongs("time"), rowsInThisBatch));
+				batches.add(Arrays.copyOf(getNulls("time"), rowsInThisBatch));
+			}
+		};
+		processor.readFields(PrimitiveType.LONG, "id");
+		processor.readIndexes(PrimitiveType.DOUBLE, 2);
+		processor.readFields(PrimitiveType.BOOLEAN, "active");
+		processor.readFields(PrimitiveType.DATE, "day");
+		processor.readFields(PrimitiveType.DATE_TIME, "time");
+
+		new CsvParser(newSettings(processor)).parse(new StringReader(INPUT));
+
+		assertEquals(processor.getBatchesProcessed(), 2);
+		assertEquals(processor.getHeaders(), new String[]{"id", "name", "amount", "active", "day", "time"});
+		assertEquals(batches.size(), 18);
+
+		assertEquals(batches.get(0), 3);
+		assertEquals(Arrays.toString((long[]) batches.get(1)), Arrays.toString(new long[]{1, 2, 3}));
+		assertEquals(Arrays.toString((double[]) batches.get(2)), Arrays.toString(new double[]{10.5, -0.25, 0.0}));
+		assertEquals(Arrays.toString((boolean[]) batches.get(3)), Arrays.toString(new boolean[]{false, false, true}));
+		assertEquals(Arrays.toString((boolean[]) batches.get(4)), Arrays.toString(new boolean[]{true, false, false}));
+		assertEquals(Arrays.toString((boolean[]) batches.get(5)), Arrays.toString(new boolean[]{false, false, true}));
+		assertEquals(Arrays.toString((int[]) batches.get(6)), Arrays.toString(new int[]{0, 18321, -1}));
+		assertEquals(Arrays.toString((long[]) batches.get(7)), Arrays.toString(new long[]{0L, utc(2016, 3, 1, 0, 15, 30, 500), utc(2016, 3, 1, 0, 0, 1, 123)}));
+
+		assertEquals(batches.get(9), 1);
+		assertEquals(Arrays.toString((long[]) batches.get(10)), Arrays.toString(new long[]{4}));
+		assertEquals(Arrays.toString((double[]) batches.get(11)), Arrays.toString(new double[]{1000.0}));
+		assertEquals(Arrays.toString((boolean[]) batches.get(13)), Arrays.toString(new boolean[]{true}));
+		assertEquals(Arrays.toString((boolean[]) batches.get(17)), Arrays.toString(new boolean[]{true}));
+	}
+
+	@Test
+	public void testSelectedColumnsReordered() {
+		final List<Long> ids = new ArrayList<Long>();
+		final List<Double> amounts = new ArrayList<Double>();
+
+		PrimitiveColumnProcessor processor = new PrimitiveColumnProcessor(1) {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+				ids.add(getLongs("id")[0]);
+				amounts.add(getNulls("amount")[0] ? null : getDoubles("amount")[0]);
+			}
+		};
+		processor.readFields(PrimitiveType.LONG, "id");
+		processor.readFields(PrimitiveType.DOUBLE, "amount");
+
+		CsvParserSettings settings = newSettings(processor);
+		settings.selectFields("amount", "name", "id");
+		new CsvParser(settings).parse(new StringReader(INPUT));
+
+		assertEquals(ids, Arrays.asList(1L, 2L, 3L, 4L));
+		assertEquals(amounts, Arrays.asList(10.5, -0.25, null, 1000.0));
+	}
+
+	@Test
+	public void testInvalidValue() {
+		PrimitiveColumnProcessor processor = new PrimitiveColumnProcessor() {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+			}
+		};
+		processor.readFields(PrimitiveType.INT, "name");
+
+		try {
+			new CsvParser(newSettings(processor)).parse(new StringReader(INPUT));
+			fail("Expected exception reading text as int");
+		} catch (DataProcessingException e) {
+			assertEquals(e.getColumnIndex(), 1);
+			assertEquals(e.getValue(), "a");
+			assertTrue(e.getMessage().contains("Unable to read 'a' as INT"), e.getMessage());
+		}
+	}
+
+	@Test
+	public void testInvalidDates() {
+		String[] invalidDates = {"2019-02-29", "2020-13-01", "2020-1-01", "2020/01/01"};
+		for (String date : invalidDates) {
+			PrimitiveColumnProcessor processor = new PrimitiveColumnProcessor() {
+				@Override
+				public void batchProcessed(int rowsInThisBatch) {
+				}
+			};
+			processor.readIndexes(PrimitiveType.DATE, 0);
+
+			CsvParserSettings settings = newSettings(processor);
+			settings.setHeaderExtractionEnabled(false);
+			try {
+				new CsvParser(settings).parse(new StringReader(date));
+				fail("Expected exception reading " + date);
+			} catch (DataProcessingException e) {
+				assertEquals(e.getValue(), date);
+			}
+		}
+	}
+
+	@Test
+	public void testNamesWithoutHeaders() {
+		PrimitiveColumnProcessor processor = new PrimitiveColumnProcessor() {
+			@Override
+			public void batchProcessed(int rowsInThisBatch) {
+			}
+		};
+		processor.readFields(PrimitiveType.INT, "id");
+
+		CsvParserSettings settings = newSettings(processor);
+		settings.setHeaderExtractionEnabled(false);
+		try {
+			new CsvParser(settings).parse(new StringReader("1\n2"));
+			fail("Expected exception selecting field by name without headers");
+		} catch (DataProcessingException e) {
+			assertTrue(e.getMessage().contains("no headers are available"), e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.common.processor.core;
+
+import org.testng.annotations.*;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ColumnVectorTest {
+
+	@Test
+	public void testPrimitiveStorage() {
+		ColumnVector<Object> longs = new ColumnVector<Object>(1, true);
+		longs.add(null);
+		assertEquals(longs.getStorage(), ColumnVector.Storage.UNDEFINED);
+		for (long i = 0; i < 200; i++) {
+			longs.add(i % 3 == 0 ? null : Long.MAX_VALUE - i);
+		}
+		assertEquals(longs.getStorage(), ColumnVector.Storage.LONG);
+		assertEquals(longs.size(), 201);
+		assertNull(longs.get(0));
+		assertTrue(longs.isNull(1));
+		assertEquals(longs.get(2), Long.MAX_VALUE - 1);
+		assertEquals(longs.getLong(200), Long.MAX_VALUE - 199);
+
+		longs.set(2, null);
+		assertTrue(longs.isNull(2));
+		assertEquals(longs.getLong(2), 0L);
+		longs.set(1, 5L);
+		assertEquals(longs.get(1), 5L);
+
+		ColumnVector<Object> doubles = new ColumnVector<Object>(10, true);
+		doubles.addAll(Arrays.<Object>asList(1.5, null, -2.25));
+		assertEquals(doubles.getStorage(), ColumnVector.Storage.DOUBLE);
+		assertEquals(doubles, Arrays.<Object>asList(1.5, null, -2.25));
+		assertEquals(doubles.getDouble(2), -2.25);
+	}
+
+	@Test
+	public void testFallbackToObjects() {
+		ColumnVector<Object> values = new ColumnVector<Object>(10, true);
+		values.addAll(Arrays.<Object>asList(1, null, 3));
+		assertEquals(values.getStorage(), ColumnVector.Storage.INT);
+		values.add("x");
+		assertEquals(values.getStorage(), ColumnVector.Storage.OBJECT);
+		assertEquals(values, Arrays.<Object>asList(1, null, 3, "x"));
+		assertEquals(values.getInt(2), 3);
+
+		ColumnVector<String> strings = new ColumnVector<String>(10, true);
+		for (int i = 0; i < ColumnVector.DICTIONARY_CHECK_THRESHOLD - 1; i++) {
+			strings.add(i % 10 == 0 ? "ten" : String.valueOf(i % 7));
+		}
+		assertEquals(strings.getStorage(), ColumnVector.Storage.DICTIONARY);
+		assertEquals(strings.getDictionary().size(), 8);
+		for (int i = 0; i < ColumnVector.DICTIONARY_CHECK_THRESHOLD; i++) {
+			strings.add("unique " + i);
+		}
+		assertEquals(strings.getStorage(), ColumnVector.Storage.OBJECT);
+		assertEquals(strings.get(10), "ten");
+		assertEquals(strings.get(11), "4");
+		assertEquals(strings.get(strings.size() - 1), "unique " + (ColumnVector.DICTIONARY_CHECK_THRESHOLD - 1));
+	}
+
+	@Test
+	public void testListOperations() {
+		ColumnVector<Object> values = new ColumnVector<Object>(10, true);
+		values.addAll(Arrays.<Object>asList(true, false, null, true));
+		assertEquals(values.getStorage(), ColumnVector.Storage.BOOLEAN);
+		assertEquals(values.indexOf(null), 2);
+		assertEquals(values.remove(1), false);
+		assertEquals(values, Arrays.<Object>asList(true, null, true));
+		assertEquals(values.getStorage(), ColumnVector.Storage.OBJECT);
+
+		values.add(0, false);
+		assertEquals(values, Arrays.<Object>asList(false, true, null, true));
+
+		ColumnVector<Object> ints = new ColumnVector<Object>(10, true);
+		ints.addAll(Arrays.<Object>asList(1, 2));
+		try {
+			ints.add(0, 3);
+			fail("Expected exception inserting in the middle of a compact column");
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		ColumnVector<Object> plain = new ColumnVector<Object>(0, false);
+		plain.add(1);
+		assertEquals(plain.getStorage(), ColumnVector.Storage.OBJECT);
+		assertEquals(plain.getInt(0), 1);
+		for (int i = 2; i <= 20; i++) {
+			plain.add(i);
+		}
+		plain.add(0, 0);
+		plain.add(10, "x");
+		plain.add(plain.size(), null);
+		assertEquals(plain.size(), 23);
+		assertEquals(plain.get(0), 0);
+		assertEquals(plain.get(9), 9);
+		assertEquals(plain.get(10), "x");
+		assertEquals(plain.get(11), 10);
+		assertEquals(plain.get(21), 20);
+		assertNull(plain.get(22));
+
+		plain.subList(5, 15).clear();
+		assertEquals(plain.size(), 13);
+		assertEquals(plain.get(4), 4);
+		assertEquals(plain.get(5), 14);
+
+		ints.clear();
+		assertEquals(ints.size(), 0);
+		assertEquals(ints.getStorage(), ColumnVector.Storage.UNDEFINED);
+		ints.add(5);
+		assertEquals(ints.getStorage(), ColumnVector.Storage.INT);
+		assertEquals(ints.getInt(0), 5);
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import org.testng.annotations.*;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.testng.Assert.*;
+
+public class CsvMessageParserTest {
+
+	private static String[] values(String[] row, int count) {
+		return Arrays.copyOf(row, count);
+	}
+
+	@DataProvider
+	public Object[][] messageProvider() {
+		return new Object[][]{
+				{"a,b,c"},
+				{"  a  , b,\"c,d\""},
+				{"\"quoted \"\"value\"\"\",,last"},
+				{"\"multi\r\nline\",x"},
+				{"1,2,3,"},
+				{"ção,€,😀"},
+				{"a,\"unterminated"},
+				{"\"a\" ,b"},
+		};
+	}
+
+	@Test(dataProvider = "messageProvider")
+	public void testParseMessage(String message) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\r\n");
+		String[] expected = new CsvParser(settings).parseLine(message);
+
+		CsvMessageParser parser = new CsvMessageParser(settings);
+		String[] row = new String[10];
+
+		int count = parser.parse(message, row);
+		assertEquals(values(row, count), expected);
+
+		count = parser.parse(new StringBuilder(message), row);
+		assertEquals(values(row, count), expected);
+
+		char[] chars = ("xx" + message + "yy").toCharArray();
+		count = parser.parse(chars, 2, message.length(), row);
+		assertEquals(values(row, count), expected);
+
+		byte[] bytes = ("xx" + message + "yy").getBytes(Charset.forName("UTF-8"));
+		count = parser.parse(bytes, 2, bytes.length - 4, row);
+		assertEquals(values(row, count), expected);
+	}
+
+	@Test
+	public void testEmptyMessagesAndComments() {
+		CsvMessageParser parser = new CsvMessageParser(new CsvParserSettings());
+		String[] row = new String[2];
+		assertEquals(parser.parse("", row), 0);
+		assertEquals(parser.parse("#comment,a", row), 0);
+		assertEquals(parser.parse("a", row), 1);
+		assertEquals(row[0], "a");
+	}
+
+	@Test
+	public void testRowBufferTooSmall() {
+		CsvMessageParser parser = new CsvMessageParser(new CsvParserSettings());
+		String[] row = new String[2];
+		assertEquals(parser.parse("a,b,c,d", row), 4);
+		assertEquals(row, new String[]{"a", "b"});
+	}
+
+	@Test
+	public void testFieldSelection() {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.selectIndexes(2, 0);
+		CsvMessageParser parser = new CsvMessageParser(settings);
+		String[] row = new String[2];
+		assertEquals(parser.parse("a,b,c", row), 2);
+		assertEquals(row, new String[]{"c", "a"});
+		assertEquals(parser.parse("d", row), 2);
+		assertEquals(row, new String[]{null, "d"});
+	}
+
+	@Test
+	public void testLatin1Bytes() {
+		CsvMessageParser parser = new CsvMessageParser(new CsvParserSettings(), Charset.forName("ISO-8859-1"));
+		byte[] bytes = "ção,b".getBytes(Charset.forName("ISO-8859-1"));
+		String[] row = new String[2];
+		assertEquals(parser.parse(bytes, 0, bytes.length, row), 2);
+		assertEquals(row, new String[]{"ção", "b"});
+	}
+
+	@Test
+	public void testMultipleThreads() throws Exception {
+		final CsvMessageParser parser = new CsvMessageParser(new CsvParserSettings());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 4; t++) {
+				final int thread = t;
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						String[] row = new String[3];
+						for (int i = 0; i < 10000; i++) {
+							int count = parser.parse(thread + ",\"" + i + "\"," + (i * 2), row);
+							if (count != 3 || !row[0].equals(String.valueOf(thread)) || !row[1].equals(String.valueOf(i)) || !row[2].equals(String.valueOf(i * 2))) {
+								return false;
+							}
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -88,8 +88,12 @@ public class CsvParserTest extends ParserTestCase {
 		assertEquals(parser.getContext().lastComment(), "this is a comment and should be ignored");
 	}
 
+	protected CsvParserSettings newCsvInputSettings() {
+		return new CsvParserSettings();
+	}
+
 	protected CsvParserSettings newCsvInputSettings(char[] lineSeparator) {
-		CsvParserSettings out = new CsvParserSettings();
+		CsvParserSettings out = newCsvInputSettings();
 		if (lineSeparator == null) {
 			out.setLineSeparatorDetectionEnabled(true);
 		} else {
@@ -172,7 +176,7 @@ public class CsvParserTest extends ParserTestCase {
 	}
 
 	private String[] process(String input, Integer[] indexesToExclude, Integer[] indexesToSelect, String[] fieldsToExclude, String[] fieldsToSelect) {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setHeaderExtractionEnabled(fieldsToExclude != null || fieldsToSelect != null);
 
 		if (indexesToExclude != null) {
@@ -381,7 +385,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test(dataProvider = "escapeHandlingProvider")
 	public void testHandlingOfEscapeSequences(boolean keepEscape, boolean escapeUnquoted, String[] expected) throws Exception {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setKeepEscapeSequences(keepEscape);
 		settings.setEscapeUnquotedValues(escapeUnquoted);
 		settings.getFormat().setCharToEscapeQuoteEscaping('|');
@@ -396,7 +400,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testEscapedLineEndingsAreNotModified() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setNormalizeLineEndingsWithinQuotes(false);
 		settings.getFormat().setLineSeparator("\r\n");
 
@@ -466,6 +470,7 @@ public class CsvParserTest extends ParserTestCase {
 		} catch (TextParsingException ex) {
 			assertTrue(ex.getMessage().contains("Unescaped quote character '\"' inside quoted value of CSV field"));
 		}
+		assertEquals(parser.parseLine("1997,\"value\""), new String[]{"1997", "value"});
 	}
 
 
@@ -558,7 +563,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test(dataProvider = "skipLinesProvider")
 	public void testSkipLines(int rowsToSkip, String expectedResult) {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.getFormat().setLineSeparator("\n");
 
 		settings.setNumberOfRowsToSkip(rowsToSkip);
@@ -584,7 +589,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testParseUnescapedQuotesWithStop() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setParseUnescapedQuotesUntilDelimiter(true);
 		settings.getFormat().setLineSeparator("\n");
 
@@ -602,7 +607,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void parseIgnoreTrailingWhitespace() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.getFormat().setLineSeparator("\n");
 		settings.setIgnoreTrailingWhitespaces(true);
 		CsvParser parser = new CsvParser(settings);
@@ -613,7 +618,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void parseWithAutoExpansion() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setMaxCharsPerColumn(-1);
 
 		StringBuilder in = new StringBuilder(100000);
@@ -638,7 +643,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testErrorMessageRestrictions() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setMaxCharsPerColumn(3);
 		settings.setErrorContentLength(0);
 
@@ -662,7 +667,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testKeepQuotes() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setKeepQuotes(true);
 		settings.getFormat().setQuote('\'');
 		settings.getFormat().setQuoteEscape('\'');
@@ -679,7 +684,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testNullValue() {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setIgnoreLeadingWhitespaces(false);
 		settings.setIgnoreTrailingWhitespaces(true);
 		settings.setNullValue("NULL");
@@ -695,7 +700,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testColumnReorderingWithUserProvidedHeaders() throws Exception {
-		CsvParserSettings settings = new CsvParserSettings();
+		CsvParserSettings settings = newCsvInputSettings();
 		settings.setHeaders("a", "b", "c");
 
 		settings.setColumnReorderingEnabled(false);
@@ -707,7 +712,7 @@ public class CsvParserTest extends ParserTestCase {
 
 	@Test
 	public void testEscapeCharacter() {
-		CsvParserSettings parserSettings = new CsvParserSettings();
+		CsvParserSettings parserSettings = newCsvInputSettings();
 		parserSettings.getFormat().setQuoteEscape('/');
 
 		CsvParser parser = new CsvParser(parserSettings);
@@ -724,4 +729,203 @@ public class CsvParserTest extends ParserTestCase {
 		assertEquals(line[1], "c");
 
 	}
+
+	private List<String> parseWithPositions(String input, String lineSeparator, int bufferSize, boolean normalizeOnLoad, boolean selectFields) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator(lineSeparator);
+		settings.setInputBufferSize(bufferSize);
+		settings.setReadInputOnSeparateThread(bufferSize % 2 == 0);
+		settings.setCommentCollectionEnabled(true);
+		settings.setLineEndingNormalizationOnLoadEnabled(normalizeOnLoad);
+		if (selectFields) {
+			settings.selectIndexes(1);
+		}
+
+		CsvParser parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader(input));
+		List<String> out = new ArrayList<String>();
+		String[] row;
+		while ((row = parser.parseNext()) != null) {
+			ParsingContext context = parser.getContext();
+			out.add(Arrays.toString(row) + " line=" + context.currentLine() + " char=" + context.currentChar() + " comment=" + context.lastComment());
+		}
+		out.add("lines=" + parser.getContext().currentLine() + " comments=" + parser.getContext().comments());
+		return out;
+	}
+
+	@DataProvider
+	public Object[][] lineEndingProvider() {
+		return new Object[][]{
+				{"\n"},
+				{"\r\n"},
+				{"\r"},
+		};
+	}
+
+	@Test(dataProvider = "lineEndingProvider")
+	public void testLineEndingNormalizationOnLoad(String lineSeparator) {
+		String input = "a,b,c\n\n#comment\n  x , \"y\n\ny\" ,z\nvery long unquoted value,\"\"\"quoted\"\"\",\n\r\r\n\"\n\",last\n"
+				+ "1,2\n#\n\"unclosed\nvalue";
+		input = input.replace("\n", lineSeparator);
+
+		for (int bufferSize = 1; bufferSize < 16; bufferSize++) {
+			for (int selection = 0; selection < 2; selection++) {
+				List<String> expected = parseWithPositions(input, lineSeparator, bufferSize, false, selection == 1);
+				List<String> actual = parseWithPositions(input, lineSeparator, bufferSize, true, selection == 1);
+				assertEquals(actual, expected, "Buffer size " + bufferSize);
+			}
+		}
+	}
+
+	@Test
+	public void testNormalizedNewlineInInputOnLoad() {
+		for (int bufferSize = 1; bufferSize < 16; bufferSize++) {
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.getFormat().setLineSeparator("\r\n");
+			settings.setInputBufferSize(bufferSize);
+			settings.setReadInputOnSeparateThread(false);
+			settings.setLineEndingNormalizationOnLoadEnabled(true);
+
+			List<String[]> rows = new CsvParser(settings).parseAll(new StringReader("a,b\r\nc\nd,e\r\n\"f\ng\",h\r\n"));
+			assertEquals(rows.size(), 4, "Buffer size " + bufferSize);
+			assertEquals(rows.get(0), new String[]{"a", "b"});
+			assertEquals(rows.get(1), new String[]{"c"});
+			assertEquals(rows.get(2), new String[]{"d", "e"});
+			assertEquals(rows.get(3), new String[]{"f\ng", "h"});
+		}
+	}
+
+	private List<String> parseSelection(String input, CsvParserSettings settings, int[] selection) {
+		CsvParser parser = new CsvParser(settings);
+		parser.beginParsing(new StringReader(input));
+		List<String> out = new ArrayList<String>();
+		String[] row;
+		while ((row = parser.parseNext()) != null) {
+			if (selection != null) {
+				String[] projection = new String[selection.length];
+				for (int i = 0; i < selection.length; i++) {
+					projection[i] = selection[i] < row.length ? row[selection[i]] : null;
+				}
+				row = projection;
+			}
+			out.add(Arrays.toString(row) + " line=" + parser.getContext().currentLine());
+		}
+		return out;
+	}
+
+	@Test(dataProvider = "lineEndingProvider")
+	public void testSkipUnselectedColumns(String lineSeparator) {
+		String input = "a,\"b,\n\"\"\",c,d,e\n" +
+				"1,2,3,4\n" +
+				"\"x\",\"y\"  ,  z , \"multi\nline, \"\"quoted\"\"\" ,\"tail\"\n" +
+				"\n" +
+				",,,,,,\n" +
+				"p,q,r,s,\"t\nu\"\"\"\n" +
+				"'1',\"un\"escaped, value,\"3\"x\"\", 4 ,\"5\n5\"\n" +
+				"last,row,\"with\",many,\"columns\"";
+		input = input.replace("\n", lineSeparator);
+		int[] selection = new int[]{3, 1};
+
+		for (UnescapedQuoteHandling quoteHandling : new UnescapedQuoteHandling[]{UnescapedQuoteHandling.STOP_AT_DELIMITER, UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE, UnescapedQuoteHandling.SKIP_VALUE}) {
+			for (int bufferSize = 1; bufferSize < 16; bufferSize++) {
+				CsvParserSettings settings = newCsvInputSettings();
+				settings.getFormat().setLineSeparator(lineSeparator);
+				settings.setReadInputOnSeparateThread(false);
+				settings.setInputBufferSize(bufferSize);
+				settings.setUnescapedQuoteHandling(quoteHandling);
+				settings.setEscapeUnquotedValues(bufferSize % 2 == 0);
+				settings.setLineEndingNormalizationOnLoadEnabled(bufferSize % 3 == 0);
+
+				List<String> expected = parseSelection(input, settings, selection);
+				settings.selectIndexes(3, 1);
+				List<String> actual = parseSelection(input, settings, null);
+				assertEquals(actual, expected, quoteHandling + ", buffer size " + bufferSize);
+			}
+		}
+	}
+
+	@Test
+	public void testColumnLimitHintOnRepeatedErrors() {
+		CsvParserSettings settings = newCsvInputSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setMaxColumns(2);
+		CsvParser parser = new CsvParser(settings);
+
+		// hot code paths may throw exceptions without a message once compiled.
+		for (int i = 0; i < 20000; i++) {
+			try {
+				parser.parseLine("a,b,c");
+				fail("Expected error parsing more columns than the limit");
+			} catch (TextParsingException e) {
+				assertTrue(e.getMessage().contains("exceeded limit of 2 columns"), "Attempt " + i + ": " + e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testWideInput() {
+		int columns = 20000;
+		StringBuilder input = new StringBuilder();
+		for (int r = 0; r < 3; r++) {
+			for (int c = 0; c < columns; c++) {
+				if (c > 0) {
+					input.append(',');
+				}
+				input.append(r).append('_').append(c);
+			}
+			input.append('\n');
+		}
+
+		CsvParserSettings settings = newCsvInputSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setMaxColumns(30000);
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+		assertEquals(rows.size(), 3);
+		assertEquals(rows.get(2).length, columns);
+		assertEquals(rows.get(2)[0], "2_0");
+		assertEquals(rows.get(2)[columns - 1], "2_19999");
+
+		settings.selectIndexes(19999, 5);
+		rows = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+		assertEquals(rows.get(1), new String[]{"1_19999", "1_5"});
+
+		settings.setColumnReorderingEnabled(false);
+		rows = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+		assertEquals(rows.get(1).length, columns);
+		assertEquals(rows.get(1)[5], "1_5");
+		assertNull(rows.get(1)[6]);
+		assertEquals(rows.get(1)[19999], "1_19999");
+
+		settings.setMaxColumns(10000);
+		try {
+			new CsvParser(settings).parseAll(new StringReader(input.toString()));
+			fail("Expected error parsing more columns than the limit");
+		} catch (TextParsingException e) {
+			assertTrue(e.getMessage().contains("exceeded limit of 10000 columns"), e.getMessage());
+		}
+	}
+
+	@Test
+	public void testLongValuesWithAdaptiveBuffer() {
+		char[] value = new char[100000];
+		Arrays.fill(value, 'x');
+		String longValue = new String(value);
+
+		CsvParserSettings settings = newCsvInputSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setMaxCharsPerColumn(200000);
+		List<String[]> rows = new CsvParser(settings).parseAll(new StringReader("a," + longValue + "\nb,c\n\"" + longValue + "\",d"));
+		assertEquals(rows.size(), 3);
+		assertEquals(rows.get(0)[1], longValue);
+		assertEquals(rows.get(1), new String[]{"b", "c"});
+		assertEquals(rows.get(2)[0], longValue);
+
+		settings.setMaxCharsPerColumn(50000);
+		try {
+			new CsvParser(settings).parseAll(new StringReader("a," + longValue));
+			fail("Expected error parsing value longer than the limit");
+		} catch (TextParsingException e) {
+			assertTrue(e.getMessage().contains("exceeded limit of 50000 characters"), e.getMessage());
+		}
+	}
 }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Runs all tests of {@link CsvParserTest} with {@link CsvParserSettings#isQuoteFreeParsingEnabled()}, and compares the results
+ * of both parsing engines on random inputs.
+ */
+public class CsvQuoteFreeParsingTest extends CsvParserTest {
+
+	@Override
+	protected CsvParserSettings newCsvInputSettings() {
+		CsvParserSettings out = super.newCsvInputSettings();
+		out.setQuoteFreeParsingEnabled(true);
+		return out;
+	}
+
+	private List<String> parse(String input, CsvParserSettings settings) {
+		List<String> out = new ArrayList<String>();
+		CsvParser parser = new CsvParser(settings);
+		try {
+			parser.beginParsing(new StringReader(input));
+			String[] row;
+			while ((row = parser.parseNext()) != null) {
+				ParsingContext context = parser.getContext();
+				out.add(Arrays.toString(row) + " line=" + context.currentLine() + " char=" + context.currentChar());
+			}
+		} catch (TextParsingException e) {
+			out.add("error at line " + e.getLineIndex() + ": " + e.getMessage().substring(0, e.getMessage().indexOf('\n')));
+		}
+		return out;
+	}
+
+	private String randomInput(Random random, int length, boolean quoted) {
+		char[] alphabet = {'a', 'b', ' ', quoted ? '"' : 'c', ',', ',', ',', '\n', '\r', '\t', 'x', '1'};
+		StringBuilder out = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			out.append(alphabet[random.nextInt(alphabet.length)]);
+		}
+		return out.toString();
+	}
+
+	@Test
+	public void testSameResultsAsCharacterParsing() {
+		Random random = new Random(4321);
+		String[] lineSeparators = {"\n", "\r\n", "\r"};
+
+		for (int i = 0; i < 3000; i++) {
+			String input = randomInput(random, random.nextInt(200), random.nextInt(4) == 0);
+
+			CsvParserSettings settings = new CsvParserSettings();
+			String lineSeparator = lineSeparators[random.nextInt(lineSeparators.length)];
+			settings.getFormat().setLineSeparator(lineSeparator);
+			settings.setInputBufferSize(1 + random.nextInt(64));
+			settings.setReadInputOnSeparateThread(false);
+			boolean normalizeOnLoad = random.nextBoolean();
+			if (!lineSeparator.equals("\n") && !normalizeOnLoad) {
+				// a '\n' that is not part of the line separator may be kept in the last value of a record, depending on where the buffer ends.
+				settings.getFormat().setNormalizedNewline('|');
+			}
+			settings.setIgnoreLeadingWhitespaces(random.nextBoolean());
+			settings.setIgnoreTrailingWhitespaces(random.nextBoolean());
+			settings.setMaxCharsPerColumn(random.nextBoolean() ? -1 : 5 + random.nextInt(20));
+			// blank unquoted values are trimmed into either the empty or the null value by the character-based parser, depending on where the buffer ends.
+			String nullValue = random.nextBoolean() ? null : "<null>";
+			settings.setNullValue(nullValue);
+			settings.setEmptyValue(nullValue);
+			settings.setSkipEmptyLines(random.nextBoolean());
+			if (random.nextInt(4) == 0) {
+				settings.selectIndexes(1, 0);
+			}
+
+			// a '\n' that is not part of the line separator always ends the record in quote-free parsing, as in the character-based parser when line
+			// endings are normalized on load.
+			settings.setLineEndingNormalizationOnLoadEnabled(true);
+			List<String> expected = parse(input, settings);
+			settings.setLineEndingNormalizationOnLoadEnabled(normalizeOnLoad);
+			settings.setQuoteFreeParsingEnabled(true);
+			List<String> actual = parse(input, settings);
+			assertEquals(actual, expected, "Input " + i + ": " + input.replace("\n", "\\n").replace("\r", "\\r") + " with " + settings + "\nExpected: " + expected + "\nActual: " + actual);
+		}
+	}
+
+	@Test
+	public void testNormalizedNewlineInInput() {
+		for (int bufferSize = 1; bufferSize < 16; bufferSize++) {
+			CsvParserSettings settings = new CsvParserSettings();
+			settings.getFormat().setLineSeparator("\r\n");
+			settings.setInputBufferSize(bufferSize);
+			settings.setReadInputOnSeparateThread(false);
+			settings.setLineEndingNormalizationOnLoadEnabled(true);
+			settings.setQuoteFreeParsingEnabled(true);
+
+			List<String> expected = Arrays.asList("[a, b] line=1 char=5", "[c] line=1 char=7", "[d, e] line=2 char=12", "[f\ng, h] line=3 char=21");
+			assertEquals(parse("a,b\r\nc\nd,e\r\n\"f\ng\",h\r\n", settings), expected, "Buffer size " + bufferSize);
+		}
+	}
+
+	@Test
+	public void testQuoteFreeInputDetection() {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			input.append(i).append(",value ").append(i).append(",x").append('\n');
+		}
+		input.append("100,\"quoted, value\",x\n");
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\n");
+		settings.setQuoteFreeParsingDetectionEnabled(true);
+		CsvParser parser = new CsvParser(settings);
+
+		List<String[]> rows = parser.parseAll(new StringReader(input.toString()));
+		assertTrue(parser.isQuoteFreeParsing());
+		assertEquals(rows.size(), 101);
+		assertEquals(rows.get(99), new String[]{"99", "value 99", "x"});
+		assertEquals(rows.get(100), new String[]{"100", "quoted, value", "x"});
+
+		parser.parseAll(new StringReader("a,b\n'c',\"d\"\n"));
+		assertFalse(parser.isQuoteFreeParsing());
+
+		settings.setQuoteFreeParsingDetectionEnabled(false);
+		parser = new CsvParser(settings);
+		parser.parseAll(new StringReader(input.toString()));
+		assertFalse(parser.isQuoteFreeParsing());
+	}
+}
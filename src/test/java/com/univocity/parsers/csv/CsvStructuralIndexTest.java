@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+/**
+ * Runs all tests of {@link CsvParserTest} with {@link CsvParserSettings#isStructuralIndexingEnabled()}, and compares the results
+ * of both parsing engines on random inputs.
+ */
+public class CsvStructuralIndexTest extends CsvParserTest {
+
+	@Override
+	protected CsvParserSettings newCsvInputSettings() {
+		CsvParserSettings out = super.newCsvInputSettings();
+		out.setStructuralIndexingEnabled(true);
+		return out;
+	}
+
+	private List<String> parse(String input, CsvParserSettings settings) {
+		List<String> out = new ArrayList<String>();
+		CsvParser parser = new CsvParser(settings);
+		try {
+			parser.beginParsing(new StringReader(input));
+			String[] row;
+			while ((row = parser.parseNext()) != null) {
+				ParsingContext context = parser.getContext();
+				out.add(Arrays.toString(row) + " line=" + context.currentLine() + " char=" + context.currentChar());
+			}
+		} catch (TextParsingException e) {
+			out.add("error at line " + e.getLineIndex() + ": " + e.getMessage().substring(0, e.getMessage().indexOf('\n')));
+		}
+		return out;
+	}
+
+	private String randomInput(Random random, int length) {
+		char[] alphabet = {'a', 'b', ' ', '"', '"', ',', ',', '\n', '\r', '\0', '\t', 'x'};
+		StringBuilder out = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			out.append(alphabet[random.nextInt(alphabet.length)]);
+		}
+		return out.toString();
+	}
+
+	@Test
+	public void testSameResultsAsCharacterParsing() {
+		Random random = new Random(1234);
+		String[] lineSeparators = {"\n", "\r\n", "\r"};
+		UnescapedQuoteHandling[] quoteHandling = {null, UnescapedQuoteHandling.RAISE_ERROR, UnescapedQuoteHandling.SKIP_VALUE, UnescapedQuoteHandling.STOP_AT_CLOSING_QUOTE};
+
+		CsvParserSettings bareNewline = new CsvParserSettings();
+		bareNewline.getFormat().setLineSeparator("\r\n");
+		bareNewline.setStructuralIndexingEnabled(true);
+		List<String> bareNewlineResult = Arrays.asList("[a, b] line=1 char=5", "[c] line=1 char=7", "[d, e] line=2 char=12");
+		assertEquals(parse("a,b\r\nc\nd,e\r\n", bareNewline), bareNewlineResult);
+		bareNewline.setStructuralIndexingEnabled(false);
+		bareNewline.setLineEndingNormalizationOnLoadEnabled(true);
+		assertEquals(parse("a,b\r\nc\nd,e\r\n", bareNewline), bareNewlineResult);
+
+		for (int i = 0; i < 3000; i++) {
+			String input = randomInput(random, random.nextInt(200));
+
+			CsvParserSettings settings = new CsvParserSettings();
+			String lineSeparator = lineSeparators[random.nextInt(lineSeparators.length)];
+			settings.getFormat().setLineSeparator(lineSeparator);
+			// structural indexing normalizes line endings on load, so a '\n' that is not part of the line separator always ends the record.
+			settings.setLineEndingNormalizationOnLoadEnabled(true);
+			settings.setInputBufferSize(1 + random.nextInt(64));
+			settings.setReadInputOnSeparateThread(false);
+			settings.setIgnoreLeadingWhitespaces(random.nextBoolean());
+			settings.setIgnoreTrailingWhitespaces(random.nextBoolean());
+			settings.setUnescapedQuoteHandling(quoteHandling[random.nextInt(quoteHandling.length)]);
+			settings.setMaxCharsPerColumn(random.nextBoolean() ? -1 : 5 + random.nextInt(20));
+			if (!settings.getIgnoreTrailingWhitespaces()) {
+				// blank unquoted values are trimmed into either the empty or the null value by the character-based parser, depending on where the buffer ends.
+				settings.setEmptyValue(random.nextBoolean() ? null : "<empty>");
+			}
+			settings.setNullValue(random.nextBoolean() ? null : "<null>");
+			settings.setSkipEmptyLines(random.nextBoolean());
+			if (random.nextInt(4) == 0) {
+				settings.selectIndexes(1, 0);
+			}
+
+			List<String> expected = parse(input, settings);
+			settings.setStructuralIndexingEnabled(true);
+			List<String> actual = parse(input, settings);
+			assertEquals(actual, expected, "Input " + i + ": " + input.replace("\n", "\\n").replace("\r", "\\r").replace("\0", "\\0") + " with " + settings + "\nExpected: " + expected + "\nActual: " + actual);
+		}
+	}
+
+	@Test
+	public void testWideMultilineInput() {
+		StringBuilder input = new StringBuilder();
+		for (int row = 0; row < 200; row++) {
+			for (int column = 0; column < 100; column++) {
+				if (column > 0) {
+					input.append(',');
+				}
+				if (column % 3 == 0) {
+					input.append('"').append(row).append("\"\"").append(column).append("\n\"");
+				} else {
+					input.append(row * column);
+				}
+			}
+			input.append("\r\n");
+		}
+
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.getFormat().setLineSeparator("\r\n");
+		settings.setInputBufferSize(1000);
+		List<String[]> expected = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+
+		settings.setStructuralIndexingEnabled(true);
+		List<String[]> actual = new CsvParser(settings).parseAll(new StringReader(input.toString()));
+
+		assertEquals(actual.size(), 200);
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(actual.get(i), expected.get(i));
+		}
+		assertEquals(actual.get(10)[3], "10\"3\n");
+	}
+}
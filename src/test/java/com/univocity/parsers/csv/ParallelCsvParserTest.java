@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright 2016 uniVocity Software Pty Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.univocity.parsers.csv;
+
+import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.processor.*;
+import org.testng.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class ParallelCsvParserTest {
+
+	private File createFile(String lineSeparator, int rows) throws IOException {
+		StringBuilder content = new StringBuilder();
+		content.append("# header comment").append(lineSeparator);
+		content.append("id,name,description,value").append(lineSeparator);
+		Random random = new Random(42);
+		for (int i = 0; i < rows; i++) {
+			switch (i % 7) {
+				case 0:
+					content.append("# comment ").append(i).append(lineSeparator);
+					break;
+				case 1:
+					content.append(lineSeparator);
+					break;
+			}
+			content.append(i).append(',');
+			content.append("\"name, ").append(random.nextInt(1000)).append("\",");
+			switch (i % 5) {
+				case 0:
+					content.append("\"multi").append(lineSeparator).append("line \"\"quoted\"\"").append(lineSeparator).append("# not a comment\"");
+					break;
+				case 1:
+					content.append("açaí € ").append(i);
+					break;
+				case 2:
+					content.append("\"\"");
+					break;
+				case 3:
+					content.append("\"").append(lineSeparator).append(",\"\",").append(lineSeparator).append("\"");
+					break;
+				default:
+					content.append("  plain  ");
+			}
+			content.append(',').append(random.nextDouble());
+			content.append(lineSeparator);
+		}
+		content.append("last,\"unterminated");
+
+		File file = File.createTempFile("parallel", ".csv");
+		file.deleteOnExit();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			writer.write(content.toString());
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	private CsvParserSettings newSettings(RowCollector collector) {
+		CsvParserSettings settings = new CsvParserSettings();
+		settings.setHeaderExtractionEnabled(true);
+		settings.setLineSeparatorDetectionEnabled(true);
+		settings.setProcessor(collector);
+		return settings;
+	}
+
+	private RowCollector parseSequentially(File file) {
+		RowCollector expected = new RowCollector();
+		new CsvParser(newSettings(expected)).parse(file, "UTF-8");
+		return expected;
+	}
+
+	@DataProvider
+	public Object[][] configurationProvider() {
+		return new Object[][]{
+				{"\n", 64, 3},
+				{"\r\n", 64, 3},
+				{"\r\n", 7, 2},
+				{"\n", 1024, 1},
+				{"\r", 33, 4},
+		};
+	}
+
+	@Test(dataProvider = "configurationProvider")
+	public void testOrderedParsing(String lineSeparator, int rangeSize, int threads) throws Exception {
+		File file = createFile(lineSeparator, 200);
+		RowCollector expected = parseSequentially(file);
+
+		RowCollector result = new RowCollector();
+		ParallelCsvParser parser = new ParallelCsvParser(newSettings(result));
+		parser.setRangeSize(rangeSize);
+		parser.setThreadCount(threads);
+		parser.parse(file, "UTF-8");
+
+		assertEquals(result.headers, expected.headers);
+		assertEquals(result.rows.size(), expected.rows.size());
+		for (int i = 0; i < expected.rows.size(); i++) {
+			assertEquals(result.rows.get(i), expected.rows.get(i), "Row " + i);
+			assertEquals(result.lines.get(i), expected.lines.get(i), "Line of row " + i);
+			assertEquals(result.chars.get(i), expected.chars.get(i), "Char of row " + i);
+			assertEquals(result.records.get(i), expected.records.get(i), "Record number of row " + i);
+		}
+		assertTrue(result.ended);
+	}
+
+	@Test(dataProvider = "configurationProvider")
+	public void testUnorderedParsing(String lineSeparator, int rangeSize, int threads) throws Exception {
+		File file = createFile(lineSeparator, 200);
+		RowCollector expected = parseSequentially(file);
+
+		RowCollector result = new RowCollector();
+		ParallelCsvParser parser = new ParallelCsvParser(newSettings(result));
+		parser.setRangeSize(rangeSize);
+		parser.setThreadCount(threads);
+		parser.setOrderedProcessingEnabled(false);
+		parser.parse(file, "UTF-8");
+
+		Map<Long, String[]> expectedRowsByLine = expected.rowsByLine();
+		Map<Long, String[]> rowsByLine = result.rowsByLine();
+		assertEquals(rowsByLine.keySet(), expectedRowsByLine.keySet());
+		for (Long line : expectedRowsByLine.keySet()) {
+			assertEquals(rowsByLine.get(line), expectedRowsByLine.get(line), "Row at line " + line);
+		}
+		assertEquals(result.records.get(result.records.size() - 1), Long.valueOf(expected.rows.size()));
+	}
+
+	@Test
+	public void testRecordsToReadAndStop() throws Exception {
+		File file = createFile("\n", 200);
+		RowCollector expected = parseSequentially(file);
+
+		RowCollector result = new RowCollector();
+		CsvParserSettings settings = newSettings(result);
+		settings.setNumberOfRecordsToRead(50);
+		ParallelCsvParser parser = new ParallelCsvParser(settings);
+		parser.setRangeSize(100);
+		parser.parse(file, "UTF-8");
+
+		assertEquals(result.rows.size(), 50);
+		for (int i = 0; i < 50; i++) {
+			assertEquals(result.rows.get(i), expected.rows.get(i));
+		}
+		assertTrue(parser.getContext().isStopped());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void testUnsupportedEncoding() throws Exception {
+		File file = createFile("\n", 1);
+		new ParallelCsvParser(new CsvParserSettings()).parse(file, "UTF-16");
+	}
+
+	private static class RowCollector extends AbstractRowProcessor {
+		String[] headers;
+		final List<String[]> rows = new ArrayList<String[]>();
+		final List<Long> lines = new ArrayList<Long>();
+		final List<Long> chars = new ArrayList<Long>();
+		final List<Long> records = new ArrayList<Long>();
+		boolean ended;
+
+		@Override
+		public void rowProcessed(String[] row, ParsingContext context) {
+			headers = context.headers();
+			rows.add(row);
+			lines.add(context.currentLine());
+			chars.add(context.currentChar());
+			records.add(context.currentRecord());
+		}
+
+		@Override
+		public void processEnded(ParsingContext context) {
+			ended = true;
+		}
+
+		Map<Long, String[]> rowsByLine() {
+			Map<Long, String[]> out = new TreeMap<Long, String[]>();
+			for (int i = 0; i < rows.size(); i++) {
+				out.put(lines.get(i), rows.get(i));
+			}
+			return out;
+		}
+	}
+}
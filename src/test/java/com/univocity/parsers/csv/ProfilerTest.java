@@ -16,7 +16,10 @@
 package com.univocity.parsers.csv;
 
 import com.univocity.parsers.common.*;
+import com.univocity.parsers.common.input.concurrent.*;
 import com.univocity.parsers.common.processor.*;
+import com.univocity.parsers.common.processor.core.*;
+import com.univocity.parsers.conversions.*;
 import com.univocity.parsers.examples.*;
 import com.univocity.parsers.tsv.*;
 import org.testng.annotations.*;
@@ -37,6 +40,49 @@ public class ProfilerTest extends Example {
 		System.out.println(description + " took " + (System.currentTimeMillis() - start) + " ms.");
 	}
 
+	private static void measure(String description, Runnable process) {
+		long collections = garbageCollections();
+		long allocated = allocatedBytes();
+		long start = System.currentTimeMillis();
+
+		process.run();
+
+		long time = System.currentTimeMillis() - start;
+		StringBuilder out = new StringBuilder(description).append(" took ").append(time).append(" ms.");
+		if (allocated >= 0) {
+			out.append(" Allocated ").append((allocatedBytes() - allocated) / (1024 * 1024)).append(" MB on the parsing thread.");
+		}
+		out.append(" Garbage collections: ").append(garbageCollections() - collections);
+		System.out.println(out);
+	}
+
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean hotSpotThreads = (com.sun.management.ThreadMXBean) threads;
+			if (hotSpotThreads.isThreadAllocatedMemorySupported() && hotSpotThreads.isThreadAllocatedMemoryEnabled()) {
+				return hotSpotThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1L;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static long garbageCollections() {
+		long out = 0;
+		for (java.lang.management.GarbageCollectorMXBean collector : java.lang.management.ManagementFactory.getGarbageCollectorMXBeans()) {
+			out += collector.getCollectionCount();
+		}
+		return out;
+	}
+
 	private Runnable defaultInputReader() {
 		return new Runnable() {
 			CsvParserSettings options = new CsvParserSettings() {
@@ -73,9 +119,32 @@ public class ProfilerTest extends Example {
 
 	}
 
-	private Reader input() {
+	private Runnable memoryMappedInputReader(final boolean readInputOnSeparateThread) {
+		return new Runnable() {
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					setMaxCharsPerColumn(1000);
+					setReadInputOnSeparateThread(readInputOnSeparateThread);
+					setMemoryMappedInputEnabled(true);
+					setRowProcessor(rowProcessor());
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				test.parse(inputFile(), "ISO-8859-1");
+			}
+		};
+	}
+
+	private File inputFile() {
 		String path = System.getProperty("user.home") + File.separator + "dev" + File.separator + "data";
-		final File f = new File(path + File.separator + "worldcitiespop.txt");
+		return new File(path + File.separator + "worldcitiespop.txt");
+	}
+
+	private Reader input() {
+		final File f = inputFile();
 
 		try {
 			return new InputStreamReader(new FileInputStream(f), "ISO-8859-1");
@@ -112,11 +181,682 @@ public class ProfilerTest extends Example {
 	public void runPerformanceComparison() throws Exception {
 		final Runnable incrementalInputReader = incrementalInputReader();
 		final Runnable defaultInputReader = defaultInputReader();
+		final Runnable memoryMappedInputReader = memoryMappedInputReader(false);
+		final Runnable memoryMappedIncrementalInputReader = memoryMappedInputReader(true);
 
 		for (int i = 0; i < 3; i++) {
 			String loop = "(" + (i + 1) + ") ";
 			execute(loop + "defaultInputReader", defaultInputReader);
 			execute(loop + "incrementalInputReader", incrementalInputReader);
+			execute(loop + "memoryMappedInputReader", memoryMappedInputReader);
+			execute(loop + "memoryMappedIncrementalInputReader", memoryMappedIncrementalInputReader);
+		}
+	}
+
+	private String wideInput(int rows, int columns, int valueLength) {
+		StringBuilder out = new StringBuilder(rows * columns * (valueLength + 1));
+		Random random = new Random(1);
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (column > 0) {
+					out.append(',');
+				}
+				boolean quoted = column % 10 == 0;
+				if (quoted) {
+					out.append('"');
+				}
+				for (int i = 0; i < valueLength; i++) {
+					out.append((char) ('a' + random.nextInt(26)));
+				}
+				if (quoted) {
+					out.append('"');
+				}
+			}
+			out.append('\n');
+		}
+		return out.toString();
+	}
+
+	private Runnable projectionReader(final String input, final Integer... selection) {
+		return new Runnable() {
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setMaxColumns(1000);
+					setReadInputOnSeparateThread(false);
+					if (selection.length > 0) {
+						selectIndexes(selection);
+					}
+					setRowProcessor(rowProcessor());
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				test.parse(new StringReader(input));
+			}
+		};
+	}
+
+	private static boolean startsBeforeC(RowView row) {
+		return row.length(0) > 0 && row.getChars()[row.getOffset(0)] < 'c';
+	}
+
+	private Runnable rowFilterReader(final String input, final boolean filterInParser) {
+		return new Runnable() {
+			long accepted;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setMaxColumns(1000);
+					setReadInputOnSeparateThread(false);
+					if (filterInParser) {
+						setRowFilter(new RowFilter() {
+							public int getColumnCount() {
+								return 1;
+							}
+
+							public boolean accept(RowView row, ParsingContext context) {
+								return startsBeforeC(row);
+							}
+						});
+					}
+					setRowViewProcessor(new RowViewProcessor() {
+						public void processStarted(ParsingContext context) {
+						}
+
+						public void rowProcessed(RowView row, ParsingContext context) {
+							if (filterInParser || startsBeforeC(row)) {
+								accepted++;
+							}
+						}
+
+						public void processEnded(ParsingContext context) {
+						}
+					});
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				accepted = 0;
+				test.parse(new StringReader(input));
+				System.out.print(accepted + " rows accepted. ");
+			}
+		};
+	}
+
+	private Runnable deduplicatingReader(final String input, final boolean deduplicate) {
+		return new Runnable() {
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					if (deduplicate) {
+						deduplicateIndexes(1, 2);
+					}
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				System.gc();
+				Runtime runtime = Runtime.getRuntime();
+				long before = runtime.totalMemory() - runtime.freeMemory();
+				List<String[]> rows = test.parseAll(new StringReader(input));
+				System.gc();
+				long used = runtime.totalMemory() - runtime.freeMemory() - before;
+				System.out.print(rows.size() + " rows retaining about " + (used / (1024 * 1024)) + " MB. " + test.getStringCaches() + " ");
+			}
+		};
+	}
+
+	private Runnable recyclingReader(final String input, final boolean rowRecyclingEnabled) {
+		return new Runnable() {
+			long total;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					setRowRecyclingEnabled(rowRecyclingEnabled);
+					setProcessor(new AbstractRowProcessor() {
+						@Override
+						public void rowProcessed(String[] row, ParsingContext context) {
+							total += row.length;
+						}
+					});
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				test.parse(new StringReader(input));
+			}
+		};
+	}
+
+	private Runnable highLimitsReader(final String input, final int maxColumns, final int maxCharsPerColumn) {
+		return new Runnable() {
+			long total;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					setMaxColumns(maxColumns);
+					setMaxCharsPerColumn(maxCharsPerColumn);
+					setProcessor(new AbstractRowProcessor() {
+						@Override
+						public void rowProcessed(String[] row, ParsingContext context) {
+							total += row.length;
+						}
+					});
+				}
+			};
+
+			@Override
+			public void run() {
+				for (int i = 0; i < 100; i++) {
+					new CsvParser(options).parse(new StringReader(input));
+				}
+			}
+		};
+	}
+
+	private Runnable quoteFreeReader(final String input, final boolean quoteFree) {
+		return new Runnable() {
+			long total;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					setQuoteFreeParsingEnabled(quoteFree);
+					setRowViewProcessor(new RowViewProcessor() {
+						public void processStarted(ParsingContext context) {
+						}
+
+						public void rowProcessed(RowView row, ParsingContext context) {
+							total += row.getColumnCount();
+						}
+
+						public void processEnded(ParsingContext context) {
+						}
+					});
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				total = 0;
+				test.parse(new StringReader(input));
+				System.out.print("Parsed " + total + " values. ");
+			}
+		};
+	}
+
+	private Runnable samplingReader(final String input, final RowSampling sampling) {
+		return new Runnable() {
+			long total;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					setHeaderExtractionEnabled(true);
+					setRowSampling(sampling);
+					setProcessor(new AbstractRowProcessor() {
+						@Override
+						public void rowProcessed(String[] row, ParsingContext context) {
+							total++;
+						}
+					});
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				total = 0;
+				test.parse(new StringReader(input));
+				System.out.print("Processed " + total + " rows. ");
+			}
+		};
+	}
+
+	private Runnable largeValueReader(final String input, final boolean streamingEnabled) {
+		return new Runnable() {
+			long total;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					setMaxCharsPerColumn(-1);
+					if (streamingEnabled) {
+						streamIndexes(new ValueStreamHandler() {
+							public void valueStarted(int column, ParsingContext context) {
+							}
+
+							public void chunkParsed(char[] chars, int from, int length) {
+								total += length;
+							}
+
+							public void valueEnded(int column, ParsingContext context) {
+							}
+						}, 1);
+					}
+					setProcessor(new AbstractRowProcessor() {
+						@Override
+						public void rowProcessed(String[] row, ParsingContext context) {
+							total += row[1] == null ? 0 : row[1].length();
+						}
+					});
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				total = 0;
+				test.parse(new StringReader(input));
+				System.out.print("Read " + total + " characters. ");
+			}
+		};
+	}
+
+	private Runnable filteringReader(final String input, final boolean rowViewEnabled) {
+		return new Runnable() {
+			long total;
+			CsvParserSettings options = new CsvParserSettings() {
+				{
+					getFormat().setLineSeparator("\n");
+					setReadInputOnSeparateThread(false);
+					if (rowViewEnabled) {
+						setRowViewProcessor(new RowViewProcessor() {
+							public void processStarted(ParsingContext context) {
+							}
+
+							public void rowProcessed(RowView row, ParsingContext context) {
+								if (row.equalsIgnoreCase(1, "ABC")) {
+									total += row.getLong(2);
+								}
+							}
+
+							public void processEnded(ParsingContext context) {
+							}
+						});
+					} else {
+						setProcessor(new AbstractRowProcessor() {
+							@Override
+							public void rowProcessed(String[] row, ParsingContext context) {
+								if (row[1].equalsIgnoreCase("ABC")) {
+									total += Long.parseLong(row[2]);
+								}
+							}
+						});
+					}
+				}
+			};
+			CsvParser test = new CsvParser(options);
+
+			@Override
+			public void run() {
+				total = 0;
+				test.parse(new StringReader(input));
+			}
+		};
+	}
+
+	private Runnable concurrentConversionReader(final String input, final int workers) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				final long[] sum = new long[1];
+				List<RowProcessor> processors = new ArrayList<RowProcessor>();
+				for (int i = 0; i < workers; i++) {
+					ObjectRowProcessor processor = new ObjectRowProcessor() {
+						@Override
+						public void rowProcessed(Object[] row, ParsingContext context) {
+							sum[0] += ((Integer) row[0]) + ((java.math.BigDecimal) row[3]).longValue() + ((Date) row[4]).getTime();
+						}
+					};
+					processor.convertIndexes(Conversions.toInteger()).set(0);
+					processor.convertIndexes(Conversions.toBigDecimal()).set(3);
+					processor.convertIndexes(Conversions.toDate("yyyy-MM-dd HH:mm:ss")).set(4);
+					processors.add(processor);
+				}
+
+				CsvParserSettings settings = new CsvParserSettings();
+				settings.getFormat().setLineSeparator("\n");
+				settings.setProcessor(new ConcurrentRowProcessor(processors, 10000));
+				new CsvParser(settings).parse(new StringReader(input));
+				if (sum[0] == 0) {
+					throw new IllegalStateException("Nothing processed");
+				}
+			}
+		};
+	}
+
+	private Runnable handOffReader(final String input, final WaitStrategy waitStrategy, final int batchSize) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				final long[] count = new long[1];
+				ConcurrentRowProcessor processor = new ConcurrentRowProcessor(new AbstractRowProcessor() {
+					@Override
+					public void rowProcessed(String[] row, ParsingContext context) {
+						count[0] += row.length;
+					}
+				}, 10000);
+				processor.setWaitStrategy(waitStrategy);
+				processor.setBatchSize(batchSize);
+
+				CsvParserSettings settings = new CsvParserSettings();
+				settings.getFormat().setLineSeparator("\n");
+				settings.setProcessor(processor);
+				new CsvParser(settings).parse(new StringReader(input));
+				System.out.println("\tpeak occupancy: " + processor.getPeakOccupancy() + ", producer stalls: " + processor.getProducerStallCount()
+						+ ", consumer stalls: " + processor.getConsumerStallCount() + " (" + count[0] + " values)");
+			}
+		};
+	}
+
+	private Runnable batchReader(final String input, final boolean batched) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				final long[] count = new long[1];
+				CsvParserSettings settings = new CsvParserSettings();
+				settings.getFormat().setLineSeparator("\n");
+				if (batched) {
+					settings.setBatchProcessor(new BatchProcessor() {
+						@Override
+						public void processStarted(ParsingContext context) {
+						}
+
+						@Override
+						public void batchProcessed(String[][] rows, int rowCount, ParsingContext context) {
+							for (int i = 0; i < rowCount; i++) {
+								count[0] += rows[i].length;
+							}
+						}
+
+						@Override
+						public void processEnded(ParsingContext context) {
+						}
+					});
+				} else {
+					settings.setProcessor(new AbstractRowProcessor() {
+						@Override
+						public void rowProcessed(String[] row, ParsingContext context) {
+							count[0] += row.length;
+						}
+					});
+				}
+				new CsvParser(settings).parse(new StringReader(input));
+				if (count[0] == 0) {
+					throw new IllegalStateException("Nothing processed");
+				}
+			}
+		};
+	}
+
+	private Runnable compactStorageReader(final String input, final boolean compactStorageEnabled) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				ObjectColumnProcessor processor = new ObjectColumnProcessor(1000);
+				processor.setCompactStorageEnabled(compactStorageEnabled);
+				processor.convertIndexes(Conversions.toInteger()).set(0);
+				processor.convertIndexes(Conversions.toDouble()).set(1);
+				processor.convertIndexes(Conversions.toBoolean()).set(2);
+
+				CsvParserSettings settings = new CsvParserSettings();
+				settings.getFormat().setLineSeparator("\n");
+				settings.setProcessor(processor);
+
+				long before = usedMemory();
+				new CsvParser(settings).parse(new StringReader(input));
+				long used = usedMemory() - before;
+				System.out.print(processor.getColumn(0).size() + " rows retaining about " + (used / (1024 * 1024)) + " MB. ");
+			}
+		};
+	}
+
+	private Runnable columnBatchReader(final String input, final boolean offHeap) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				final long[] bytes = new long[1];
+				CsvParserSettings settings = new CsvParserSettings();
+				settings.getFormat().setLineSeparator("\n");
+				if (offHeap) {
+					settings.setProcessor(new OffHeapColumnProcessor(10000) {
+						@Override
+						public void columnsProcessed(List<OffHeapColumn> columns, int rowsInThisBatch) {
+							for (OffHeapColumn column : columns) {
+								bytes[0] += column.getDataBuffer().remaining();
+							}
+						}
+					});
+				} else {
+					settings.setProcessor(new BatchedColumnProcessor(10000) {
+						@Override
+						public void batchProcessed(int rowsInThisBatch) {
+							for (List<String> column : getColumnValuesAsList()) {
+								for (String value : column) {
+									bytes[0] += value == null ? 0 : value.length();
+								}
+							}
+						}
+					});
+				}
+				new CsvParser(settings).parse(new StringReader(input));
+				System.out.print("Processed " + bytes[0] + " bytes of values. ");
+			}
+		};
+	}
+
+	static abstract class Comparison {
+		private final String name;
+
+		Comparison(String name) {
+			this.name = name;
+		}
+
+		abstract void addVariants(Map<String, Runnable> variants);
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static String printed(String input) {
+		System.out.println("Input has " + input.length() + " characters.");
+		return input;
+	}
+
+	@DataProvider
+	public Object[][] comparisons() {
+		return new Object[][]{
+				{new Comparison("column projection") {
+					void addVariants(Map<String, Runnable> variants) {
+						String input = printed(wideInput(20000, 300, 12));
+						variants.put("parsing all 300 columns", projectionReader(input));
+						variants.put("parsing 5 columns spread across 250 columns", projectionReader(input, 250, 3, 120, 60, 199));
+						variants.put("parsing 5 columns among the first 23 columns", projectionReader(input, 4, 0, 10, 22, 7));
+					}
+				}},
+				{new Comparison("row filter") {
+					void addVariants(Map<String, Runnable> variants) {
+						String input = printed(wideInput(20000, 300, 12));
+						variants.put("filtering rows after parsing", rowFilterReader(input, false));
+						variants.put("filtering rows with a RowFilter", rowFilterReader(input, true));
+					}
+				}},
+				{new Comparison("string deduplication") {
+					void addVariants(Map<String, Runnable> variants) {
+						String[] countries = {"AU", "BR", "CN", "DE", "FR", "IN", "JP", "NZ", "US", "ZA"};
+						String[] currencies = {"AUD", "BRL", "CNY", "EUR", "INR", "JPY", "NZD", "USD", "ZAR"};
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						for (int i = 0; i < 1000000; i++) {
+							input.append(i).append(',').append(countries[random.nextInt(countries.length)]).append(',');
+							input.append(currencies[random.nextInt(currencies.length)]).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("parsing without deduplication", deduplicatingReader(data, false));
+						variants.put("parsing with deduplication of 2 columns", deduplicatingReader(data, true));
+					}
+				}},
+				{new Comparison("row recycling") {
+					void addVariants(Map<String, Runnable> variants) {
+						String input = printed(wideInput(2000000, 4, 3));
+						variants.put("parsing with a new array per row", recyclingReader(input, false));
+						variants.put("parsing with recycled rows", recyclingReader(input, true));
+					}
+				}},
+				{new Comparison("high limits") {
+					void addVariants(Map<String, Runnable> variants) {
+						String input = wideInput(1000, 20, 8);
+						variants.put("100 parsers with default limits", highLimitsReader(input, 512, 4096));
+						variants.put("100 parsers with 100,000 columns of up to 1,000,000 characters", highLimitsReader(input, 100000, 1000000));
+						variants.put("100 parsers of 20,000 columns with the same limits", highLimitsReader(wideInput(5, 20000, 8), 100000, 1000000));
+					}
+				}},
+				{new Comparison("quote-free parsing") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						for (int row = 0; row < 1000000; row++) {
+							input.append(row).append(",name ").append(random.nextInt(1000)).append(',').append(random.nextInt(100000)).append(',').append(random.nextDouble())
+									.append(",2016-03-01,,some text,").append(random.nextBoolean()).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("parsing with the full CSV parser", quoteFreeReader(data, false));
+						variants.put("parsing assuming no quotes", quoteFreeReader(data, true));
+					}
+				}},
+				{new Comparison("row sampling") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder("id,name,amount,description\n");
+						Random random = new Random(1);
+						for (int row = 0; row < 2000000; row++) {
+							input.append(row).append(",name ").append(random.nextInt(1000)).append(',').append(random.nextDouble()).append(",\"some, quoted\ntext\"\n");
+						}
+						String data = printed(input.toString());
+						variants.put("parsing all rows", samplingReader(data, null));
+						variants.put("sampling every 100th row", samplingReader(data, RowSampling.everyNth(100)));
+						variants.put("sampling 1% of rows", samplingReader(data, RowSampling.bernoulli(0.01, 1L)));
+						variants.put("sampling 20000 rows into a reservoir", samplingReader(data, RowSampling.reservoir(20000, 1L)));
+					}
+				}},
+				{new Comparison("value streaming") {
+					void addVariants(Map<String, Runnable> variants) {
+						char[] value = new char[10 * 1024 * 1024];
+						Arrays.fill(value, 'x');
+						StringBuilder input = new StringBuilder();
+						for (int row = 0; row < 10; row++) {
+							input.append(row).append(",\"").append(value).append("\",").append(row).append('\n');
+						}
+						String data = input.toString();
+						variants.put("parsing 10 MB values in memory", largeValueReader(data, false));
+						variants.put("streaming 10 MB values", largeValueReader(data, true));
+					}
+				}},
+				{new Comparison("row views") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						String[] codes = {"abc", "ABC", "xyz", "abd"};
+						for (int row = 0; row < 2000000; row++) {
+							input.append(row).append(',').append(codes[random.nextInt(codes.length)]).append(',').append(random.nextInt(100000)).append(",\"some text\",").append(random.nextDouble()).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("filtering and aggregation of String[] rows", filteringReader(data, false));
+						variants.put("filtering and aggregation of row views", filteringReader(data, true));
+					}
+				}},
+				{new Comparison("concurrent processing") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						for (int row = 0; row < 500000; row++) {
+							input.append(row).append(",name ").append(random.nextInt(1000)).append(",text,").append(random.nextInt(100000)).append('.').append(random.nextInt(100))
+									.append(",2016-03-").append(10 + random.nextInt(18)).append(' ').append(10 + random.nextInt(13)).append(":15:").append(10 + random.nextInt(50)).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("converting rows with 1 worker", concurrentConversionReader(data, 1));
+						variants.put("converting rows with 4 workers, in order", concurrentConversionReader(data, 4));
+					}
+				}},
+				{new Comparison("concurrent hand-off") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						for (int row = 0; row < 2000000; row++) {
+							input.append(row).append(',').append(random.nextInt(1000)).append(",x\n");
+						}
+						String data = printed(input.toString());
+						variants.put("handing over one row at a time", handOffReader(data, WaitStrategy.PARK, 1));
+						variants.put("handing over batches, parking while waiting", handOffReader(data, WaitStrategy.PARK, 256));
+						variants.put("handing over batches, yielding while waiting", handOffReader(data, WaitStrategy.YIELD, 256));
+					}
+				}},
+				{new Comparison("batch processing") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						for (int row = 0; row < 2000000; row++) {
+							input.append(row).append(",x,").append(row % 7).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("processing one row at a time", batchReader(data, false));
+						variants.put("processing batches of rows", batchReader(data, true));
+					}
+				}},
+				{new Comparison("compact column storage") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						String[] categories = {"north", "south", "east", "west"};
+						for (int row = 0; row < 2000000; row++) {
+							input.append(row).append(',').append(random.nextDouble()).append(',').append(random.nextBoolean())
+									.append(',').append(categories[random.nextInt(categories.length)]).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("storing columns in lists", compactStorageReader(data, false));
+						variants.put("storing columns in compact vectors", compactStorageReader(data, true));
+					}
+				}},
+				{new Comparison("off-heap column batches") {
+					void addVariants(Map<String, Runnable> variants) {
+						StringBuilder input = new StringBuilder();
+						Random random = new Random(1);
+						for (int row = 0; row < 2000000; row++) {
+							input.append(row).append(',').append(random.nextDouble()).append(",name ").append(random.nextInt(1000)).append('\n');
+						}
+						String data = printed(input.toString());
+						variants.put("batches of string lists", columnBatchReader(data, false));
+						variants.put("batches of off-heap buffers", columnBatchReader(data, true));
+					}
+				}},
+		};
+	}
+
+	@Test(enabled = false, dataProvider = "comparisons")
+	public void runComparison(Comparison comparison) throws Exception {
+		System.out.println("Comparing " + comparison);
+		Map<String, Runnable> variants = new LinkedHashMap<String, Runnable>();
+		comparison.addVariants(variants);
+
+		for (int i = 0; i < 5; i++) {
+			String loop = "(" + (i + 1) + ") ";
+			for (Map.Entry<String, Runnable> variant : variants.entrySet()) {
+				measure(loop + variant.getKey(), variant.getValue());
+			}
 		}
 	}
 